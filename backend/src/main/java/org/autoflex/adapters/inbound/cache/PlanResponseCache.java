@@ -0,0 +1,83 @@
+package org.autoflex.adapters.inbound.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.EntityTag;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import org.autoflex.adapters.inbound.dto.response.ProductionPlanResponseDTO;
+
+/**
+ * Serialized plan responses for the latest data version, one per strategy and marginal-values
+ * flag. The body is serialized and hashed once per version, so repeated polls are served from
+ * memory. The ETag is a weak tag over the plan content only: solve time and data version are left
+ * out, so it stays the same across recomputes and nodes as long as the plan does.
+ */
+@ApplicationScoped
+public class PlanResponseCache {
+
+  public record CachedPlan(long version, EntityTag etag, byte[] body) {}
+
+  private record Key(String strategy, boolean marginalValues) {}
+
+  @Inject ObjectMapper objectMapper;
+
+  private final ConcurrentHashMap<Key, CachedPlan> latest = new ConcurrentHashMap<>();
+
+  /** Cached response computed at {@code version}, or null. */
+  public CachedPlan get(String strategy, boolean marginalValues, long version) {
+    CachedPlan cached = latest.get(new Key(strategy, marginalValues));
+    return cached != null && cached.version() == version ? cached : null;
+  }
+
+  /**
+   * Serializes the plan and keeps it unless a newer version is already cached. A plan without a
+   * data version is returned but not kept.
+   */
+  public CachedPlan put(
+      String strategy, boolean marginalValues, Long version, ProductionPlanResponseDTO plan) {
+    byte[] body = serialize(plan);
+    EntityTag etag = etagOf(serialize(contentOf(plan)));
+    CachedPlan entry = new CachedPlan(version == null ? -1 : version, etag, body);
+    if (version != null) {
+      latest.merge(
+          new Key(strategy, marginalValues),
+          entry,
+          (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+    }
+    return entry;
+  }
+
+  private static ProductionPlanResponseDTO contentOf(ProductionPlanResponseDTO plan) {
+    ProductionPlanResponseDTO content =
+        new ProductionPlanResponseDTO(plan.items, plan.grandTotalValue);
+    content.strategy = plan.strategy;
+    content.optimalityGap = plan.optimalityGap;
+    content.marginalValues = plan.marginalValues;
+    content.stockVersion = plan.stockVersion;
+    return content;
+  }
+
+  private byte[] serialize(ProductionPlanResponseDTO plan) {
+    try {
+      return objectMapper.writeValueAsBytes(plan);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static EntityTag etagOf(byte[] body) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+      return new EntityTag(HexFormat.of().formatHex(Arrays.copyOf(digest, 16)), true);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
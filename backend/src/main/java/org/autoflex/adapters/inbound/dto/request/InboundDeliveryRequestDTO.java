@@ -0,0 +1,23 @@
+package org.autoflex.adapters.inbound.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class InboundDeliveryRequestDTO {
+
+  @NotNull(message = "Expected date is required")
+  public LocalDate expectedDate;
+
+  @NotNull(message = "Quantity is required")
+  @DecimalMin(value = "0.01", message = "Quantity must be greater than zero")
+  public BigDecimal quantity;
+
+  public InboundDeliveryRequestDTO() {}
+
+  public InboundDeliveryRequestDTO(LocalDate expectedDate, BigDecimal quantity) {
+    this.expectedDate = expectedDate;
+    this.quantity = quantity;
+  }
+}
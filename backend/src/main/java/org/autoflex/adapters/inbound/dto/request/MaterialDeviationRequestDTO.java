@@ -0,0 +1,22 @@
+package org.autoflex.adapters.inbound.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+public class MaterialDeviationRequestDTO {
+
+  @NotNull(message = "Raw material id is required")
+  public Long rawMaterialId;
+
+  @NotNull(message = "Deviation is required")
+  @DecimalMin(value = "0.00", message = "Deviation cannot be negative")
+  public BigDecimal deviation;
+
+  public MaterialDeviationRequestDTO() {}
+
+  public MaterialDeviationRequestDTO(Long rawMaterialId, BigDecimal deviation) {
+    this.rawMaterialId = rawMaterialId;
+    this.deviation = deviation;
+  }
+}
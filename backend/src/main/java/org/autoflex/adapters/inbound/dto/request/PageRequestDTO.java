@@ -26,6 +26,20 @@ public class PageRequestDTO {
   @DefaultValue("asc")
   public String direction;
 
+  /** Opaque position from a previous page; present but empty asks for the first cursor page. */
+  @QueryParam("cursor")
+  public String cursor;
+
+  /** exact, estimated or none. */
+  @QueryParam("count")
+  @DefaultValue("exact")
+  public String countMode;
+
+  /** Name searches only: match misspelled terms too. */
+  @QueryParam("fuzzy")
+  @DefaultValue("false")
+  public boolean fuzzy;
+
   public PageRequestDTO(int page, int size, String sortBy, String direction) {
     this.page = page;
     this.size = size;
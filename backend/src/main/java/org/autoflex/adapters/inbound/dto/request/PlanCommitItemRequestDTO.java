@@ -0,0 +1,21 @@
+package org.autoflex.adapters.inbound.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public class PlanCommitItemRequestDTO {
+
+  @NotNull(message = "Product id is required")
+  public Long productId;
+
+  @NotNull(message = "Quantity is required")
+  @Positive(message = "Quantity must be greater than zero")
+  public Long producibleQuantity;
+
+  public PlanCommitItemRequestDTO() {}
+
+  public PlanCommitItemRequestDTO(Long productId, Long producibleQuantity) {
+    this.productId = productId;
+    this.producibleQuantity = producibleQuantity;
+  }
+}
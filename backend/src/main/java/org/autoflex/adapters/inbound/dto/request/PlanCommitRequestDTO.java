@@ -0,0 +1,22 @@
+package org.autoflex.adapters.inbound.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class PlanCommitRequestDTO {
+
+  @NotBlank(message = "Plan stock version is required")
+  public String stockVersion;
+
+  @NotEmpty(message = "At least one plan item is required")
+  public List<@Valid PlanCommitItemRequestDTO> items;
+
+  public PlanCommitRequestDTO() {}
+
+  public PlanCommitRequestDTO(String stockVersion, List<PlanCommitItemRequestDTO> items) {
+    this.stockVersion = stockVersion;
+    this.items = items;
+  }
+}
@@ -0,0 +1,22 @@
+package org.autoflex.adapters.inbound.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+public class PriceOverrideRequestDTO {
+
+  @NotNull(message = "Product id is required")
+  public Long productId;
+
+  @NotNull(message = "Product price is required")
+  @DecimalMin(value = "0.01", message = "Price must be greater than zero")
+  public BigDecimal price;
+
+  public PriceOverrideRequestDTO() {}
+
+  public PriceOverrideRequestDTO(Long productId, BigDecimal price) {
+    this.productId = productId;
+    this.price = price;
+  }
+}
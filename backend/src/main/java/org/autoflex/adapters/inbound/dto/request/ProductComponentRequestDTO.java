@@ -0,0 +1,22 @@
+package org.autoflex.adapters.inbound.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+public class ProductComponentRequestDTO {
+
+  @NotNull(message = "Component id is required")
+  public Long id;
+
+  @NotNull(message = "Required quantity is required")
+  @DecimalMin(value = "0.01", message = "Required quantity must be greater than zero")
+  public BigDecimal requiredQuantity;
+
+  public ProductComponentRequestDTO() {}
+
+  public ProductComponentRequestDTO(Long id, BigDecimal requiredQuantity) {
+    this.id = id;
+    this.requiredQuantity = requiredQuantity;
+  }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.math.BigDecimal;
 import java.util.List;
 import lombok.Getter;
@@ -25,6 +26,9 @@ public class ProductRequestDTO {
   @NotEmpty(message = "At least one raw material is required")
   public List<@Valid ProductRawMaterialRequestDTO> rawMaterials;
 
+  @PositiveOrZero(message = "Max demand cannot be negative")
+  public Long maxDemand;
+
   ProductRequestDTO() {}
 
   public ProductRequestDTO(
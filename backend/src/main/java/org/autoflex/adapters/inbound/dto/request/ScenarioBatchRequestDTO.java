@@ -0,0 +1,20 @@
+package org.autoflex.adapters.inbound.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class ScenarioBatchRequestDTO {
+
+  public String strategy;
+
+  @NotEmpty(message = "At least one scenario is required")
+  public List<@Valid ScenarioRequestDTO> scenarios;
+
+  public ScenarioBatchRequestDTO() {}
+
+  public ScenarioBatchRequestDTO(String strategy, List<ScenarioRequestDTO> scenarios) {
+    this.strategy = strategy;
+    this.scenarios = scenarios;
+  }
+}
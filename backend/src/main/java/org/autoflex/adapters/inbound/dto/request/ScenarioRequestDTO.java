@@ -0,0 +1,31 @@
+package org.autoflex.adapters.inbound.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public class ScenarioRequestDTO {
+
+  @NotBlank(message = "Scenario name is required")
+  public String name;
+
+  public List<@Valid StockOverrideRequestDTO> stockOverrides;
+
+  public List<@Valid PriceOverrideRequestDTO> priceOverrides;
+
+  public List<@NotNull(message = "Product id is required") Long> excludedProductIds;
+
+  public ScenarioRequestDTO() {}
+
+  public ScenarioRequestDTO(
+      String name,
+      List<StockOverrideRequestDTO> stockOverrides,
+      List<PriceOverrideRequestDTO> priceOverrides,
+      List<Long> excludedProductIds) {
+    this.name = name;
+    this.stockOverrides = stockOverrides;
+    this.priceOverrides = priceOverrides;
+    this.excludedProductIds = excludedProductIds;
+  }
+}
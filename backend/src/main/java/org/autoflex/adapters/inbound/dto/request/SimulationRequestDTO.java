@@ -0,0 +1,32 @@
+package org.autoflex.adapters.inbound.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.util.List;
+
+public class SimulationRequestDTO {
+
+  public String strategy;
+
+  @Positive(message = "Samples must be greater than zero")
+  public Integer samples;
+
+  public Long seed;
+
+  @DecimalMin(value = "0.00", message = "Deviation cannot be negative")
+  public BigDecimal defaultDeviation;
+
+  public List<@Valid MaterialDeviationRequestDTO> materialDeviations;
+
+  public List<
+          @NotNull(message = "Percentile is required")
+          @DecimalMin(value = "0", message = "Percentiles must be between 0 and 100")
+          @DecimalMax(value = "100", message = "Percentiles must be between 0 and 100") Double>
+      percentiles;
+
+  public SimulationRequestDTO() {}
+}
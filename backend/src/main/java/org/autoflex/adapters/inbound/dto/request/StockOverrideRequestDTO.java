@@ -0,0 +1,25 @@
+package org.autoflex.adapters.inbound.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+public class StockOverrideRequestDTO {
+
+  @NotNull(message = "Raw material id is required")
+  public Long rawMaterialId;
+
+  @DecimalMin(value = "0.00", message = "Stock quantity cannot be negative")
+  public BigDecimal stockQuantity;
+
+  public BigDecimal stockDelta;
+
+  public StockOverrideRequestDTO() {}
+
+  public StockOverrideRequestDTO(
+      Long rawMaterialId, BigDecimal stockQuantity, BigDecimal stockDelta) {
+    this.rawMaterialId = rawMaterialId;
+    this.stockQuantity = stockQuantity;
+    this.stockDelta = stockDelta;
+  }
+}
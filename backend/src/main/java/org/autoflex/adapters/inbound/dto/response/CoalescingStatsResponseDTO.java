@@ -0,0 +1,11 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+public class CoalescingStatsResponseDTO {
+
+  public long computations;
+  public long coalescedRequests;
+  public long totalWaitMillis;
+  public long maxWaitMillis;
+
+  public CoalescingStatsResponseDTO() {}
+}
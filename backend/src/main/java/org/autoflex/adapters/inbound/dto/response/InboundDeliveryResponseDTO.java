@@ -0,0 +1,14 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class InboundDeliveryResponseDTO {
+
+  public Long id;
+  public Long rawMaterialId;
+  public LocalDate expectedDate;
+  public BigDecimal quantity;
+
+  public InboundDeliveryResponseDTO() {}
+}
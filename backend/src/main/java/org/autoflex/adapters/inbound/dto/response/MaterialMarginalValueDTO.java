@@ -0,0 +1,13 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.math.BigDecimal;
+
+public class MaterialMarginalValueDTO {
+
+  public Long rawMaterialId;
+  public String rawMaterialCode;
+  public String rawMaterialName;
+  public BigDecimal marginalValue;
+
+  public MaterialMarginalValueDTO() {}
+}
@@ -15,6 +15,8 @@ public class PageResponseDTO<T> {
   public int totalPages;
   public int page;
   public int size;
+  public String nextCursor;
+  public boolean hasNext;
 
   public static <T> PageResponseDTO<T> of(
       PanacheQuery<?> query, List<T> items, int page, int size) {
@@ -24,6 +26,7 @@ public class PageResponseDTO<T> {
     r.totalPages = query.pageCount();
     r.page = page;
     r.size = size;
+    r.hasNext = page + 1 < r.totalPages;
     return r;
   }
 }
@@ -0,0 +1,16 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.math.BigDecimal;
+
+public class PlanDiffItemDTO {
+
+  public Long productId;
+  public String productCode;
+  public String productName;
+  public BigDecimal previousQuantity;
+  public BigDecimal currentQuantity;
+  public BigDecimal previousTotalValue;
+  public BigDecimal currentTotalValue;
+
+  public PlanDiffItemDTO() {}
+}
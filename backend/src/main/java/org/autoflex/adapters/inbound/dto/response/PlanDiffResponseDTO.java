@@ -0,0 +1,17 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PlanDiffResponseDTO {
+
+  public Long fromSnapshotId;
+  public Long toSnapshotId;
+  public Long fromDataVersion;
+  public Long toDataVersion;
+  public BigDecimal grandTotalValueDelta = BigDecimal.ZERO;
+  public List<PlanDiffItemDTO> items = new ArrayList<>();
+
+  public PlanDiffResponseDTO() {}
+}
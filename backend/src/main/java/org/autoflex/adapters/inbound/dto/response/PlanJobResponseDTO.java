@@ -0,0 +1,18 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.time.Instant;
+
+public class PlanJobResponseDTO {
+
+  public String id;
+  public String strategy;
+  public String state;
+  public double progress;
+  public Instant submittedAt;
+  public Instant startedAt;
+  public Instant finishedAt;
+  public String error;
+  public ProductionPlanResponseDTO plan;
+
+  public PlanJobResponseDTO() {}
+}
@@ -0,0 +1,12 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.time.LocalDate;
+
+public class PlanPeriodDTO {
+
+  public LocalDate startDate;
+  public LocalDate endDate;
+  public ProductionPlanResponseDTO plan;
+
+  public PlanPeriodDTO() {}
+}
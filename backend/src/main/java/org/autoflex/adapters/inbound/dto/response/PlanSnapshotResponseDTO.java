@@ -0,0 +1,16 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class PlanSnapshotResponseDTO {
+
+  public Long id;
+  public String strategy;
+  public Long dataVersion;
+  public Instant createdAt;
+  public BigDecimal grandTotalValue;
+  public int itemCount;
+
+  public PlanSnapshotResponseDTO() {}
+}
@@ -0,0 +1,33 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.Setter;
+import org.autoflex.domain.ProductComponent;
+
+@Getter
+@Setter
+public class ProductComponentResponseDTO {
+
+  public Long id;
+  public String code;
+  public String name;
+  public BigDecimal requiredQuantity;
+
+  public ProductComponentResponseDTO() {}
+
+  public ProductComponentResponseDTO(
+      Long componentId, String componentCode, String componentName, BigDecimal requiredQuantity) {
+    this.id = componentId;
+    this.code = componentCode;
+    this.name = componentName;
+    this.requiredQuantity = requiredQuantity;
+  }
+
+  public ProductComponentResponseDTO(ProductComponent entity) {
+    this.id = entity.getComponent().getId();
+    this.code = entity.getComponent().getCode();
+    this.name = entity.getComponent().getName();
+    this.requiredQuantity = entity.getRequiredQuantity();
+  }
+}
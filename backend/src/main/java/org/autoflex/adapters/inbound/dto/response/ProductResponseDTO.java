@@ -13,6 +13,7 @@ public class ProductResponseDTO {
   public String code;
   public String name;
   public BigDecimal price;
+  public Long maxDemand;
   public List<ProductRawMaterialResponseDTO> rawMaterials;
 
   public ProductResponseDTO() {}
@@ -35,6 +36,7 @@ public class ProductResponseDTO {
     this.code = entity.getCode();
     this.name = entity.getName();
     this.price = entity.getPrice();
+    this.maxDemand = entity.getMaxDemand();
     this.rawMaterials =
         entity.getRawMaterials().stream()
             .map(ProductRawMaterialResponseDTO::new)
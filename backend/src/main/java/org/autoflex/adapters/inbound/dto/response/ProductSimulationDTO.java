@@ -0,0 +1,13 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.util.List;
+
+public class ProductSimulationDTO {
+
+  public Long productId;
+  public String productCode;
+  public String productName;
+  public List<Long> units;
+
+  public ProductSimulationDTO() {}
+}
@@ -10,6 +10,10 @@ public class ProductionCapacityDTO {
   public BigDecimal unitPrice;
   public BigDecimal producibleQuantity;
   public BigDecimal totalValue;
+  public Long maxDemand;
+  public Long limitingRawMaterialId;
+  public String limitingRawMaterialCode;
+  public String limitingRawMaterialName;
 
   public ProductionCapacityDTO() {}
 
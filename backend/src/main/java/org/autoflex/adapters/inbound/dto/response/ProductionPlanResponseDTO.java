@@ -8,6 +8,12 @@ public class ProductionPlanResponseDTO {
 
   public List<ProductionCapacityDTO> items = new ArrayList<>();
   public BigDecimal grandTotalValue = BigDecimal.ZERO;
+  public String strategy;
+  public BigDecimal optimalityGap;
+  public Long solveTimeMillis;
+  public List<MaterialMarginalValueDTO> marginalValues;
+  public Long dataVersion;
+  public String stockVersion;
 
   public ProductionPlanResponseDTO() {}
 
@@ -0,0 +1,16 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.math.BigDecimal;
+
+public class ProductionPlanSummaryDTO {
+
+  public String strategy;
+  public long itemCount;
+  public BigDecimal grandTotalValue = BigDecimal.ZERO;
+  public BigDecimal optimalityGap;
+  public Long solveTimeMillis;
+  public Long dataVersion;
+  public String stockVersion;
+
+  public ProductionPlanSummaryDTO() {}
+}
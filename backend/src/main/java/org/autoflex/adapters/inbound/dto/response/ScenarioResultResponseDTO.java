@@ -0,0 +1,9 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+public class ScenarioResultResponseDTO {
+
+  public String name;
+  public ProductionPlanResponseDTO plan;
+
+  public ScenarioResultResponseDTO() {}
+}
@@ -0,0 +1,18 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class SimulationResponseDTO {
+
+  public String strategy;
+  public long dataVersion;
+  public int samples;
+  public long seed;
+  public List<Double> percentiles;
+  public List<BigDecimal> totalValue;
+  public BigDecimal meanTotalValue;
+  public List<ProductSimulationDTO> items;
+
+  public SimulationResponseDTO() {}
+}
@@ -0,0 +1,12 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.math.BigDecimal;
+
+public class StockConsumptionResponseDTO {
+
+  public Long rawMaterialId;
+  public BigDecimal consumedQuantity;
+  public BigDecimal stockQuantity;
+
+  public StockConsumptionResponseDTO() {}
+}
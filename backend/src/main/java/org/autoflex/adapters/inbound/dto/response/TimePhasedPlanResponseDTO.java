@@ -0,0 +1,15 @@
+package org.autoflex.adapters.inbound.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class TimePhasedPlanResponseDTO {
+
+  public String strategy;
+  public long dataVersion;
+  public String granularity;
+  public List<PlanPeriodDTO> periods;
+  public BigDecimal grandTotalValue;
+
+  public TimePhasedPlanResponseDTO() {}
+}
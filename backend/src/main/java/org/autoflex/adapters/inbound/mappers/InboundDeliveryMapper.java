@@ -0,0 +1,20 @@
+package org.autoflex.adapters.inbound.mappers;
+
+import java.util.List;
+import org.autoflex.adapters.inbound.dto.request.InboundDeliveryRequestDTO;
+import org.autoflex.adapters.inbound.dto.response.InboundDeliveryResponseDTO;
+import org.autoflex.application.commands.InboundDeliveryCommand;
+import org.autoflex.domain.InboundDelivery;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "cdi")
+public interface InboundDeliveryMapper {
+
+  InboundDeliveryCommand toCommand(InboundDeliveryRequestDTO dto);
+
+  @Mapping(source = "rawMaterial.id", target = "rawMaterialId")
+  InboundDeliveryResponseDTO toResponse(InboundDelivery delivery);
+
+  List<InboundDeliveryResponseDTO> toList(List<InboundDelivery> deliveries);
+}
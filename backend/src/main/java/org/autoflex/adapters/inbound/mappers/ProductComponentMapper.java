@@ -0,0 +1,23 @@
+package org.autoflex.adapters.inbound.mappers;
+
+import java.util.List;
+import org.autoflex.adapters.inbound.dto.request.ProductComponentRequestDTO;
+import org.autoflex.adapters.inbound.dto.response.ProductComponentResponseDTO;
+import org.autoflex.application.commands.ProductComponentCommand;
+import org.autoflex.domain.ProductComponent;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "cdi")
+public interface ProductComponentMapper {
+
+  @Mapping(source = "id", target = "componentId")
+  @Mapping(source = "requiredQuantity", target = "requiredQuantity")
+  ProductComponentCommand toCommand(ProductComponentRequestDTO dto);
+
+  List<ProductComponentResponseDTO> toList(List<ProductComponent> list);
+
+  default ProductComponentResponseDTO map(ProductComponent line) {
+    return new ProductComponentResponseDTO(line);
+  }
+}
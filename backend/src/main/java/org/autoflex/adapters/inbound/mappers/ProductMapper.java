@@ -23,7 +23,14 @@ public interface ProductMapper {
   default PageResponseDTO<ProductResponseDTO> toResponse(PagedModel<Product> model, int page, int size) {
     List<ProductResponseDTO> content =
         model.items() == null ? List.of() : model.items().stream().map(this::map).toList();
-    return new PageResponseDTO<>(content, model.totalElements(), model.totalPages(), page, size);
+    return new PageResponseDTO<>(
+        content,
+        model.totalElements(),
+        model.totalPages(),
+        page,
+        size,
+        model.nextCursor(),
+        model.hasNext());
   }
 
   default ProductResponseDTO map(Product product) {
@@ -1,11 +1,87 @@
 package org.autoflex.adapters.inbound.mappers;
 
+import java.util.List;
+import org.autoflex.adapters.inbound.dto.request.PlanCommitItemRequestDTO;
+import org.autoflex.adapters.inbound.dto.request.PlanCommitRequestDTO;
+import org.autoflex.adapters.inbound.dto.request.ScenarioRequestDTO;
+import org.autoflex.adapters.inbound.dto.request.SimulationRequestDTO;
+import org.autoflex.adapters.inbound.dto.response.CoalescingStatsResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.PageResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.PlanDiffResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.PlanJobResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.PlanSnapshotResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.ProductionCapacityDTO;
 import org.autoflex.adapters.inbound.dto.response.ProductionPlanResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.ProductionPlanSummaryDTO;
+import org.autoflex.adapters.inbound.dto.response.ScenarioResultResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.SimulationResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.StockConsumptionResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.TimePhasedPlanResponseDTO;
+import org.autoflex.application.commands.PlanCommitCommand;
+import org.autoflex.application.commands.ScenarioCommand;
+import org.autoflex.application.commands.SimulationCommand;
+import org.autoflex.application.dto.CoalescingStats;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.PlanJobStatus;
+import org.autoflex.application.dto.ScenarioResult;
+import org.autoflex.application.dto.SimulationResult;
+import org.autoflex.application.dto.StockConsumption;
+import org.autoflex.application.dto.TimePhasedPlan;
+import org.autoflex.domain.PlanDiff;
+import org.autoflex.domain.PlanSnapshot;
+import org.autoflex.domain.ProductionCapacity;
 import org.autoflex.domain.ProductionPlan;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "cdi")
 public interface ProductionCapacityMapper {
 
   ProductionPlanResponseDTO toDomain(ProductionPlan productionPlan);
+
+  @Mapping(source = "limitingRawMaterial.id", target = "limitingRawMaterialId")
+  @Mapping(source = "limitingRawMaterial.code", target = "limitingRawMaterialCode")
+  @Mapping(source = "limitingRawMaterial.name", target = "limitingRawMaterialName")
+  ProductionCapacityDTO toDto(ProductionCapacity item);
+
+  @Mapping(target = "itemCount", ignore = true)
+  ProductionPlanSummaryDTO toSummary(ProductionPlan productionPlan);
+
+  CoalescingStatsResponseDTO toResponse(CoalescingStats stats);
+
+  ScenarioCommand toCommand(ScenarioRequestDTO dto);
+
+  List<ScenarioCommand> toCommands(List<ScenarioRequestDTO> dtos);
+
+  ScenarioResultResponseDTO toResponse(ScenarioResult result);
+
+  List<ScenarioResultResponseDTO> toScenarioResponses(List<ScenarioResult> results);
+
+  @Mapping(source = "producibleQuantity", target = "quantity")
+  PlanCommitCommand.Item toCommand(PlanCommitItemRequestDTO dto);
+
+  PlanCommitCommand toCommand(PlanCommitRequestDTO dto);
+
+  List<StockConsumptionResponseDTO> toConsumptionResponses(List<StockConsumption> consumptions);
+
+  @Mapping(target = "itemCount", expression = "java(snapshot.size())")
+  PlanSnapshotResponseDTO toResponse(PlanSnapshot snapshot);
+
+  PlanDiffResponseDTO toResponse(PlanDiff diff);
+
+  PlanJobResponseDTO toResponse(PlanJobStatus status);
+
+  SimulationCommand toCommand(SimulationRequestDTO dto);
+
+  SimulationResponseDTO toResponse(SimulationResult result);
+
+  TimePhasedPlanResponseDTO toResponse(TimePhasedPlan plan);
+
+  default PageResponseDTO<ProductionCapacityDTO> toResponse(
+      PagedModel<ProductionCapacity> model, int page, int size) {
+    List<ProductionCapacityDTO> content =
+        model.items() == null ? List.of() : model.items().stream().map(this::toDto).toList();
+    return new PageResponseDTO<>(
+        content, model.totalElements(), model.totalPages(), page, size, null, model.hasNext());
+  }
 }
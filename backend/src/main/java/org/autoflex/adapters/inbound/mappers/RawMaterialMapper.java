@@ -19,7 +19,14 @@ public interface RawMaterialMapper {
       PagedModel<RawMaterial> model, int page, int size) {
     List<RawMaterialResponseDTO> content =
         model.items() == null ? List.of() : model.items().stream().map(this::map).toList();
-    return new PageResponseDTO<>(content, model.totalElements(), model.totalPages(), page, size);
+    return new PageResponseDTO<>(
+        content,
+        model.totalElements(),
+        model.totalPages(),
+        page,
+        size,
+        model.nextCursor(),
+        model.hasNext());
   }
 
   default RawMaterialResponseDTO map(RawMaterial rawMaterial) {
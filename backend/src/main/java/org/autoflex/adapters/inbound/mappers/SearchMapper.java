@@ -1,6 +1,7 @@
 package org.autoflex.adapters.inbound.mappers;
 
 import org.autoflex.adapters.inbound.dto.request.PageRequestDTO;
+import org.autoflex.application.dto.CountMode;
 import org.autoflex.application.dto.SearchQuery;
 import org.mapstruct.Mapper;
 
@@ -8,4 +9,8 @@ import org.mapstruct.Mapper;
 public interface SearchMapper {
 
   SearchQuery toQuery(PageRequestDTO dto);
+
+  default CountMode toCountMode(String value) {
+    return CountMode.from(value);
+  }
 }
@@ -0,0 +1,91 @@
+package org.autoflex.adapters.inbound.notifications;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.autoflex.adapters.outbound.notifications.CatalogChangeChannel;
+import org.autoflex.application.events.CatalogChangedEvent;
+import org.autoflex.application.events.RemoteCatalogChangedEvent;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+/**
+ * Listens for catalog changes committed by other nodes on a connection of its own and re-fires
+ * them locally so in-memory caches are evicted. Notifications sent while the connection is down
+ * are lost, so every reconnect is treated as an unknown change.
+ */
+@ApplicationScoped
+public class CatalogChangeListener {
+
+  private static final Logger LOG = Logger.getLogger(CatalogChangeListener.class);
+  private static final int POLL_MILLIS = 1000;
+  private static final long RECONNECT_MILLIS = 5000;
+
+  @Inject AgroalDataSource dataSource;
+  @Inject CatalogChangeChannel channel;
+  @Inject Event<RemoteCatalogChangedEvent> remoteChanges;
+
+  @ConfigProperty(name = "catalog-notifications.enabled", defaultValue = "true")
+  boolean enabled;
+
+  private volatile boolean running;
+  private Thread worker;
+
+  void onStart(@Observes StartupEvent event) {
+    if (!enabled) return;
+
+    running = true;
+    worker = Thread.ofPlatform().daemon().name("catalog-change-listener").start(this::run);
+  }
+
+  void onStop(@Observes ShutdownEvent event) {
+    running = false;
+    if (worker != null) worker.interrupt();
+  }
+
+  private void run() {
+    boolean reconnect = false;
+    while (running) {
+      try (Connection connection = dataSource.getConnection()) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + CatalogChangeChannel.NAME);
+        }
+        if (reconnect) {
+          remoteChanges.fire(new RemoteCatalogChangedEvent(CatalogChangedEvent.unknown()));
+        }
+        listen(connection.unwrap(PGConnection.class));
+      } catch (SQLException e) {
+        if (!running) return;
+        LOG.warnf(e, "Catalog change listener disconnected, retrying in %d ms", RECONNECT_MILLIS);
+        reconnect = true;
+        try {
+          Thread.sleep(RECONNECT_MILLIS);
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+      }
+    }
+  }
+
+  private void listen(PGConnection connection) throws SQLException {
+    while (running) {
+      PGNotification[] notifications = connection.getNotifications(POLL_MILLIS);
+      if (notifications == null) continue;
+
+      for (PGNotification notification : notifications) {
+        channel
+            .decodeRemote(notification.getParameter())
+            .ifPresent(change -> remoteChanges.fire(new RemoteCatalogChangedEvent(change)));
+      }
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package org.autoflex.adapters.inbound.resources;
+
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+import org.autoflex.adapters.inbound.dto.request.InboundDeliveryRequestDTO;
+import org.autoflex.adapters.inbound.dto.response.InboundDeliveryResponseDTO;
+import org.autoflex.adapters.inbound.mappers.InboundDeliveryMapper;
+import org.autoflex.application.usecases.InboundDeliveryUseCase;
+import org.autoflex.domain.InboundDelivery;
+
+@Path("/raw-materials/{rawMaterialId}/deliveries")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class InboundDeliveryResource {
+
+  @Inject InboundDeliveryUseCase service;
+  @Inject InboundDeliveryMapper mapper;
+
+  @POST
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response add(
+      @PathParam("rawMaterialId") Long rawMaterialId, @Valid InboundDeliveryRequestDTO dto) {
+    InboundDelivery created = service.add(rawMaterialId, mapper.toCommand(dto));
+    return Response.status(Response.Status.CREATED).entity(mapper.toResponse(created)).build();
+  }
+
+  @GET
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response list(@PathParam("rawMaterialId") Long rawMaterialId) {
+    List<InboundDeliveryResponseDTO> response =
+        mapper.toList(service.listByRawMaterial(rawMaterialId));
+    return Response.ok().entity(response).build();
+  }
+
+  @DELETE
+  @Path("/{deliveryId}")
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response remove(
+      @PathParam("rawMaterialId") Long rawMaterialId, @PathParam("deliveryId") Long deliveryId) {
+    service.remove(rawMaterialId, deliveryId);
+    return Response.noContent().build();
+  }
+}
@@ -0,0 +1,71 @@
+package org.autoflex.adapters.inbound.resources;
+
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+import org.autoflex.adapters.inbound.dto.request.ProductComponentRequestDTO;
+import org.autoflex.adapters.inbound.dto.response.ProductComponentResponseDTO;
+import org.autoflex.adapters.inbound.mappers.ProductComponentMapper;
+import org.autoflex.application.commands.ProductComponentCommand;
+import org.autoflex.application.usecases.ProductComponentUseCase;
+import org.autoflex.domain.ProductComponent;
+
+@Path("/products/{productId}/components")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class ProductComponentResource {
+
+  @Inject ProductComponentUseCase service;
+  @Inject ProductComponentMapper mapper;
+
+  @POST
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response add(
+      @PathParam("productId") Long productId, @Valid ProductComponentRequestDTO dto) {
+    ProductComponentCommand cmd = mapper.toCommand(dto);
+    ProductComponent created = service.add(productId, cmd);
+    ProductComponentResponseDTO response = new ProductComponentResponseDTO(created);
+    return Response.status(Response.Status.CREATED).entity(response).build();
+  }
+
+  @GET
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response list(@PathParam("productId") Long productId) {
+    List<ProductComponent> list = service.listByProduct(productId);
+    List<ProductComponentResponseDTO> response = mapper.toList(list);
+    return Response.ok().entity(response).build();
+  }
+
+  @PUT
+  @Path("/{componentId}")
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response updateRequiredQuantity(
+      @PathParam("productId") Long productId,
+      @PathParam("componentId") Long componentId,
+      @Valid ProductComponentRequestDTO dto) {
+    ProductComponentCommand cmd = mapper.toCommand(dto);
+    ProductComponent updated = service.updateRequiredQuantity(productId, componentId, cmd);
+    ProductComponentResponseDTO response = new ProductComponentResponseDTO(updated);
+    return Response.ok(response).build();
+  }
+
+  @DELETE
+  @Path("/{componentId}")
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response remove(
+      @PathParam("productId") Long productId, @PathParam("componentId") Long componentId) {
+    service.remove(productId, componentId);
+    return Response.noContent().build();
+  }
+}
@@ -1,30 +1,309 @@
 package org.autoflex.adapters.inbound.resources;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.BeanParam;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import org.autoflex.adapters.inbound.cache.PlanResponseCache;
+import org.autoflex.adapters.inbound.cache.PlanResponseCache.CachedPlan;
+import org.autoflex.adapters.inbound.dto.request.PageRequestDTO;
+import org.autoflex.adapters.inbound.dto.request.PlanCommitRequestDTO;
+import org.autoflex.adapters.inbound.dto.request.ScenarioBatchRequestDTO;
+import org.autoflex.adapters.inbound.dto.request.SimulationRequestDTO;
+import org.autoflex.adapters.inbound.dto.response.CoalescingStatsResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.PageResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.PlanDiffResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.PlanJobResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.PlanSnapshotResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.ProductionCapacityDTO;
 import org.autoflex.adapters.inbound.dto.response.ProductionPlanResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.ProductionPlanSummaryDTO;
+import org.autoflex.adapters.inbound.dto.response.ScenarioResultResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.SimulationResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.StockConsumptionResponseDTO;
+import org.autoflex.adapters.inbound.dto.response.TimePhasedPlanResponseDTO;
 import org.autoflex.adapters.inbound.mappers.ProductionCapacityMapper;
+import org.autoflex.adapters.inbound.mappers.SearchMapper;
+import org.autoflex.application.capacity.PlanStream;
+import org.autoflex.application.capacity.strategies.PriceDescStrategy;
+import org.autoflex.application.commands.HorizonCommand;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.application.usecases.PlanJobUseCase;
+import org.autoflex.application.usecases.PlanSnapshotUseCase;
 import org.autoflex.application.usecases.ProductionCapacityUseCase;
+import org.autoflex.domain.ProductionCapacity;
 import org.autoflex.domain.ProductionPlan;
 
 @Path("/production-capacity")
 @Produces(MediaType.APPLICATION_JSON)
 public class ProductionCapacityResource {
 
+  public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+  private static final int FLUSH_EVERY = 64;
+
+  private static final CacheControl REVALIDATE = revalidate();
+
   @Inject ProductionCapacityUseCase productionCapacityUseCase;
 
   @Inject ProductionCapacityMapper mapper;
 
+  @Inject SearchMapper searchMapper;
+
+  @Inject ObjectMapper objectMapper;
+
+  @Inject PlanResponseCache planResponseCache;
+
+  @Inject PlanSnapshotUseCase planSnapshotUseCase;
+
+  @Inject PlanJobUseCase planJobUseCase;
+
+  @GET
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response generate(
+      @QueryParam("strategy") @DefaultValue("price-desc") String strategy,
+      @QueryParam("marginalValues") @DefaultValue("false") boolean marginalValues,
+      @Context Request request) {
+    CachedPlan plan =
+        planResponseCache.get(strategy, marginalValues, productionCapacityUseCase.dataVersion());
+    if (plan == null) {
+      ProductionPlan productionPlan =
+          marginalValues
+              ? productionCapacityUseCase.generate(strategy, true)
+              : productionCapacityUseCase.generate(strategy);
+      ProductionPlanResponseDTO dto = mapper.toDomain(productionPlan);
+      plan = planResponseCache.put(strategy, marginalValues, productionPlan.getDataVersion(), dto);
+    }
+
+    Response.ResponseBuilder notModified = request.evaluatePreconditions(plan.etag());
+    if (notModified != null) {
+      return notModified.cacheControl(REVALIDATE).build();
+    }
+    return Response.ok(plan.body(), MediaType.APPLICATION_JSON_TYPE)
+        .tag(plan.etag())
+        .cacheControl(REVALIDATE)
+        .build();
+  }
+
+  @GET
+  @Path("/stream")
+  @Produces(APPLICATION_NDJSON)
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response stream(@QueryParam("strategy") @DefaultValue("price-desc") String strategy) {
+    PlanStream plan = productionCapacityUseCase.openStream(strategy);
+
+    StreamingOutput body =
+        output -> {
+          long[] itemCount = {0};
+          ProductionPlan totals =
+              plan.writeTo(
+                  item -> {
+                    writeLine(output, mapper.toDto(item));
+                    if (++itemCount[0] == 1 || itemCount[0] % FLUSH_EVERY == 0) {
+                      flush(output);
+                    }
+                  });
+
+          ProductionPlanSummaryDTO summary = mapper.toSummary(totals);
+          summary.itemCount = itemCount[0];
+          writeLine(output, summary);
+          flush(output);
+        };
+    return Response.ok(body).build();
+  }
+
+  @GET
+  @Path("/stream")
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  @RolesAllowed({"ADMIN", "USER"})
+  public void streamEvents(
+      @QueryParam("strategy") @DefaultValue("price-desc") String strategy,
+      @Context SseEventSink eventSink,
+      @Context Sse sse) {
+    PlanStream plan = productionCapacityUseCase.openStream(strategy);
+
+    try (eventSink) {
+      long[] itemCount = {0};
+      ProductionPlan totals =
+          plan.writeTo(
+              item -> {
+                itemCount[0]++;
+                send(eventSink, event(sse, "item", mapper.toDto(item)));
+              });
+
+      ProductionPlanSummaryDTO summary = mapper.toSummary(totals);
+      summary.itemCount = itemCount[0];
+      send(eventSink, event(sse, "summary", summary));
+    }
+  }
+
+  @GET
+  @Path("/independent")
+  @RolesAllowed({"ADMIN", "USER"})
+  public PageResponseDTO<ProductionCapacityDTO> independentCapacity(
+      @BeanParam PageRequestDTO dto) {
+    SearchQuery query = searchMapper.toQuery(dto);
+    PagedModel<ProductionCapacity> pagedModel =
+        productionCapacityUseCase.independentCapacity(query);
+    return mapper.toResponse(pagedModel, dto.page, dto.size);
+  }
+
+  @POST
+  @Path("/scenarios")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response evaluateScenarios(@Valid ScenarioBatchRequestDTO dto) {
+    String strategy = dto.strategy == null ? PriceDescStrategy.NAME : dto.strategy;
+    List<ScenarioResultResponseDTO> results =
+        mapper.toScenarioResponses(
+            productionCapacityUseCase.evaluateScenarios(
+                strategy, mapper.toCommands(dto.scenarios)));
+    return Response.ok(results).build();
+  }
+
+  @POST
+  @Path("/simulations")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response simulate(@Valid SimulationRequestDTO dto) {
+    String strategy = dto.strategy == null ? PriceDescStrategy.NAME : dto.strategy;
+    SimulationResponseDTO response =
+        mapper.toResponse(productionCapacityUseCase.simulate(strategy, mapper.toCommand(dto)));
+    return Response.ok(response).build();
+  }
+
+  @GET
+  @Path("/horizon")
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response horizon(
+      @QueryParam("strategy") @DefaultValue("price-desc") String strategy,
+      @QueryParam("from") LocalDate from,
+      @QueryParam("periods") Integer periods,
+      @QueryParam("granularity") String granularity) {
+    HorizonCommand cmd = new HorizonCommand(from, periods, granularity);
+    TimePhasedPlanResponseDTO dto =
+        mapper.toResponse(productionCapacityUseCase.horizon(strategy, cmd));
+    return Response.ok(dto).build();
+  }
+
+  @POST
+  @Path("/commit")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response commit(@Valid PlanCommitRequestDTO dto) {
+    List<StockConsumptionResponseDTO> consumptions =
+        mapper.toConsumptionResponses(productionCapacityUseCase.commit(mapper.toCommand(dto)));
+    return Response.ok(consumptions).build();
+  }
+
+  @POST
+  @Path("/snapshots")
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response captureSnapshot(
+      @QueryParam("strategy") @DefaultValue("price-desc") String strategy) {
+    PlanSnapshotResponseDTO dto = mapper.toResponse(planSnapshotUseCase.capture(strategy));
+    return Response.status(Response.Status.CREATED).entity(dto).build();
+  }
+
+  @GET
+  @Path("/snapshots/{id}/diff")
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response diff(@PathParam("id") Long id, @QueryParam("to") Long toId) {
+    PlanDiffResponseDTO dto = mapper.toResponse(planSnapshotUseCase.diff(id, toId));
+    return Response.ok(dto).build();
+  }
+
+  @POST
+  @Path("/jobs")
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response submitJob(@QueryParam("strategy") @DefaultValue("optimal") String strategy) {
+    PlanJobResponseDTO dto = mapper.toResponse(planJobUseCase.submit(strategy));
+    return Response.status(Response.Status.ACCEPTED).entity(dto).build();
+  }
+
   @GET
+  @Path("/jobs/{id}")
   @RolesAllowed({"ADMIN", "USER"})
-  public Response generate() {
-    ProductionPlan productionPlan = productionCapacityUseCase.generate();
-    ProductionPlanResponseDTO dto = mapper.toDomain(productionPlan);
+  public Response jobStatus(@PathParam("id") String id) {
+    PlanJobResponseDTO dto = mapper.toResponse(planJobUseCase.status(id));
     return Response.ok(dto).build();
   }
+
+  @DELETE
+  @Path("/jobs/{id}")
+  @RolesAllowed({"ADMIN", "USER"})
+  public Response cancelJob(@PathParam("id") String id) {
+    PlanJobResponseDTO dto = mapper.toResponse(planJobUseCase.cancel(id));
+    return Response.ok(dto).build();
+  }
+
+  @GET
+  @Path("/metrics")
+  @RolesAllowed("ADMIN")
+  public Response coalescingStats() {
+    CoalescingStatsResponseDTO dto = mapper.toResponse(productionCapacityUseCase.coalescingStats());
+    return Response.ok(dto).build();
+  }
+
+  private static CacheControl revalidate() {
+    CacheControl cacheControl = new CacheControl();
+    cacheControl.setPrivate(true);
+    cacheControl.setNoCache(true);
+    return cacheControl;
+  }
+
+  private void writeLine(OutputStream output, Object value) {
+    try {
+      output.write(objectMapper.writeValueAsBytes(value));
+      output.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void flush(OutputStream output) {
+    try {
+      output.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static OutboundSseEvent event(Sse sse, String name, Object data) {
+    return sse.newEventBuilder()
+        .name(name)
+        .mediaType(MediaType.APPLICATION_JSON_TYPE)
+        .data(data)
+        .build();
+  }
+
+  // Waiting for each write keeps at most one event buffered, whatever the catalog size.
+  private static void send(SseEventSink eventSink, OutboundSseEvent event) {
+    eventSink.send(event).toCompletableFuture().join();
+  }
 }
@@ -0,0 +1,50 @@
+package org.autoflex.adapters.outbound.notifications;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Optional;
+import java.util.UUID;
+import org.autoflex.application.events.CatalogChangedEvent;
+
+/**
+ * Wire format of catalog change notifications: {@code node:productId:rawMaterialId:componentId},
+ * with empty fields for nulls. The node id lets each node skip its own notifications, which it
+ * has already applied locally.
+ */
+@ApplicationScoped
+public class CatalogChangeChannel {
+
+  public static final String NAME = "catalog_changed";
+
+  private final String nodeId = UUID.randomUUID().toString();
+
+  public String encode(CatalogChangedEvent event) {
+    return String.join(
+        ":",
+        nodeId,
+        format(event.productId()),
+        format(event.rawMaterialId()),
+        format(event.componentId()));
+  }
+
+  /** The change carried by a notification from another node; empty for own or unreadable ones. */
+  public Optional<CatalogChangedEvent> decodeRemote(String payload) {
+    String[] fields = payload == null ? new String[0] : payload.split(":", -1);
+    if (fields.length != 4) return Optional.of(CatalogChangedEvent.unknown());
+    if (fields[0].equals(nodeId)) return Optional.empty();
+
+    try {
+      return Optional.of(
+          new CatalogChangedEvent(parse(fields[1]), parse(fields[2]), parse(fields[3])));
+    } catch (NumberFormatException e) {
+      return Optional.of(CatalogChangedEvent.unknown());
+    }
+  }
+
+  private static String format(Long id) {
+    return id == null ? "" : id.toString();
+  }
+
+  private static Long parse(String field) {
+    return field.isEmpty() ? null : Long.valueOf(field);
+  }
+}
@@ -0,0 +1,35 @@
+package org.autoflex.adapters.outbound.notifications;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.autoflex.application.events.CatalogChangedEvent;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Publishes catalog changes on a PostgreSQL channel. NOTIFY runs inside the writing transaction;
+ * PostgreSQL delivers it to listeners only once that transaction commits and drops it on
+ * rollback.
+ */
+@ApplicationScoped
+public class CatalogChangePublisher {
+
+  @Inject EntityManager entityManager;
+  @Inject CatalogChangeChannel channel;
+
+  @ConfigProperty(name = "catalog-notifications.enabled", defaultValue = "true")
+  boolean enabled;
+
+  void onCatalogChanged(
+      @Observes(during = TransactionPhase.BEFORE_COMPLETION) CatalogChangedEvent event) {
+    if (!enabled) return;
+
+    entityManager
+        .createNativeQuery("select pg_notify(:channel, :payload)")
+        .setParameter("channel", CatalogChangeChannel.NAME)
+        .setParameter("payload", channel.encode(event))
+        .getSingleResult();
+  }
+}
@@ -0,0 +1,70 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaInboundDeliveryEntity;
+import org.autoflex.adapters.outbound.persistence.jpa.mappers.InboundDeliveryPersistenceMapper;
+import org.autoflex.adapters.outbound.persistence.jpa.repositories.JpaInboundDeliveryRepository;
+import org.autoflex.application.gateways.InboundDeliveryRepository;
+import org.autoflex.domain.InboundDelivery;
+
+@ApplicationScoped
+public class InboundDeliveryPersistenceAdapter implements InboundDeliveryRepository {
+
+  @Inject JpaInboundDeliveryRepository jpaInboundDeliveryRepository;
+  @Inject InboundDeliveryPersistenceMapper mapper;
+
+  @Override
+  public InboundDelivery save(InboundDelivery delivery) {
+    JpaInboundDeliveryEntity entity = mapper.toEntity(delivery);
+    jpaInboundDeliveryRepository.persistAndFlush(entity);
+    return mapper.toDomain(entity);
+  }
+
+  @Override
+  public Optional<InboundDelivery> findById(Long id) {
+    return jpaInboundDeliveryRepository
+        .find("from JpaInboundDeliveryEntity d join fetch d.rawMaterial where d.id = ?1", id)
+        .firstResultOptional()
+        .map(mapper::toDomain);
+  }
+
+  @Override
+  public List<InboundDelivery> listByRawMaterial(Long rawMaterialId) {
+    return jpaInboundDeliveryRepository
+        .find(
+            "from JpaInboundDeliveryEntity d"
+                + " join fetch d.rawMaterial"
+                + " where d.rawMaterial.id = ?1"
+                + " order by d.expectedDate, d.id",
+            rawMaterialId)
+        .list()
+        .stream()
+        .map(mapper::toDomain)
+        .toList();
+  }
+
+  @Override
+  public List<InboundDelivery> listExpectedBetween(LocalDate from, LocalDate to) {
+    return jpaInboundDeliveryRepository
+        .find(
+            "from JpaInboundDeliveryEntity d"
+                + " join fetch d.rawMaterial"
+                + " where d.expectedDate >= ?1 and d.expectedDate < ?2"
+                + " order by d.expectedDate",
+            from,
+            to)
+        .list()
+        .stream()
+        .map(mapper::toDomain)
+        .toList();
+  }
+
+  @Override
+  public void delete(Long id) {
+    jpaInboundDeliveryRepository.deleteById(id);
+  }
+}
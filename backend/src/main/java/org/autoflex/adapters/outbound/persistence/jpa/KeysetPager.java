@@ -0,0 +1,157 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.common.exceptions.InvalidDataException;
+
+/**
+ * Cursor (seek) pagination over a Panache repository. The cursor names the sort field and
+ * direction and carries the last row's sort value and id; the next page is the rows after it by a
+ * row comparison on {@code (field, id)}, which a composite index on those columns answers without
+ * reading the rows before it. Ties on the sort value are broken by id, so rows inserted while a
+ * client pages never shift later pages.
+ */
+final class KeysetPager<E> {
+
+  /** A column a keyset listing may sort by, with its text form inside a cursor. */
+  record SortKey<E>(Function<E, String> writer, Function<String, Object> parser) {
+
+    static <E> SortKey<E> text(Function<E, String> reader) {
+      return new SortKey<>(reader, value -> value);
+    }
+
+    static <E> SortKey<E> decimal(Function<E, BigDecimal> reader) {
+      return new SortKey<>(entity -> reader.apply(entity).toPlainString(), BigDecimal::new);
+    }
+  }
+
+  record Cursor(String field, boolean descending, long id, String value) {
+
+    String encode() {
+      String raw = String.join("\n", field, descending ? "d" : "a", String.valueOf(id), value);
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String token) {
+      try {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\n", 4);
+        if (parts.length != 4 || !(parts[1].equals("a") || parts[1].equals("d"))) {
+          throw new InvalidDataException("Invalid cursor");
+        }
+        return new Cursor(parts[0], parts[1].equals("d"), Long.parseLong(parts[2]), parts[3]);
+      } catch (IllegalArgumentException e) {
+        throw new InvalidDataException("Invalid cursor");
+      }
+    }
+  }
+
+  private static final String ID = "id";
+
+  private final String table;
+  private final Function<E, Long> idReader;
+  private final Map<String, SortKey<E>> sortKeys;
+
+  KeysetPager(String table, Function<E, Long> idReader, Map<String, SortKey<E>> sortKeys) {
+    this.table = table;
+    this.idReader = idReader;
+    this.sortKeys = sortKeys;
+  }
+
+  /**
+   * The page of {@code repository} rows matching {@code filter} (null for all rows) that follows
+   * the query's cursor, mapped with {@code mapper} and totalled by {@code counter}.
+   */
+  <T> PagedModel<T> page(
+      PanacheRepository<E> repository,
+      PageCounter counter,
+      String filter,
+      SearchQuery query,
+      Function<E, T> mapper,
+      Object... params) {
+    if (query.size() <= 0) {
+      throw new InvalidDataException("Page size must be greater than zero");
+    }
+    String field = query.sortBy() == null || query.sortBy().isBlank() ? ID : query.sortBy();
+    SortKey<E> sortKey = sortKeys.get(field);
+    if (sortKey == null && !field.equals(ID)) {
+      throw new InvalidDataException("Cannot page by cursor when sorting by " + field);
+    }
+    boolean descending = "desc".equalsIgnoreCase(query.direction());
+    Sort.Direction direction = descending ? Sort.Direction.Descending : Sort.Direction.Ascending;
+
+    List<String> conditions = new ArrayList<>();
+    List<Object> arguments = new ArrayList<>(Arrays.asList(params));
+    if (filter != null) {
+      conditions.add("(" + filter + ")");
+    }
+    if (!query.cursor().isEmpty()) {
+      Cursor cursor = Cursor.decode(query.cursor());
+      if (!cursor.field().equals(field) || cursor.descending() != descending) {
+        throw new InvalidDataException("Cursor does not match the requested sort");
+      }
+      String operator = descending ? "<" : ">";
+      int next = arguments.size() + 1;
+      if (sortKey == null) {
+        conditions.add(String.format("id %s ?%d", operator, next));
+      } else {
+        conditions.add(
+            String.format("(%s, id) %s (?%d, ?%d)", field, operator, next, next + 1));
+        arguments.add(parse(sortKey, cursor.value()));
+      }
+      arguments.add(cursor.id());
+    }
+
+    Sort sort =
+        sortKey == null ? Sort.by(ID, direction) : Sort.by(field, direction).and(ID, direction);
+    PanacheQuery<E> panacheQuery =
+        conditions.isEmpty()
+            ? repository.findAll(sort)
+            : repository.find(String.join(" and ", conditions), sort, arguments.toArray());
+
+    // One row past the page tells whether another page follows.
+    List<E> rows = panacheQuery.range(0, query.size()).list();
+    String nextCursor = null;
+    if (rows.size() > query.size()) {
+      rows = rows.subList(0, query.size());
+      E last = rows.getLast();
+      String value = sortKey == null ? "" : sortKey.writer().apply(last);
+      nextCursor = new Cursor(field, descending, idReader.apply(last), value).encode();
+    }
+
+    long total =
+        counter.total(
+            query,
+            table,
+            filter,
+            params,
+            () -> filter == null ? repository.count() : repository.count(filter, params));
+    return new PagedModel<>(
+        rows.stream().map(mapper).toList(),
+        total,
+        PagedModel.pageCount(total, query.size()),
+        nextCursor,
+        nextCursor != null);
+  }
+
+  private static Object parse(SortKey<?> sortKey, String value) {
+    try {
+      return sortKey.parser().apply(value);
+    } catch (NumberFormatException e) {
+      throw new InvalidDataException("Invalid cursor");
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.autoflex.application.dto.CountMode;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.application.events.CatalogChangedEvent;
+import org.autoflex.application.events.RemoteCatalogChangedEvent;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Totals for paged listings in the query's {@link CountMode}. Exact counts are kept per table,
+ * filter and arguments for a short TTL, so clients flipping through pages do not pay for a COUNT
+ * on each one; writes through the adapters drop the table's counts, and so do catalog changes
+ * reported by other nodes. Changes made any other way show up once the TTL runs out. Estimates
+ * read the planner's row count for the table.
+ */
+@ApplicationScoped
+public class PageCounter {
+
+  private static final int MAX_CACHED_COUNTS = 1_000;
+
+  @Inject EntityManager entityManager;
+
+  @ConfigProperty(name = "paging.count-cache.ttl", defaultValue = "PT5S")
+  Duration ttl;
+
+  Clock clock = Clock.systemUTC();
+
+  private record Key(String table, String filter, List<Object> params) {}
+
+  private record Count(long value, Instant expiresAt) {}
+
+  private final ConcurrentHashMap<Key, Count> counts = new ConcurrentHashMap<>();
+
+  /**
+   * The offset page of {@code panacheQuery}, which selects from {@code table} the rows matching
+   * {@code filter} (null for all rows) with {@code params}. One row past the page tells whether
+   * another page follows, so that is known even when nothing is counted.
+   */
+  public <E, T> PagedModel<T> offsetPage(
+      PanacheQuery<E> panacheQuery,
+      SearchQuery query,
+      String table,
+      String filter,
+      Function<E, T> mapper,
+      Object... params) {
+    if (query.page() < 0 || query.size() <= 0) {
+      throw new InvalidDataException("Page must not be negative and size must be positive");
+    }
+    int first = Math.multiplyExact(query.page(), query.size());
+    List<E> rows = panacheQuery.range(first, first + query.size()).list();
+    boolean hasNext = rows.size() > query.size();
+    if (hasNext) {
+      rows = rows.subList(0, query.size());
+    }
+
+    long total = total(query, table, filter, params, panacheQuery::count);
+    return new PagedModel<>(
+        rows.stream().map(mapper).toList(),
+        total,
+        PagedModel.pageCount(total, query.size()),
+        null,
+        hasNext);
+  }
+
+  /**
+   * Total rows of {@code table} matching {@code filter} in the query's count mode, or {@link
+   * PagedModel#UNCOUNTED}. {@code exactCount} runs the COUNT when no cached one is fresh.
+   */
+  public long total(
+      SearchQuery query, String table, String filter, Object[] params, LongSupplier exactCount) {
+    if (query.countMode() == CountMode.NONE) {
+      return PagedModel.UNCOUNTED;
+    }
+    if (query.countMode() == CountMode.ESTIMATED && filter == null) {
+      long estimate = estimate(table);
+      // Tables the planner has not analyzed yet report no rows or -1; count those instead.
+      if (estimate > 0) {
+        return estimate;
+      }
+    }
+    return exact(new Key(table, filter, Arrays.asList(params)), exactCount);
+  }
+
+  /** Drops the cached counts of {@code table} after rows were written to it. */
+  public void invalidate(String table) {
+    counts.keySet().removeIf(key -> key.table().equals(table));
+  }
+
+  void onRemoteCatalogChanged(@Observes RemoteCatalogChangedEvent event) {
+    CatalogChangedEvent change = event.change();
+    if (change.isRecipeChange()) {
+      invalidate(ProductRawMaterialPersistenceAdapter.TABLE);
+    } else if (change.productId() != null) {
+      invalidate(ProductPersistenceAdapter.TABLE);
+      invalidate(ProductRawMaterialPersistenceAdapter.TABLE);
+    } else if (change.rawMaterialId() != null) {
+      invalidate(RawMaterialPersistenceAdapter.TABLE);
+    } else {
+      counts.clear();
+    }
+  }
+
+  private long exact(Key key, LongSupplier exactCount) {
+    Instant now = clock.instant();
+    Count cached = counts.get(key);
+    if (cached != null && cached.expiresAt().isAfter(now)) {
+      return cached.value();
+    }
+
+    long value = exactCount.getAsLong();
+    if (ttl.isPositive()) {
+      if (counts.size() >= MAX_CACHED_COUNTS) {
+        counts.values().removeIf(count -> !count.expiresAt().isAfter(now));
+      }
+      if (counts.size() < MAX_CACHED_COUNTS) {
+        counts.put(key, new Count(value, now.plus(ttl)));
+      }
+    }
+    return value;
+  }
+
+  private long estimate(String table) {
+    List<?> rows =
+        entityManager
+            .createNativeQuery("select reltuples from pg_class where oid = to_regclass(?1)")
+            .setParameter(1, table)
+            .getResultList();
+    return rows.isEmpty() ? -1 : ((Number) rows.getFirst()).longValue();
+  }
+}
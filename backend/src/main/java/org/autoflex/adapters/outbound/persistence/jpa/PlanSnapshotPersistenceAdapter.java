@@ -0,0 +1,29 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Optional;
+import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaPlanSnapshotEntity;
+import org.autoflex.adapters.outbound.persistence.jpa.mappers.PlanSnapshotPersistenceMapper;
+import org.autoflex.adapters.outbound.persistence.jpa.repositories.JpaPlanSnapshotRepository;
+import org.autoflex.application.gateways.PlanSnapshotRepository;
+import org.autoflex.domain.PlanSnapshot;
+
+@ApplicationScoped
+public class PlanSnapshotPersistenceAdapter implements PlanSnapshotRepository {
+
+  @Inject JpaPlanSnapshotRepository jpaPlanSnapshotRepository;
+  @Inject PlanSnapshotPersistenceMapper mapper;
+
+  @Override
+  public PlanSnapshot save(PlanSnapshot snapshot) {
+    JpaPlanSnapshotEntity entity = mapper.toEntity(snapshot);
+    jpaPlanSnapshotRepository.persistAndFlush(entity);
+    return mapper.toDomain(entity);
+  }
+
+  @Override
+  public Optional<PlanSnapshot> findById(Long id) {
+    return jpaPlanSnapshotRepository.findByIdOptional(id).map(mapper::toDomain);
+  }
+}
@@ -0,0 +1,80 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaProductComponentEntity;
+import org.autoflex.adapters.outbound.persistence.jpa.mappers.ProductComponentPersistenceMapper;
+import org.autoflex.adapters.outbound.persistence.jpa.repositories.JpaProductComponentRepository;
+import org.autoflex.application.gateways.ProductComponentRepository;
+import org.autoflex.domain.ProductComponent;
+
+@ApplicationScoped
+public class ProductComponentPersistenceAdapter implements ProductComponentRepository {
+
+  @Inject JpaProductComponentRepository jpaProductComponentRepository;
+  @Inject ProductComponentPersistenceMapper mapper;
+  @Inject PageCounter pageCounter;
+
+  @Override
+  public ProductComponent save(ProductComponent domain) {
+    JpaProductComponentEntity entity;
+
+    if (domain.getId() != null) {
+      entity = jpaProductComponentRepository.findById(domain.getId());
+      mapper.updateEntityFromDomain(domain, entity);
+    } else {
+      entity = mapper.toEntity(domain);
+    }
+
+    jpaProductComponentRepository.persistAndFlush(entity);
+    // Component lines feed the independent capacity listing, whose count is kept under this table.
+    pageCounter.invalidate(ProductRawMaterialPersistenceAdapter.TABLE);
+    return mapper.toDomain(entity);
+  }
+
+  @Override
+  public Optional<ProductComponent> findByProductAndComponent(Long productId, Long componentId) {
+    return jpaProductComponentRepository
+        .find("product.id = ?1 and component.id = ?2", productId, componentId)
+        .firstResultOptional()
+        .map(mapper::toDomain);
+  }
+
+  @Override
+  public List<ProductComponent> listByProduct(Long productId) {
+    return jpaProductComponentRepository
+        .find(
+            "from JpaProductComponentEntity pc"
+                + " join fetch pc.product"
+                + " join fetch pc.component"
+                + " where pc.product.id = ?1",
+            productId)
+        .list()
+        .stream()
+        .map(mapper::toDomain)
+        .toList();
+  }
+
+  @Override
+  public Map<Long, List<ProductComponent>> listAllGroupedByProduct() {
+    return jpaProductComponentRepository
+        .find(
+            "from JpaProductComponentEntity pc"
+                + " join fetch pc.product"
+                + " join fetch pc.component")
+        .list()
+        .stream()
+        .map(mapper::toDomain)
+        .collect(Collectors.groupingBy(line -> line.getProduct().getId()));
+  }
+
+  @Override
+  public void delete(Long id) {
+    jpaProductComponentRepository.deleteById(id);
+    pageCounter.invalidate(ProductRawMaterialPersistenceAdapter.TABLE);
+  }
+}
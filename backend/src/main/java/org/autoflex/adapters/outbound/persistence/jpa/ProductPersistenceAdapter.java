@@ -1,27 +1,53 @@
 package org.autoflex.adapters.outbound.persistence.jpa;
 
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
-import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.autoflex.adapters.outbound.persistence.jpa.KeysetPager.SortKey;
 import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaProductEntity;
+import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaProductRawMaterialEntity;
 import org.autoflex.adapters.outbound.persistence.jpa.mappers.ProductPersistenceMapper;
 import org.autoflex.adapters.outbound.persistence.jpa.repositories.JpaProductRepository;
 import org.autoflex.application.dto.PagedModel;
 import org.autoflex.application.dto.SearchQuery;
 import org.autoflex.application.gateways.ProductRepository;
 import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
 
 @ApplicationScoped
 public class ProductPersistenceAdapter implements ProductRepository, JpaSortable {
 
+  static final String TABLE = "products";
+  private static final String NAME_FILTER = TrigramSearch.CONTAINS_FILTER;
+
+  // Name and the numeric key have (column, id) indexes; code is unique, so its own index serves.
+  private static final KeysetPager<JpaProductEntity> KEYSET =
+      new KeysetPager<>(
+          TABLE,
+          JpaProductEntity::getId,
+          Map.of(
+              "name", SortKey.text(JpaProductEntity::getName),
+              "code", SortKey.text(JpaProductEntity::getCode),
+              "price", SortKey.decimal(JpaProductEntity::getPrice)));
+
+  private static final TrigramSearch<JpaProductEntity> SEARCH =
+      new TrigramSearch<>(
+          JpaProductEntity.class,
+          TABLE,
+          Map.of("id", "id", "name", "name", "code", "code", "price", "price"));
+
   @Inject
   JpaProductRepository jpaProductRepository;
   @Inject
   ProductPersistenceMapper mapper;
+  @Inject
+  PageCounter pageCounter;
 
   @Override
   public Product save(Product domain) {
@@ -32,23 +58,47 @@ public class ProductPersistenceAdapter implements ProductRepository, JpaSortable
       entity.setCode(domain.getCode());
       entity.setName(domain.getName());
       entity.setPrice(domain.getPrice());
-
-      // Remove old associations first to avoid unique constraint violations when reusing raw material IDs.
-      entity.getRawMaterials().clear();
-      jpaProductRepository.flush();
-
-      if (domain.getRawMaterials() != null) {
-        entity.getRawMaterials().addAll(mapper.toEntityRawMaterialList(domain.getRawMaterials()));
-      }
-      mapper.linkParentInEntity(entity);
+      entity.setMaxDemand(domain.getMaxDemand());
+      mergeRawMaterials(entity, domain.getRawMaterials());
     } else {
       entity = mapper.toEntity(domain);
     }
 
     jpaProductRepository.persistAndFlush(entity);
+    invalidateCounts();
     return mapper.toDomain(entity);
   }
 
+  /**
+   * Brings the entity's recipe in line with {@code rawMaterials}, keyed by raw material id: links
+   * that stay are updated in place, so only changed quantities, new links and removed links reach
+   * the database. No raw material is deleted and re-inserted, so the unique constraint on product
+   * and raw material cannot trip and no intermediate flush is needed.
+   */
+  private void mergeRawMaterials(JpaProductEntity entity, List<ProductRawMaterial> rawMaterials) {
+    Map<Long, ProductRawMaterial> wanted = new LinkedHashMap<>();
+    if (rawMaterials != null) {
+      for (ProductRawMaterial link : rawMaterials) {
+        wanted.put(link.getRawMaterial().getId(), link);
+      }
+    }
+
+    Iterator<JpaProductRawMaterialEntity> current = entity.getRawMaterials().iterator();
+    while (current.hasNext()) {
+      JpaProductRawMaterialEntity link = current.next();
+      ProductRawMaterial target = wanted.remove(link.getRawMaterial().getId());
+      if (target == null) {
+        current.remove();
+      } else if (link.getRequiredQuantity().compareTo(target.getRequiredQuantity()) != 0) {
+        link.setRequiredQuantity(target.getRequiredQuantity());
+      }
+    }
+
+    for (ProductRawMaterial link : wanted.values()) {
+      entity.addRawMaterial(mapper.toEntityRawMaterial(link));
+    }
+  }
+
   @Override
   public Optional<Product> findByCode(String code) {
     return jpaProductRepository.find("code", code).firstResultOptional().map(mapper::toDomain);
@@ -62,38 +112,45 @@ public class ProductPersistenceAdapter implements ProductRepository, JpaSortable
   @Override
   public void delete(Long id) {
     jpaProductRepository.deleteById(id);
+    invalidateCounts();
+  }
+
+  // A product write can also change which products have a recipe.
+  private void invalidateCounts() {
+    pageCounter.invalidate(TABLE);
+    pageCounter.invalidate(ProductRawMaterialPersistenceAdapter.TABLE);
   }
 
   @Override
   public PagedModel<Product> findAll(SearchQuery query) {
-    Sort sort = createSort(query);
-
-    PanacheQuery<JpaProductEntity> panacheQuery =
-        jpaProductRepository.findAll(sort).page(Page.of(query.page(), query.size()));
-
-    List<Product> items = panacheQuery.list().stream().map(mapper::toDomain).toList();
-
-    return new PagedModel<>(items, panacheQuery.count(), panacheQuery.pageCount());
+    if (query.isKeyset()) {
+      return KEYSET.page(jpaProductRepository, pageCounter, null, query, mapper::toDomain);
+    }
+    PanacheQuery<JpaProductEntity> panacheQuery = jpaProductRepository.findAll(createSort(query));
+    return pageCounter.offsetPage(panacheQuery, query, TABLE, null, mapper::toDomain);
   }
 
   @Override
   public PagedModel<Product> findByName(String name, SearchQuery query) {
-    Sort sort = createSort(query);
-
+    if (TrigramSearch.handles(query)) {
+      return SEARCH.page(
+          jpaProductRepository.getEntityManager(), pageCounter, name, query, mapper::toDomain);
+    }
+    String pattern = TrigramSearch.containsPattern(name);
+    if (query.isKeyset()) {
+      return KEYSET.page(
+          jpaProductRepository, pageCounter, NAME_FILTER, query, mapper::toDomain, pattern);
+    }
     PanacheQuery<JpaProductEntity> panacheQuery =
-        jpaProductRepository
-            .find("lower(name) like concat('%', lower(?1), '%')", sort, name)
-            .page(Page.of(query.page(), query.size()));
-
-    List<Product> items = panacheQuery.list().stream().map(mapper::toDomain).toList();
-
-    return new PagedModel<>(items, panacheQuery.count(), panacheQuery.pageCount());
+        jpaProductRepository.find(NAME_FILTER, createSort(query), pattern);
+    return pageCounter.offsetPage(
+        panacheQuery, query, TABLE, NAME_FILTER, mapper::toDomain, pattern);
   }
 
   @Override
   public List<Product> findAllOrderedByPriceDesc() {
     return jpaProductRepository.listAll(Sort.by("price").descending()).stream()
-        .map(mapper::toDomain)
+        .map(mapper::toShallowDomain)
         .toList();
   }
 }
@@ -2,19 +2,72 @@ package org.autoflex.adapters.outbound.persistence.jpa;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaProductRawMaterialEntity;
 import org.autoflex.adapters.outbound.persistence.jpa.mappers.ProductRawMaterialPersistenceMapper;
 import org.autoflex.adapters.outbound.persistence.jpa.repositories.JpaProductRawMaterialRepository;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.SearchQuery;
 import org.autoflex.application.gateways.ProductRawMaterialRepository;
+import org.autoflex.common.exceptions.InvalidDataException;
 import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.ProductionCapacity;
 
 @ApplicationScoped
 public class ProductRawMaterialPersistenceAdapter implements ProductRawMaterialRepository {
 
+  static final String TABLE = "product_raw_materials";
+
+  // Cache key of the capacity listing's count; the listing has no filter but cannot be estimated.
+  private static final String CAPACITY_COUNT = "distinct product";
+
+  // Bills of materials exploded to leaf raw materials, as BomExplosion does for the snapshot: bom
+  // walks component lines keeping the path to stop at cycles, lines sums each leaf's quantity per
+  // unit of the product, and blocked holds products on a cycle or built from a component with no
+  // lines at all. Standalone units are the minimum over the leaves; a leaf that can never be
+  // satisfied caps the product at 0.
+  private static final String CAPACITY =
+      "with recursive bom(product_id, item_id, quantity, path, cyclic) as ("
+          + " select p.id, p.id, cast(1 as numeric), array[p.id], false from products p"
+          + " union all"
+          + " select b.product_id, pc.component_id, b.quantity * pc.required_quantity,"
+          + " b.path || pc.component_id, pc.component_id = any(b.path)"
+          + " from bom b join product_components pc on pc.product_id = b.item_id"
+          + " where not b.cyclic),"
+          + " lines as ("
+          + " select b.product_id, prm.raw_material_id,"
+          + " sum(b.quantity * prm.required_quantity) as quantity"
+          + " from bom b join product_raw_materials prm on prm.product_id = b.item_id"
+          + " where not b.cyclic"
+          + " group by b.product_id, prm.raw_material_id),"
+          + " blocked as ("
+          + " select distinct b.product_id from bom b"
+          + " where b.cyclic"
+          + " or (not exists (select 1 from product_raw_materials r where r.product_id = b.item_id)"
+          + " and not exists (select 1 from product_components c where c.product_id = b.item_id))),"
+          + " capacity as ("
+          + " select l.product_id, min(case when l.quantity > 0 and rm.stock_quantity > 0"
+          + " then floor(rm.stock_quantity / l.quantity) else 0 end) as units"
+          + " from lines l join raw_materials rm on rm.id = l.raw_material_id"
+          + " where l.product_id not in (select product_id from blocked)"
+          + " group by l.product_id)";
+
+  private static final Map<String, String> CAPACITY_SORT_COLUMNS =
+      Map.of(
+          "id", "p.id",
+          "code", "p.code",
+          "name", "p.name",
+          "price", "p.price",
+          "producibleQuantity", "c.units",
+          "totalValue", "p.price * c.units");
+
   @Inject JpaProductRawMaterialRepository jpaProductRawMaterialRepository;
   @Inject ProductRawMaterialPersistenceMapper mapper;
+  @Inject PageCounter pageCounter;
 
   @Override
   public ProductRawMaterial save(ProductRawMaterial domain) {
@@ -28,6 +81,7 @@ public class ProductRawMaterialPersistenceAdapter implements ProductRawMaterialR
     }
 
     jpaProductRawMaterialRepository.persistAndFlush(entity);
+    pageCounter.invalidate(TABLE);
     return mapper.toDomain(entity);
   }
 
@@ -43,6 +97,7 @@ public class ProductRawMaterialPersistenceAdapter implements ProductRawMaterialR
   @Override
   public void delete(Long id) {
     jpaProductRawMaterialRepository.deleteById(id);
+    pageCounter.invalidate(TABLE);
   }
 
   @Override
@@ -52,8 +107,86 @@ public class ProductRawMaterialPersistenceAdapter implements ProductRawMaterialR
 
   @Override
   public List<ProductRawMaterial> listByProduct(Long productId) {
-    return jpaProductRawMaterialRepository.find("product.id", productId).list().stream()
+    return jpaProductRawMaterialRepository
+        .find(
+            "from JpaProductRawMaterialEntity prm"
+                + " join fetch prm.rawMaterial"
+                + " where prm.product.id = ?1",
+            productId)
+        .list()
+        .stream()
         .map(mapper::toDomain)
         .toList();
   }
+
+  @Override
+  public Map<Long, List<ProductRawMaterial>> listAllGroupedByProduct() {
+    return jpaProductRawMaterialRepository
+        .find(
+            "from JpaProductRawMaterialEntity prm"
+                + " join fetch prm.product"
+                + " join fetch prm.rawMaterial")
+        .list()
+        .stream()
+        .map(mapper::toDomain)
+        .collect(Collectors.groupingBy(link -> link.getProduct().getId()));
+  }
+
+  @Override
+  public PagedModel<ProductionCapacity> findIndependentCapacity(SearchQuery query) {
+    String sortBy = query.sortBy() == null || query.sortBy().isBlank() ? "id" : query.sortBy();
+    String column = CAPACITY_SORT_COLUMNS.get(sortBy);
+    if (column == null) {
+      throw new InvalidDataException("Invalid sort field: " + sortBy);
+    }
+    String direction = "desc".equalsIgnoreCase(query.direction()) ? "desc" : "asc";
+
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows =
+        jpaProductRawMaterialRepository
+            .getEntityManager()
+            .createNativeQuery(
+                CAPACITY
+                    + " select p.id, p.code, p.name, p.price, c.units, p.price * c.units"
+                    + " from capacity c join products p on p.id = c.product_id"
+                    + " order by "
+                    + column
+                    + " "
+                    + direction
+                    + ", p.id")
+            .setFirstResult(query.page() * query.size())
+            .setMaxResults(query.size() + 1)
+            .getResultList();
+    List<ProductionCapacity> items =
+        rows.stream()
+            .map(
+                row ->
+                    new ProductionCapacity(
+                        ((Number) row[0]).longValue(),
+                        (String) row[1],
+                        (String) row[2],
+                        (BigDecimal) row[3],
+                        (BigDecimal) row[4],
+                        (BigDecimal) row[5]))
+            .toList();
+    boolean hasNext = items.size() > query.size();
+    if (hasNext) {
+      items = items.subList(0, query.size());
+    }
+
+    long totalElements =
+        pageCounter.total(query, TABLE, CAPACITY_COUNT, new Object[0], this::countProducts);
+    int totalPages = PagedModel.pageCount(totalElements, query.size());
+
+    return new PagedModel<>(items, totalElements, totalPages, null, hasNext);
+  }
+
+  private long countProducts() {
+    Object count =
+        jpaProductRawMaterialRepository
+            .getEntityManager()
+            .createNativeQuery(CAPACITY + " select count(*) from capacity")
+            .getSingleResult();
+    return ((Number) count).longValue();
+  }
 }
@@ -1,12 +1,14 @@
 package org.autoflex.adapters.outbound.persistence.jpa;
 
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
-import io.quarkus.panache.common.Page;
-import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.Query;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.autoflex.adapters.outbound.persistence.jpa.KeysetPager.SortKey;
 import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaRawMaterialEntity;
 import org.autoflex.adapters.outbound.persistence.jpa.mappers.RawMaterialPersistenceMapper;
 import org.autoflex.adapters.outbound.persistence.jpa.repositories.JpaRawMaterialRepository;
@@ -18,8 +20,31 @@ import org.autoflex.domain.RawMaterial;
 @ApplicationScoped
 public class RawMaterialPersistenceAdapter implements RawMaterialRepository, JpaSortable {
 
+  static final String TABLE = "raw_materials";
+  private static final String NAME_FILTER = TrigramSearch.CONTAINS_FILTER;
+
+  // Each material in a consumeStock statement binds four parameters; PostgreSQL allows 32767.
+  static final int CONSUME_BATCH_SIZE = 1_000;
+
+  // Name and the numeric key have (column, id) indexes; code is unique, so its own index serves.
+  private static final KeysetPager<JpaRawMaterialEntity> KEYSET =
+      new KeysetPager<>(
+          TABLE,
+          JpaRawMaterialEntity::getId,
+          Map.of(
+              "name", SortKey.text(JpaRawMaterialEntity::getName),
+              "code", SortKey.text(JpaRawMaterialEntity::getCode),
+              "stockQuantity", SortKey.decimal(JpaRawMaterialEntity::getStockQuantity)));
+
+  private static final TrigramSearch<JpaRawMaterialEntity> SEARCH =
+      new TrigramSearch<>(
+          JpaRawMaterialEntity.class,
+          TABLE,
+          Map.of("id", "id", "name", "name", "code", "code", "stockQuantity", "stock_quantity"));
+
   @Inject JpaRawMaterialRepository jpaRawMaterialRepository;
   @Inject RawMaterialPersistenceMapper mapper;
+  @Inject PageCounter pageCounter;
 
   @Override
   public RawMaterial save(RawMaterial domain) {
@@ -33,6 +58,7 @@ public class RawMaterialPersistenceAdapter implements RawMaterialRepository, Jpa
     }
 
     jpaRawMaterialRepository.persistAndFlush(entity);
+    pageCounter.invalidate(TABLE);
     return mapper.toDomain(entity);
   }
 
@@ -46,36 +72,80 @@ public class RawMaterialPersistenceAdapter implements RawMaterialRepository, Jpa
     return jpaRawMaterialRepository.findByIdOptional(id).map(entity -> mapper.toDomain(entity));
   }
 
+  @Override
+  public int consumeStock(Map<Long, BigDecimal> quantities, Map<Long, BigDecimal> expectedStock) {
+    List<Long> ids = List.copyOf(quantities.keySet());
+    int updated = 0;
+    for (int from = 0; from < ids.size(); from += CONSUME_BATCH_SIZE) {
+      List<Long> batch = ids.subList(from, Math.min(from + CONSUME_BATCH_SIZE, ids.size()));
+      updated += consumeBatch(batch, quantities, expectedStock);
+    }
+    return updated;
+  }
+
+  private int consumeBatch(
+      List<Long> ids, Map<Long, BigDecimal> quantities, Map<Long, BigDecimal> expectedStock) {
+    StringBuilder consumed = new StringBuilder("case rm.id");
+    StringBuilder expected = new StringBuilder("case rm.id");
+    for (int i = 0; i < ids.size(); i++) {
+      consumed.append(" when :id").append(i).append(" then :quantity").append(i);
+      expected.append(" when :id").append(i).append(" then :expected").append(i);
+    }
+
+    Query update =
+        jpaRawMaterialRepository
+            .getEntityManager()
+            .createQuery(
+                "update JpaRawMaterialEntity rm"
+                    + " set rm.stockQuantity = rm.stockQuantity - ("
+                    + consumed
+                    + " end)"
+                    + " where rm.id in :ids and rm.stockQuantity = ("
+                    + expected
+                    + " end)")
+            .setParameter("ids", ids);
+    for (int i = 0; i < ids.size(); i++) {
+      Long id = ids.get(i);
+      update
+          .setParameter("id" + i, id)
+          .setParameter("quantity" + i, quantities.get(id))
+          .setParameter("expected" + i, expectedStock.get(id));
+    }
+    return update.executeUpdate();
+  }
+
   @Override
   public void delete(Long id) {
     jpaRawMaterialRepository.deleteById(id);
     jpaRawMaterialRepository.flush();
+    pageCounter.invalidate(TABLE);
   }
 
   @Override
   public PagedModel<RawMaterial> findAll(SearchQuery query) {
-    Sort sort = createSort(query);
-
+    if (query.isKeyset()) {
+      return KEYSET.page(jpaRawMaterialRepository, pageCounter, null, query, mapper::toDomain);
+    }
     PanacheQuery<JpaRawMaterialEntity> panacheQuery =
-        jpaRawMaterialRepository.findAll(sort).page(Page.of(query.page(), query.size()));
-
-    List<RawMaterial> items = panacheQuery.list().stream().map(mapper::toDomain).toList();
-
-    return new PagedModel<>(items, panacheQuery.count(), panacheQuery.pageCount());
+        jpaRawMaterialRepository.findAll(createSort(query));
+    return pageCounter.offsetPage(panacheQuery, query, TABLE, null, mapper::toDomain);
   }
 
   @Override
   public PagedModel<RawMaterial> findByName(String name, SearchQuery query) {
-    Sort sort = createSort(query);
-
+    if (TrigramSearch.handles(query)) {
+      return SEARCH.page(
+          jpaRawMaterialRepository.getEntityManager(), pageCounter, name, query, mapper::toDomain);
+    }
+    String pattern = TrigramSearch.containsPattern(name);
+    if (query.isKeyset()) {
+      return KEYSET.page(
+          jpaRawMaterialRepository, pageCounter, NAME_FILTER, query, mapper::toDomain, pattern);
+    }
     PanacheQuery<JpaRawMaterialEntity> panacheQuery =
-        jpaRawMaterialRepository
-            .find("lower(name) like concat('%', lower(?1), '%')", sort, name)
-            .page(Page.of(query.page(), query.size()));
-
-    List<RawMaterial> items = panacheQuery.list().stream().map(mapper::toDomain).toList();
-
-    return new PagedModel<>(items, panacheQuery.count(), panacheQuery.pageCount());
+        jpaRawMaterialRepository.find(NAME_FILTER, createSort(query), pattern);
+    return pageCounter.offsetPage(
+        panacheQuery, query, TABLE, NAME_FILTER, mapper::toDomain, pattern);
   }
 
   @Override
@@ -0,0 +1,135 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.common.exceptions.InvalidDataException;
+
+/**
+ * Name and code search over a table with pg_trgm GIN indexes on both columns (see import.sql).
+ * Substring matches use ILIKE, which those indexes serve where a B-tree cannot. The cases HQL
+ * cannot express run as native SQL here: fuzzy matching with the word-similarity operator, and
+ * ordering by relevance, which ranks rows by their best trigram similarity to the term.
+ */
+final class TrigramSearch<E> {
+
+  static final String RELEVANCE = "relevance";
+
+  /** HQL filter for a substring of name or code; bind {@link #containsPattern}. */
+  static final String CONTAINS_FILTER = "name ilike ?1 or code ilike ?1";
+
+  static final String CONTAINS = "(name ilike :pattern or code ilike :pattern)";
+
+  /** Word similarity above {@code pg_trgm.word_similarity_threshold}, so typos still match. */
+  static final String FUZZY = "(:term <% name or :term <% code)";
+
+  private static final String CONTAINS_RANK =
+      "greatest(similarity(name, :term), similarity(code, :term))";
+  private static final String FUZZY_RANK =
+      "greatest(word_similarity(:term, name), word_similarity(:term, code))";
+
+  private final Class<E> entityClass;
+  private final String table;
+  private final Map<String, String> sortColumns;
+
+  TrigramSearch(Class<E> entityClass, String table, Map<String, String> sortColumns) {
+    this.entityClass = entityClass;
+    this.table = table;
+    this.sortColumns = sortColumns;
+  }
+
+  /** Whether {@code query} needs this search rather than the HQL substring filter. */
+  static boolean handles(SearchQuery query) {
+    return query.fuzzy() || RELEVANCE.equals(query.sortBy());
+  }
+
+  /** ILIKE pattern matching {@code term} anywhere, with LIKE wildcards in it taken literally. */
+  static String containsPattern(String term) {
+    if (term == null) {
+      return null;
+    }
+    return "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+  }
+
+  /**
+   * The offset page of rows matching {@code term}, mapped with {@code mapper} and totalled by
+   * {@code counter}.
+   */
+  <T> PagedModel<T> page(
+      EntityManager entityManager,
+      PageCounter counter,
+      String term,
+      SearchQuery query,
+      Function<E, T> mapper) {
+    if (query.isKeyset()) {
+      throw new InvalidDataException("Cannot page by cursor in a fuzzy or relevance search");
+    }
+    if (query.page() < 0 || query.size() <= 0) {
+      throw new InvalidDataException("Page must not be negative and size must be positive");
+    }
+    if (term == null) {
+      return new PagedModel<>(List.of(), 0, 0);
+    }
+
+    String condition = query.fuzzy() ? FUZZY : CONTAINS;
+    String sql = "select * from " + table + " where " + condition + " order by " + order(query);
+    Query select = bind(entityManager.createNativeQuery(sql, entityClass), sql, term);
+    @SuppressWarnings("unchecked")
+    List<E> rows =
+        select
+            .setFirstResult(Math.multiplyExact(query.page(), query.size()))
+            .setMaxResults(query.size() + 1)
+            .getResultList();
+    boolean hasNext = rows.size() > query.size();
+    if (hasNext) {
+      rows = rows.subList(0, query.size());
+    }
+
+    long total =
+        counter.total(
+            query,
+            table,
+            condition,
+            new Object[] {term},
+            () -> count(entityManager, condition, term));
+    return new PagedModel<>(
+        rows.stream().map(mapper).toList(),
+        total,
+        PagedModel.pageCount(total, query.size()),
+        null,
+        hasNext);
+  }
+
+  private String order(SearchQuery query) {
+    if (RELEVANCE.equals(query.sortBy())) {
+      return (query.fuzzy() ? FUZZY_RANK : CONTAINS_RANK) + " desc, id";
+    }
+    String field = query.sortBy() == null || query.sortBy().isBlank() ? "id" : query.sortBy();
+    String column = sortColumns.get(field);
+    if (column == null) {
+      throw new InvalidDataException("Invalid sort field: " + field);
+    }
+    String direction = "desc".equalsIgnoreCase(query.direction()) ? "desc" : "asc";
+    return column + " " + direction + ", id " + direction;
+  }
+
+  private long count(EntityManager entityManager, String condition, String term) {
+    String sql = "select count(*) from " + table + " where " + condition;
+    Query count = bind(entityManager.createNativeQuery(sql, Long.class), sql, term);
+    return ((Number) count.getSingleResult()).longValue();
+  }
+
+  private static Query bind(Query query, String sql, String term) {
+    if (sql.contains(":term")) {
+      query.setParameter("term", term);
+    }
+    if (sql.contains(":pattern")) {
+      query.setParameter("pattern", containsPattern(term));
+    }
+    return query;
+  }
+}
@@ -0,0 +1,38 @@
+package org.autoflex.adapters.outbound.persistence.jpa.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+    name = "inbound_deliveries",
+    indexes = {@Index(name = "idx_inbound_delivery_date", columnList = "expected_date")})
+public class JpaInboundDeliveryEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inbound_deliveries_id_seq")
+  @SequenceGenerator(
+      name = "inbound_deliveries_id_seq",
+      sequenceName = "inbound_deliveries_id_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "raw_material_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private JpaRawMaterialEntity rawMaterial;
+
+  @Column(name = "expected_date", nullable = false)
+  private LocalDate expectedDate;
+
+  @Column(nullable = false, precision = 10, scale = 2)
+  private BigDecimal quantity;
+}
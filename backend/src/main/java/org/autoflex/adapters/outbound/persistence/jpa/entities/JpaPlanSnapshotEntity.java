@@ -0,0 +1,42 @@
+package org.autoflex.adapters.outbound.persistence.jpa.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+import lombok.*;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "plan_snapshots")
+public class JpaPlanSnapshotEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "plan_snapshots_id_seq")
+  @SequenceGenerator(
+      name = "plan_snapshots_id_seq", sequenceName = "plan_snapshots_id_seq", allocationSize = 50)
+  private Long id;
+
+  @Column(nullable = false, length = 50)
+  private String strategy;
+
+  @Column(name = "data_version")
+  private Long dataVersion;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "grand_total_value", nullable = false, precision = 19, scale = 2)
+  private BigDecimal grandTotalValue;
+
+  @Column(name = "product_ids", nullable = false)
+  private long[] productIds;
+
+  @Column(nullable = false)
+  private long[] quantities;
+
+  @Column(name = "total_values", nullable = false)
+  private BigDecimal[] totalValues;
+}
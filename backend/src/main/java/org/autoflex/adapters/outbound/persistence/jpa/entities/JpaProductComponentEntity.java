@@ -0,0 +1,42 @@
+package org.autoflex.adapters.outbound.persistence.jpa.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+    name = "product_components",
+    uniqueConstraints = {
+      @UniqueConstraint(
+          name = "uk_product_component",
+          columnNames = {"product_id", "component_id"})
+    })
+public class JpaProductComponentEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_components_id_seq")
+  @SequenceGenerator(
+      name = "product_components_id_seq",
+      sequenceName = "product_components_id_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "product_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private JpaProductEntity product;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "component_id", nullable = false)
+  private JpaProductEntity component;
+
+  @Column(name = "required_quantity", nullable = false, precision = 10, scale = 2)
+  private BigDecimal requiredQuantity;
+}
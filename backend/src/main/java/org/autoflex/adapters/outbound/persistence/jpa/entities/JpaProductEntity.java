@@ -13,11 +13,17 @@ import lombok.*;
 @AllArgsConstructor
 @Table(
     name = "products",
-    uniqueConstraints = {@UniqueConstraint(name = "uk_product_code", columnNames = "code")})
+    uniqueConstraints = {@UniqueConstraint(name = "uk_product_code", columnNames = "code")},
+    indexes = {
+      @Index(name = "idx_products_name_id", columnList = "name, id"),
+      @Index(name = "idx_products_price_id", columnList = "price, id")
+    })
 public class JpaProductEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_id_seq")
+  @SequenceGenerator(
+      name = "products_id_seq", sequenceName = "products_id_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, length = 50)
@@ -29,6 +35,9 @@ public class JpaProductEntity {
   @Column(nullable = false, precision = 10, scale = 2)
   private BigDecimal price;
 
+  @Column(name = "max_demand")
+  private Long maxDemand;
+
   @OneToMany(
       mappedBy = "product",
       cascade = CascadeType.ALL,
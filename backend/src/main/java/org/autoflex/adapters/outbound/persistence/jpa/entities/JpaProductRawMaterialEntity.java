@@ -19,7 +19,11 @@ import lombok.*;
 public class JpaProductRawMaterialEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_raw_materials_id_seq")
+  @SequenceGenerator(
+      name = "product_raw_materials_id_seq",
+      sequenceName = "product_raw_materials_id_seq",
+      allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
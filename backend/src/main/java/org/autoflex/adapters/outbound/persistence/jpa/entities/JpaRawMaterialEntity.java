@@ -11,11 +11,17 @@ import lombok.*;
 @AllArgsConstructor
 @Table(
     name = "raw_materials",
-    uniqueConstraints = {@UniqueConstraint(name = "uk_raw_material_code", columnNames = "code")})
+    uniqueConstraints = {@UniqueConstraint(name = "uk_raw_material_code", columnNames = "code")},
+    indexes = {
+      @Index(name = "idx_raw_materials_name_id", columnList = "name, id"),
+      @Index(name = "idx_raw_materials_stock_quantity_id", columnList = "stock_quantity, id")
+    })
 public class JpaRawMaterialEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raw_materials_id_seq")
+  @SequenceGenerator(
+      name = "raw_materials_id_seq", sequenceName = "raw_materials_id_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, length = 50)
@@ -0,0 +1,13 @@
+package org.autoflex.adapters.outbound.persistence.jpa.mappers;
+
+import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaInboundDeliveryEntity;
+import org.autoflex.domain.InboundDelivery;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "cdi", uses = RawMaterialPersistenceMapper.class)
+public interface InboundDeliveryPersistenceMapper {
+
+  InboundDelivery toDomain(JpaInboundDeliveryEntity entity);
+
+  JpaInboundDeliveryEntity toEntity(InboundDelivery delivery);
+}
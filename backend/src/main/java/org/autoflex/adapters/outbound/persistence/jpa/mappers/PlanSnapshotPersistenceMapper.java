@@ -0,0 +1,13 @@
+package org.autoflex.adapters.outbound.persistence.jpa.mappers;
+
+import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaPlanSnapshotEntity;
+import org.autoflex.domain.PlanSnapshot;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "cdi")
+public interface PlanSnapshotPersistenceMapper {
+
+  PlanSnapshot toDomain(JpaPlanSnapshotEntity entity);
+
+  JpaPlanSnapshotEntity toEntity(PlanSnapshot snapshot);
+}
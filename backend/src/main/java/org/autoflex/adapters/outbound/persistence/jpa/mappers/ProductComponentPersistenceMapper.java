@@ -0,0 +1,36 @@
+package org.autoflex.adapters.outbound.persistence.jpa.mappers;
+
+import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaProductComponentEntity;
+import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaProductEntity;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductComponent;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+
+@Mapper(componentModel = "cdi")
+public interface ProductComponentPersistenceMapper {
+
+  @Mapping(target = "product", qualifiedByName = "toDomainProductShallow")
+  @Mapping(target = "component", qualifiedByName = "toDomainProductShallow")
+  ProductComponent toDomain(JpaProductComponentEntity entity);
+
+  @Mapping(target = "product", qualifiedByName = "toEntityProductShallow")
+  @Mapping(target = "component", qualifiedByName = "toEntityProductShallow")
+  JpaProductComponentEntity toEntity(ProductComponent productComponent);
+
+  @Mapping(target = "id", ignore = true)
+  @Mapping(target = "product", qualifiedByName = "toEntityProductShallow")
+  @Mapping(target = "component", qualifiedByName = "toEntityProductShallow")
+  void updateEntityFromDomain(
+      ProductComponent domain, @MappingTarget JpaProductComponentEntity entity);
+
+  @Named("toDomainProductShallow")
+  @Mapping(target = "rawMaterials", ignore = true)
+  Product toDomainProductShallow(JpaProductEntity entity);
+
+  @Named("toEntityProductShallow")
+  @Mapping(target = "rawMaterials", ignore = true)
+  JpaProductEntity toEntityProductShallow(Product product);
+}
@@ -13,6 +13,11 @@ public interface ProductPersistenceMapper {
   @Mapping(target = "rawMaterials", qualifiedByName = "toDomainRawMaterialList")
   Product toDomain(JpaProductEntity entity);
 
+  /** Product without its recipe, leaving the lazy rawMaterials collection unloaded. */
+  @Named("toShallowDomain")
+  @Mapping(target = "rawMaterials", ignore = true)
+  Product toShallowDomain(JpaProductEntity entity);
+
   @Mapping(target = "rawMaterials", qualifiedByName = "toEntityRawMaterialList")
   JpaProductEntity toEntity(Product product);
 
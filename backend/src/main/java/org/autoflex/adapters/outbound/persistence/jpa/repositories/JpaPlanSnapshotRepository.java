@@ -0,0 +1,8 @@
+package org.autoflex.adapters.outbound.persistence.jpa.repositories;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaPlanSnapshotEntity;
+
+@ApplicationScoped
+public class JpaPlanSnapshotRepository implements PanacheRepository<JpaPlanSnapshotEntity> {}
@@ -0,0 +1,9 @@
+package org.autoflex.adapters.outbound.persistence.jpa.repositories;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaProductComponentEntity;
+
+@ApplicationScoped
+public class JpaProductComponentRepository
+    implements PanacheRepository<JpaProductComponentEntity> {}
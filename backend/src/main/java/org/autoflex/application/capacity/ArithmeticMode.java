@@ -0,0 +1,6 @@
+package org.autoflex.application.capacity;
+
+public enum ArithmeticMode {
+  FIXED_POINT,
+  DECIMAL
+}
@@ -0,0 +1,213 @@
+package org.autoflex.application.capacity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductComponent;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.RawMaterial;
+
+/**
+ * Bills of materials flattened to leaf raw-material requirements. Products are exploded once,
+ * components before the products that use them. A product on a component cycle, or one built from
+ * a component that cannot be built, gets an empty recipe, which the snapshot treats as
+ * unproducible. Replacing one product's lines re-explodes only that product and its ancestors.
+ */
+public final class BomExplosion {
+
+  private final Map<Long, List<ProductRawMaterial>> rawLines;
+  private final Map<Long, List<ProductComponent>> componentLines;
+  private final Map<Long, Set<Long>> parents;
+  private final Map<Long, List<ProductRawMaterial>> flattened;
+
+  private BomExplosion(
+      Map<Long, List<ProductRawMaterial>> rawLines,
+      Map<Long, List<ProductComponent>> componentLines,
+      Map<Long, Set<Long>> parents,
+      Map<Long, List<ProductRawMaterial>> flattened) {
+    this.rawLines = rawLines;
+    this.componentLines = componentLines;
+    this.parents = parents;
+    this.flattened = flattened;
+  }
+
+  public static BomExplosion explode(
+      Map<Long, List<ProductRawMaterial>> rawLines,
+      Map<Long, List<ProductComponent>> componentLines) {
+    Map<Long, Set<Long>> parents = new HashMap<>();
+    componentLines.forEach(
+        (productId, lines) -> {
+          for (ProductComponent line : lines) {
+            Long componentId = line.getComponent().getId();
+            parents.computeIfAbsent(componentId, id -> new HashSet<>()).add(productId);
+          }
+        });
+
+    Set<Long> products = new HashSet<>(rawLines.keySet());
+    products.addAll(componentLines.keySet());
+
+    BomExplosion explosion =
+        new BomExplosion(
+            new HashMap<>(rawLines), new HashMap<>(componentLines), parents, new HashMap<>());
+    explosion.flatten(products);
+    return explosion;
+  }
+
+  /**
+   * Same explosion with the direct raw material and component lines of one product replaced.
+   * Flattened recipes of products that do not use it, directly or indirectly, are shared.
+   */
+  public BomExplosion withProduct(
+      long productId, List<ProductRawMaterial> raw, List<ProductComponent> components) {
+    Map<Long, List<ProductRawMaterial>> newRawLines = new HashMap<>(rawLines);
+    Map<Long, List<ProductComponent>> newComponentLines = new HashMap<>(componentLines);
+    Map<Long, Set<Long>> newParents = new HashMap<>(parents);
+
+    for (ProductComponent line : componentLines.getOrDefault(productId, List.of())) {
+      Long componentId = line.getComponent().getId();
+      Set<Long> users = new HashSet<>(newParents.getOrDefault(componentId, Set.of()));
+      users.remove(productId);
+      if (users.isEmpty()) {
+        newParents.remove(componentId);
+      } else {
+        newParents.put(componentId, users);
+      }
+    }
+    for (ProductComponent line : components) {
+      Long componentId = line.getComponent().getId();
+      Set<Long> users = new HashSet<>(newParents.getOrDefault(componentId, Set.of()));
+      users.add(productId);
+      newParents.put(componentId, users);
+    }
+
+    replace(newRawLines, productId, raw);
+    replace(newComponentLines, productId, components);
+
+    BomExplosion explosion =
+        new BomExplosion(newRawLines, newComponentLines, newParents, new HashMap<>(flattened));
+    explosion.flatten(explosion.withAncestors(productId));
+    return explosion;
+  }
+
+  /** The product followed by every product that uses it, directly or through components. */
+  public Set<Long> withAncestors(long productId) {
+    Set<Long> found = new LinkedHashSet<>();
+    Deque<Long> pending = new ArrayDeque<>();
+    found.add(productId);
+    pending.add(productId);
+
+    while (!pending.isEmpty()) {
+      for (Long parent : parents.getOrDefault(pending.poll(), Set.of())) {
+        if (found.add(parent)) pending.add(parent);
+      }
+    }
+    return found;
+  }
+
+  /** Leaf raw-material requirements for one unit of the product; empty if it cannot be built. */
+  public List<ProductRawMaterial> recipe(long productId) {
+    return flattened.getOrDefault(productId, List.of());
+  }
+
+  public Map<Long, List<ProductRawMaterial>> recipes() {
+    return Collections.unmodifiableMap(flattened);
+  }
+
+  private void flatten(Set<Long> targets) {
+    Map<Long, Integer> unresolved = new HashMap<>();
+    Deque<Long> ready = new ArrayDeque<>();
+    for (Long productId : targets) {
+      int pending = 0;
+      for (ProductComponent line : componentLines.getOrDefault(productId, List.of())) {
+        if (targets.contains(line.getComponent().getId())) pending++;
+      }
+      unresolved.put(productId, pending);
+      if (pending == 0) ready.add(productId);
+    }
+
+    // Kahn's algorithm over the targets: a product is flattened once all its components are.
+    while (!ready.isEmpty()) {
+      Long productId = ready.poll();
+      unresolved.remove(productId);
+      flattened.put(productId, flattenOne(productId));
+
+      for (Long parent : parents.getOrDefault(productId, Set.of())) {
+        Integer pending = unresolved.get(parent);
+        if (pending == null) continue;
+        unresolved.put(parent, pending - 1);
+        if (pending == 1) ready.add(parent);
+      }
+    }
+
+    // Whatever is left sits on a cycle or is built from something that does.
+    for (Long productId : unresolved.keySet()) {
+      flattened.put(productId, List.of());
+    }
+  }
+
+  private List<ProductRawMaterial> flattenOne(Long productId) {
+    List<ProductRawMaterial> raw = rawLines.getOrDefault(productId, List.of());
+    List<ProductComponent> components = componentLines.getOrDefault(productId, List.of());
+    if (components.isEmpty()) return raw;
+
+    Product product = components.getFirst().getProduct();
+    Map<Long, RawMaterial> materials = new LinkedHashMap<>();
+    Map<Long, BigDecimal> quantities = new HashMap<>();
+
+    for (ProductRawMaterial line : raw) {
+      if (line.getRequiredQuantity() == null) return List.of();
+      add(materials, quantities, line.getRawMaterial(), line.getRequiredQuantity());
+    }
+    for (ProductComponent line : components) {
+      List<ProductRawMaterial> leaves = recipe(line.getComponent().getId());
+      if (leaves.isEmpty() || line.getRequiredQuantity() == null) return List.of();
+
+      // Products of two-decimal quantities need up to four; round up so the snapshot stays in
+      // fixed point and a plan never consumes less than the build actually needs.
+      for (ProductRawMaterial leaf : leaves) {
+        if (leaf.getRequiredQuantity() == null) return List.of();
+        add(
+            materials,
+            quantities,
+            leaf.getRawMaterial(),
+            leaf.getRequiredQuantity()
+                .multiply(line.getRequiredQuantity())
+                .setScale(CapacitySnapshot.FIXED_POINT_SCALE, RoundingMode.UP));
+      }
+    }
+
+    List<ProductRawMaterial> recipe = new ArrayList<>(materials.size());
+    materials.forEach(
+        (id, material) ->
+            recipe.add(new ProductRawMaterial(product, material, quantities.get(id))));
+    return List.copyOf(recipe);
+  }
+
+  private static void add(
+      Map<Long, RawMaterial> materials,
+      Map<Long, BigDecimal> quantities,
+      RawMaterial material,
+      BigDecimal quantity) {
+    materials.putIfAbsent(material.getId(), material);
+    quantities.merge(material.getId(), quantity, BigDecimal::add);
+  }
+
+  private static <T> void replace(Map<Long, List<T>> lines, long productId, List<T> replacement) {
+    if (replacement.isEmpty()) {
+      lines.remove(productId);
+    } else {
+      lines.put(productId, List.copyOf(replacement));
+    }
+  }
+}
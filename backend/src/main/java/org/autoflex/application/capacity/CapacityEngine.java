@@ -0,0 +1,499 @@
+package org.autoflex.application.capacity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.autoflex.domain.MaterialMarginalValue;
+import org.autoflex.domain.ProductionCapacity;
+import org.autoflex.domain.ProductionPlan;
+import org.autoflex.domain.RawMaterial;
+
+public final class CapacityEngine {
+
+  private static final int CHECKPOINT_INTERVAL = 1024;
+
+  /**
+   * Fixed-point units per product plus the stock they leave, enough to resume mid-order, and each
+   * product's limiting material (-1 if none) as it stood right after that product was allocated.
+   */
+  public record Allocation(
+      CapacitySnapshot snapshot, long[] units, long[] remainingStock, int[] limiting) {}
+
+  private CapacityEngine() {}
+
+  public static long[] allocate(CapacitySnapshot snapshot, ArithmeticMode mode) {
+    return allocate(snapshot, mode, snapshotOrder(snapshot));
+  }
+
+  /** Greedy allocation that visits products in {@code order}, each taking all it can. */
+  public static long[] allocate(CapacitySnapshot snapshot, ArithmeticMode mode, int[] order) {
+    return mode != ArithmeticMode.DECIMAL && snapshot.isFixedPoint()
+        ? allocateFixedPoint(snapshot, order)
+        : allocateDecimal(snapshot, order);
+  }
+
+  public static long[] allocateDecimal(CapacitySnapshot snapshot) {
+    return allocateDecimal(snapshot, snapshotOrder(snapshot));
+  }
+
+  public static long[] allocateDecimal(CapacitySnapshot snapshot, int[] order) {
+    BigDecimal[] remainingStock = snapshot.copyStock();
+    long[] units = new long[snapshot.productCount()];
+
+    for (int i = 0; i < order.length; i++) {
+      if (i % CHECKPOINT_INTERVAL == 0) PlanProgress.checkpoint();
+      units[order[i]] = allocateDecimal(snapshot, order[i], remainingStock);
+    }
+
+    return units;
+  }
+
+  public static long[] allocateFixedPoint(CapacitySnapshot snapshot) {
+    return allocateFixedPoint(snapshot, snapshotOrder(snapshot));
+  }
+
+  public static long[] allocateFixedPoint(CapacitySnapshot snapshot, int[] order) {
+    return allocateFixedPoint(snapshot, order, snapshot.copyStockUnits());
+  }
+
+  /** As above but starting from {@code remainingStock} in fixed-point units, which it consumes. */
+  public static long[] allocateFixedPoint(
+      CapacitySnapshot snapshot, int[] order, long[] remainingStock) {
+    long[] units = new long[snapshot.productCount()];
+
+    for (int i = 0; i < order.length; i++) {
+      if (i % CHECKPOINT_INTERVAL == 0) PlanProgress.checkpoint();
+      units[order[i]] = allocateFixedPoint(snapshot, order[i], remainingStock);
+    }
+
+    return units;
+  }
+
+  /** Fixed-point price-desc allocation that keeps the stock it leaves behind. */
+  public static Allocation track(CapacitySnapshot snapshot) {
+    long[] remainingStock = snapshot.copyStockUnits();
+    long[] units = new long[snapshot.productCount()];
+    int[] limiting = new int[snapshot.productCount()];
+    Arrays.fill(limiting, -1);
+
+    int[] order = snapshotOrder(snapshot);
+    for (int i = 0; i < order.length; i++) {
+      if (i % CHECKPOINT_INTERVAL == 0) PlanProgress.checkpoint();
+      allocateTracked(snapshot, order[i], remainingStock, units, limiting);
+    }
+
+    return new Allocation(snapshot, units, remainingStock, limiting);
+  }
+
+  /**
+   * Price-desc allocation for {@code snapshot}, reusing {@code previous} for every product before
+   * {@code from}, limiting materials included. Those products must not use any material whose stock
+   * changed, nor have a changed recipe; see {@link CapacitySnapshot#firstChangedSince(long)}. Not
+   * for scenario snapshots.
+   */
+  public static Allocation reallocate(Allocation previous, CapacitySnapshot snapshot, int from) {
+    CapacitySnapshot old = previous.snapshot();
+    long[] previousUnits = previous.units();
+    long[] remainingStock = previous.remainingStock().clone();
+
+    // Hand back what the old suffix consumed, then shift by the stock deltas. The prefix never
+    // touched a changed material, so this is the stock the suffix starts from.
+    for (int p = from; p < old.productCount(); p++) {
+      if (previousUnits[p] == 0) continue;
+      for (int line = old.recipeStart(p); line < old.recipeEnd(p); line++) {
+        remainingStock[old.recipeMaterial(line)] += old.recipeUnits(line) * previousUnits[p];
+      }
+    }
+
+    long[] oldStock = old.copyStockUnits();
+    long[] newStock = snapshot.copyStockUnits();
+    for (int m = 0; m < remainingStock.length; m++) {
+      remainingStock[m] += newStock[m] - oldStock[m];
+    }
+
+    long[] units = previousUnits.clone();
+    Arrays.fill(units, from, units.length, 0);
+    int[] limiting = previous.limiting().clone();
+    Arrays.fill(limiting, from, limiting.length, -1);
+    for (int p = from; p < snapshot.productCount(); p++) {
+      if ((p - from) % CHECKPOINT_INTERVAL == 0) PlanProgress.checkpoint();
+      allocateTracked(snapshot, p, remainingStock, units, limiting);
+    }
+
+    return new Allocation(snapshot, units, remainingStock, limiting);
+  }
+
+  private static void allocateTracked(
+      CapacitySnapshot snapshot, int p, long[] remainingStock, long[] units, int[] limiting) {
+    units[p] = allocateFixedPoint(snapshot, p, remainingStock);
+    if (units[p] > 0 && units[p] < snapshot.maxDemand(p)) {
+      limiting[p] = tightestMaterial(snapshot, p, remainingStock);
+    }
+  }
+
+  /**
+   * Price-desc greedy that hands each item to {@code sink} as soon as its units are decided and
+   * keeps no per-product results. Returns the plan totals without items.
+   */
+  public static ProductionPlan stream(
+      CapacitySnapshot snapshot, ArithmeticMode mode, Consumer<ProductionCapacity> sink) {
+    boolean fixedPoint = mode != ArithmeticMode.DECIMAL && snapshot.isFixedPoint();
+    long[] remainingUnits = fixedPoint ? snapshot.copyStockUnits() : null;
+    BigDecimal[] remainingStock = fixedPoint ? null : snapshot.copyStock();
+    BigDecimal grandTotalValue = BigDecimal.ZERO;
+
+    for (int p : snapshotOrder(snapshot)) {
+      long units =
+          fixedPoint
+              ? allocateFixedPoint(snapshot, p, remainingUnits)
+              : allocateDecimal(snapshot, p, remainingStock);
+      if (units <= 0) continue;
+
+      int limiting =
+          units >= snapshot.maxDemand(p)
+              ? -1
+              : fixedPoint
+                  ? tightestMaterial(snapshot, p, remainingUnits)
+                  : tightestMaterial(snapshot, p, remainingStock);
+      ProductionCapacity item = toItem(snapshot, p, units, limiting);
+      grandTotalValue = grandTotalValue.add(item.getTotalValue());
+      sink.accept(item);
+    }
+
+    ProductionPlan totals = new ProductionPlan();
+    totals.setGrandTotalValue(grandTotalValue);
+    return totals;
+  }
+
+  private static long allocateDecimal(
+      CapacitySnapshot snapshot, int p, BigDecimal[] remainingStock) {
+    if (!snapshot.isProducible(p)) return 0;
+
+    BigDecimal maxUnits = null;
+    for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+      BigDecimal stock = remainingStock[snapshot.recipeMaterial(line)];
+      BigDecimal possibleUnits = stock.divide(snapshot.recipeQuantity(line), 0, RoundingMode.DOWN);
+
+      if (maxUnits == null || possibleUnits.compareTo(maxUnits) < 0) {
+        maxUnits = possibleUnits;
+      }
+
+      if (maxUnits.compareTo(BigDecimal.ZERO) == 0) break;
+    }
+
+    if (maxUnits == null || maxUnits.compareTo(BigDecimal.ZERO) <= 0) return 0;
+
+    long demand = snapshot.maxDemand(p);
+    if (maxUnits.compareTo(BigDecimal.valueOf(demand)) > 0) {
+      maxUnits = BigDecimal.valueOf(demand);
+    }
+    if (maxUnits.signum() == 0) return 0;
+
+    for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+      int material = snapshot.recipeMaterial(line);
+      BigDecimal newStock =
+          remainingStock[material].subtract(snapshot.recipeQuantity(line).multiply(maxUnits));
+      remainingStock[material] =
+          newStock.compareTo(BigDecimal.ZERO) < 0 ? BigDecimal.ZERO : newStock;
+    }
+
+    return maxUnits.longValueExact();
+  }
+
+  private static long allocateFixedPoint(CapacitySnapshot snapshot, int p, long[] remainingStock) {
+    if (!snapshot.isProducible(p)) return 0;
+
+    int start = snapshot.recipeStart(p);
+    int end = snapshot.recipeEnd(p);
+
+    long maxUnits = snapshot.maxDemand(p);
+    for (int line = start; line < end && maxUnits > 0; line++) {
+      long possibleUnits =
+          remainingStock[snapshot.recipeMaterial(line)] / snapshot.recipeUnits(line);
+      if (possibleUnits < maxUnits) maxUnits = possibleUnits;
+    }
+
+    if (maxUnits <= 0) return 0;
+
+    for (int line = start; line < end; line++) {
+      int material = snapshot.recipeMaterial(line);
+      remainingStock[material] =
+          Math.max(0, remainingStock[material] - snapshot.recipeUnits(line) * maxUnits);
+    }
+
+    return maxUnits;
+  }
+
+  public static int[] snapshotOrder(CapacitySnapshot snapshot) {
+    return snapshot.productOrder();
+  }
+
+  /** Product indexes by descending score; ties keep the snapshot (price-desc) order. */
+  public static int[] orderByScore(double[] score) {
+    return IntStream.range(0, score.length)
+        .boxed()
+        .sorted(Comparator.comparingDouble((Integer p) -> score[p]).reversed())
+        .mapToInt(Integer::intValue)
+        .toArray();
+  }
+
+  public static ProductionPlan toPlan(CapacitySnapshot snapshot, long[] units) {
+    return toPlan(snapshot, units, snapshotOrder(snapshot));
+  }
+
+  /**
+   * Plan items in price-desc order. Each item's limiting material is found by replaying the units
+   * in {@code order}, the order they were allocated in; items that met their demand have none.
+   */
+  public static ProductionPlan toPlan(CapacitySnapshot snapshot, long[] units, int[] order) {
+    return toPlan(snapshot, units, order, null);
+  }
+
+  /**
+   * As above for units allocated from {@code startStock} in fixed-point units rather than the
+   * snapshot's own stock; limiting materials report that stock too. The snapshot must be
+   * fixed-point unless {@code startStock} is null.
+   */
+  public static ProductionPlan toPlan(
+      CapacitySnapshot snapshot, long[] units, int[] order, long[] startStock) {
+    int[] limiting = limitingMaterials(snapshot, units, order, startStock);
+    return planOf(snapshot, units, limiting, startStock);
+  }
+
+  /** Plan items for {@code allocation}, using the limiting materials recorded while allocating. */
+  public static ProductionPlan toPlan(Allocation allocation) {
+    return planOf(allocation.snapshot(), allocation.units(), allocation.limiting(), null);
+  }
+
+  private static ProductionPlan planOf(
+      CapacitySnapshot snapshot, long[] units, int[] limiting, long[] startStock) {
+    ProductionPlan plan = new ProductionPlan();
+
+    for (int p : snapshotOrder(snapshot)) {
+      if (units[p] <= 0) continue;
+
+      ProductionCapacity item =
+          startStock == null || limiting[p] < 0
+              ? toItem(snapshot, p, units[p], limiting[p])
+              : toItem(
+                  snapshot,
+                  p,
+                  units[p],
+                  limiting[p],
+                  BigDecimal.valueOf(
+                      startStock[limiting[p]], CapacitySnapshot.FIXED_POINT_SCALE));
+      plan.getItems().add(item);
+      plan.setGrandTotalValue(plan.getGrandTotalValue().add(item.getTotalValue()));
+    }
+
+    return plan;
+  }
+
+  /**
+   * Plan value that one more unit of each raw material would add, taking the greedy allocation in
+   * {@code order} as the baseline. Each material only re-plans from the first product that uses
+   * it, and stops as soon as the extra unit is used up without changing the stock any later
+   * product sees. Empty unless the snapshot is fixed-point.
+   */
+  public static List<MaterialMarginalValue> marginalValues(CapacitySnapshot snapshot, int[] order) {
+    if (!snapshot.isFixedPoint()) return List.of();
+
+    int materialCount = snapshot.materialCount();
+    long oneUnit = BigDecimal.ONE.movePointRight(CapacitySnapshot.FIXED_POINT_SCALE).longValue();
+
+    long[] stockAt = snapshot.copyStockUnits();
+    long[] units = new long[snapshot.productCount()];
+    for (int p : order) {
+      units[p] = allocateFixedPoint(snapshot, p, stockAt);
+    }
+
+    int[] firstUse = new int[materialCount];
+    Arrays.fill(firstUse, order.length);
+    for (int k = order.length - 1; k >= 0; k--) {
+      int p = order[k];
+      for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+        firstUse[snapshot.recipeMaterial(line)] = k;
+      }
+    }
+
+    // Latest first use first: stockAt walks back from the final stock to the stock seen at each
+    // material's first use, so every product is handed back only once across all materials.
+    Integer[] materials =
+        IntStream.range(0, materialCount)
+            .boxed()
+            .sorted(Comparator.comparingInt((Integer m) -> firstUse[m]).reversed())
+            .toArray(Integer[]::new);
+
+    BigDecimal[] marginal = new BigDecimal[materialCount];
+    int position = order.length;
+    for (int m : materials) {
+      while (position > firstUse[m]) {
+        int p = order[--position];
+        for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+          stockAt[snapshot.recipeMaterial(line)] += snapshot.recipeUnits(line) * units[p];
+        }
+      }
+      marginal[m] = marginalValue(snapshot, order, units, position, stockAt, m, oneUnit);
+    }
+
+    List<MaterialMarginalValue> values = new ArrayList<>(materialCount);
+    for (int m = 0; m < materialCount; m++) {
+      values.add(
+          new MaterialMarginalValue(
+              snapshot.materialId(m),
+              snapshot.materialCode(m),
+              snapshot.materialName(m),
+              marginal[m]));
+    }
+    return values;
+  }
+
+  private static BigDecimal marginalValue(
+      CapacitySnapshot snapshot,
+      int[] order,
+      long[] units,
+      int from,
+      long[] stockAt,
+      int material,
+      long extra) {
+    long[] baseline = stockAt.clone();
+    long[] trial = stockAt.clone();
+    trial[material] += extra;
+    int differing = 1;
+
+    BigDecimal delta = BigDecimal.ZERO;
+    for (int k = from; k < order.length && differing > 0; k++) {
+      int p = order[k];
+      int start = snapshot.recipeStart(p);
+      int end = snapshot.recipeEnd(p);
+
+      for (int line = start; line < end; line++) {
+        int m = snapshot.recipeMaterial(line);
+        if (baseline[m] != trial[m]) differing--;
+      }
+
+      allocateFixedPoint(snapshot, p, baseline);
+      long trialUnits = allocateFixedPoint(snapshot, p, trial);
+      if (trialUnits != units[p]) {
+        BigDecimal extraUnits = BigDecimal.valueOf(trialUnits - units[p]);
+        delta = delta.add(snapshot.productPrice(p).multiply(extraUnits));
+      }
+
+      for (int line = start; line < end; line++) {
+        int m = snapshot.recipeMaterial(line);
+        if (baseline[m] != trial[m]) differing++;
+      }
+    }
+    return delta;
+  }
+
+  /** Recipe material with the least stock left relative to its requirement, or -1. */
+  private static int tightestMaterial(CapacitySnapshot snapshot, int p, long[] remainingStock) {
+    int tightest = -1;
+    double least = Double.POSITIVE_INFINITY;
+    for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+      int material = snapshot.recipeMaterial(line);
+      double ratio = (double) remainingStock[material] / snapshot.recipeUnits(line);
+      if (ratio < least) {
+        least = ratio;
+        tightest = material;
+      }
+    }
+    return tightest;
+  }
+
+  private static int tightestMaterial(
+      CapacitySnapshot snapshot, int p, BigDecimal[] remainingStock) {
+    int tightest = -1;
+    BigDecimal leastStock = null;
+    BigDecimal leastRequired = null;
+    for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+      int material = snapshot.recipeMaterial(line);
+      BigDecimal stock = remainingStock[material];
+      BigDecimal required = snapshot.recipeQuantity(line);
+      // stock / required < leastStock / leastRequired, without rounding a quotient.
+      if (tightest < 0
+          || stock.multiply(leastRequired).compareTo(leastStock.multiply(required)) < 0) {
+        tightest = material;
+        leastStock = stock;
+        leastRequired = required;
+      }
+    }
+    return tightest;
+  }
+
+  private static int[] limitingMaterials(
+      CapacitySnapshot snapshot, long[] units, int[] order, long[] startStock) {
+    int[] limiting = new int[snapshot.productCount()];
+    Arrays.fill(limiting, -1);
+
+    if (startStock != null || snapshot.isFixedPoint()) {
+      long[] remainingStock = startStock == null ? snapshot.copyStockUnits() : startStock.clone();
+      for (int p : order) {
+        if (units[p] <= 0) continue;
+        for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+          int material = snapshot.recipeMaterial(line);
+          remainingStock[material] =
+              Math.max(0, remainingStock[material] - snapshot.recipeUnits(line) * units[p]);
+        }
+        if (units[p] < snapshot.maxDemand(p)) {
+          limiting[p] = tightestMaterial(snapshot, p, remainingStock);
+        }
+      }
+    } else {
+      BigDecimal[] remainingStock = snapshot.copyStock();
+      for (int p : order) {
+        if (units[p] <= 0) continue;
+        BigDecimal quantity = BigDecimal.valueOf(units[p]);
+        for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+          int material = snapshot.recipeMaterial(line);
+          BigDecimal left =
+              remainingStock[material].subtract(snapshot.recipeQuantity(line).multiply(quantity));
+          remainingStock[material] = left.signum() < 0 ? BigDecimal.ZERO : left;
+        }
+        if (units[p] < snapshot.maxDemand(p)) {
+          limiting[p] = tightestMaterial(snapshot, p, remainingStock);
+        }
+      }
+    }
+    return limiting;
+  }
+
+  private static ProductionCapacity toItem(
+      CapacitySnapshot snapshot, int p, long units, int limitingMaterial) {
+    BigDecimal stock = limitingMaterial < 0 ? null : snapshot.materialStock(limitingMaterial);
+    return toItem(snapshot, p, units, limitingMaterial, stock);
+  }
+
+  private static ProductionCapacity toItem(
+      CapacitySnapshot snapshot, int p, long units, int limitingMaterial, BigDecimal stock) {
+    BigDecimal producibleQuantity = BigDecimal.valueOf(units);
+    ProductionCapacity item =
+        new ProductionCapacity(
+            snapshot.productId(p),
+            snapshot.productCode(p),
+            snapshot.productName(p),
+            snapshot.productPrice(p),
+            producibleQuantity,
+            snapshot.productPrice(p).multiply(producibleQuantity));
+
+    if (snapshot.maxDemand(p) != CapacitySnapshot.UNLIMITED) {
+      item.setMaxDemand(snapshot.maxDemand(p));
+    }
+    if (limitingMaterial >= 0) {
+      RawMaterial rawMaterial =
+          new RawMaterial(
+              snapshot.materialCode(limitingMaterial),
+              snapshot.materialName(limitingMaterial),
+              stock);
+      rawMaterial.setId(snapshot.materialId(limitingMaterial));
+      item.setLimitingRawMaterial(rawMaterial);
+    }
+    return item;
+  }
+}
@@ -0,0 +1,699 @@
+package org.autoflex.application.capacity;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.RawMaterial;
+
+/**
+ * Immutable compiled catalog. Raw materials get dense indexes and recipes are a CSR matrix: the
+ * lines of product {@code p} are {@code [recipeStart(p), recipeEnd(p))}, in price-desc order.
+ *
+ * <p>Stock and recipe changes derive a new snapshot that shares the unchanged arrays and records,
+ * for each recent ancestor version, the first product whose allocation inputs changed since.
+ */
+public final class CapacitySnapshot {
+
+  public static final int FIXED_POINT_SCALE = 2;
+
+  /** {@link #maxDemand(int)} of a product without a demand cap. */
+  public static final long UNLIMITED = Long.MAX_VALUE;
+
+  private static final int MAX_LINEAGE = 16;
+
+  private final long version;
+
+  private final long[] productIds;
+  private final String[] productCodes;
+  private final String[] productNames;
+  private final BigDecimal[] productPrices;
+  private final boolean[] producible;
+  private final long[] maxDemand;
+
+  private final int[] recipeStart;
+  private final int[] recipeMaterial;
+  private final BigDecimal[] recipeQuantity;
+  private final long[] recipeUnits;
+
+  private final long[] materialIds;
+  private final String[] materialCodes;
+  private final String[] materialNames;
+  private final BigDecimal[] stock;
+  private final long[] stockUnits;
+  private final boolean fixedPoint;
+
+  private final Map<Long, Integer> productIndex;
+  private final Map<Long, Integer> materialIndex;
+  private final int[] materialFirstUser;
+
+  private final long[] lineageVersions;
+  private final int[] lineageFirstChanged;
+
+  private final int[] order;
+  private final boolean scenario;
+
+  private CapacitySnapshot(
+      long version,
+      long[] productIds,
+      String[] productCodes,
+      String[] productNames,
+      BigDecimal[] productPrices,
+      boolean[] producible,
+      long[] maxDemand,
+      int[] recipeStart,
+      int[] recipeMaterial,
+      BigDecimal[] recipeQuantity,
+      long[] recipeUnits,
+      long[] materialIds,
+      String[] materialCodes,
+      String[] materialNames,
+      BigDecimal[] stock,
+      long[] stockUnits,
+      boolean fixedPoint,
+      Map<Long, Integer> productIndex,
+      Map<Long, Integer> materialIndex,
+      int[] materialFirstUser,
+      long[] lineageVersions,
+      int[] lineageFirstChanged,
+      int[] order,
+      boolean scenario) {
+    this.version = version;
+    this.productIds = productIds;
+    this.productCodes = productCodes;
+    this.productNames = productNames;
+    this.productPrices = productPrices;
+    this.producible = producible;
+    this.maxDemand = maxDemand;
+    this.recipeStart = recipeStart;
+    this.recipeMaterial = recipeMaterial;
+    this.recipeQuantity = recipeQuantity;
+    this.recipeUnits = recipeUnits;
+    this.materialIds = materialIds;
+    this.materialCodes = materialCodes;
+    this.materialNames = materialNames;
+    this.stock = stock;
+    this.stockUnits = stockUnits;
+    this.fixedPoint = fixedPoint;
+    this.productIndex = productIndex;
+    this.materialIndex = materialIndex;
+    this.materialFirstUser = materialFirstUser;
+    this.lineageVersions = lineageVersions;
+    this.lineageFirstChanged = lineageFirstChanged;
+    this.order = order;
+    this.scenario = scenario;
+  }
+
+  public static CapacitySnapshot compile(
+      long version,
+      List<Product> products,
+      List<RawMaterial> materials,
+      Map<Long, List<ProductRawMaterial>> recipes) {
+    Map<Long, Integer> materialIndex = new HashMap<>();
+    long[] materialIds = new long[materials.size()];
+    String[] materialCodes = new String[materials.size()];
+    String[] materialNames = new String[materials.size()];
+    BigDecimal[] stock = new BigDecimal[materials.size()];
+    int materialCount = 0;
+
+    for (RawMaterial rm : materials) {
+      if (materialIndex.putIfAbsent(rm.getId(), materialCount) != null) continue;
+      materialIds[materialCount] = rm.getId();
+      materialCodes[materialCount] = rm.getCode();
+      materialNames[materialCount] = rm.getName();
+      stock[materialCount] =
+          rm.getStockQuantity() == null ? BigDecimal.ZERO : rm.getStockQuantity();
+      materialCount++;
+    }
+
+    int productCount = products.size();
+    Map<Long, Integer> productIndex = new HashMap<>();
+    int lineCount = 0;
+    for (Product product : products) {
+      lineCount += recipes.getOrDefault(product.getId(), List.of()).size();
+    }
+
+    long[] productIds = new long[productCount];
+    String[] productCodes = new String[productCount];
+    String[] productNames = new String[productCount];
+    BigDecimal[] productPrices = new BigDecimal[productCount];
+    boolean[] producible = new boolean[productCount];
+    long[] maxDemand = new long[productCount];
+    int[] recipeStart = new int[productCount + 1];
+    int[] recipeMaterial = new int[lineCount];
+    BigDecimal[] recipeQuantity = new BigDecimal[lineCount];
+
+    int line = 0;
+    for (int p = 0; p < productCount; p++) {
+      Product product = products.get(p);
+      List<ProductRawMaterial> recipe = recipes.getOrDefault(product.getId(), List.of());
+
+      productIds[p] = product.getId();
+      productIndex.putIfAbsent(product.getId(), p);
+      productCodes[p] = product.getCode();
+      productNames[p] = product.getName();
+      productPrices[p] = product.getPrice();
+      maxDemand[p] = product.getMaxDemand() == null ? UNLIMITED : product.getMaxDemand();
+      recipeStart[p] = line;
+
+      boolean valid = !recipe.isEmpty();
+      for (ProductRawMaterial link : recipe) {
+        Long rawMaterialId = link.getRawMaterial().getId();
+        Integer index = materialIndex.get(rawMaterialId);
+
+        if (index == null) {
+          // Linked material missing from the stock listing: track it with zero stock.
+          if (materialCount == materialIds.length) {
+            materialIds = Arrays.copyOf(materialIds, materialCount * 2 + 1);
+            materialCodes = Arrays.copyOf(materialCodes, materialCount * 2 + 1);
+            materialNames = Arrays.copyOf(materialNames, materialCount * 2 + 1);
+            stock = Arrays.copyOf(stock, materialCount * 2 + 1);
+          }
+          index = materialCount;
+          materialIndex.put(rawMaterialId, index);
+          materialIds[index] = rawMaterialId;
+          materialCodes[index] = link.getRawMaterial().getCode();
+          materialNames[index] = link.getRawMaterial().getName();
+          stock[index] = BigDecimal.ZERO;
+          materialCount++;
+        }
+
+        BigDecimal required = link.getRequiredQuantity();
+        if (required == null || required.compareTo(BigDecimal.ZERO) <= 0) {
+          valid = false;
+        }
+
+        recipeMaterial[line] = index;
+        recipeQuantity[line] = required;
+        line++;
+      }
+      producible[p] = valid;
+    }
+    recipeStart[productCount] = line;
+
+    materialIds = Arrays.copyOf(materialIds, materialCount);
+    materialCodes = Arrays.copyOf(materialCodes, materialCount);
+    materialNames = Arrays.copyOf(materialNames, materialCount);
+    stock = Arrays.copyOf(stock, materialCount);
+
+    // Columns are numeric(10, 2), so every quantity normally fits a long scaled by 100. Anything
+    // else keeps the snapshot on the BigDecimal path.
+    boolean fixedPoint = true;
+    long[] stockUnits = new long[materialCount];
+    for (int m = 0; m < materialCount && fixedPoint; m++) {
+      stockUnits[m] = toUnits(stock[m]);
+      fixedPoint = stockUnits[m] >= 0;
+    }
+
+    long[] recipeUnits = new long[lineCount];
+    for (int p = 0; p < productCount && fixedPoint; p++) {
+      if (!producible[p]) continue;
+      for (int l = recipeStart[p]; l < recipeStart[p + 1] && fixedPoint; l++) {
+        recipeUnits[l] = toUnits(recipeQuantity[l]);
+        fixedPoint = recipeUnits[l] > 0;
+      }
+    }
+
+    return new CapacitySnapshot(
+        version,
+        productIds,
+        productCodes,
+        productNames,
+        productPrices,
+        producible,
+        maxDemand,
+        recipeStart,
+        recipeMaterial,
+        recipeQuantity,
+        recipeUnits,
+        materialIds,
+        materialCodes,
+        materialNames,
+        stock,
+        stockUnits,
+        fixedPoint,
+        Map.copyOf(productIndex),
+        Map.copyOf(materialIndex),
+        firstUsers(materialCount, recipeStart, recipeMaterial),
+        new long[0],
+        new int[0],
+        null,
+        false);
+  }
+
+  /** Same catalog with a new stock quantity for one material, or null if it is not tracked. */
+  public CapacitySnapshot withStock(long version, long materialId, BigDecimal stockQuantity) {
+    Integer material = materialIndex.get(materialId);
+    if (material == null) return null;
+    return withMaterial(
+        version, material, materialCodes[material], materialNames[material], stockQuantity);
+  }
+
+  /**
+   * Same catalog with the code, name and stock of one material replaced, or null if it is not
+   * tracked.
+   */
+  public CapacitySnapshot withMaterial(long version, RawMaterial rawMaterial) {
+    Integer material = materialIndex.get(rawMaterial.getId());
+    if (material == null) return null;
+    return withMaterial(
+        version,
+        material,
+        rawMaterial.getCode(),
+        rawMaterial.getName(),
+        rawMaterial.getStockQuantity());
+  }
+
+  private CapacitySnapshot withMaterial(
+      long version, int material, String code, String name, BigDecimal stockQuantity) {
+    BigDecimal quantity = stockQuantity == null ? BigDecimal.ZERO : stockQuantity;
+    boolean renamed =
+        !Objects.equals(code, materialCodes[material])
+            || !Objects.equals(name, materialNames[material]);
+    boolean unchanged = !renamed && quantity.compareTo(stock[material]) == 0;
+    int firstChanged = unchanged ? productCount() : materialFirstUser[material];
+
+    String[] newCodes = materialCodes;
+    String[] newNames = materialNames;
+    if (renamed) {
+      newCodes = materialCodes.clone();
+      newNames = materialNames.clone();
+      newCodes[material] = code;
+      newNames[material] = name;
+    }
+    BigDecimal[] newStock = stock.clone();
+    long[] newStockUnits = stockUnits.clone();
+    newStock[material] = quantity;
+    newStockUnits[material] = toUnits(quantity);
+
+    return new CapacitySnapshot(
+        version,
+        productIds,
+        productCodes,
+        productNames,
+        productPrices,
+        producible,
+        maxDemand,
+        recipeStart,
+        recipeMaterial,
+        recipeQuantity,
+        recipeUnits,
+        materialIds,
+        newCodes,
+        newNames,
+        newStock,
+        newStockUnits,
+        fixedPoint && newStockUnits[material] >= 0,
+        productIndex,
+        materialIndex,
+        materialFirstUser,
+        lineageVersions,
+        lineageFirstChanged,
+        order,
+        scenario)
+        .descendedFrom(this, firstChanged);
+  }
+
+  /**
+   * Same catalog with the recipe of one product replaced, or null if the product or one of the
+   * recipe's materials is not tracked.
+   */
+  public CapacitySnapshot withRecipe(
+      long version, long productId, List<ProductRawMaterial> recipe) {
+    Integer product = productIndex.get(productId);
+    if (product == null) return null;
+
+    int oldLines = recipeEnd(product) - recipeStart(product);
+    int delta = recipe.size() - oldLines;
+    int lineCount = recipeMaterial.length + delta;
+    int from = recipeStart(product);
+    int tail = recipeMaterial.length - recipeEnd(product);
+
+    int[] newStart = recipeStart.clone();
+    for (int p = product + 1; p < newStart.length; p++) {
+      newStart[p] += delta;
+    }
+
+    int[] newMaterial = new int[lineCount];
+    BigDecimal[] newQuantity = new BigDecimal[lineCount];
+    long[] newUnits = new long[lineCount];
+    System.arraycopy(recipeMaterial, 0, newMaterial, 0, from);
+    System.arraycopy(recipeQuantity, 0, newQuantity, 0, from);
+    System.arraycopy(recipeUnits, 0, newUnits, 0, from);
+    System.arraycopy(recipeMaterial, recipeEnd(product), newMaterial, from + recipe.size(), tail);
+    System.arraycopy(recipeQuantity, recipeEnd(product), newQuantity, from + recipe.size(), tail);
+    System.arraycopy(recipeUnits, recipeEnd(product), newUnits, from + recipe.size(), tail);
+
+    boolean valid = !recipe.isEmpty();
+    boolean newFixedPoint = fixedPoint;
+    for (int i = 0; i < recipe.size(); i++) {
+      ProductRawMaterial link = recipe.get(i);
+      Integer material = materialIndex.get(link.getRawMaterial().getId());
+      if (material == null) return null;
+
+      BigDecimal required = link.getRequiredQuantity();
+      if (required == null || required.compareTo(BigDecimal.ZERO) <= 0) {
+        valid = false;
+      }
+      newMaterial[from + i] = material;
+      newQuantity[from + i] = required;
+    }
+
+    for (int line = from; valid && newFixedPoint && line < from + recipe.size(); line++) {
+      newUnits[line] = toUnits(newQuantity[line]);
+      newFixedPoint = newUnits[line] > 0;
+    }
+
+    boolean[] newProducible = producible.clone();
+    newProducible[product] = valid;
+
+    return new CapacitySnapshot(
+        version,
+        productIds,
+        productCodes,
+        productNames,
+        productPrices,
+        newProducible,
+        maxDemand,
+        newStart,
+        newMaterial,
+        newQuantity,
+        newUnits,
+        materialIds,
+        materialCodes,
+        materialNames,
+        stock,
+        stockUnits,
+        newFixedPoint,
+        productIndex,
+        materialIndex,
+        firstUsers(materialIds.length, newStart, newMaterial),
+        lineageVersions,
+        lineageFirstChanged,
+        order,
+        scenario)
+        .descendedFrom(this, product);
+  }
+
+  /**
+   * What-if copy with stock and prices overridden by id and the excluded products made
+   * unproducible. Recipes and every column that is not overridden stay shared with this snapshot.
+   * Products are visited by their new prices, and the copy has no lineage, so incremental plans
+   * computed from it are never reused for the real catalog.
+   */
+  public CapacitySnapshot withScenario(
+      Map<Long, BigDecimal> stockQuantities,
+      Map<Long, BigDecimal> prices,
+      Set<Long> excludedProductIds) {
+    BigDecimal[] newStock = stock;
+    long[] newStockUnits = stockUnits;
+    boolean newFixedPoint = fixedPoint;
+    if (!stockQuantities.isEmpty()) {
+      newStock = stock.clone();
+      newStockUnits = stockUnits.clone();
+      for (Map.Entry<Long, BigDecimal> override : stockQuantities.entrySet()) {
+        int material = indexOf(materialIndex, override.getKey(), "raw material");
+        newStock[material] = override.getValue();
+        newStockUnits[material] = toUnits(override.getValue());
+        newFixedPoint &= newStockUnits[material] >= 0;
+      }
+    }
+
+    BigDecimal[] newPrices = productPrices;
+    int[] newOrder = order;
+    if (!prices.isEmpty()) {
+      newPrices = productPrices.clone();
+      for (Map.Entry<Long, BigDecimal> override : prices.entrySet()) {
+        newPrices[indexOf(productIndex, override.getKey(), "product")] = override.getValue();
+      }
+
+      BigDecimal[] ranked = newPrices;
+      newOrder =
+          IntStream.of(productOrder())
+              .boxed()
+              .sorted(
+                  Comparator.comparing(
+                      (Integer p) -> ranked[p], Comparator.nullsLast(Comparator.reverseOrder())))
+              .mapToInt(Integer::intValue)
+              .toArray();
+    }
+
+    boolean[] newProducible = producible;
+    if (!excludedProductIds.isEmpty()) {
+      newProducible = producible.clone();
+      for (Long productId : excludedProductIds) {
+        newProducible[indexOf(productIndex, productId, "product")] = false;
+      }
+    }
+
+    return new CapacitySnapshot(
+        version,
+        productIds,
+        productCodes,
+        productNames,
+        newPrices,
+        newProducible,
+        maxDemand,
+        recipeStart,
+        recipeMaterial,
+        recipeQuantity,
+        recipeUnits,
+        materialIds,
+        materialCodes,
+        materialNames,
+        newStock,
+        newStockUnits,
+        newFixedPoint,
+        productIndex,
+        materialIndex,
+        materialFirstUser,
+        new long[0],
+        new int[0],
+        newOrder,
+        true);
+  }
+
+  /**
+   * First product whose recipe or material stock differs from snapshot {@code version}; products
+   * before it allocate exactly as they did there. {@code productCount()} when nothing relevant
+   * changed, -1 when {@code version} is not a recent ancestor.
+   */
+  public int firstChangedSince(long version) {
+    if (scenario) return -1;
+    if (version == this.version) return productCount();
+
+    for (int i = 0; i < lineageVersions.length; i++) {
+      if (lineageVersions[i] == version) return lineageFirstChanged[i];
+    }
+    return -1;
+  }
+
+  private CapacitySnapshot descendedFrom(CapacitySnapshot parent, int firstChanged) {
+    int kept = Math.min(parent.lineageVersions.length, MAX_LINEAGE - 1);
+    int skipped = parent.lineageVersions.length - kept;
+    long[] versions = new long[kept + 1];
+    int[] changed = new int[kept + 1];
+
+    for (int i = 0; i < kept; i++) {
+      versions[i] = parent.lineageVersions[skipped + i];
+      changed[i] = Math.min(parent.lineageFirstChanged[skipped + i], firstChanged);
+    }
+    versions[kept] = parent.version;
+    changed[kept] = firstChanged;
+
+    return new CapacitySnapshot(
+        version,
+        productIds,
+        productCodes,
+        productNames,
+        productPrices,
+        producible,
+        maxDemand,
+        recipeStart,
+        recipeMaterial,
+        recipeQuantity,
+        recipeUnits,
+        materialIds,
+        materialCodes,
+        materialNames,
+        stock,
+        stockUnits,
+        fixedPoint,
+        productIndex,
+        materialIndex,
+        materialFirstUser,
+        versions,
+        changed,
+        order,
+        scenario);
+  }
+
+  private static int[] firstUsers(int materialCount, int[] recipeStart, int[] recipeMaterial) {
+    int productCount = recipeStart.length - 1;
+    int[] firstUser = new int[materialCount];
+    Arrays.fill(firstUser, productCount);
+
+    for (int p = productCount - 1; p >= 0; p--) {
+      for (int line = recipeStart[p]; line < recipeStart[p + 1]; line++) {
+        firstUser[recipeMaterial[line]] = p;
+      }
+    }
+    return firstUser;
+  }
+
+  private static int indexOf(Map<Long, Integer> index, Long id, String kind) {
+    Integer position = id == null ? null : index.get(id);
+    if (position == null) {
+      throw new IllegalArgumentException("Unknown " + kind + ": " + id);
+    }
+    return position;
+  }
+
+  private static long toUnits(BigDecimal value) {
+    try {
+      return value.setScale(FIXED_POINT_SCALE).unscaledValue().longValueExact();
+    } catch (ArithmeticException e) {
+      return -1;
+    }
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public int productCount() {
+    return productIds.length;
+  }
+
+  public int materialCount() {
+    return materialIds.length;
+  }
+
+  public long productId(int product) {
+    return productIds[product];
+  }
+
+  public String productCode(int product) {
+    return productCodes[product];
+  }
+
+  public String productName(int product) {
+    return productNames[product];
+  }
+
+  public BigDecimal productPrice(int product) {
+    return productPrices[product];
+  }
+
+  public boolean hasProduct(long productId) {
+    return productIndex.containsKey(productId);
+  }
+
+  /** Position of the product in this snapshot, or -1 if it is not tracked. */
+  public int indexOfProduct(long productId) {
+    return productIndex.getOrDefault(productId, -1);
+  }
+
+  /** Visiting order of the greedy allocation: price-desc, which is index order unless repriced. */
+  public int[] productOrder() {
+    return order == null ? IntStream.range(0, productCount()).toArray() : order.clone();
+  }
+
+  public boolean isProducible(int product) {
+    return producible[product];
+  }
+
+  /** Most units of the product that can be sold, or {@link #UNLIMITED}. */
+  public long maxDemand(int product) {
+    return maxDemand[product];
+  }
+
+  public int recipeStart(int product) {
+    return recipeStart[product];
+  }
+
+  public int recipeEnd(int product) {
+    return recipeStart[product + 1];
+  }
+
+  public int recipeMaterial(int line) {
+    return recipeMaterial[line];
+  }
+
+  public BigDecimal recipeQuantity(int line) {
+    return recipeQuantity[line];
+  }
+
+  public long recipeUnits(int line) {
+    return recipeUnits[line];
+  }
+
+  public long materialId(int material) {
+    return materialIds[material];
+  }
+
+  public String materialCode(int material) {
+    return materialCodes[material];
+  }
+
+  public String materialName(int material) {
+    return materialNames[material];
+  }
+
+  public BigDecimal materialStock(int material) {
+    return stock[material];
+  }
+
+  /** Current stock of a tracked material, or null if it is not tracked. */
+  public BigDecimal stockOf(long materialId) {
+    Integer material = materialIndex.get(materialId);
+    return material == null ? null : stock[material];
+  }
+
+  /**
+   * Digest of every material's stock, ordered by material id. It depends only on the stock, so
+   * snapshots on different nodes agree on it whenever they hold the same quantities.
+   */
+  public String stockVersion() {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    long[] ids = materialIds.clone();
+    Arrays.sort(ids);
+    for (long id : ids) {
+      String entry = id + "=" + stock[materialIndex.get(id)].stripTrailingZeros().toPlainString();
+      digest.update((entry + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+    return HexFormat.of().formatHex(Arrays.copyOf(digest.digest(), 16));
+  }
+
+  public boolean isFixedPoint() {
+    return fixedPoint;
+  }
+
+  public boolean isScenario() {
+    return scenario;
+  }
+
+  public BigDecimal[] copyStock() {
+    return stock.clone();
+  }
+
+  public long[] copyStockUnits() {
+    return stockUnits.clone();
+  }
+}
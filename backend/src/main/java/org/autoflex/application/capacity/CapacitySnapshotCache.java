@@ -0,0 +1,138 @@
+package org.autoflex.application.capacity;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.autoflex.application.events.CatalogChangedEvent;
+import org.autoflex.application.events.RemoteCatalogChangedEvent;
+import org.autoflex.application.gateways.ProductComponentRepository;
+import org.autoflex.application.gateways.ProductRawMaterialRepository;
+import org.autoflex.application.gateways.ProductRepository;
+import org.autoflex.application.gateways.RawMaterialRepository;
+import org.autoflex.domain.RawMaterial;
+
+/**
+ * Holds the current snapshot and the bill-of-materials explosion it was compiled from. Raw
+ * material updates and recipe changes are patched into it by reloading only the affected rows and
+ * re-exploding the changed product and its ancestors; anything else, or a gap in the change log,
+ * reloads the whole catalog. Changes committed by other nodes arrive as remote events and are
+ * applied the same way.
+ */
+@ApplicationScoped
+public class CapacitySnapshotCache {
+
+  static final int MAX_PATCHED_CHANGES = 64;
+
+  @Inject ProductRepository productRepository;
+  @Inject RawMaterialRepository rawMaterialRepository;
+  @Inject ProductRawMaterialRepository productRawMaterialRepository;
+  @Inject ProductComponentRepository productComponentRepository;
+
+  private record Catalog(CapacitySnapshot snapshot, BomExplosion explosion) {}
+
+  private final AtomicLong version = new AtomicLong();
+  private final AtomicReference<Catalog> current = new AtomicReference<>();
+  private final ConcurrentSkipListMap<Long, CatalogChangedEvent> changes =
+      new ConcurrentSkipListMap<>();
+
+  public CapacitySnapshot current() {
+    long expected = version.get();
+    Catalog catalog = current.get();
+
+    if (catalog != null && catalog.snapshot().getVersion() == expected) {
+      return catalog.snapshot();
+    }
+
+    Catalog rebuilt = catalog == null ? null : patch(catalog, expected);
+    if (rebuilt == null) {
+      rebuilt = load(expected);
+    }
+
+    Catalog installed =
+        current.accumulateAndGet(
+            rebuilt,
+            (existing, candidate) ->
+                existing == null
+                        || candidate.snapshot().getVersion() >= existing.snapshot().getVersion()
+                    ? candidate
+                    : existing);
+    changes.headMap(installed.snapshot().getVersion(), true).clear();
+    return rebuilt.snapshot();
+  }
+
+  public long version() {
+    return version.get();
+  }
+
+  int pendingChanges() {
+    return changes.size();
+  }
+
+  void onCatalogChanged(
+      @Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogChangedEvent event) {
+    record(event);
+  }
+
+  void onRemoteCatalogChanged(@Observes RemoteCatalogChangedEvent event) {
+    record(event.change());
+  }
+
+  // A snapshot that far behind reloads instead of patching, so older changes are never read again;
+  // dropping them here keeps the log bounded on nodes that take writes but serve no plans.
+  private void record(CatalogChangedEvent event) {
+    long recorded = version.incrementAndGet();
+    changes.put(recorded, event);
+    changes.headMap(recorded - MAX_PATCHED_CHANGES, true).clear();
+  }
+
+  private Catalog patch(Catalog catalog, long target) {
+    CapacitySnapshot patched = catalog.snapshot();
+    BomExplosion explosion = catalog.explosion();
+    if (target - patched.getVersion() > MAX_PATCHED_CHANGES) return null;
+
+    for (long v = patched.getVersion() + 1; v <= target; v++) {
+      CatalogChangedEvent event = changes.get(v);
+      if (event == null) return null;
+
+      if (event.isRecipeChange()) {
+        long productId = event.productId();
+        explosion =
+            explosion.withProduct(
+                productId,
+                productRawMaterialRepository.listByProduct(productId),
+                productComponentRepository.listByProduct(productId));
+        for (long affected : explosion.withAncestors(productId)) {
+          patched = patched.withRecipe(v, affected, explosion.recipe(affected));
+          if (patched == null) return null;
+        }
+      } else if (event.productId() == null && event.rawMaterialId() != null) {
+        Optional<RawMaterial> rawMaterial = rawMaterialRepository.findById(event.rawMaterialId());
+        if (rawMaterial.isEmpty()) return null;
+        patched = patched.withMaterial(v, rawMaterial.get());
+        if (patched == null) return null;
+      } else {
+        return null;
+      }
+    }
+    return new Catalog(patched, explosion);
+  }
+
+  private Catalog load(long version) {
+    BomExplosion explosion =
+        BomExplosion.explode(
+            productRawMaterialRepository.listAllGroupedByProduct(),
+            productComponentRepository.listAllGroupedByProduct());
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            version,
+            productRepository.findAllOrderedByPriceDesc(),
+            rawMaterialRepository.listAllRawMaterials(),
+            explosion.recipes());
+    return new Catalog(snapshot, explosion);
+  }
+}
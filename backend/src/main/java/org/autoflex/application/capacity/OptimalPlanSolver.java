@@ -0,0 +1,308 @@
+package org.autoflex.application.capacity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Depth-first branch-and-bound over unit counts that maximizes total plan value. Nodes are pruned
+ * with the tighter of two relaxations: every remaining product at its standalone maximum, or a
+ * fractional knapsack on a single material. When the deadline passes the best incumbent is kept
+ * and the gap to the largest open bound is reported. Interrupting the thread cancels the search.
+ */
+public final class OptimalPlanSolver {
+
+  private static final int MAX_DEADLINE_CHECK_INTERVAL = 1024;
+  // Roughly how many recipe lines and products may be visited between two deadline checks.
+  private static final long DEADLINE_CHECK_WORK = 1 << 16;
+  // Bounds are doubles; below 1e15 cents they stay well within one cent of the exact value.
+  private static final double MAX_SAFE_VALUE = 1e15;
+
+  public record Result(long[] units, BigDecimal optimalityGap, boolean optimal) {}
+
+  private final CapacitySnapshot snapshot;
+  private final int[] candidates;
+  private final long[] priceUnits;
+  private final int[][] materialProducts;
+  private final long[][] materialQuantities;
+  private final long[] stock;
+  private final long[] units;
+  private final long[] capacityBuffer;
+  private final int deadlineCheckInterval;
+
+  private OptimalPlanSolver(CapacitySnapshot snapshot, int[] candidates, long[] priceUnits) {
+    this.snapshot = snapshot;
+    this.candidates = candidates;
+    this.priceUnits = priceUnits;
+    this.stock = snapshot.copyStockUnits();
+    this.units = new long[candidates.length];
+    this.capacityBuffer = new long[candidates.length];
+    this.materialProducts = new int[snapshot.materialCount()][];
+    this.materialQuantities = new long[snapshot.materialCount()][];
+    long recipeLines = indexMaterials();
+    // Each node's upper bound walks every open candidate's recipe twice, so on a large catalog a
+    // fixed node interval would let the search run far past its deadline.
+    this.deadlineCheckInterval =
+        deadlineCheckInterval(candidates.length + snapshot.materialCount() + 2 * recipeLines);
+  }
+
+  /** Nodes between deadline checks when each node visits about {@code nodeCost} entries. */
+  static int deadlineCheckInterval(long nodeCost) {
+    long interval = DEADLINE_CHECK_WORK / Math.max(1, nodeCost);
+    return (int) Math.clamp(interval, 1, MAX_DEADLINE_CHECK_INTERVAL);
+  }
+
+  public static Result solve(CapacitySnapshot snapshot, long[] incumbent, long deadlineNanos) {
+    return solve(snapshot, incumbent, CapacityEngine.snapshotOrder(snapshot), deadlineNanos);
+  }
+
+  /** Branches on products in {@code order}; a good greedy order reaches strong plans sooner. */
+  public static Result solve(
+      CapacitySnapshot snapshot, long[] incumbent, int[] order, long deadlineNanos) {
+    if (!snapshot.isFixedPoint()) {
+      return new Result(incumbent, null, false);
+    }
+
+    long[] stock = snapshot.copyStockUnits();
+    List<Integer> candidateList = new ArrayList<>();
+    long[] priceUnits = new long[snapshot.productCount()];
+    double rootValue = 0;
+
+    for (int p : order) {
+      BigDecimal productPrice = snapshot.productPrice(p);
+      if (!snapshot.isProducible(p) || productPrice == null || productPrice.signum() <= 0) continue;
+
+      long price = toUnits(productPrice);
+      if (price < 0) {
+        return new Result(incumbent, null, false);
+      }
+
+      long maxUnits = maxUnits(snapshot, p, stock);
+      if (maxUnits == 0) continue;
+
+      priceUnits[p] = price;
+      rootValue += (double) price * maxUnits;
+      candidateList.add(p);
+    }
+
+    if (rootValue >= MAX_SAFE_VALUE) {
+      return new Result(incumbent, null, false);
+    }
+
+    int[] candidates = candidateList.stream().mapToInt(Integer::intValue).toArray();
+    return new OptimalPlanSolver(snapshot, candidates, priceUnits).search(incumbent, deadlineNanos);
+  }
+
+  private Result search(long[] incumbent, long deadlineNanos) {
+    int depthCount = candidates.length;
+    long[] best = incumbent.clone();
+    long bestValue = valueOf(incumbent);
+    double[] nodeBound = new double[depthCount + 1];
+
+    long value = 0;
+    int depth = 0;
+    boolean descending = true;
+    long visited = 0;
+    long startNanos = System.nanoTime();
+
+    while (depth >= 0) {
+      if (descending) {
+        if (++visited % deadlineCheckInterval == 0) {
+          PlanProgress.checkpoint(progress(startNanos, deadlineNanos));
+          if (System.nanoTime() > deadlineNanos) {
+            double openBound = value + upperBound(depth);
+            for (int d = 0; d < depth; d++) {
+              if (units[d] > 0) openBound = Math.max(openBound, nodeBound[d]);
+            }
+            return new Result(best, gap(bestValue, openBound), false);
+          }
+        }
+
+        if (depth == depthCount) {
+          if (value > bestValue) {
+            bestValue = value;
+            best = toProductUnits();
+          }
+          descending = false;
+          depth--;
+          continue;
+        }
+
+        nodeBound[depth] = value + upperBound(depth);
+        if (nodeBound[depth] < bestValue + 0.5) {
+          descending = false;
+          depth--;
+          continue;
+        }
+
+        long take = maxUnits(snapshot, candidates[depth], stock);
+        units[depth] = take;
+        value += consume(depth, take);
+        depth++;
+      } else {
+        long taken = units[depth];
+        value += consume(depth, -taken);
+
+        if (taken == 0) {
+          depth--;
+          continue;
+        }
+
+        units[depth] = taken - 1;
+        value += consume(depth, taken - 1);
+        depth++;
+        descending = true;
+      }
+    }
+
+    return new Result(best, BigDecimal.ZERO.setScale(4), true);
+  }
+
+  private long consume(int depth, long quantity) {
+    if (quantity == 0) return 0;
+
+    int p = candidates[depth];
+    for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+      stock[snapshot.recipeMaterial(line)] -= snapshot.recipeUnits(line) * quantity;
+    }
+    return priceUnits[p] * quantity;
+  }
+
+  private double upperBound(int depth) {
+    int n = candidates.length;
+    if (depth >= n) return 0;
+
+    long[] cap = capacityBuffer;
+    double standalone = 0;
+    for (int d = depth; d < n; d++) {
+      cap[d] = maxUnits(snapshot, candidates[d], stock);
+      standalone += (double) priceUnits[candidates[d]] * cap[d];
+    }
+
+    double bound = standalone;
+    for (int m = 0; m < materialProducts.length; m++) {
+      int[] users = materialProducts[m];
+      if (users.length == 0) continue;
+
+      double unaffected = standalone;
+      double knapsack = 0;
+      double capacity = stock[m];
+      for (int i = 0; i < users.length; i++) {
+        int d = users[i];
+        if (d < depth || cap[d] == 0) continue;
+
+        long price = priceUnits[candidates[d]];
+        unaffected -= (double) price * cap[d];
+        if (capacity <= 0) continue;
+
+        double take = Math.min(cap[d], capacity / materialQuantities[m][i]);
+        knapsack += take * price;
+        capacity -= take * materialQuantities[m][i];
+      }
+      bound = Math.min(bound, unaffected + knapsack);
+    }
+
+    return bound;
+  }
+
+  /** Indexes recipe lines by material and returns how many lines the candidates have. */
+  private long indexMaterials() {
+    int materialCount = snapshot.materialCount();
+    int[] counts = new int[materialCount];
+    long lines = 0;
+    for (int p : candidates) {
+      for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+        counts[snapshot.recipeMaterial(line)]++;
+        lines++;
+      }
+    }
+
+    Integer[][] order = new Integer[materialCount][];
+    long[][] quantityByDepth = new long[materialCount][];
+    int[] filled = new int[materialCount];
+    for (int m = 0; m < materialCount; m++) {
+      order[m] = new Integer[counts[m]];
+      quantityByDepth[m] = new long[candidates.length];
+    }
+
+    for (int d = 0; d < candidates.length; d++) {
+      int p = candidates[d];
+      for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+        int m = snapshot.recipeMaterial(line);
+        order[m][filled[m]++] = d;
+        quantityByDepth[m][d] = snapshot.recipeUnits(line);
+      }
+    }
+
+    // Fractional knapsack order: value per unit of the material, highest first.
+    for (int m = 0; m < materialCount; m++) {
+      long[] quantity = quantityByDepth[m];
+      Arrays.sort(
+          order[m],
+          (a, b) ->
+              Double.compare(
+                  (double) priceUnits[candidates[b]] / quantity[b],
+                  (double) priceUnits[candidates[a]] / quantity[a]));
+
+      materialProducts[m] = new int[order[m].length];
+      materialQuantities[m] = new long[order[m].length];
+      for (int i = 0; i < order[m].length; i++) {
+        materialProducts[m][i] = order[m][i];
+        materialQuantities[m][i] = quantity[order[m][i]];
+      }
+    }
+    return lines;
+  }
+
+  private long[] toProductUnits() {
+    long[] result = new long[snapshot.productCount()];
+    for (int d = 0; d < candidates.length; d++) {
+      result[candidates[d]] = units[d];
+    }
+    return result;
+  }
+
+  private long valueOf(long[] productUnits) {
+    long total = 0;
+    for (int p = 0; p < productUnits.length; p++) {
+      total += priceUnits[p] * productUnits[p];
+    }
+    return total;
+  }
+
+  private static long maxUnits(CapacitySnapshot snapshot, int product, long[] stock) {
+    int start = snapshot.recipeStart(product);
+    int end = snapshot.recipeEnd(product);
+    if (start == end) return 0;
+
+    long max = snapshot.maxDemand(product);
+    for (int line = start; line < end && max > 0; line++) {
+      long available = Math.max(0, stock[snapshot.recipeMaterial(line)]);
+      max = Math.min(max, available / snapshot.recipeUnits(line));
+    }
+    return max;
+  }
+
+  // The search may finish sooner; the time budget is the only bound known up front.
+  private static double progress(long startNanos, long deadlineNanos) {
+    return (double) (System.nanoTime() - startNanos) / Math.max(1, deadlineNanos - startNanos);
+  }
+
+  private static BigDecimal gap(long incumbentValue, double upperBound) {
+    if (upperBound <= incumbentValue || upperBound <= 0) {
+      return BigDecimal.ZERO.setScale(4);
+    }
+    return BigDecimal.valueOf((upperBound - incumbentValue) / upperBound)
+        .setScale(4, RoundingMode.HALF_UP);
+  }
+
+  private static long toUnits(BigDecimal value) {
+    try {
+      return value.setScale(CapacitySnapshot.FIXED_POINT_SCALE).unscaledValue().longValueExact();
+    } catch (ArithmeticException e) {
+      return -1;
+    }
+  }
+}
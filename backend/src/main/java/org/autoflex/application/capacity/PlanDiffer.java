@@ -0,0 +1,83 @@
+package org.autoflex.application.capacity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.autoflex.domain.PlanDiff;
+import org.autoflex.domain.PlanDiffItem;
+import org.autoflex.domain.PlanSnapshot;
+
+/**
+ * Diffs two plan snapshots with one merge over their product-id-sorted columns. Products present
+ * in only one plan count as zero in the other; unchanged products are left out.
+ */
+public final class PlanDiffer {
+
+  private PlanDiffer() {}
+
+  /** Changed rows from {@code from} to {@code to}, named from the current catalog. */
+  public static PlanDiff diff(PlanSnapshot from, PlanSnapshot to, CapacitySnapshot catalog) {
+    long[] fromIds = from.getProductIds();
+    long[] toIds = to.getProductIds();
+    List<PlanDiffItem> items = new ArrayList<>();
+
+    int i = 0;
+    int j = 0;
+    while (i < fromIds.length || j < toIds.length) {
+      long productId;
+      long previousQuantity = 0;
+      long currentQuantity = 0;
+      BigDecimal previousTotal = BigDecimal.ZERO;
+      BigDecimal currentTotal = BigDecimal.ZERO;
+
+      boolean inFrom = i < fromIds.length && (j == toIds.length || fromIds[i] <= toIds[j]);
+      boolean inTo = j < toIds.length && (i == fromIds.length || toIds[j] <= fromIds[i]);
+      if (inFrom) {
+        productId = fromIds[i];
+        previousQuantity = from.getQuantities()[i];
+        previousTotal = from.getTotalValues()[i];
+        i++;
+      } else {
+        productId = toIds[j];
+      }
+      if (inTo) {
+        currentQuantity = to.getQuantities()[j];
+        currentTotal = to.getTotalValues()[j];
+        j++;
+      }
+
+      if (previousQuantity != currentQuantity || previousTotal.compareTo(currentTotal) != 0) {
+        items.add(item(productId, previousQuantity, currentQuantity, previousTotal, currentTotal));
+      }
+    }
+
+    for (PlanDiffItem item : items) {
+      int p = catalog.indexOfProduct(item.getProductId());
+      if (p < 0) continue;
+      item.setProductCode(catalog.productCode(p));
+      item.setProductName(catalog.productName(p));
+    }
+
+    PlanDiff diff =
+        new PlanDiff(items, to.getGrandTotalValue().subtract(from.getGrandTotalValue()));
+    diff.setFromSnapshotId(from.getId());
+    diff.setToSnapshotId(to.getId());
+    diff.setFromDataVersion(from.getDataVersion());
+    diff.setToDataVersion(to.getDataVersion());
+    return diff;
+  }
+
+  private static PlanDiffItem item(
+      long productId,
+      long previousQuantity,
+      long currentQuantity,
+      BigDecimal previousTotal,
+      BigDecimal currentTotal) {
+    return new PlanDiffItem(
+        productId,
+        BigDecimal.valueOf(previousQuantity),
+        BigDecimal.valueOf(currentQuantity),
+        previousTotal,
+        currentTotal);
+  }
+}
@@ -0,0 +1,41 @@
+package org.autoflex.application.capacity;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.DoubleConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Cooperative cancellation and progress reporting for plan computations. Long loops call {@link
+ * #checkpoint} now and then; it stops the computation once the running thread is interrupted and
+ * forwards progress to whoever is tracking the computation on that thread.
+ */
+public final class PlanProgress {
+
+  private static final ThreadLocal<DoubleConsumer> LISTENER = new ThreadLocal<>();
+
+  private PlanProgress() {}
+
+  /** Runs {@code work} on the calling thread, sending its progress to {@code listener}. */
+  public static <T> T track(DoubleConsumer listener, Supplier<T> work) {
+    DoubleConsumer previous = LISTENER.get();
+    LISTENER.set(listener);
+    try {
+      return work.get();
+    } finally {
+      LISTENER.set(previous);
+    }
+  }
+
+  public static void checkpoint() {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("Plan computation cancelled");
+    }
+  }
+
+  /** As {@link #checkpoint()}, also reporting the completed fraction of the work. */
+  public static void checkpoint(double fraction) {
+    checkpoint();
+    DoubleConsumer listener = LISTENER.get();
+    if (listener != null) listener.accept(Math.clamp(fraction, 0.0, 1.0));
+  }
+}
@@ -0,0 +1,78 @@
+package org.autoflex.application.capacity;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.autoflex.application.dto.CoalescingStats;
+import org.autoflex.domain.ProductionPlan;
+
+/**
+ * Single-flight execution of plan requests. While a plan for a strategy and catalog version is
+ * being computed, further requests for the same key wait for that result instead of computing
+ * their own.
+ */
+@ApplicationScoped
+public class PlanRequestCoalescer {
+
+  private record Key(String strategy, long version) {}
+
+  private final ConcurrentHashMap<Key, CompletableFuture<ProductionPlan>> inFlight =
+      new ConcurrentHashMap<>();
+
+  private final LongAdder computations = new LongAdder();
+  private final LongAdder coalescedRequests = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+
+  public ProductionPlan execute(
+      String strategy, long version, Supplier<ProductionPlan> computation) {
+    Key key = new Key(strategy, version);
+    CompletableFuture<ProductionPlan> own = new CompletableFuture<>();
+    CompletableFuture<ProductionPlan> existing = inFlight.putIfAbsent(key, own);
+
+    if (existing != null) {
+      return await(existing);
+    }
+
+    computations.increment();
+    try {
+      ProductionPlan plan = computation.get();
+      own.complete(plan);
+      return plan;
+    } catch (Throwable e) {
+      own.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, own);
+    }
+  }
+
+  public CoalescingStats stats() {
+    return new CoalescingStats(
+        computations.sum(),
+        coalescedRequests.sum(),
+        TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum()),
+        TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+  }
+
+  private ProductionPlan await(CompletableFuture<ProductionPlan> leader) {
+    coalescedRequests.increment();
+    long start = System.nanoTime();
+    try {
+      return leader.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) throw cause;
+      if (e.getCause() instanceof Error cause) throw cause;
+      throw e;
+    } finally {
+      long waited = System.nanoTime() - start;
+      totalWaitNanos.add(waited);
+      maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package org.autoflex.application.capacity;
+
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.autoflex.common.exceptions.InvalidDataException;
+
+@Singleton
+public class PlanStrategies {
+
+  private final Map<String, PlanStrategy> byName = new LinkedHashMap<>();
+
+  @Inject
+  public PlanStrategies(@Any Instance<PlanStrategy> strategies) {
+    this((Iterable<PlanStrategy>) strategies);
+  }
+
+  private PlanStrategies(Iterable<PlanStrategy> strategies) {
+    for (PlanStrategy strategy : strategies) {
+      if (byName.putIfAbsent(strategy.name(), strategy) != null) {
+        throw new IllegalStateException("Duplicate plan strategy: " + strategy.name());
+      }
+    }
+  }
+
+  public static PlanStrategies of(PlanStrategy... strategies) {
+    return new PlanStrategies(List.of(strategies));
+  }
+
+  public PlanStrategy get(String name) {
+    PlanStrategy strategy = byName.get(name);
+    if (strategy == null) {
+      throw new InvalidDataException("Invalid strategy: " + name);
+    }
+    return strategy;
+  }
+
+  public List<PlanStrategy> all() {
+    return new ArrayList<>(byName.values());
+  }
+}
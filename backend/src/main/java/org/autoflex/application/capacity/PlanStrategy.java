@@ -0,0 +1,34 @@
+package org.autoflex.application.capacity;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
+import org.autoflex.domain.ProductionCapacity;
+import org.autoflex.domain.ProductionPlan;
+
+/** A named way of turning a catalog snapshot into a plan. Implementations are CDI beans. */
+public interface PlanStrategy {
+
+  String name();
+
+  ProductionPlan plan(CapacitySnapshot snapshot, ArithmeticMode arithmetic);
+
+  /**
+   * Product order of the greedy pass this strategy follows, or that best approximates it. Marginal
+   * material values are measured against a greedy allocation in this order.
+   */
+  default int[] greedyOrder(CapacitySnapshot snapshot) {
+    return CapacityEngine.snapshotOrder(snapshot);
+  }
+
+  /**
+   * Hands plan items to {@code sink} in plan order and returns the plan without its items.
+   * Strategies that decide items one at a time override this to emit them as they go.
+   */
+  default ProductionPlan stream(
+      CapacitySnapshot snapshot, ArithmeticMode arithmetic, Consumer<ProductionCapacity> sink) {
+    ProductionPlan plan = plan(snapshot, arithmetic);
+    plan.getItems().forEach(sink);
+    plan.setItems(new ArrayList<>());
+    return plan;
+  }
+}
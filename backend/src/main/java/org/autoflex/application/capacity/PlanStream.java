@@ -0,0 +1,12 @@
+package org.autoflex.application.capacity;
+
+import java.util.function.Consumer;
+import org.autoflex.domain.ProductionCapacity;
+import org.autoflex.domain.ProductionPlan;
+
+/** A plan computation that runs when written, emitting items instead of collecting them. */
+@FunctionalInterface
+public interface PlanStream {
+
+  ProductionPlan writeTo(Consumer<ProductionCapacity> sink);
+}
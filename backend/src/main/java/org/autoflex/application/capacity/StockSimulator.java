@@ -0,0 +1,108 @@
+package org.autoflex.application.capacity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo runs of the fixed-point greedy allocation over randomly perturbed stock. Each
+ * material's stock is drawn from a normal distribution around its recorded quantity with a
+ * relative standard deviation, truncated at zero. Samples run in parallel on the compiled
+ * snapshot, each with its own generator derived from the seed, so results are reproducible.
+ */
+public final class StockSimulator {
+
+  /** Sorted per-sample outcomes: units by product index and total value in fixed-point units. */
+  public record Result(long[][] units, long[] values) {
+
+    public int samples() {
+      return values.length;
+    }
+
+    /** Zero for products that cannot be produced; their samples are not kept. */
+    public long unitsAt(int product, double percentile) {
+      return units[product].length == 0 ? 0 : units[product][rank(percentile)];
+    }
+
+    public BigDecimal valueAt(double percentile) {
+      return toDecimal(values[rank(percentile)]);
+    }
+
+    public BigDecimal meanValue() {
+      BigDecimal sum = BigDecimal.ZERO;
+      for (long value : values) sum = sum.add(BigDecimal.valueOf(value));
+      return sum.divide(BigDecimal.valueOf(values.length), 0, RoundingMode.HALF_UP)
+          .movePointLeft(CapacitySnapshot.FIXED_POINT_SCALE);
+    }
+
+    // Nearest-rank percentile.
+    private int rank(double percentile) {
+      int rank = (int) Math.ceil(percentile / 100.0 * values.length);
+      return Math.clamp(rank - 1, 0, values.length - 1);
+    }
+  }
+
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private StockSimulator() {}
+
+  /**
+   * Runs {@code samples} greedy allocations in {@code order}. {@code deviation} holds the relative
+   * standard deviation of each material's stock, by material index. The snapshot must be
+   * fixed-point.
+   */
+  public static Result run(
+      CapacitySnapshot snapshot, int[] order, double[] deviation, int samples, long seed) {
+    int productCount = snapshot.productCount();
+    long[] baseStock = snapshot.copyStockUnits();
+    long[] prices = new long[productCount];
+    for (int p = 0; p < productCount; p++) {
+      BigDecimal price = snapshot.productPrice(p);
+      prices[p] = price == null ? 0 : toUnits(price);
+    }
+
+    long[][] units = new long[productCount][];
+    for (int p = 0; p < productCount; p++) {
+      units[p] = snapshot.isProducible(p) ? new long[samples] : new long[0];
+    }
+    long[] values = new long[samples];
+
+    IntStream.range(0, samples)
+        .parallel()
+        .forEach(
+            sample -> {
+              SplittableRandom random = new SplittableRandom(seed + sample * GOLDEN_GAMMA);
+              long[] stock = new long[baseStock.length];
+              for (int m = 0; m < stock.length; m++) {
+                double factor = 1 + deviation[m] * random.nextGaussian();
+                stock[m] = Math.max(0, Math.round(baseStock[m] * factor));
+              }
+
+              long[] allocated = CapacityEngine.allocateFixedPoint(snapshot, order, stock);
+              long value = 0;
+              for (int p = 0; p < productCount; p++) {
+                if (allocated[p] == 0) continue;
+                units[p][sample] = allocated[p];
+                value = Math.addExact(value, Math.multiplyExact(prices[p], allocated[p]));
+              }
+              values[sample] = value;
+            });
+
+    for (long[] column : units) Arrays.sort(column);
+    Arrays.sort(values);
+    return new Result(units, values);
+  }
+
+  private static long toUnits(BigDecimal value) {
+    return value
+        .setScale(CapacitySnapshot.FIXED_POINT_SCALE, RoundingMode.HALF_UP)
+        .unscaledValue()
+        .longValueExact();
+  }
+
+  private static BigDecimal toDecimal(long units) {
+    return BigDecimal.valueOf(units, CapacitySnapshot.FIXED_POINT_SCALE);
+  }
+}
@@ -0,0 +1,60 @@
+package org.autoflex.application.capacity;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.autoflex.domain.ProductionPlan;
+
+/**
+ * Fixed-point greedy allocation over consecutive periods. Each period starts from the stock the
+ * previous one left behind plus that period's arrivals, so a horizon costs one allocation pass per
+ * period on a single snapshot instead of a full plan per period.
+ */
+public final class TimePhasedPlanner {
+
+  private TimePhasedPlanner() {}
+
+  /**
+   * One plan per row of {@code arrivals}, which holds the fixed-point units of each material
+   * arriving in that period by material index; a null row means nothing arrives. Products are
+   * allocated in {@code order} and max demand applies per period. The snapshot must be
+   * fixed-point.
+   */
+  public static List<ProductionPlan> run(
+      CapacitySnapshot snapshot, int[] order, long[][] arrivals) {
+    long[] stock = snapshot.copyStockUnits();
+    List<ProductionPlan> plans = new ArrayList<>(arrivals.length);
+    boolean exhausted = false;
+
+    for (long[] arriving : arrivals) {
+      if (arriving != null) {
+        for (int m = 0; m < stock.length; m++) {
+          stock[m] = Math.addExact(stock[m], arriving[m]);
+        }
+        exhausted = false;
+      }
+      // Leftover stock that already stopped every product cannot produce anything new.
+      if (exhausted) {
+        plans.add(new ProductionPlan());
+        continue;
+      }
+
+      long[] startStock = stock.clone();
+      long[] units = CapacityEngine.allocateFixedPoint(snapshot, order, stock);
+      plans.add(CapacityEngine.toPlan(snapshot, units, order, startStock));
+      exhausted = stockLimited(snapshot, units);
+    }
+
+    return plans;
+  }
+
+  // Greedy stock only shrinks within a period, so a product that stopped short of its demand
+  // stays short until more stock arrives.
+  private static boolean stockLimited(CapacitySnapshot snapshot, long[] units) {
+    for (int p = 0; p < units.length; p++) {
+      if (snapshot.isProducible(p) && units[p] > 0 && units[p] >= snapshot.maxDemand(p)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
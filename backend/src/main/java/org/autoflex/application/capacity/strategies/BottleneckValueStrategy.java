@@ -0,0 +1,58 @@
+package org.autoflex.application.capacity.strategies;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.autoflex.application.capacity.ArithmeticMode;
+import org.autoflex.application.capacity.CapacityEngine;
+import org.autoflex.application.capacity.CapacitySnapshot;
+import org.autoflex.application.capacity.PlanStrategy;
+import org.autoflex.domain.ProductionPlan;
+
+/**
+ * Greedy by value per unit of each product's bottleneck material, the recipe line that limits
+ * it most when produced alone.
+ */
+@ApplicationScoped
+public class BottleneckValueStrategy implements PlanStrategy {
+
+  public static final String NAME = "bottleneck-value";
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public ProductionPlan plan(CapacitySnapshot snapshot, ArithmeticMode arithmetic) {
+    int[] order = order(snapshot);
+    return CapacityEngine.toPlan(
+        snapshot, CapacityEngine.allocate(snapshot, arithmetic, order), order);
+  }
+
+  @Override
+  public int[] greedyOrder(CapacitySnapshot snapshot) {
+    return order(snapshot);
+  }
+
+  public static int[] order(CapacitySnapshot snapshot) {
+    double[] stock = StrategyScores.stock(snapshot);
+    double[] score = new double[snapshot.productCount()];
+
+    for (int p = 0; p < snapshot.productCount(); p++) {
+      if (!snapshot.isProducible(p)) continue;
+
+      double bottleneckUnits = Double.MAX_VALUE;
+      double bottleneckQuantity = 0;
+      for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+        double quantity = snapshot.recipeQuantity(line).doubleValue();
+        double units = stock[snapshot.recipeMaterial(line)] / quantity;
+        if (units < bottleneckUnits) {
+          bottleneckUnits = units;
+          bottleneckQuantity = quantity;
+        }
+      }
+      score[p] = snapshot.productPrice(p).doubleValue() / bottleneckQuantity;
+    }
+
+    return CapacityEngine.orderByScore(score);
+  }
+}
@@ -0,0 +1,78 @@
+package org.autoflex.application.capacity.strategies;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.autoflex.application.capacity.ArithmeticMode;
+import org.autoflex.application.capacity.CapacityEngine;
+import org.autoflex.application.capacity.CapacitySnapshot;
+import org.autoflex.application.capacity.OptimalPlanSolver;
+import org.autoflex.application.capacity.PlanStrategy;
+import org.autoflex.domain.ProductionPlan;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Branch-and-bound search for the highest-value plan. The best of the greedy heuristics seeds the
+ * incumbent, and the search branches in value-density order, which ranked best in the strategy
+ * benchmark.
+ */
+@ApplicationScoped
+public class OptimalStrategy implements PlanStrategy {
+
+  public static final String NAME = "optimal";
+
+  private final long timeBudgetMs;
+
+  @Inject
+  public OptimalStrategy(
+      @ConfigProperty(name = "production-capacity.optimal.time-budget-ms", defaultValue = "2000")
+          long timeBudgetMs) {
+    this.timeBudgetMs = timeBudgetMs;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public ProductionPlan plan(CapacitySnapshot snapshot, ArithmeticMode arithmetic) {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+
+    int[] densityOrder = ValueDensityStrategy.order(snapshot);
+    long[] incumbent =
+        best(
+            snapshot,
+            CapacityEngine.allocate(snapshot, arithmetic),
+            CapacityEngine.allocate(snapshot, arithmetic, densityOrder),
+            CapacityEngine.allocate(
+                snapshot, arithmetic, BottleneckValueStrategy.order(snapshot)));
+
+    OptimalPlanSolver.Result result =
+        OptimalPlanSolver.solve(snapshot, incumbent, densityOrder, deadline);
+
+    ProductionPlan plan = CapacityEngine.toPlan(snapshot, result.units());
+    plan.setOptimalityGap(result.optimalityGap());
+    return plan;
+  }
+
+  // The solver branches in density order, so a density greedy is its closest greedy counterpart.
+  @Override
+  public int[] greedyOrder(CapacitySnapshot snapshot) {
+    return ValueDensityStrategy.order(snapshot);
+  }
+
+  private static long[] best(CapacitySnapshot snapshot, long[]... candidates) {
+    long[] best = null;
+    BigDecimal bestValue = null;
+    for (long[] candidate : candidates) {
+      BigDecimal value = CapacityEngine.toPlan(snapshot, candidate).getGrandTotalValue();
+      if (bestValue == null || value.compareTo(bestValue) > 0) {
+        best = candidate;
+        bestValue = value;
+      }
+    }
+    return best;
+  }
+}
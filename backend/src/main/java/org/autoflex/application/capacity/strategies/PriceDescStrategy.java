@@ -0,0 +1,67 @@
+package org.autoflex.application.capacity.strategies;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.autoflex.application.capacity.ArithmeticMode;
+import org.autoflex.application.capacity.CapacityEngine;
+import org.autoflex.application.capacity.CapacitySnapshot;
+import org.autoflex.application.capacity.PlanStrategy;
+import org.autoflex.domain.ProductionCapacity;
+import org.autoflex.domain.ProductionPlan;
+
+/**
+ * Most expensive product first, each taking as many units as the remaining stock allows. The last
+ * fixed-point allocation is kept, so after a stock or recipe change only the products from the
+ * first affected one onward are recomputed.
+ */
+@ApplicationScoped
+public class PriceDescStrategy implements PlanStrategy {
+
+  public static final String NAME = "price-desc";
+
+  private final AtomicReference<CapacityEngine.Allocation> last = new AtomicReference<>();
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public ProductionPlan plan(CapacitySnapshot snapshot, ArithmeticMode arithmetic) {
+    if (arithmetic == ArithmeticMode.DECIMAL
+        || !snapshot.isFixedPoint()
+        || snapshot.isScenario()) {
+      return CapacityEngine.toPlan(snapshot, CapacityEngine.allocate(snapshot, arithmetic));
+    }
+    return CapacityEngine.toPlan(allocate(snapshot));
+  }
+
+  @Override
+  public ProductionPlan stream(
+      CapacitySnapshot snapshot, ArithmeticMode arithmetic, Consumer<ProductionCapacity> sink) {
+    return CapacityEngine.stream(snapshot, arithmetic, sink);
+  }
+
+  CapacityEngine.Allocation allocate(CapacitySnapshot snapshot) {
+    CapacityEngine.Allocation previous = last.get();
+    if (previous != null && previous.snapshot() == snapshot) {
+      return previous;
+    }
+
+    int from = previous == null ? -1 : snapshot.firstChangedSince(previous.snapshot().getVersion());
+    CapacityEngine.Allocation allocation =
+        from < 0 || !previous.snapshot().isFixedPoint()
+            ? CapacityEngine.track(snapshot)
+            : CapacityEngine.reallocate(previous, snapshot, from);
+
+    last.accumulateAndGet(
+        allocation,
+        (existing, candidate) ->
+            existing == null
+                    || candidate.snapshot().getVersion() >= existing.snapshot().getVersion()
+                ? candidate
+                : existing);
+    return allocation;
+  }
+}
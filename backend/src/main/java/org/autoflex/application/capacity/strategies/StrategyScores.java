@@ -0,0 +1,18 @@
+package org.autoflex.application.capacity.strategies;
+
+import java.math.BigDecimal;
+import org.autoflex.application.capacity.CapacitySnapshot;
+
+final class StrategyScores {
+
+  private StrategyScores() {}
+
+  static double[] stock(CapacitySnapshot snapshot) {
+    BigDecimal[] stock = snapshot.copyStock();
+    double[] values = new double[stock.length];
+    for (int m = 0; m < stock.length; m++) {
+      values[m] = stock[m].doubleValue();
+    }
+    return values;
+  }
+}
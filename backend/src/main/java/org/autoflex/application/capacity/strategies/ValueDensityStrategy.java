@@ -0,0 +1,53 @@
+package org.autoflex.application.capacity.strategies;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.autoflex.application.capacity.ArithmeticMode;
+import org.autoflex.application.capacity.CapacityEngine;
+import org.autoflex.application.capacity.CapacitySnapshot;
+import org.autoflex.application.capacity.PlanStrategy;
+import org.autoflex.domain.ProductionPlan;
+
+/**
+ * Greedy by value per unit of total resource use, where each recipe line counts as the share of
+ * that material's stock one product unit consumes.
+ */
+@ApplicationScoped
+public class ValueDensityStrategy implements PlanStrategy {
+
+  public static final String NAME = "value-density";
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public ProductionPlan plan(CapacitySnapshot snapshot, ArithmeticMode arithmetic) {
+    int[] order = order(snapshot);
+    return CapacityEngine.toPlan(
+        snapshot, CapacityEngine.allocate(snapshot, arithmetic, order), order);
+  }
+
+  @Override
+  public int[] greedyOrder(CapacitySnapshot snapshot) {
+    return order(snapshot);
+  }
+
+  public static int[] order(CapacitySnapshot snapshot) {
+    double[] stock = StrategyScores.stock(snapshot);
+    double[] score = new double[snapshot.productCount()];
+
+    for (int p = 0; p < snapshot.productCount(); p++) {
+      if (!snapshot.isProducible(p)) continue;
+
+      double share = 0;
+      for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+        double quantity = snapshot.recipeQuantity(line).doubleValue();
+        share += quantity / stock[snapshot.recipeMaterial(line)];
+      }
+      score[p] = snapshot.productPrice(p).doubleValue() / share;
+    }
+
+    return CapacityEngine.orderByScore(score);
+  }
+}
@@ -0,0 +1,46 @@
+package org.autoflex.application.commands;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import org.autoflex.common.exceptions.InvalidDataException;
+
+/**
+ * Consecutive periods of a time-phased plan, starting today unless {@code from} is given.
+ * Granularity is {@code day} or {@code week}.
+ */
+public record HorizonCommand(LocalDate from, Integer periods, String granularity) {
+
+  public static final int DEFAULT_PERIODS = 30;
+  public static final String DAY = "day";
+  public static final String WEEK = "week";
+
+  public HorizonCommand {
+    from = from == null ? LocalDate.now() : from;
+    periods = periods == null ? DEFAULT_PERIODS : periods;
+    if (periods <= 0) {
+      throw new InvalidDataException("Periods must be greater than zero");
+    }
+    granularity = granularity == null ? DAY : granularity.toLowerCase(Locale.ROOT);
+    if (!granularity.equals(DAY) && !granularity.equals(WEEK)) {
+      throw new InvalidDataException("Granularity must be day or week");
+    }
+  }
+
+  public LocalDate periodStart(int period) {
+    return from.plus(period, unit());
+  }
+
+  /** First day after the last period. */
+  public LocalDate end() {
+    return periodStart(periods);
+  }
+
+  public int periodOf(LocalDate date) {
+    return (int) unit().between(from, date);
+  }
+
+  private ChronoUnit unit() {
+    return granularity.equals(WEEK) ? ChronoUnit.WEEKS : ChronoUnit.DAYS;
+  }
+}
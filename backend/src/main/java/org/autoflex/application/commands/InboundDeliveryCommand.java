@@ -0,0 +1,20 @@
+package org.autoflex.application.commands;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.autoflex.common.exceptions.InvalidDataException;
+
+public record InboundDeliveryCommand(LocalDate expectedDate, BigDecimal quantity) {
+
+  public InboundDeliveryCommand {
+    if (expectedDate == null) {
+      throw new InvalidDataException("Expected date is required");
+    }
+    if (quantity == null) {
+      throw new InvalidDataException("Quantity is required");
+    }
+    if (quantity.compareTo(new BigDecimal("0.01")) < 0) {
+      throw new InvalidDataException("Quantity must be greater than zero");
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package org.autoflex.application.commands;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.autoflex.common.exceptions.InvalidDataException;
+
+public record PlanCommitCommand(String stockVersion, List<Item> items) {
+
+  public PlanCommitCommand {
+    if (stockVersion == null || stockVersion.isBlank()) {
+      throw new InvalidDataException("Plan stock version is required");
+    }
+    if (items == null || items.isEmpty()) {
+      throw new InvalidDataException("At least one plan item is required");
+    }
+
+    Set<Long> productIds = new HashSet<>();
+    for (Item item : items) {
+      if (item == null) {
+        throw new InvalidDataException("Plan item is required");
+      }
+      if (!productIds.add(item.productId())) {
+        throw new InvalidDataException("Product " + item.productId() + " appears more than once");
+      }
+    }
+    items = List.copyOf(items);
+  }
+
+  public record Item(Long productId, long quantity) {
+
+    public Item {
+      if (productId == null) {
+        throw new InvalidDataException("Product id is required");
+      }
+      if (quantity <= 0) {
+        throw new InvalidDataException("Quantity must be greater than zero");
+      }
+    }
+  }
+}
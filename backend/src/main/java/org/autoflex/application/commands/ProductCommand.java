@@ -3,10 +3,16 @@ package org.autoflex.application.commands;
 import org.autoflex.common.exceptions.InvalidDataException;
 
 import java.math.BigDecimal;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public record ProductCommand(
-    String code, String name, BigDecimal price, List<RawMaterialItem> rawMaterials) {
+    String code,
+    String name,
+    BigDecimal price,
+    List<RawMaterialItem> rawMaterials,
+    Long maxDemand) {
 
   public ProductCommand {
     if (code == null || code.isBlank()) {
@@ -21,7 +27,11 @@ public record ProductCommand(
     if (price.compareTo(new BigDecimal("0.01")) < 0) {
       throw new InvalidDataException("Price must be greater than zero");
     }
+    if (maxDemand != null && maxDemand < 0) {
+      throw new InvalidDataException("Max demand cannot be negative");
+    }
     if (rawMaterials != null) {
+      Set<Long> rawMaterialIds = new HashSet<>();
       for (RawMaterialItem item : rawMaterials) {
         if (item == null) {
           throw new InvalidDataException("Raw material item is required");
@@ -29,6 +39,10 @@ public record ProductCommand(
         if (item.rawMaterialId() == null) {
           throw new InvalidDataException("Raw material id is required");
         }
+        if (!rawMaterialIds.add(item.rawMaterialId())) {
+          throw new InvalidDataException(
+              "Raw material " + item.rawMaterialId() + " appears more than once");
+        }
         if (item.requiredQuantity() == null) {
           throw new InvalidDataException("Required quantity is required");
         }
@@ -39,5 +53,10 @@ public record ProductCommand(
     }
   }
 
+  public ProductCommand(
+      String code, String name, BigDecimal price, List<RawMaterialItem> rawMaterials) {
+    this(code, name, price, rawMaterials, null);
+  }
+
   public record RawMaterialItem(Long rawMaterialId, BigDecimal requiredQuantity) {}
 }
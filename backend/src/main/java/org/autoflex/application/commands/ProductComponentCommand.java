@@ -0,0 +1,19 @@
+package org.autoflex.application.commands;
+
+import java.math.BigDecimal;
+import org.autoflex.common.exceptions.InvalidDataException;
+
+public record ProductComponentCommand(Long componentId, BigDecimal requiredQuantity) {
+
+  public ProductComponentCommand {
+    if (componentId == null) {
+      throw new InvalidDataException("Component id is required");
+    }
+    if (requiredQuantity == null) {
+      throw new InvalidDataException("Required quantity is required");
+    }
+    if (requiredQuantity.compareTo(new BigDecimal("0.01")) < 0) {
+      throw new InvalidDataException("Required quantity must be greater than zero");
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package org.autoflex.application.commands;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.autoflex.common.exceptions.InvalidDataException;
+
+public record ScenarioCommand(
+    String name,
+    List<StockOverride> stockOverrides,
+    List<PriceOverride> priceOverrides,
+    List<Long> excludedProductIds) {
+
+  public ScenarioCommand {
+    if (name == null || name.isBlank()) {
+      throw new InvalidDataException("Scenario name is required");
+    }
+
+    stockOverrides = stockOverrides == null ? List.of() : stockOverrides;
+    Set<Long> overriddenMaterials = new HashSet<>();
+    for (StockOverride override : stockOverrides) {
+      if (override == null || override.rawMaterialId() == null) {
+        throw new InvalidDataException("Raw material id is required");
+      }
+      if ((override.stockQuantity() == null) == (override.stockDelta() == null)) {
+        throw new InvalidDataException("Either stock quantity or stock delta is required");
+      }
+      if (override.stockQuantity() != null && override.stockQuantity().signum() < 0) {
+        throw new InvalidDataException("Stock quantity cannot be negative");
+      }
+      if (!overriddenMaterials.add(override.rawMaterialId())) {
+        throw new InvalidDataException(
+            "Raw material " + override.rawMaterialId() + " is overridden more than once");
+      }
+    }
+
+    priceOverrides = priceOverrides == null ? List.of() : priceOverrides;
+    Set<Long> overriddenProducts = new HashSet<>();
+    for (PriceOverride override : priceOverrides) {
+      if (override == null || override.productId() == null) {
+        throw new InvalidDataException("Product id is required");
+      }
+      if (override.price() == null) {
+        throw new InvalidDataException("Product price is required");
+      }
+      if (override.price().compareTo(new BigDecimal("0.01")) < 0) {
+        throw new InvalidDataException("Price must be greater than zero");
+      }
+      if (!overriddenProducts.add(override.productId())) {
+        throw new InvalidDataException(
+            "Product " + override.productId() + " is repriced more than once");
+      }
+    }
+
+    excludedProductIds = excludedProductIds == null ? List.of() : excludedProductIds;
+    for (Long productId : excludedProductIds) {
+      if (productId == null) {
+        throw new InvalidDataException("Product id is required");
+      }
+    }
+  }
+
+  public record StockOverride(
+      Long rawMaterialId, BigDecimal stockQuantity, BigDecimal stockDelta) {}
+
+  public record PriceOverride(Long productId, BigDecimal price) {}
+}
@@ -0,0 +1,67 @@
+package org.autoflex.application.commands;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import org.autoflex.common.exceptions.InvalidDataException;
+
+/**
+ * Stock uncertainty to simulate. Deviations are relative standard deviations of a material's
+ * stock, e.g. 0.05 for counts that are typically off by about five percent. Without a seed a
+ * random one is picked; the result reports it so a run can be repeated.
+ */
+public record SimulationCommand(
+    Integer samples,
+    Long seed,
+    BigDecimal defaultDeviation,
+    List<MaterialDeviation> materialDeviations,
+    List<Double> percentiles) {
+
+  public static final int DEFAULT_SAMPLES = 1000;
+  public static final List<Double> DEFAULT_PERCENTILES = List.of(5.0, 50.0, 95.0);
+
+  public SimulationCommand {
+    samples = samples == null ? DEFAULT_SAMPLES : samples;
+    if (samples <= 0) {
+      throw new InvalidDataException("Samples must be greater than zero");
+    }
+    seed = seed == null ? ThreadLocalRandom.current().nextLong() : seed;
+
+    defaultDeviation = defaultDeviation == null ? BigDecimal.ZERO : defaultDeviation;
+    requireValid(defaultDeviation);
+
+    materialDeviations = materialDeviations == null ? List.of() : materialDeviations;
+    Set<Long> materials = new HashSet<>();
+    for (MaterialDeviation entry : materialDeviations) {
+      if (entry == null || entry.rawMaterialId() == null) {
+        throw new InvalidDataException("Raw material id is required");
+      }
+      requireValid(entry.deviation());
+      if (!materials.add(entry.rawMaterialId())) {
+        throw new InvalidDataException(
+            "Raw material " + entry.rawMaterialId() + " has more than one deviation");
+      }
+    }
+
+    percentiles =
+        percentiles == null || percentiles.isEmpty() ? DEFAULT_PERCENTILES : percentiles;
+    for (Double percentile : percentiles) {
+      if (percentile == null || percentile < 0 || percentile > 100) {
+        throw new InvalidDataException("Percentiles must be between 0 and 100");
+      }
+    }
+  }
+
+  private static void requireValid(BigDecimal deviation) {
+    if (deviation == null) {
+      throw new InvalidDataException("Deviation is required");
+    }
+    if (deviation.signum() < 0) {
+      throw new InvalidDataException("Deviation cannot be negative");
+    }
+  }
+
+  public record MaterialDeviation(Long rawMaterialId, BigDecimal deviation) {}
+}
@@ -0,0 +1,4 @@
+package org.autoflex.application.dto;
+
+public record CoalescingStats(
+    long computations, long coalescedRequests, long totalWaitMillis, long maxWaitMillis) {}
@@ -0,0 +1,25 @@
+package org.autoflex.application.dto;
+
+import java.util.Locale;
+import org.autoflex.common.exceptions.InvalidDataException;
+
+/** How a paged listing reports its total. */
+public enum CountMode {
+  /** Counts the matching rows; a recent count of the same filter is reused. */
+  EXACT,
+  /** The planner's row estimate for unfiltered listings; filtered ones are counted exactly. */
+  ESTIMATED,
+  /** No total, only whether another page follows. */
+  NONE;
+
+  public static CountMode from(String value) {
+    if (value == null || value.isBlank()) {
+      return EXACT;
+    }
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidDataException("Invalid count mode: " + value);
+    }
+  }
+}
@@ -2,4 +2,24 @@ package org.autoflex.application.dto;
 
 import java.util.List;
 
-public record PagedModel<T>(List<T> items, long totalElements, int totalPages) {}
+/**
+ * A page of results. {@code nextCursor} is set in cursor mode while more rows follow; {@code
+ * hasNext} is known in every mode. Totals are {@link #UNCOUNTED} when the query asked for none.
+ */
+public record PagedModel<T>(
+    List<T> items, long totalElements, int totalPages, String nextCursor, boolean hasNext) {
+
+  public static final int UNCOUNTED = -1;
+
+  /** A page with no page after it. */
+  public PagedModel(List<T> items, long totalElements, int totalPages) {
+    this(items, totalElements, totalPages, null, false);
+  }
+
+  public static int pageCount(long totalElements, int size) {
+    if (totalElements == UNCOUNTED) {
+      return UNCOUNTED;
+    }
+    return size <= 0 ? 0 : (int) ((totalElements + size - 1) / size);
+  }
+}
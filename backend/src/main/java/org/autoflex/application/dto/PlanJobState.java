@@ -0,0 +1,13 @@
+package org.autoflex.application.dto;
+
+public enum PlanJobState {
+  QUEUED,
+  RUNNING,
+  SUCCEEDED,
+  FAILED,
+  CANCELLED;
+
+  public boolean isFinished() {
+    return this != QUEUED && this != RUNNING;
+  }
+}
@@ -0,0 +1,16 @@
+package org.autoflex.application.dto;
+
+import java.time.Instant;
+import org.autoflex.domain.ProductionPlan;
+
+/** Point-in-time view of a plan job; {@code plan} is set once it succeeded. */
+public record PlanJobStatus(
+    String id,
+    String strategy,
+    PlanJobState state,
+    double progress,
+    Instant submittedAt,
+    Instant startedAt,
+    Instant finishedAt,
+    String error,
+    ProductionPlan plan) {}
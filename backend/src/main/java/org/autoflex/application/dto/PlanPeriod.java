@@ -0,0 +1,7 @@
+package org.autoflex.application.dto;
+
+import java.time.LocalDate;
+import org.autoflex.domain.ProductionPlan;
+
+/** What can be produced from {@code startDate} through {@code endDate}, both inclusive. */
+public record PlanPeriod(LocalDate startDate, LocalDate endDate, ProductionPlan plan) {}
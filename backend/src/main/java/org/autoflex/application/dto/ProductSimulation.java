@@ -0,0 +1,7 @@
+package org.autoflex.application.dto;
+
+import java.util.List;
+
+/** Simulated units of one product, one value per requested percentile. */
+public record ProductSimulation(
+    Long productId, String productCode, String productName, List<Long> units) {}
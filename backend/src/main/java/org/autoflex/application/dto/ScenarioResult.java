@@ -0,0 +1,5 @@
+package org.autoflex.application.dto;
+
+import org.autoflex.domain.ProductionPlan;
+
+public record ScenarioResult(String name, ProductionPlan plan) {}
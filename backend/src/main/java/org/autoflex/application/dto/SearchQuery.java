@@ -1,3 +1,38 @@
 package org.autoflex.application.dto;
 
-public record SearchQuery(int page, int size, String sortBy, String direction) {}
+/**
+ * A page of a listing. Without a {@code cursor} the page is found by offset; with one, the listing
+ * continues after the row the cursor points at and {@code page} is ignored. An empty cursor asks
+ * for the first page in cursor mode. {@code countMode} defaults to {@link CountMode#EXACT}. {@code
+ * fuzzy} lets name searches match misspelled terms.
+ */
+public record SearchQuery(
+    int page,
+    int size,
+    String sortBy,
+    String direction,
+    String cursor,
+    CountMode countMode,
+    boolean fuzzy) {
+
+  public SearchQuery {
+    countMode = countMode == null ? CountMode.EXACT : countMode;
+  }
+
+  public SearchQuery(
+      int page, int size, String sortBy, String direction, String cursor, CountMode countMode) {
+    this(page, size, sortBy, direction, cursor, countMode, false);
+  }
+
+  public SearchQuery(int page, int size, String sortBy, String direction, String cursor) {
+    this(page, size, sortBy, direction, cursor, CountMode.EXACT);
+  }
+
+  public SearchQuery(int page, int size, String sortBy, String direction) {
+    this(page, size, sortBy, direction, null);
+  }
+
+  public boolean isKeyset() {
+    return cursor != null;
+  }
+}
@@ -0,0 +1,15 @@
+package org.autoflex.application.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/** Percentile bands of a stock simulation, aligned with {@code percentiles}. */
+public record SimulationResult(
+    String strategy,
+    long dataVersion,
+    int samples,
+    long seed,
+    List<Double> percentiles,
+    List<BigDecimal> totalValue,
+    BigDecimal meanTotalValue,
+    List<ProductSimulation> items) {}
@@ -0,0 +1,6 @@
+package org.autoflex.application.dto;
+
+import java.math.BigDecimal;
+
+public record StockConsumption(
+    Long rawMaterialId, BigDecimal consumedQuantity, BigDecimal stockQuantity) {}
@@ -0,0 +1,11 @@
+package org.autoflex.application.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record TimePhasedPlan(
+    String strategy,
+    long dataVersion,
+    String granularity,
+    List<PlanPeriod> periods,
+    BigDecimal grandTotalValue) {}
@@ -0,0 +1,30 @@
+package org.autoflex.application.events;
+
+public record CatalogChangedEvent(Long productId, Long rawMaterialId, Long componentId) {
+
+  public static CatalogChangedEvent product(Long productId) {
+    return new CatalogChangedEvent(productId, null, null);
+  }
+
+  public static CatalogChangedEvent rawMaterial(Long rawMaterialId) {
+    return new CatalogChangedEvent(null, rawMaterialId, null);
+  }
+
+  public static CatalogChangedEvent recipe(Long productId, Long rawMaterialId) {
+    return new CatalogChangedEvent(productId, rawMaterialId, null);
+  }
+
+  public static CatalogChangedEvent component(Long productId, Long componentId) {
+    return new CatalogChangedEvent(productId, null, componentId);
+  }
+
+  /** Something changed but it is not known what, e.g. after missed notifications. */
+  public static CatalogChangedEvent unknown() {
+    return new CatalogChangedEvent(null, null, null);
+  }
+
+  /** A raw material or component line of one product was added, changed or removed. */
+  public boolean isRecipeChange() {
+    return productId != null && (rawMaterialId != null || componentId != null);
+  }
+}
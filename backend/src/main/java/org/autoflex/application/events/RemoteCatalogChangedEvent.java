@@ -0,0 +1,4 @@
+package org.autoflex.application.events;
+
+/** A catalog change committed by another node, delivered after that node's transaction. */
+public record RemoteCatalogChangedEvent(CatalogChangedEvent change) {}
@@ -0,0 +1,20 @@
+package org.autoflex.application.gateways;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.autoflex.domain.InboundDelivery;
+
+public interface InboundDeliveryRepository {
+
+  InboundDelivery save(InboundDelivery delivery);
+
+  Optional<InboundDelivery> findById(Long id);
+
+  List<InboundDelivery> listByRawMaterial(Long rawMaterialId);
+
+  /** Deliveries expected on or after {@code from} and before {@code to}. */
+  List<InboundDelivery> listExpectedBetween(LocalDate from, LocalDate to);
+
+  void delete(Long id);
+}
@@ -0,0 +1,11 @@
+package org.autoflex.application.gateways;
+
+import java.util.Optional;
+import org.autoflex.domain.PlanSnapshot;
+
+public interface PlanSnapshotRepository {
+
+  PlanSnapshot save(PlanSnapshot snapshot);
+
+  Optional<PlanSnapshot> findById(Long id);
+}
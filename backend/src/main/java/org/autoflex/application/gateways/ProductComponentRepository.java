@@ -0,0 +1,19 @@
+package org.autoflex.application.gateways;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.autoflex.domain.ProductComponent;
+
+public interface ProductComponentRepository {
+
+  ProductComponent save(ProductComponent productComponent);
+
+  Optional<ProductComponent> findByProductAndComponent(Long productId, Long componentId);
+
+  List<ProductComponent> listByProduct(Long productId);
+
+  Map<Long, List<ProductComponent>> listAllGroupedByProduct();
+
+  void delete(Long id);
+}
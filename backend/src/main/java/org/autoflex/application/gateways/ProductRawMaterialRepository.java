@@ -1,8 +1,12 @@
 package org.autoflex.application.gateways;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.SearchQuery;
 import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.ProductionCapacity;
 
 public interface ProductRawMaterialRepository {
 
@@ -14,5 +18,15 @@ public interface ProductRawMaterialRepository {
 
   List<ProductRawMaterial> listByProduct(Long productId);
 
+  Map<Long, List<ProductRawMaterial>> listAllGroupedByProduct();
+
+  /**
+   * Units each product could build alone, {@code min(floor(stock / required))} over its recipe
+   * with components exploded to their raw materials, and no stock shared between products.
+   * Products without a recipe, on a component cycle or built from a component without one are not
+   * listed.
+   */
+  PagedModel<ProductionCapacity> findIndependentCapacity(SearchQuery query);
+
   void delete(Long id);
 }
@@ -19,5 +19,6 @@ public interface ProductRepository {
 
   PagedModel<Product> findByName(String name, SearchQuery query);
 
+  /** Every product, most expensive first, without its raw materials. */
   List<Product> findAllOrderedByPriceDesc();
 }
@@ -1,6 +1,8 @@
 package org.autoflex.application.gateways;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.autoflex.application.dto.PagedModel;
 import org.autoflex.application.dto.SearchQuery;
@@ -21,4 +23,11 @@ public interface RawMaterialRepository {
   PagedModel<RawMaterial> findByName(String name, SearchQuery query);
 
   List<RawMaterial> listAllRawMaterials();
+
+  /**
+   * Subtracts each quantity from its material's stock, touching only rows whose stock still equals
+   * {@code expectedStock}, in as few statements as the database's parameter limit allows. Returns
+   * the number of rows updated; run it in a transaction so a short count can roll everything back.
+   */
+  int consumeStock(Map<Long, BigDecimal> quantities, Map<Long, BigDecimal> expectedStock);
 }
@@ -0,0 +1,56 @@
+package org.autoflex.application.services;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.util.List;
+import org.autoflex.application.commands.InboundDeliveryCommand;
+import org.autoflex.application.gateways.InboundDeliveryRepository;
+import org.autoflex.application.gateways.RawMaterialRepository;
+import org.autoflex.application.usecases.InboundDeliveryUseCase;
+import org.autoflex.common.exceptions.ResourceNotFoundException;
+import org.autoflex.domain.InboundDelivery;
+import org.autoflex.domain.RawMaterial;
+
+@ApplicationScoped
+public class InboundDeliveryServiceImpl implements InboundDeliveryUseCase {
+
+  @Inject InboundDeliveryRepository repository;
+  @Inject RawMaterialRepository rawMaterialRepository;
+
+  @Override
+  @Transactional
+  public InboundDelivery add(Long rawMaterialId, InboundDeliveryCommand cmd) {
+    RawMaterial rawMaterial = fetchRawMaterial(rawMaterialId);
+    return repository.save(new InboundDelivery(rawMaterial, cmd.expectedDate(), cmd.quantity()));
+  }
+
+  @Override
+  public List<InboundDelivery> listByRawMaterial(Long rawMaterialId) {
+    fetchRawMaterial(rawMaterialId);
+    return repository.listByRawMaterial(rawMaterialId);
+  }
+
+  @Override
+  @Transactional
+  public void remove(Long rawMaterialId, Long deliveryId) {
+    InboundDelivery delivery =
+        repository
+            .findById(deliveryId)
+            .filter(found -> found.getRawMaterial().getId().equals(rawMaterialId))
+            .orElseThrow(
+                () ->
+                    new ResourceNotFoundException(
+                        String.format(
+                            "Delivery %d not found for Raw Material %d",
+                            deliveryId, rawMaterialId)));
+    repository.delete(delivery.getId());
+  }
+
+  private RawMaterial fetchRawMaterial(Long id) {
+    return rawMaterialRepository
+        .findById(id)
+        .orElseThrow(
+            () -> new ResourceNotFoundException("Raw material with id " + id + " not found"));
+  }
+}
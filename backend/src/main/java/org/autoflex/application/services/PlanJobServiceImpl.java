@@ -0,0 +1,196 @@
+package org.autoflex.application.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.autoflex.application.capacity.PlanProgress;
+import org.autoflex.application.capacity.PlanStrategies;
+import org.autoflex.application.dto.PlanJobState;
+import org.autoflex.application.dto.PlanJobStatus;
+import org.autoflex.application.usecases.PlanJobUseCase;
+import org.autoflex.application.usecases.ProductionCapacityUseCase;
+import org.autoflex.common.exceptions.ConflictException;
+import org.autoflex.common.exceptions.ResourceNotFoundException;
+import org.autoflex.domain.ProductionPlan;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Runs plan computations in the background on a bounded pool. Cancelling interrupts the worker,
+ * which the allocation loops and the solver notice at their next checkpoint. Finished jobs are
+ * kept for a while so their result can be read repeatedly, then dropped.
+ */
+@ApplicationScoped
+public class PlanJobServiceImpl implements PlanJobUseCase {
+
+  @Inject ProductionCapacityUseCase productionCapacityUseCase;
+  @Inject PlanStrategies planStrategies;
+
+  @ConfigProperty(name = "production-capacity.jobs.workers", defaultValue = "2")
+  int workers;
+
+  @ConfigProperty(name = "production-capacity.jobs.queue-capacity", defaultValue = "16")
+  int queueCapacity;
+
+  @ConfigProperty(name = "production-capacity.jobs.result-ttl", defaultValue = "PT10M")
+  Duration resultTtl;
+
+  Clock clock = Clock.systemUTC();
+
+  private final ConcurrentHashMap<String, Job> jobs = new ConcurrentHashMap<>();
+  private ThreadPoolExecutor executor;
+
+  @PostConstruct
+  void start() {
+    AtomicInteger threads = new AtomicInteger();
+    executor =
+        new ThreadPoolExecutor(
+            workers,
+            workers,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            task -> {
+              Thread thread = new Thread(task, "plan-job-" + threads.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  void stop() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public PlanJobStatus submit(String strategy) {
+    evictExpired();
+    Job job = new Job(UUID.randomUUID().toString(), planStrategies.get(strategy).name(), now());
+    jobs.put(job.id, job);
+
+    try {
+      job.future = executor.submit(() -> run(job));
+    } catch (RejectedExecutionException e) {
+      jobs.remove(job.id);
+      throw new ConflictException("Too many plan jobs in progress, try again later");
+    }
+    return job.status();
+  }
+
+  @Override
+  public PlanJobStatus status(String id) {
+    evictExpired();
+    return fetchJob(id).status();
+  }
+
+  @Override
+  public PlanJobStatus cancel(String id) {
+    Job job = fetchJob(id);
+    // A job cancelled before its future is set is skipped when a worker picks it up.
+    if (job.finish(PlanJobState.CANCELLED, null, null, now()) && job.future != null) {
+      job.future.cancel(true);
+    }
+    return job.status();
+  }
+
+  private void run(Job job) {
+    if (!job.start(now())) return;
+
+    try {
+      ProductionPlan plan =
+          PlanProgress.track(
+              job::progress, () -> productionCapacityUseCase.generateIsolated(job.strategy));
+      job.finish(PlanJobState.SUCCEEDED, plan, null, now());
+    } catch (CancellationException e) {
+      job.finish(PlanJobState.CANCELLED, null, null, now());
+    } catch (RuntimeException e) {
+      job.finish(PlanJobState.FAILED, null, e.getMessage(), now());
+    } catch (Error e) {
+      // Record the failure so pollers do not see the job running forever, then let it propagate.
+      job.finish(PlanJobState.FAILED, null, e.toString(), now());
+      throw e;
+    }
+  }
+
+  private Job fetchJob(String id) {
+    Job job = jobs.get(id);
+    if (job == null || job.isExpired(now().minus(resultTtl))) {
+      throw new ResourceNotFoundException("Plan job with id " + id + " not found");
+    }
+    return job;
+  }
+
+  private void evictExpired() {
+    Instant cutoff = now().minus(resultTtl);
+    jobs.values().removeIf(job -> job.isExpired(cutoff));
+  }
+
+  private Instant now() {
+    return clock.instant();
+  }
+
+  private static final class Job {
+
+    private final String id;
+    private final String strategy;
+    private final Instant submittedAt;
+    private volatile Future<?> future;
+
+    private PlanJobState state = PlanJobState.QUEUED;
+    private double progress;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+    private ProductionPlan plan;
+
+    private Job(String id, String strategy, Instant submittedAt) {
+      this.id = id;
+      this.strategy = strategy;
+      this.submittedAt = submittedAt;
+    }
+
+    synchronized boolean start(Instant at) {
+      if (state != PlanJobState.QUEUED) return false;
+      state = PlanJobState.RUNNING;
+      startedAt = at;
+      return true;
+    }
+
+    synchronized void progress(double fraction) {
+      if (state == PlanJobState.RUNNING) progress = Math.max(progress, fraction);
+    }
+
+    /** Moves an unfinished job to {@code outcome}; false if it had already finished. */
+    synchronized boolean finish(
+        PlanJobState outcome, ProductionPlan result, String failure, Instant at) {
+      if (state.isFinished()) return false;
+      state = outcome;
+      plan = result;
+      error = failure;
+      finishedAt = at;
+      if (outcome == PlanJobState.SUCCEEDED) progress = 1.0;
+      return true;
+    }
+
+    synchronized boolean isExpired(Instant cutoff) {
+      return finishedAt != null && finishedAt.isBefore(cutoff);
+    }
+
+    synchronized PlanJobStatus status() {
+      return new PlanJobStatus(
+          id, strategy, state, progress, submittedAt, startedAt, finishedAt, error, plan);
+    }
+  }
+}
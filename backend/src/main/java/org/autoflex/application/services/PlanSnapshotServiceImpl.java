@@ -0,0 +1,46 @@
+package org.autoflex.application.services;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.time.Instant;
+import org.autoflex.application.capacity.CapacitySnapshotCache;
+import org.autoflex.application.capacity.PlanDiffer;
+import org.autoflex.application.gateways.PlanSnapshotRepository;
+import org.autoflex.application.usecases.PlanSnapshotUseCase;
+import org.autoflex.application.usecases.ProductionCapacityUseCase;
+import org.autoflex.common.exceptions.ResourceNotFoundException;
+import org.autoflex.domain.PlanDiff;
+import org.autoflex.domain.PlanSnapshot;
+
+@ApplicationScoped
+public class PlanSnapshotServiceImpl implements PlanSnapshotUseCase {
+
+  @Inject PlanSnapshotRepository repository;
+  @Inject ProductionCapacityUseCase productionCapacityUseCase;
+  @Inject CapacitySnapshotCache snapshotCache;
+
+  @Override
+  @Transactional
+  public PlanSnapshot capture(String strategy) {
+    return repository.save(livePlan(strategy));
+  }
+
+  @Override
+  public PlanDiff diff(Long fromId, Long toId) {
+    PlanSnapshot from = fetchSnapshot(fromId);
+    PlanSnapshot to = toId == null ? livePlan(from.getStrategy()) : fetchSnapshot(toId);
+    return PlanDiffer.diff(from, to, snapshotCache.current());
+  }
+
+  private PlanSnapshot livePlan(String strategy) {
+    return PlanSnapshot.of(productionCapacityUseCase.generate(strategy), Instant.now());
+  }
+
+  private PlanSnapshot fetchSnapshot(Long id) {
+    return repository
+        .findById(id)
+        .orElseThrow(
+            () -> new ResourceNotFoundException("Plan snapshot with id " + id + " not found"));
+  }
+}
@@ -0,0 +1,114 @@
+package org.autoflex.application.services;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.autoflex.application.commands.ProductComponentCommand;
+import org.autoflex.application.events.CatalogChangedEvent;
+import org.autoflex.application.gateways.ProductComponentRepository;
+import org.autoflex.application.gateways.ProductRepository;
+import org.autoflex.application.usecases.ProductComponentUseCase;
+import org.autoflex.common.exceptions.ConflictException;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.autoflex.common.exceptions.ResourceNotFoundException;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductComponent;
+
+@ApplicationScoped
+public class ProductComponentServiceImpl implements ProductComponentUseCase {
+
+  @Inject ProductComponentRepository repository;
+  @Inject ProductRepository productRepository;
+  @Inject Event<CatalogChangedEvent> catalogChanged;
+
+  @Override
+  @Transactional
+  public ProductComponent add(Long productId, ProductComponentCommand cmd) {
+    Product product = fetchProduct(productId);
+    Product component = fetchProduct(cmd.componentId());
+
+    repository
+        .findByProductAndComponent(productId, cmd.componentId())
+        .ifPresent(
+            line -> {
+              throw new ConflictException("Component already linked to product");
+            });
+    if (productId.equals(cmd.componentId())
+        || uses(repository.listAllGroupedByProduct(), cmd.componentId(), productId)) {
+      throw new InvalidDataException("Component would create a cycle in the bill of materials");
+    }
+
+    ProductComponent line = new ProductComponent(product, component, cmd.requiredQuantity());
+    ProductComponent saved = repository.save(line);
+    catalogChanged.fire(CatalogChangedEvent.component(productId, cmd.componentId()));
+    return saved;
+  }
+
+  @Override
+  public List<ProductComponent> listByProduct(Long productId) {
+    fetchProduct(productId);
+    return repository.listByProduct(productId);
+  }
+
+  @Override
+  @Transactional
+  public ProductComponent updateRequiredQuantity(
+      Long productId, Long componentId, ProductComponentCommand cmd) {
+    ProductComponent line = fetchLine(productId, componentId);
+
+    line.setRequiredQuantity(cmd.requiredQuantity());
+    ProductComponent saved = repository.save(line);
+    catalogChanged.fire(CatalogChangedEvent.component(productId, componentId));
+    return saved;
+  }
+
+  @Override
+  @Transactional
+  public void remove(Long productId, Long componentId) {
+    ProductComponent line = fetchLine(productId, componentId);
+
+    repository.delete(line.getId());
+    catalogChanged.fire(CatalogChangedEvent.component(productId, componentId));
+  }
+
+  /** Whether {@code productId} is built from {@code componentId}, directly or indirectly. */
+  private static boolean uses(
+      Map<Long, List<ProductComponent>> componentLines, Long productId, Long componentId) {
+    Set<Long> visited = new HashSet<>();
+    Deque<Long> pending = new ArrayDeque<>();
+    pending.add(productId);
+
+    while (!pending.isEmpty()) {
+      for (ProductComponent line : componentLines.getOrDefault(pending.poll(), List.of())) {
+        Long id = line.getComponent().getId();
+        if (id.equals(componentId)) return true;
+        if (visited.add(id)) pending.add(id);
+      }
+    }
+    return false;
+  }
+
+  private ProductComponent fetchLine(Long productId, Long componentId) {
+    return repository
+        .findByProductAndComponent(productId, componentId)
+        .orElseThrow(
+            () ->
+                new ResourceNotFoundException(
+                    String.format(
+                        "Association not found between Product %d and Component %d",
+                        productId, componentId)));
+  }
+
+  private Product fetchProduct(Long id) {
+    return productRepository
+        .findById(id)
+        .orElseThrow(() -> new ResourceNotFoundException("Product with id " + id + " not found"));
+  }
+}
@@ -1,10 +1,12 @@
 package org.autoflex.application.services;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import java.util.List;
 import org.autoflex.application.commands.ProductRawMaterialCommand;
+import org.autoflex.application.events.CatalogChangedEvent;
 import org.autoflex.application.gateways.ProductRawMaterialRepository;
 import org.autoflex.application.gateways.ProductRepository;
 import org.autoflex.application.gateways.RawMaterialRepository;
@@ -21,6 +23,7 @@ public class ProductRawMaterialServiceImpl implements ProductRawMaterialUseCase
   @Inject ProductRawMaterialRepository repository;
   @Inject ProductRepository productRepository;
   @Inject RawMaterialRepository rawMaterialRepository;
+  @Inject Event<CatalogChangedEvent> catalogChanged;
 
   @Override
   @Transactional
@@ -36,7 +39,9 @@ public class ProductRawMaterialServiceImpl implements ProductRawMaterialUseCase
             });
 
     ProductRawMaterial link = new ProductRawMaterial(product, rawMaterial, cmd.requiredQuantity());
-    return repository.save(link);
+    ProductRawMaterial saved = repository.save(link);
+    catalogChanged.fire(CatalogChangedEvent.recipe(productId, cmd.rawMaterialId()));
+    return saved;
   }
 
   @Override
@@ -60,7 +65,9 @@ public class ProductRawMaterialServiceImpl implements ProductRawMaterialUseCase
                             productId, rawMaterialId)));
 
     link.setRequiredQuantity(cmd.requiredQuantity());
-    return repository.save(link);
+    ProductRawMaterial saved = repository.save(link);
+    catalogChanged.fire(CatalogChangedEvent.recipe(productId, rawMaterialId));
+    return saved;
   }
 
   @Override
@@ -77,6 +84,7 @@ public class ProductRawMaterialServiceImpl implements ProductRawMaterialUseCase
                             productId, rawMaterialId)));
 
     repository.delete(link.getId());
+    catalogChanged.fire(CatalogChangedEvent.recipe(productId, rawMaterialId));
   }
 
   private Product fetchProduct(Long id) {
@@ -1,11 +1,15 @@
 package org.autoflex.application.services;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.util.HashMap;
+import java.util.Map;
 import org.autoflex.application.commands.ProductCommand;
 import org.autoflex.application.dto.PagedModel;
 import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.application.events.CatalogChangedEvent;
 import org.autoflex.application.gateways.ProductRepository;
 import org.autoflex.application.gateways.RawMaterialRepository;
 import org.autoflex.application.usecases.ProductUseCase;
@@ -13,6 +17,7 @@ import org.autoflex.common.exceptions.ConflictException;
 import org.autoflex.common.exceptions.DatabaseException;
 import org.autoflex.common.exceptions.ResourceNotFoundException;
 import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
 import org.autoflex.domain.RawMaterial;
 
 @ApplicationScoped
@@ -20,6 +25,7 @@ public class ProductServiceImpl implements ProductUseCase {
 
   @Inject ProductRepository productRepository;
   @Inject RawMaterialRepository rawMaterialRepository;
+  @Inject Event<CatalogChangedEvent> catalogChanged;
 
   @Override
   @Transactional
@@ -32,6 +38,7 @@ public class ProductServiceImpl implements ProductUseCase {
             });
 
     Product product = new Product(cmd.code(), cmd.name(), cmd.price());
+    product.setMaxDemand(cmd.maxDemand());
 
     if (cmd.rawMaterials() != null && !cmd.rawMaterials().isEmpty()) {
       for (var item : cmd.rawMaterials()) {
@@ -47,7 +54,9 @@ public class ProductServiceImpl implements ProductUseCase {
       }
     }
 
-    return productRepository.save(product);
+    Product saved = productRepository.save(product);
+    catalogChanged.fire(CatalogChangedEvent.product(saved.getId()));
+    return saved;
   }
 
   @Override
@@ -69,11 +78,24 @@ public class ProductServiceImpl implements ProductUseCase {
             });
 
     product.updateData(cmd.code(), cmd.name(), cmd.price());
+    product.setMaxDemand(cmd.maxDemand());
 
+    // Links that stay keep their identity, so the repository only writes what changed.
+    Map<Long, ProductRawMaterial> current = new HashMap<>();
+    for (ProductRawMaterial link : product.getRawMaterials()) {
+      current.put(link.getRawMaterial().getId(), link);
+    }
     product.clearRawMaterials();
 
     if (cmd.rawMaterials() != null) {
       for (var item : cmd.rawMaterials()) {
+        ProductRawMaterial existing = current.get(item.rawMaterialId());
+        if (existing != null) {
+          existing.setRequiredQuantity(item.requiredQuantity());
+          product.getRawMaterials().add(existing);
+          continue;
+        }
+
         RawMaterial rm =
             rawMaterialRepository
                 .findById(item.rawMaterialId())
@@ -86,7 +108,9 @@ public class ProductServiceImpl implements ProductUseCase {
       }
     }
 
-    return productRepository.save(product);
+    Product saved = productRepository.save(product);
+    catalogChanged.fire(CatalogChangedEvent.product(id));
+    return saved;
   }
 
   @Transactional
@@ -101,6 +125,8 @@ public class ProductServiceImpl implements ProductUseCase {
       throw new DatabaseException(
           "Cannot delete product because it is referenced by other records");
     }
+
+    catalogChanged.fire(CatalogChangedEvent.product(id));
   }
 
   @Override
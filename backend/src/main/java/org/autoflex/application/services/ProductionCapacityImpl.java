@@ -1,109 +1,406 @@
 package org.autoflex.application.services;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.autoflex.application.capacity.ArithmeticMode;
+import org.autoflex.application.capacity.CapacityEngine;
+import org.autoflex.application.capacity.CapacitySnapshot;
+import org.autoflex.application.capacity.CapacitySnapshotCache;
+import org.autoflex.application.capacity.PlanRequestCoalescer;
+import org.autoflex.application.capacity.PlanStrategies;
+import org.autoflex.application.capacity.PlanStrategy;
+import org.autoflex.application.capacity.PlanStream;
+import org.autoflex.application.capacity.StockSimulator;
+import org.autoflex.application.capacity.TimePhasedPlanner;
+import org.autoflex.application.capacity.strategies.PriceDescStrategy;
+import org.autoflex.application.commands.HorizonCommand;
+import org.autoflex.application.commands.PlanCommitCommand;
+import org.autoflex.application.commands.ScenarioCommand;
+import org.autoflex.application.commands.SimulationCommand;
+import org.autoflex.application.dto.CoalescingStats;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.PlanPeriod;
+import org.autoflex.application.dto.ProductSimulation;
+import org.autoflex.application.dto.ScenarioResult;
+import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.application.dto.SimulationResult;
+import org.autoflex.application.dto.StockConsumption;
+import org.autoflex.application.dto.TimePhasedPlan;
+import org.autoflex.application.events.CatalogChangedEvent;
+import org.autoflex.application.gateways.InboundDeliveryRepository;
 import org.autoflex.application.gateways.ProductRawMaterialRepository;
-import org.autoflex.application.gateways.ProductRepository;
 import org.autoflex.application.gateways.RawMaterialRepository;
 import org.autoflex.application.usecases.ProductionCapacityUseCase;
-import org.autoflex.domain.*;
+import org.autoflex.common.exceptions.ConflictException;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.autoflex.common.exceptions.ResourceNotFoundException;
+import org.autoflex.domain.InboundDelivery;
+import org.autoflex.domain.ProductionCapacity;
+import org.autoflex.domain.ProductionPlan;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 @ApplicationScoped
 public class ProductionCapacityImpl implements ProductionCapacityUseCase {
 
-  @Inject ProductRepository productRepository;
-  @Inject RawMaterialRepository rawMaterialRepository;
+  private static final String MARGINAL_VALUES_SUFFIX = "+marginal-values";
+
+  @Inject CapacitySnapshotCache snapshotCache;
+
+  @Inject PlanStrategies planStrategies;
+
+  @Inject PlanRequestCoalescer coalescer;
+
   @Inject ProductRawMaterialRepository productRawMaterialRepository;
 
-  public ProductionPlan generate() {
-    Map<Long, BigDecimal> remainingStock = loadStock();
-    List<Product> products = productRepository.findAllOrderedByPriceDesc();
+  @Inject RawMaterialRepository rawMaterialRepository;
 
-    ProductionPlan plan = new ProductionPlan();
+  @Inject InboundDeliveryRepository inboundDeliveryRepository;
 
-    for (Product product : products) {
-      List<ProductRawMaterial> recipe = productRawMaterialRepository.listByProduct(product.getId());
+  @Inject Event<CatalogChangedEvent> catalogChanged;
 
-      if (recipe.isEmpty()) continue;
+  @ConfigProperty(name = "production-capacity.arithmetic", defaultValue = "fixed-point")
+  ArithmeticMode arithmetic;
 
-      BigDecimal maxUnits = computeMaxUnits(recipe, remainingStock);
+  @ConfigProperty(name = "production-capacity.scenarios.max", defaultValue = "100")
+  int maxScenarios;
 
-      if (maxUnits.compareTo(BigDecimal.ZERO) <= 0) continue;
+  @ConfigProperty(name = "production-capacity.simulation.max-samples", defaultValue = "10000")
+  int maxSimulationSamples;
 
-      consumeStock(recipe, remainingStock, maxUnits);
-      BigDecimal itemTotalValue = product.getPrice().multiply(maxUnits);
+  /** Cap on producible products times samples; each such cell keeps one sampled unit count. */
+  @ConfigProperty(name = "production-capacity.simulation.max-cells", defaultValue = "10000000")
+  long maxSimulationCells;
 
-      ProductionCapacity capacity =
-          new ProductionCapacity(
-              product.getId(),
-              product.getCode(),
-              product.getName(),
-              product.getPrice(),
-              maxUnits,
-              itemTotalValue);
+  @ConfigProperty(name = "production-capacity.horizon.max-periods", defaultValue = "366")
+  int maxHorizonPeriods;
 
-      plan.getItems().add(capacity);
-      plan.setGrandTotalValue(plan.getGrandTotalValue().add(itemTotalValue));
+  public long dataVersion() {
+    return snapshotCache.version();
+  }
+
+  public ProductionPlan generate() {
+    return generate(PriceDescStrategy.NAME);
+  }
+
+  public ProductionPlan generate(String strategyName) {
+    return generate(strategyName, false);
+  }
+
+  public ProductionPlan generate(String strategyName, boolean marginalValues) {
+    PlanStrategy strategy = planStrategies.get(strategyName);
+    if (!marginalValues) {
+      return coalescer.execute(
+          strategy.name(),
+          snapshotCache.version(),
+          () -> compute(strategy, snapshotCache.current()));
     }
 
-    return plan;
+    return coalescer.execute(
+        strategy.name() + MARGINAL_VALUES_SUFFIX,
+        snapshotCache.version(),
+        () -> {
+          CapacitySnapshot snapshot = snapshotCache.current();
+          ProductionPlan plan = compute(strategy, snapshot);
+          plan.setMarginalValues(
+              CapacityEngine.marginalValues(snapshot, strategy.greedyOrder(snapshot)));
+          return plan;
+        });
   }
 
-  private Map<Long, BigDecimal> loadStock() {
-    Map<Long, BigDecimal> stock = new HashMap<>();
-    List<RawMaterial> materials = rawMaterialRepository.listAllRawMaterials();
-    for (RawMaterial rm : materials) {
-      BigDecimal qty = rm.getStockQuantity() == null ? BigDecimal.ZERO : rm.getStockQuantity();
-      stock.put(rm.getId(), qty);
+  // Plan jobs call this from their own workers, which have no request context for the snapshot
+  // reload to open a session in.
+  @ActivateRequestContext
+  public ProductionPlan generateIsolated(String strategyName) {
+    return compute(planStrategies.get(strategyName), snapshotCache.current());
+  }
+
+  public PlanStream openStream(String strategyName) {
+    PlanStrategy strategy = planStrategies.get(strategyName);
+    return sink -> {
+      long start = System.nanoTime();
+      CapacitySnapshot snapshot = snapshotCache.current();
+      ProductionPlan totals = strategy.stream(snapshot, arithmetic, sink);
+
+      totals.setStrategy(strategy.name());
+      totals.setDataVersion(snapshot.getVersion());
+      totals.setStockVersion(snapshot.stockVersion());
+      totals.setSolveTimeMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      return totals;
+    };
+  }
+
+  public CoalescingStats coalescingStats() {
+    return coalescer.stats();
+  }
+
+  public List<ScenarioResult> evaluateScenarios(
+      String strategyName, List<ScenarioCommand> scenarios) {
+    PlanStrategy strategy = planStrategies.get(strategyName);
+    if (scenarios == null || scenarios.isEmpty()) {
+      throw new InvalidDataException("At least one scenario is required");
+    }
+    if (scenarios.size() > maxScenarios) {
+      throw new InvalidDataException("At most " + maxScenarios + " scenarios are allowed");
     }
-    return stock;
+
+    // Every scenario is applied to the same snapshot, so results are comparable with each other.
+    CapacitySnapshot base = snapshotCache.current();
+    List<CapacitySnapshot> variants =
+        scenarios.stream().map(scenario -> applyScenario(base, scenario)).toList();
+
+    return IntStream.range(0, scenarios.size())
+        .parallel()
+        .mapToObj(
+            i -> new ScenarioResult(scenarios.get(i).name(), compute(strategy, variants.get(i))))
+        .toList();
   }
 
-  private BigDecimal computeMaxUnits(
-      List<ProductRawMaterial> recipe, Map<Long, BigDecimal> remainingStock) {
-    BigDecimal maxUnits = null;
+  public SimulationResult simulate(String strategyName, SimulationCommand cmd) {
+    PlanStrategy strategy = planStrategies.get(strategyName);
+    if (cmd.samples() > maxSimulationSamples) {
+      throw new InvalidDataException("At most " + maxSimulationSamples + " samples are allowed");
+    }
 
-    for (ProductRawMaterial link : recipe) {
-      Long rawMaterialId = link.getRawMaterial().getId();
-      BigDecimal stock = remainingStock.getOrDefault(rawMaterialId, BigDecimal.ZERO);
-      BigDecimal required = link.getRequiredQuantity();
+    CapacitySnapshot snapshot = fixedPointSnapshot("Simulation");
+    long producible =
+        IntStream.range(0, snapshot.productCount()).filter(snapshot::isProducible).count();
+    if (producible * cmd.samples() > maxSimulationCells) {
+      throw new InvalidDataException(
+          "At most "
+              + maxSimulationCells / Math.max(producible, 1)
+              + " samples are allowed for "
+              + producible
+              + " producible products");
+    }
 
-      if (required == null || required.compareTo(BigDecimal.ZERO) <= 0) {
-        return BigDecimal.ZERO;
+    Map<Long, Integer> materialIndex = new HashMap<>();
+    for (int m = 0; m < snapshot.materialCount(); m++) {
+      materialIndex.put(snapshot.materialId(m), m);
+    }
+    double[] deviation = new double[snapshot.materialCount()];
+    Arrays.fill(deviation, cmd.defaultDeviation().doubleValue());
+    for (SimulationCommand.MaterialDeviation entry : cmd.materialDeviations()) {
+      Integer m = materialIndex.get(entry.rawMaterialId());
+      if (m == null) {
+        throw new ResourceNotFoundException(
+            "Raw material with id " + entry.rawMaterialId() + " not found");
       }
+      deviation[m] = entry.deviation().doubleValue();
+    }
+
+    // Branch-and-bound per sample would be far too slow; each sample runs the strategy's greedy.
+    StockSimulator.Result result =
+        StockSimulator.run(
+            snapshot, strategy.greedyOrder(snapshot), deviation, cmd.samples(), cmd.seed());
 
-      BigDecimal possibleUnits = stock.divide(required, 0, RoundingMode.DOWN);
+    List<ProductSimulation> items = new ArrayList<>();
+    for (int p : CapacityEngine.snapshotOrder(snapshot)) {
+      List<Long> units = cmd.percentiles().stream().map(q -> result.unitsAt(p, q)).toList();
+      if (units.stream().allMatch(u -> u == 0)) continue;
+      items.add(
+          new ProductSimulation(
+              snapshot.productId(p), snapshot.productCode(p), snapshot.productName(p), units));
+    }
+
+    return new SimulationResult(
+        strategy.name(),
+        snapshot.getVersion(),
+        result.samples(),
+        cmd.seed(),
+        cmd.percentiles(),
+        cmd.percentiles().stream().map(result::valueAt).toList(),
+        result.meanValue(),
+        items);
+  }
+
+  public TimePhasedPlan horizon(String strategyName, HorizonCommand cmd) {
+    PlanStrategy strategy = planStrategies.get(strategyName);
+    if (cmd.periods() > maxHorizonPeriods) {
+      throw new InvalidDataException("At most " + maxHorizonPeriods + " periods are allowed");
+    }
+
+    long start = System.nanoTime();
+    CapacitySnapshot snapshot = fixedPointSnapshot("A time-phased plan");
+    Map<Long, Integer> materialIndex = new HashMap<>();
+    for (int m = 0; m < snapshot.materialCount(); m++) {
+      materialIndex.put(snapshot.materialId(m), m);
+    }
 
-      if (maxUnits == null || possibleUnits.compareTo(maxUnits) < 0) {
-        maxUnits = possibleUnits;
+    // Materials no recipe uses are not in the snapshot and cannot change what gets produced.
+    long[][] arrivals = new long[cmd.periods()][];
+    for (InboundDelivery delivery :
+        inboundDeliveryRepository.listExpectedBetween(cmd.from(), cmd.end())) {
+      Integer m = materialIndex.get(delivery.getRawMaterial().getId());
+      if (m == null) continue;
+
+      int period = cmd.periodOf(delivery.getExpectedDate());
+      if (arrivals[period] == null) arrivals[period] = new long[snapshot.materialCount()];
+      arrivals[period][m] = Math.addExact(arrivals[period][m], toUnits(delivery.getQuantity()));
+    }
+
+    List<ProductionPlan> plans =
+        TimePhasedPlanner.run(snapshot, strategy.greedyOrder(snapshot), arrivals);
+    long solveTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    List<PlanPeriod> periods = new ArrayList<>(plans.size());
+    BigDecimal grandTotalValue = BigDecimal.ZERO;
+    for (int i = 0; i < plans.size(); i++) {
+      ProductionPlan plan = plans.get(i);
+      plan.setStrategy(strategy.name());
+      plan.setDataVersion(snapshot.getVersion());
+      plan.setSolveTimeMillis(solveTimeMillis);
+      periods.add(new PlanPeriod(cmd.periodStart(i), cmd.periodStart(i + 1).minusDays(1), plan));
+      grandTotalValue = grandTotalValue.add(plan.getGrandTotalValue());
+    }
+
+    return new TimePhasedPlan(
+        strategy.name(), snapshot.getVersion(), cmd.granularity(), periods, grandTotalValue);
+  }
+
+  public PagedModel<ProductionCapacity> independentCapacity(SearchQuery query) {
+    return productRawMaterialRepository.findIndependentCapacity(query);
+  }
+
+  @Transactional
+  public List<StockConsumption> commit(PlanCommitCommand cmd) {
+    // The stock version comes from the quantities themselves, so it matches across nodes. It ties
+    // the plan to this snapshot's stock, and the expected-stock guard in consumeStock ties that to
+    // the database, so a plan is refused once any stock moved after it was computed.
+    CapacitySnapshot snapshot = snapshotCache.current();
+    if (!snapshot.stockVersion().equals(cmd.stockVersion())) {
+      throw new ConflictException("Stock changed since the plan was computed");
+    }
+
+    BigDecimal[] consumed = new BigDecimal[snapshot.materialCount()];
+    for (PlanCommitCommand.Item item : cmd.items()) {
+      int p = snapshot.indexOfProduct(item.productId());
+      if (p < 0) {
+        throw new ResourceNotFoundException("Product with id " + item.productId() + " not found");
+      }
+      if (!snapshot.isProducible(p)) {
+        throw new InvalidDataException("Product " + item.productId() + " cannot be produced");
       }
 
-      if (maxUnits.compareTo(BigDecimal.ZERO) == 0) {
-        return BigDecimal.ZERO;
+      BigDecimal units = BigDecimal.valueOf(item.quantity());
+      for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+        int m = snapshot.recipeMaterial(line);
+        BigDecimal quantity = snapshot.recipeQuantity(line).multiply(units);
+        consumed[m] = consumed[m] == null ? quantity : consumed[m].add(quantity);
       }
     }
 
-    return maxUnits == null ? BigDecimal.ZERO : maxUnits;
+    Map<Long, BigDecimal> quantities = new HashMap<>();
+    Map<Long, BigDecimal> expectedStock = new HashMap<>();
+    List<StockConsumption> consumptions = new ArrayList<>();
+    for (int m = 0; m < consumed.length; m++) {
+      if (consumed[m] == null) continue;
+
+      BigDecimal remaining = snapshot.materialStock(m).subtract(consumed[m]);
+      if (remaining.signum() < 0) {
+        throw new InvalidDataException(
+            "Plan needs more of raw material " + snapshot.materialId(m) + " than is in stock");
+      }
+      quantities.put(snapshot.materialId(m), consumed[m]);
+      expectedStock.put(snapshot.materialId(m), snapshot.materialStock(m));
+      consumptions.add(new StockConsumption(snapshot.materialId(m), consumed[m], remaining));
+    }
+
+    // Rows whose stock moved since the snapshot are skipped; a short count rolls everything back.
+    if (rawMaterialRepository.consumeStock(quantities, expectedStock) != quantities.size()) {
+      throw new ConflictException("Stock changed since the plan was computed");
+    }
+    for (Long rawMaterialId : quantities.keySet()) {
+      catalogChanged.fire(CatalogChangedEvent.rawMaterial(rawMaterialId));
+    }
+    return consumptions;
   }
 
-  private void consumeStock(
-      List<ProductRawMaterial> recipe, Map<Long, BigDecimal> remainingStock, BigDecimal units) {
-    for (ProductRawMaterial link : recipe) {
-      Long rawMaterialId = link.getRawMaterial().getId();
-      BigDecimal stock = remainingStock.getOrDefault(rawMaterialId, BigDecimal.ZERO);
-      BigDecimal totalRequired = link.getRequiredQuantity().multiply(units);
-      BigDecimal newStock = stock.subtract(totalRequired);
+  private CapacitySnapshot fixedPointSnapshot(String feature) {
+    CapacitySnapshot snapshot = snapshotCache.current();
+    if (!snapshot.isFixedPoint()) {
+      throw new InvalidDataException(
+          feature
+              + " requires quantities with at most "
+              + CapacitySnapshot.FIXED_POINT_SCALE
+              + " decimal places");
+    }
+    return snapshot;
+  }
+
+  private static long toUnits(BigDecimal quantity) {
+    return quantity
+        .setScale(CapacitySnapshot.FIXED_POINT_SCALE, RoundingMode.DOWN)
+        .unscaledValue()
+        .longValueExact();
+  }
+
+  private ProductionPlan compute(PlanStrategy strategy, CapacitySnapshot snapshot) {
+    long start = System.nanoTime();
+    ProductionPlan plan = strategy.plan(snapshot, arithmetic);
+
+    plan.setStrategy(strategy.name());
+    plan.setDataVersion(snapshot.getVersion());
+    plan.setStockVersion(snapshot.stockVersion());
+    plan.setSolveTimeMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return plan;
+  }
+
+  private static CapacitySnapshot applyScenario(CapacitySnapshot base, ScenarioCommand scenario) {
+    Map<Long, BigDecimal> stock = new HashMap<>();
+    for (ScenarioCommand.StockOverride override : scenario.stockOverrides()) {
+      BigDecimal current = base.stockOf(override.rawMaterialId());
+      if (current == null) {
+        throw new ResourceNotFoundException(
+            "Raw material with id " + override.rawMaterialId() + " not found");
+      }
 
-      if (newStock.compareTo(BigDecimal.ZERO) < 0) {
-        newStock = BigDecimal.ZERO;
+      BigDecimal quantity =
+          override.stockQuantity() != null
+              ? override.stockQuantity()
+              : current.add(override.stockDelta());
+      if (quantity.signum() < 0) {
+        throw new InvalidDataException(
+            "Scenario '"
+                + scenario.name()
+                + "' leaves raw material "
+                + override.rawMaterialId()
+                + " with negative stock");
       }
+      stock.put(override.rawMaterialId(), quantity);
+    }
+
+    Map<Long, BigDecimal> prices = new HashMap<>();
+    for (ScenarioCommand.PriceOverride override : scenario.priceOverrides()) {
+      requireProduct(base, override.productId());
+      prices.put(override.productId(), override.price());
+    }
+
+    Set<Long> excluded = new HashSet<>();
+    for (Long productId : scenario.excludedProductIds()) {
+      requireProduct(base, productId);
+      excluded.add(productId);
+    }
+
+    return base.withScenario(stock, prices, excluded);
+  }
 
-      remainingStock.put(rawMaterialId, newStock);
+  private static void requireProduct(CapacitySnapshot snapshot, Long productId) {
+    if (!snapshot.hasProduct(productId)) {
+      throw new ResourceNotFoundException("Product with id " + productId + " not found");
     }
   }
 }
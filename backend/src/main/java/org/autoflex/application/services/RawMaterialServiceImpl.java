@@ -1,11 +1,13 @@
 package org.autoflex.application.services;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.autoflex.application.commands.RawMaterialCommand;
 import org.autoflex.application.dto.PagedModel;
 import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.application.events.CatalogChangedEvent;
 import org.autoflex.application.gateways.RawMaterialRepository;
 import org.autoflex.application.usecases.RawMaterialUseCase;
 import org.autoflex.common.exceptions.ConflictException;
@@ -17,6 +19,7 @@ import org.autoflex.domain.RawMaterial;
 public class RawMaterialServiceImpl implements RawMaterialUseCase {
 
   @Inject RawMaterialRepository rawMaterialRepository;
+  @Inject Event<CatalogChangedEvent> catalogChanged;
 
   @Transactional
   public RawMaterial insert(RawMaterialCommand cmd) {
@@ -29,7 +32,9 @@ public class RawMaterialServiceImpl implements RawMaterialUseCase {
 
     RawMaterial rawMaterial = new RawMaterial(cmd.code(), cmd.name(), cmd.stockQuantity());
 
-    return rawMaterialRepository.save(rawMaterial);
+    RawMaterial saved = rawMaterialRepository.save(rawMaterial);
+    catalogChanged.fire(CatalogChangedEvent.rawMaterial(saved.getId()));
+    return saved;
   }
 
   @Transactional
@@ -52,7 +57,9 @@ public class RawMaterialServiceImpl implements RawMaterialUseCase {
     existing.setName(cmd.name());
     existing.setStockQuantity(cmd.stockQuantity());
 
-    return rawMaterialRepository.save(existing);
+    RawMaterial saved = rawMaterialRepository.save(existing);
+    catalogChanged.fire(CatalogChangedEvent.rawMaterial(id));
+    return saved;
   }
 
   @Transactional
@@ -68,6 +75,8 @@ public class RawMaterialServiceImpl implements RawMaterialUseCase {
       throw new DatabaseException(
           "Cannot delete raw material because it is referenced by other records");
     }
+
+    catalogChanged.fire(CatalogChangedEvent.rawMaterial(id));
   }
 
   public PagedModel<RawMaterial> findAll(SearchQuery query) {
@@ -0,0 +1,14 @@
+package org.autoflex.application.usecases;
+
+import java.util.List;
+import org.autoflex.application.commands.InboundDeliveryCommand;
+import org.autoflex.domain.InboundDelivery;
+
+public interface InboundDeliveryUseCase {
+
+  InboundDelivery add(Long rawMaterialId, InboundDeliveryCommand cmd);
+
+  List<InboundDelivery> listByRawMaterial(Long rawMaterialId);
+
+  void remove(Long rawMaterialId, Long deliveryId);
+}
@@ -0,0 +1,12 @@
+package org.autoflex.application.usecases;
+
+import org.autoflex.application.dto.PlanJobStatus;
+
+public interface PlanJobUseCase {
+
+  PlanJobStatus submit(String strategy);
+
+  PlanJobStatus status(String id);
+
+  PlanJobStatus cancel(String id);
+}
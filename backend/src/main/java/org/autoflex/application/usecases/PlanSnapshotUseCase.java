@@ -0,0 +1,12 @@
+package org.autoflex.application.usecases;
+
+import org.autoflex.domain.PlanDiff;
+import org.autoflex.domain.PlanSnapshot;
+
+public interface PlanSnapshotUseCase {
+
+  PlanSnapshot capture(String strategy);
+
+  /** Diff from one stored snapshot to another, or to the live plan when {@code toId} is null. */
+  PlanDiff diff(Long fromId, Long toId);
+}
@@ -0,0 +1,17 @@
+package org.autoflex.application.usecases;
+
+import java.util.List;
+import org.autoflex.application.commands.ProductComponentCommand;
+import org.autoflex.domain.ProductComponent;
+
+public interface ProductComponentUseCase {
+
+  ProductComponent add(Long productId, ProductComponentCommand cmd);
+
+  List<ProductComponent> listByProduct(Long productId);
+
+  ProductComponent updateRequiredQuantity(
+      Long productId, Long componentId, ProductComponentCommand cmd);
+
+  void remove(Long productId, Long componentId);
+}
@@ -1,8 +1,53 @@
 package org.autoflex.application.usecases;
 
+import java.util.List;
+import org.autoflex.application.capacity.PlanStream;
+import org.autoflex.application.commands.HorizonCommand;
+import org.autoflex.application.commands.PlanCommitCommand;
+import org.autoflex.application.commands.ScenarioCommand;
+import org.autoflex.application.commands.SimulationCommand;
+import org.autoflex.application.dto.CoalescingStats;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.ScenarioResult;
+import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.application.dto.SimulationResult;
+import org.autoflex.application.dto.StockConsumption;
+import org.autoflex.application.dto.TimePhasedPlan;
+import org.autoflex.domain.ProductionCapacity;
 import org.autoflex.domain.ProductionPlan;
 
 public interface ProductionCapacityUseCase {
 
+  /** Version of the catalog and stock data, bumped by every product, recipe or stock write. */
+  long dataVersion();
+
   ProductionPlan generate();
+
+  ProductionPlan generate(String strategy);
+
+  ProductionPlan generate(String strategy, boolean marginalValues);
+
+  /**
+   * Computes a plan on the calling thread without sharing it with concurrent requests, so
+   * interrupting the thread cancels this computation only.
+   */
+  ProductionPlan generateIsolated(String strategy);
+
+  PlanStream openStream(String strategy);
+
+  CoalescingStats coalescingStats();
+
+  List<ScenarioResult> evaluateScenarios(String strategy, List<ScenarioCommand> scenarios);
+
+  SimulationResult simulate(String strategy, SimulationCommand cmd);
+
+  /**
+   * Plan per day or week as scheduled deliveries add to stock. Each period plans with what the
+   * previous one left unused, so nothing is produced twice from the same stock.
+   */
+  TimePhasedPlan horizon(String strategy, HorizonCommand cmd);
+
+  PagedModel<ProductionCapacity> independentCapacity(SearchQuery query);
+
+  List<StockConsumption> commit(PlanCommitCommand cmd);
 }
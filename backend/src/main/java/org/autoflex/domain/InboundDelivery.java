@@ -0,0 +1,53 @@
+package org.autoflex.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Raw material expected from a supplier on a given date, not yet part of stock. */
+public class InboundDelivery {
+
+  private Long id;
+  private RawMaterial rawMaterial;
+  private LocalDate expectedDate;
+  private BigDecimal quantity;
+
+  public InboundDelivery() {}
+
+  public InboundDelivery(RawMaterial rawMaterial, LocalDate expectedDate, BigDecimal quantity) {
+    this.rawMaterial = rawMaterial;
+    this.expectedDate = expectedDate;
+    this.quantity = quantity;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public RawMaterial getRawMaterial() {
+    return rawMaterial;
+  }
+
+  public void setRawMaterial(RawMaterial rawMaterial) {
+    this.rawMaterial = rawMaterial;
+  }
+
+  public LocalDate getExpectedDate() {
+    return expectedDate;
+  }
+
+  public void setExpectedDate(LocalDate expectedDate) {
+    this.expectedDate = expectedDate;
+  }
+
+  public BigDecimal getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(BigDecimal quantity) {
+    this.quantity = quantity;
+  }
+}
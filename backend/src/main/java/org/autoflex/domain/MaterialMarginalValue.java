@@ -0,0 +1,56 @@
+package org.autoflex.domain;
+
+import java.math.BigDecimal;
+
+public class MaterialMarginalValue {
+
+  public Long rawMaterialId;
+  public String rawMaterialCode;
+  public String rawMaterialName;
+  public BigDecimal marginalValue;
+
+  public MaterialMarginalValue() {}
+
+  public MaterialMarginalValue(
+      Long rawMaterialId,
+      String rawMaterialCode,
+      String rawMaterialName,
+      BigDecimal marginalValue) {
+    this.rawMaterialId = rawMaterialId;
+    this.rawMaterialCode = rawMaterialCode;
+    this.rawMaterialName = rawMaterialName;
+    this.marginalValue = marginalValue;
+  }
+
+  public Long getRawMaterialId() {
+    return rawMaterialId;
+  }
+
+  public void setRawMaterialId(Long rawMaterialId) {
+    this.rawMaterialId = rawMaterialId;
+  }
+
+  public String getRawMaterialCode() {
+    return rawMaterialCode;
+  }
+
+  public void setRawMaterialCode(String rawMaterialCode) {
+    this.rawMaterialCode = rawMaterialCode;
+  }
+
+  public String getRawMaterialName() {
+    return rawMaterialName;
+  }
+
+  public void setRawMaterialName(String rawMaterialName) {
+    this.rawMaterialName = rawMaterialName;
+  }
+
+  public BigDecimal getMarginalValue() {
+    return marginalValue;
+  }
+
+  public void setMarginalValue(BigDecimal marginalValue) {
+    this.marginalValue = marginalValue;
+  }
+}
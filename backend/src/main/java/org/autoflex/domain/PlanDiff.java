@@ -0,0 +1,70 @@
+package org.autoflex.domain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PlanDiff {
+
+  public Long fromSnapshotId;
+  public Long toSnapshotId;
+  public Long fromDataVersion;
+  public Long toDataVersion;
+  public BigDecimal grandTotalValueDelta = BigDecimal.ZERO;
+  public List<PlanDiffItem> items = new ArrayList<>();
+
+  public PlanDiff() {}
+
+  public PlanDiff(List<PlanDiffItem> items, BigDecimal grandTotalValueDelta) {
+    this.items = items;
+    this.grandTotalValueDelta = grandTotalValueDelta;
+  }
+
+  public Long getFromSnapshotId() {
+    return fromSnapshotId;
+  }
+
+  public void setFromSnapshotId(Long fromSnapshotId) {
+    this.fromSnapshotId = fromSnapshotId;
+  }
+
+  public Long getToSnapshotId() {
+    return toSnapshotId;
+  }
+
+  public void setToSnapshotId(Long toSnapshotId) {
+    this.toSnapshotId = toSnapshotId;
+  }
+
+  public Long getFromDataVersion() {
+    return fromDataVersion;
+  }
+
+  public void setFromDataVersion(Long fromDataVersion) {
+    this.fromDataVersion = fromDataVersion;
+  }
+
+  public Long getToDataVersion() {
+    return toDataVersion;
+  }
+
+  public void setToDataVersion(Long toDataVersion) {
+    this.toDataVersion = toDataVersion;
+  }
+
+  public BigDecimal getGrandTotalValueDelta() {
+    return grandTotalValueDelta;
+  }
+
+  public void setGrandTotalValueDelta(BigDecimal grandTotalValueDelta) {
+    this.grandTotalValueDelta = grandTotalValueDelta;
+  }
+
+  public List<PlanDiffItem> getItems() {
+    return items;
+  }
+
+  public void setItems(List<PlanDiffItem> items) {
+    this.items = items;
+  }
+}
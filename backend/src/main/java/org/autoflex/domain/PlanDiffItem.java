@@ -0,0 +1,85 @@
+package org.autoflex.domain;
+
+import java.math.BigDecimal;
+
+public class PlanDiffItem {
+
+  public Long productId;
+  public String productCode;
+  public String productName;
+  public BigDecimal previousQuantity;
+  public BigDecimal currentQuantity;
+  public BigDecimal previousTotalValue;
+  public BigDecimal currentTotalValue;
+
+  public PlanDiffItem() {}
+
+  public PlanDiffItem(
+      Long productId,
+      BigDecimal previousQuantity,
+      BigDecimal currentQuantity,
+      BigDecimal previousTotalValue,
+      BigDecimal currentTotalValue) {
+    this.productId = productId;
+    this.previousQuantity = previousQuantity;
+    this.currentQuantity = currentQuantity;
+    this.previousTotalValue = previousTotalValue;
+    this.currentTotalValue = currentTotalValue;
+  }
+
+  public Long getProductId() {
+    return productId;
+  }
+
+  public void setProductId(Long productId) {
+    this.productId = productId;
+  }
+
+  public String getProductCode() {
+    return productCode;
+  }
+
+  public void setProductCode(String productCode) {
+    this.productCode = productCode;
+  }
+
+  public String getProductName() {
+    return productName;
+  }
+
+  public void setProductName(String productName) {
+    this.productName = productName;
+  }
+
+  public BigDecimal getPreviousQuantity() {
+    return previousQuantity;
+  }
+
+  public void setPreviousQuantity(BigDecimal previousQuantity) {
+    this.previousQuantity = previousQuantity;
+  }
+
+  public BigDecimal getCurrentQuantity() {
+    return currentQuantity;
+  }
+
+  public void setCurrentQuantity(BigDecimal currentQuantity) {
+    this.currentQuantity = currentQuantity;
+  }
+
+  public BigDecimal getPreviousTotalValue() {
+    return previousTotalValue;
+  }
+
+  public void setPreviousTotalValue(BigDecimal previousTotalValue) {
+    this.previousTotalValue = previousTotalValue;
+  }
+
+  public BigDecimal getCurrentTotalValue() {
+    return currentTotalValue;
+  }
+
+  public void setCurrentTotalValue(BigDecimal currentTotalValue) {
+    this.currentTotalValue = currentTotalValue;
+  }
+}
@@ -0,0 +1,135 @@
+package org.autoflex.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A production plan stored column by column: parallel arrays of product ids, quantities and
+ * total values, sorted by product id so two snapshots can be diffed with a single merge.
+ */
+public class PlanSnapshot {
+
+  private Long id;
+  private String strategy;
+  private Long dataVersion;
+  private Instant createdAt;
+  private BigDecimal grandTotalValue;
+  private long[] productIds;
+  private long[] quantities;
+  private BigDecimal[] totalValues;
+
+  public PlanSnapshot() {}
+
+  public PlanSnapshot(
+      String strategy,
+      Long dataVersion,
+      Instant createdAt,
+      BigDecimal grandTotalValue,
+      long[] productIds,
+      long[] quantities,
+      BigDecimal[] totalValues) {
+    this.strategy = strategy;
+    this.dataVersion = dataVersion;
+    this.createdAt = createdAt;
+    this.grandTotalValue = grandTotalValue;
+    this.productIds = productIds;
+    this.quantities = quantities;
+    this.totalValues = totalValues;
+  }
+
+  public static PlanSnapshot of(ProductionPlan plan, Instant createdAt) {
+    List<ProductionCapacity> items =
+        plan.getItems().stream()
+            .sorted(Comparator.comparing(ProductionCapacity::getProductId))
+            .toList();
+
+    long[] productIds = new long[items.size()];
+    long[] quantities = new long[items.size()];
+    BigDecimal[] totalValues = new BigDecimal[items.size()];
+    for (int i = 0; i < items.size(); i++) {
+      ProductionCapacity item = items.get(i);
+      productIds[i] = item.getProductId();
+      quantities[i] = item.getProducibleQuantity().longValueExact();
+      totalValues[i] = item.getTotalValue();
+    }
+
+    return new PlanSnapshot(
+        plan.getStrategy(),
+        plan.getDataVersion(),
+        createdAt,
+        plan.getGrandTotalValue(),
+        productIds,
+        quantities,
+        totalValues);
+  }
+
+  public int size() {
+    return productIds.length;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getStrategy() {
+    return strategy;
+  }
+
+  public void setStrategy(String strategy) {
+    this.strategy = strategy;
+  }
+
+  public Long getDataVersion() {
+    return dataVersion;
+  }
+
+  public void setDataVersion(Long dataVersion) {
+    this.dataVersion = dataVersion;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(Instant createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public BigDecimal getGrandTotalValue() {
+    return grandTotalValue;
+  }
+
+  public void setGrandTotalValue(BigDecimal grandTotalValue) {
+    this.grandTotalValue = grandTotalValue;
+  }
+
+  public long[] getProductIds() {
+    return productIds;
+  }
+
+  public void setProductIds(long[] productIds) {
+    this.productIds = productIds;
+  }
+
+  public long[] getQuantities() {
+    return quantities;
+  }
+
+  public void setQuantities(long[] quantities) {
+    this.quantities = quantities;
+  }
+
+  public BigDecimal[] getTotalValues() {
+    return totalValues;
+  }
+
+  public void setTotalValues(BigDecimal[] totalValues) {
+    this.totalValues = totalValues;
+  }
+}
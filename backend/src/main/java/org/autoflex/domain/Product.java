@@ -11,6 +11,7 @@ public class Product {
   private String code;
   private String name;
   private BigDecimal price;
+  private Long maxDemand;
   private List<ProductRawMaterial> rawMaterials = new ArrayList<>();
 
   public Product() {}
@@ -69,6 +70,17 @@ public class Product {
     this.price = price;
   }
 
+  public Long getMaxDemand() {
+    return maxDemand;
+  }
+
+  public void setMaxDemand(Long maxDemand) {
+    if (maxDemand != null && maxDemand < 0) {
+      throw new InvalidDataException("Max demand cannot be negative");
+    }
+    this.maxDemand = maxDemand;
+  }
+
   public List<ProductRawMaterial> getRawMaterials() {
     return rawMaterials;
   }
@@ -0,0 +1,59 @@
+package org.autoflex.domain;
+
+import java.math.BigDecimal;
+
+public class ProductComponent {
+
+  private Long id;
+  private Product product;
+  private Product component;
+  private BigDecimal requiredQuantity;
+
+  public ProductComponent() {}
+
+  public ProductComponent(Product product, Product component, BigDecimal requiredQuantity) {
+    this.product = product;
+    this.component = component;
+    this.requiredQuantity = requiredQuantity;
+  }
+
+  public ProductComponent(
+      Long id, Product product, Product component, BigDecimal requiredQuantity) {
+    this.id = id;
+    this.product = product;
+    this.component = component;
+    this.requiredQuantity = requiredQuantity;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Product getProduct() {
+    return product;
+  }
+
+  public void setProduct(Product product) {
+    this.product = product;
+  }
+
+  public Product getComponent() {
+    return component;
+  }
+
+  public void setComponent(Product component) {
+    this.component = component;
+  }
+
+  public BigDecimal getRequiredQuantity() {
+    return requiredQuantity;
+  }
+
+  public void setRequiredQuantity(BigDecimal requiredQuantity) {
+    this.requiredQuantity = requiredQuantity;
+  }
+}
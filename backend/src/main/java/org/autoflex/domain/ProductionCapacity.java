@@ -10,6 +10,8 @@ public class ProductionCapacity {
   public BigDecimal unitPrice;
   public BigDecimal producibleQuantity;
   public BigDecimal totalValue;
+  public RawMaterial limitingRawMaterial;
+  public Long maxDemand;
 
   public ProductionCapacity() {}
 
@@ -75,4 +77,20 @@ public class ProductionCapacity {
   public void setTotalValue(BigDecimal totalValue) {
     this.totalValue = totalValue;
   }
+
+  public Long getMaxDemand() {
+    return maxDemand;
+  }
+
+  public void setMaxDemand(Long maxDemand) {
+    this.maxDemand = maxDemand;
+  }
+
+  public RawMaterial getLimitingRawMaterial() {
+    return limitingRawMaterial;
+  }
+
+  public void setLimitingRawMaterial(RawMaterial limitingRawMaterial) {
+    this.limitingRawMaterial = limitingRawMaterial;
+  }
 }
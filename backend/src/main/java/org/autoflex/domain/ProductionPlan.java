@@ -8,6 +8,12 @@ public class ProductionPlan {
 
   public List<ProductionCapacity> items = new ArrayList<>();
   public BigDecimal grandTotalValue = BigDecimal.ZERO;
+  public String strategy;
+  public BigDecimal optimalityGap;
+  public Long solveTimeMillis;
+  public List<MaterialMarginalValue> marginalValues;
+  public Long dataVersion;
+  public String stockVersion;
 
   public ProductionPlan() {}
 
@@ -31,4 +37,52 @@ public class ProductionPlan {
   public void setGrandTotalValue(BigDecimal grandTotalValue) {
     this.grandTotalValue = grandTotalValue;
   }
+
+  public Long getDataVersion() {
+    return dataVersion;
+  }
+
+  public void setDataVersion(Long dataVersion) {
+    this.dataVersion = dataVersion;
+  }
+
+  public String getStockVersion() {
+    return stockVersion;
+  }
+
+  public void setStockVersion(String stockVersion) {
+    this.stockVersion = stockVersion;
+  }
+
+  public String getStrategy() {
+    return strategy;
+  }
+
+  public void setStrategy(String strategy) {
+    this.strategy = strategy;
+  }
+
+  public BigDecimal getOptimalityGap() {
+    return optimalityGap;
+  }
+
+  public void setOptimalityGap(BigDecimal optimalityGap) {
+    this.optimalityGap = optimalityGap;
+  }
+
+  public Long getSolveTimeMillis() {
+    return solveTimeMillis;
+  }
+
+  public void setSolveTimeMillis(Long solveTimeMillis) {
+    this.solveTimeMillis = solveTimeMillis;
+  }
+
+  public List<MaterialMarginalValue> getMarginalValues() {
+    return marginalValues;
+  }
+
+  public void setMarginalValues(List<MaterialMarginalValue> marginalValues) {
+    this.marginalValues = marginalValues;
+  }
 }
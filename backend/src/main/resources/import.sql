@@ -1,6 +1,6 @@
 WITH u AS (
-INSERT INTO users(email, password_hash, first_name, last_name, active, created_at)
-VALUES ('adm@autoflex.com', '$2a$10$7RI3TeWZC47XYC2g3x92luLY75IOV9PAWN53nY54eZ/Dfm2XDvJ5S', 'Amanda', 'Ribeiro', true, now())
+INSERT INTO users(id, email, password_hash, first_name, last_name, active, created_at)
+VALUES (1, 'adm@autoflex.com', '$2a$10$7RI3TeWZC47XYC2g3x92luLY75IOV9PAWN53nY54eZ/Dfm2XDvJ5S', 'Amanda', 'Ribeiro', true, now())
     RETURNING id
     )
 INSERT INTO user_roles(user_id, role)
@@ -37,79 +37,86 @@ INSERT INTO products (id, code, name, price) VALUES (8, 'PROD-008', 'Bookshelf 5
 INSERT INTO products (id, code, name, price) VALUES (9, 'PROD-009', 'Chest of Drawers 4 Drawers', 520.00);
 INSERT INTO products (id, code, name, price) VALUES (10, 'PROD-010', 'Bedside Table 2 Drawers', 195.00);
 
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (1, 2, 8.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (1, 9, 4.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (1, 5, 32.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (1, 11, 0.50);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (1, 10, 0.30);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (1, 13, 0.20);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (1, 14, 1.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (2, 1, 5.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (2, 9, 4.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (2, 5, 24.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (2, 10, 0.25);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (2, 13, 0.15);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (2, 14, 1.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (3, 3, 2.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (3, 1, 4.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (3, 7, 3.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (3, 8, 3.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (3, 5, 40.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (3, 12, 0.40);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (3, 13, 0.25);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (3, 14, 1.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (4, 1, 3.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (4, 15, 1.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (4, 16, 0.80);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (4, 5, 16.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (4, 11, 0.15);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (4, 13, 0.10);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (4, 14, 1.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (5, 4, 1.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (5, 15, 1.50);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (5, 17, 1.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (5, 5, 20.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (5, 12, 0.20);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (5, 13, 0.15);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (6, 3, 2.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (6, 6, 4.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (6, 8, 2.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (6, 5, 48.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (6, 12, 0.50);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (6, 13, 0.30);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (6, 14, 1.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (7, 3, 4.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (7, 2, 4.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (7, 19, 2.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (7, 6, 6.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (7, 8, 3.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (7, 5, 80.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (7, 12, 0.80);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (7, 13, 0.50);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (7, 14, 2.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (8, 3, 2.50);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (8, 1, 2.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (8, 5, 60.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (8, 12, 0.60);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (8, 13, 0.35);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (8, 14, 1.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (9, 3, 2.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (9, 1, 3.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (9, 7, 4.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (9, 8, 4.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (9, 5, 55.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (9, 12, 0.45);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (9, 13, 0.30);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (9, 14, 1.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (10, 3, 1.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (10, 1, 2.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (10, 7, 2.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (10, 8, 2.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (10, 5, 28.00);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (10, 12, 0.25);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (10, 13, 0.15);
-INSERT INTO product_raw_materials (product_id, raw_material_id, required_quantity) VALUES (10, 14, 1.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (1, 1, 2, 8.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (2, 1, 9, 4.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (3, 1, 5, 32.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (4, 1, 11, 0.50);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (5, 1, 10, 0.30);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (6, 1, 13, 0.20);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (7, 1, 14, 1.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (8, 2, 1, 5.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (9, 2, 9, 4.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (10, 2, 5, 24.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (11, 2, 10, 0.25);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (12, 2, 13, 0.15);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (13, 2, 14, 1.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (14, 3, 3, 2.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (15, 3, 1, 4.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (16, 3, 7, 3.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (17, 3, 8, 3.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (18, 3, 5, 40.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (19, 3, 12, 0.40);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (20, 3, 13, 0.25);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (21, 3, 14, 1.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (22, 4, 1, 3.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (23, 4, 15, 1.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (24, 4, 16, 0.80);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (25, 4, 5, 16.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (26, 4, 11, 0.15);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (27, 4, 13, 0.10);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (28, 4, 14, 1.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (29, 5, 4, 1.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (30, 5, 15, 1.50);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (31, 5, 17, 1.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (32, 5, 5, 20.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (33, 5, 12, 0.20);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (34, 5, 13, 0.15);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (35, 6, 3, 2.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (36, 6, 6, 4.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (37, 6, 8, 2.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (38, 6, 5, 48.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (39, 6, 12, 0.50);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (40, 6, 13, 0.30);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (41, 6, 14, 1.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (42, 7, 3, 4.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (43, 7, 2, 4.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (44, 7, 19, 2.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (45, 7, 6, 6.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (46, 7, 8, 3.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (47, 7, 5, 80.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (48, 7, 12, 0.80);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (49, 7, 13, 0.50);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (50, 7, 14, 2.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (51, 8, 3, 2.50);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (52, 8, 1, 2.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (53, 8, 5, 60.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (54, 8, 12, 0.60);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (55, 8, 13, 0.35);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (56, 8, 14, 1.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (57, 9, 3, 2.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (58, 9, 1, 3.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (59, 9, 7, 4.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (60, 9, 8, 4.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (61, 9, 5, 55.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (62, 9, 12, 0.45);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (63, 9, 13, 0.30);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (64, 9, 14, 1.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (65, 10, 3, 1.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (66, 10, 1, 2.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (67, 10, 7, 2.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (68, 10, 8, 2.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (69, 10, 5, 28.00);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (70, 10, 12, 0.25);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (71, 10, 13, 0.15);
+INSERT INTO product_raw_materials (id, product_id, raw_material_id, required_quantity) VALUES (72, 10, 14, 1.00);
 
+SELECT setval('users_id_seq', (SELECT MAX(id) FROM users));
 SELECT setval('products_id_seq', (SELECT MAX(id) FROM products));
 SELECT setval('raw_materials_id_seq', (SELECT MAX(id) FROM raw_materials));
 SELECT setval('product_raw_materials_id_seq', (SELECT MAX(id) FROM product_raw_materials));
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_products_code_trgm ON products USING gin (code gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_raw_materials_name_trgm ON raw_materials USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_raw_materials_code_trgm ON raw_materials USING gin (code gin_trgm_ops);
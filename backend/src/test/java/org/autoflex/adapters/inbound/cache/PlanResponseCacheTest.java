@@ -0,0 +1,86 @@
+package org.autoflex.adapters.inbound.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.EntityTag;
+import java.math.BigDecimal;
+import java.util.List;
+import org.autoflex.adapters.inbound.cache.PlanResponseCache.CachedPlan;
+import org.autoflex.adapters.inbound.dto.response.ProductionPlanResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PlanResponseCacheTest {
+
+  private PlanResponseCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new PlanResponseCache();
+    cache.objectMapper = new ObjectMapper();
+  }
+
+  @Test
+  void get_shouldReturnCachedPlan_whenVersionMatches() {
+    CachedPlan stored = cache.put("price-desc", false, 3L, plan("100.00"));
+
+    assertSame(stored, cache.get("price-desc", false, 3));
+    assertNull(cache.get("price-desc", false, 4));
+    assertNull(cache.get("price-desc", true, 3));
+    assertNull(cache.get("optimal", false, 3));
+  }
+
+  @Test
+  void put_shouldKeepNewerVersion_whenOlderPlanArrivesLate() {
+    cache.put("price-desc", false, 5L, plan("200.00"));
+    cache.put("price-desc", false, 4L, plan("100.00"));
+
+    assertNull(cache.get("price-desc", false, 4));
+    assertEquals(5, cache.get("price-desc", false, 5).version());
+  }
+
+  @Test
+  void put_shouldNotKeepPlan_whenVersionIsMissing() {
+    CachedPlan returned = cache.put("price-desc", false, null, plan("100.00"));
+
+    assertEquals(-1, returned.version());
+    assertNull(cache.get("price-desc", false, -1));
+  }
+
+  @Test
+  void put_shouldDeriveEtagFromBody() {
+    CachedPlan first = cache.put("price-desc", false, 1L, plan("100.00"));
+    CachedPlan sameBody = cache.put("price-desc", false, 2L, plan("100.00"));
+    CachedPlan otherBody = cache.put("price-desc", false, 3L, plan("150.00"));
+
+    assertArrayEquals(first.body(), sameBody.body());
+    assertEquals(first.etag(), sameBody.etag());
+    assertNotEquals(first.etag(), otherBody.etag());
+  }
+
+  @Test
+  void put_shouldKeepEtag_whenOnlySolveTimeAndDataVersionDiffer() {
+    ProductionPlanResponseDTO first = plan("100.00");
+    first.solveTimeMillis = 12L;
+    first.dataVersion = 1L;
+    ProductionPlanResponseDTO recomputed = plan("100.00");
+    recomputed.solveTimeMillis = 40L;
+    recomputed.dataVersion = 7L;
+
+    EntityTag etag = cache.put("optimal", false, 1L, first).etag();
+    EntityTag recomputedEtag = cache.put("optimal", false, 7L, recomputed).etag();
+
+    assertEquals(etag, recomputedEtag);
+    assertTrue(etag.isWeak());
+  }
+
+  private static ProductionPlanResponseDTO plan(String grandTotal) {
+    return new ProductionPlanResponseDTO(List.of(), new BigDecimal(grandTotal));
+  }
+}
@@ -0,0 +1,40 @@
+package org.autoflex.adapters.inbound.mappers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.autoflex.adapters.inbound.dto.request.ProductComponentRequestDTO;
+import org.autoflex.adapters.inbound.dto.response.ProductComponentResponseDTO;
+import org.autoflex.application.commands.ProductComponentCommand;
+import org.autoflex.domain.ProductComponent;
+import org.autoflex.fixtures.ProductComponentFixture;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+class ProductComponentMapperTest {
+
+  private final ProductComponentMapper mapper = Mappers.getMapper(ProductComponentMapper.class);
+
+  @Test
+  void toCommand_shouldMapRequestDtoToCommand() {
+    ProductComponentRequestDTO dto = new ProductComponentRequestDTO(2L, new BigDecimal("3.00"));
+
+    ProductComponentCommand command = mapper.toCommand(dto);
+
+    assertEquals(dto.id, command.componentId());
+    assertEquals(0, dto.requiredQuantity.compareTo(command.requiredQuantity()));
+  }
+
+  @Test
+  void toList_shouldMapComponentProductOfEachLine() {
+    ProductComponent line =
+        ProductComponentFixture.createLine(1L, 1L, 5L, new BigDecimal("2.00"));
+
+    List<ProductComponentResponseDTO> response = mapper.toList(List.of(line));
+
+    assertEquals(1, response.size());
+    assertEquals(5L, response.getFirst().id);
+    assertEquals(0, new BigDecimal("2.00").compareTo(response.getFirst().requiredQuantity));
+  }
+}
@@ -4,9 +4,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.math.BigDecimal;
 import java.util.List;
+import org.autoflex.adapters.inbound.dto.request.PriceOverrideRequestDTO;
+import org.autoflex.adapters.inbound.dto.request.ScenarioRequestDTO;
+import org.autoflex.adapters.inbound.dto.request.StockOverrideRequestDTO;
+import org.autoflex.adapters.inbound.dto.response.ProductionCapacityDTO;
 import org.autoflex.adapters.inbound.dto.response.ProductionPlanResponseDTO;
+import org.autoflex.application.commands.ScenarioCommand;
 import org.autoflex.domain.ProductionCapacity;
 import org.autoflex.domain.ProductionPlan;
+import org.autoflex.domain.RawMaterial;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 
@@ -33,4 +39,44 @@ class ProductionCapacityMapperTest {
     assertEquals("PROD-001", response.items.getFirst().productCode);
     assertEquals(0, new BigDecimal("6000.00").compareTo(response.grandTotalValue));
   }
+
+  @Test
+  void toDto_shouldFlattenLimitingRawMaterial() {
+    RawMaterial limiting = new RawMaterial("MAD-002", "Oak Wood Board", new BigDecimal("80.00"));
+    limiting.setId(2L);
+    ProductionCapacity item =
+        new ProductionCapacity(
+            1L,
+            "PROD-001",
+            "Dining Table",
+            new BigDecimal("1200.00"),
+            new BigDecimal("5"),
+            new BigDecimal("6000.00"));
+    item.setLimitingRawMaterial(limiting);
+
+    ProductionCapacityDTO dto = mapper.toDto(item);
+
+    assertEquals(2L, dto.limitingRawMaterialId);
+    assertEquals("MAD-002", dto.limitingRawMaterialCode);
+    assertEquals("Oak Wood Board", dto.limitingRawMaterialName);
+  }
+
+  @Test
+  void toCommand_shouldMapScenarioRequestWithOverrides() {
+    ScenarioRequestDTO dto =
+        new ScenarioRequestDTO(
+            "restock",
+            List.of(new StockOverrideRequestDTO(1L, null, new BigDecimal("200.00"))),
+            List.of(new PriceOverrideRequestDTO(2L, new BigDecimal("99.90"))),
+            List.of(3L));
+
+    ScenarioCommand command = mapper.toCommand(dto);
+
+    assertEquals("restock", command.name());
+    assertEquals(1L, command.stockOverrides().getFirst().rawMaterialId());
+    assertEquals(new BigDecimal("200.00"), command.stockOverrides().getFirst().stockDelta());
+    assertEquals(2L, command.priceOverrides().getFirst().productId());
+    assertEquals(new BigDecimal("99.90"), command.priceOverrides().getFirst().price());
+    assertEquals(List.of(3L), command.excludedProductIds());
+  }
 }
@@ -0,0 +1,113 @@
+package org.autoflex.adapters.inbound.resources;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.autoflex.application.commands.InboundDeliveryCommand;
+import org.autoflex.application.usecases.InboundDeliveryUseCase;
+import org.autoflex.common.exceptions.ResourceNotFoundException;
+import org.autoflex.domain.InboundDelivery;
+import org.autoflex.fixtures.RawMaterialFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestSecurity(
+    user = "test-user",
+    roles = {"ADMIN", "USER"})
+public class InboundDeliveryResourceTest {
+
+  @InjectMock InboundDeliveryUseCase service;
+
+  private InboundDelivery delivery;
+
+  @BeforeEach
+  void setUp() {
+    delivery =
+        new InboundDelivery(
+            RawMaterialFixture.createRawMaterial(2L),
+            LocalDate.of(2026, 3, 2),
+            new BigDecimal("25.00"));
+    delivery.setId(7L);
+  }
+
+  @Test
+  void add_shouldCreateDelivery_whenValidRequest() {
+    when(service.add(eq(2L), any(InboundDeliveryCommand.class))).thenReturn(delivery);
+
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"expectedDate\": \"2026-03-02\", \"quantity\": 25.00}")
+        .when()
+        .post("/raw-materials/{rawMaterialId}/deliveries", 2L)
+        .then()
+        .statusCode(201)
+        .body("id", is(7))
+        .body("rawMaterialId", is(2))
+        .body("expectedDate", is("2026-03-02"))
+        .body("quantity", is(25.00f));
+  }
+
+  @Test
+  void add_shouldReturn422_whenQuantityIsNotPositive() {
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"expectedDate\": \"2026-03-02\", \"quantity\": 0}")
+        .when()
+        .post("/raw-materials/{rawMaterialId}/deliveries", 2L)
+        .then()
+        .statusCode(422)
+        .body("errors[0].field", is("quantity"))
+        .body("errors[0].message", is("Quantity must be greater than zero"));
+  }
+
+  @Test
+  void list_shouldReturnDeliveries() {
+    when(service.listByRawMaterial(2L)).thenReturn(List.of(delivery));
+
+    given()
+        .when()
+        .get("/raw-materials/{rawMaterialId}/deliveries", 2L)
+        .then()
+        .statusCode(200)
+        .body("$", hasSize(1))
+        .body("[0].expectedDate", is("2026-03-02"));
+  }
+
+  @Test
+  void remove_shouldReturn204_whenDeliveryExists() {
+    given()
+        .when()
+        .delete("/raw-materials/{rawMaterialId}/deliveries/{deliveryId}", 2L, 7L)
+        .then()
+        .statusCode(204);
+
+    verify(service).remove(2L, 7L);
+  }
+
+  @Test
+  void remove_shouldReturn404_whenDeliveryDoesNotExist() {
+    doThrow(new ResourceNotFoundException("Delivery 7 not found for Raw Material 2"))
+        .when(service)
+        .remove(2L, 7L);
+
+    given()
+        .when()
+        .delete("/raw-materials/{rawMaterialId}/deliveries/{deliveryId}", 2L, 7L)
+        .then()
+        .statusCode(404);
+  }
+}
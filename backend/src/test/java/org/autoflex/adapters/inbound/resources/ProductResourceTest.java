@@ -19,6 +19,7 @@ import java.util.List;
 import org.autoflex.adapters.inbound.dto.request.ProductRawMaterialRequestDTO;
 import org.autoflex.adapters.inbound.dto.request.ProductRequestDTO;
 import org.autoflex.application.commands.ProductCommand;
+import org.autoflex.application.dto.CountMode;
 import org.autoflex.application.dto.PagedModel;
 import org.autoflex.application.dto.SearchQuery;
 import org.autoflex.application.usecases.ProductUseCase;
@@ -510,6 +511,50 @@ public class ProductResourceTest {
     verify(productUseCase).findAll(eq(new SearchQuery(0, 10, "name", "asc")));
   }
 
+  @Test
+  void findAll_shouldPassCursorAndReturnNextCursor_whenCursorRequested() {
+    when(productUseCase.findAll(any()))
+        .thenReturn(new PagedModel<>(List.of(product), 3L, 3, "next-token", true));
+
+    given()
+        .queryParam("size", 1)
+        .queryParam("cursor", "")
+        .when()
+        .get("/products")
+        .then()
+        .statusCode(200)
+        .body("content", hasSize(1))
+        .body("nextCursor", is("next-token"));
+
+    verify(productUseCase).findAll(eq(new SearchQuery(0, 1, "name", "asc", "")));
+  }
+
+  @Test
+  void findAll_shouldReturnHasNextWithoutTotals_whenCountIsNone() {
+    when(productUseCase.findAll(any()))
+        .thenReturn(
+            new PagedModel<>(
+                List.of(product), PagedModel.UNCOUNTED, PagedModel.UNCOUNTED, null, true));
+
+    given()
+        .queryParam("size", 1)
+        .queryParam("count", "none")
+        .when()
+        .get("/products")
+        .then()
+        .statusCode(200)
+        .body("totalElements", is(-1))
+        .body("hasNext", is(true));
+
+    verify(productUseCase)
+        .findAll(eq(new SearchQuery(0, 1, "name", "asc", null, CountMode.NONE)));
+  }
+
+  @Test
+  void findAll_shouldReturn422_whenCountModeIsUnknown() {
+    given().queryParam("count", "approximate").when().get("/products").then().statusCode(422);
+  }
+
   @Test
   void findById_shouldReturnProduct_whenIdExists() {
     when(productUseCase.findById(existingId)).thenReturn(product);
@@ -589,6 +634,26 @@ public class ProductResourceTest {
     verify(productUseCase).findByName(eq("Dining"), eq(new SearchQuery(0, 10, "name", "asc")));
   }
 
+  @Test
+  void findByName_shouldPassFuzzyRelevanceSearch_whenRequested() {
+    when(productUseCase.findByName(eq("Dinning"), any()))
+        .thenReturn(new PagedModel<>(List.of(product), 1L, 1));
+
+    given()
+        .queryParam("name", "Dinning")
+        .queryParam("fuzzy", true)
+        .queryParam("sort", "relevance")
+        .when()
+        .get("/products/search")
+        .then()
+        .statusCode(200)
+        .body("content", hasSize(1));
+
+    verify(productUseCase)
+        .findByName(
+            eq("Dinning"), eq(new SearchQuery(0, 10, "relevance", "asc", null, null, true)));
+  }
+
   private static ProductRequestDTO createValidRequest() {
     ProductCommand cmd = ProductFixture.createValidProductCommand();
     ProductCommand.RawMaterialItem item = cmd.rawMaterials().getFirst();
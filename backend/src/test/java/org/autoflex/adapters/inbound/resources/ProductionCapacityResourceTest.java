@@ -1,19 +1,57 @@
 package org.autoflex.adapters.inbound.resources;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import org.autoflex.adapters.inbound.dto.request.PlanCommitItemRequestDTO;
+import org.autoflex.adapters.inbound.dto.request.PlanCommitRequestDTO;
+import org.autoflex.adapters.inbound.dto.request.ScenarioBatchRequestDTO;
+import org.autoflex.adapters.inbound.dto.request.ScenarioRequestDTO;
+import org.autoflex.adapters.inbound.dto.request.StockOverrideRequestDTO;
+import org.autoflex.application.capacity.PlanStream;
+import org.autoflex.application.commands.HorizonCommand;
+import org.autoflex.application.commands.PlanCommitCommand;
+import org.autoflex.application.dto.CoalescingStats;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.PlanJobState;
+import org.autoflex.application.dto.PlanJobStatus;
+import org.autoflex.application.dto.PlanPeriod;
+import org.autoflex.application.dto.ProductSimulation;
+import org.autoflex.application.dto.ScenarioResult;
+import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.application.dto.SimulationResult;
+import org.autoflex.application.dto.StockConsumption;
+import org.autoflex.application.dto.TimePhasedPlan;
+import org.autoflex.application.usecases.PlanJobUseCase;
+import org.autoflex.application.usecases.PlanSnapshotUseCase;
 import org.autoflex.application.usecases.ProductionCapacityUseCase;
+import org.autoflex.common.exceptions.ConflictException;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.autoflex.common.exceptions.ResourceNotFoundException;
+import org.autoflex.domain.MaterialMarginalValue;
+import org.autoflex.domain.PlanDiff;
+import org.autoflex.domain.PlanDiffItem;
+import org.autoflex.domain.PlanSnapshot;
 import org.autoflex.domain.ProductionCapacity;
 import org.autoflex.domain.ProductionPlan;
+import org.autoflex.domain.RawMaterial;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 @QuarkusTest
@@ -24,6 +62,10 @@ public class ProductionCapacityResourceTest {
 
   @InjectMock ProductionCapacityUseCase productionCapacityUseCase;
 
+  @InjectMock PlanSnapshotUseCase planSnapshotUseCase;
+
+  @InjectMock PlanJobUseCase planJobUseCase;
+
   @Test
   void generate_shouldReturnProductionPlan_whenValidRequest() {
     ProductionPlan plan =
@@ -38,7 +80,7 @@ public class ProductionCapacityResourceTest {
                     new BigDecimal("12500.00"))),
             new BigDecimal("12500.00"));
 
-    when(productionCapacityUseCase.generate()).thenReturn(plan);
+    when(productionCapacityUseCase.generate("price-desc")).thenReturn(plan);
 
     given()
         .when()
@@ -54,14 +96,14 @@ public class ProductionCapacityResourceTest {
         .body("items[0].totalValue", is(12500.00f))
         .body("grandTotalValue", is(12500.00f));
 
-    verify(productionCapacityUseCase).generate();
+    verify(productionCapacityUseCase).generate("price-desc");
   }
 
   @Test
   void generate_shouldReturnEmptyProductionPlan_whenNoCapacityAvailable() {
     ProductionPlan emptyPlan = new ProductionPlan(List.of(), BigDecimal.ZERO);
 
-    when(productionCapacityUseCase.generate()).thenReturn(emptyPlan);
+    when(productionCapacityUseCase.generate("price-desc")).thenReturn(emptyPlan);
 
     given()
         .when()
@@ -71,7 +113,74 @@ public class ProductionCapacityResourceTest {
         .body("items", hasSize(0))
         .body("grandTotalValue", is(0));
 
-    verify(productionCapacityUseCase).generate();
+    verify(productionCapacityUseCase).generate("price-desc");
+  }
+
+  @Test
+  void generate_shouldReturnLimitingMaterialAndMarginalValues_whenRequested() {
+    RawMaterial oak = new RawMaterial("MAD-002", "Oak Wood Board", new BigDecimal("80.00"));
+    oak.setId(2L);
+    ProductionCapacity item =
+        new ProductionCapacity(
+            1L,
+            "PROD-001",
+            "Dining Table",
+            new BigDecimal("1250.00"),
+            new BigDecimal("10"),
+            new BigDecimal("12500.00"));
+    item.setLimitingRawMaterial(oak);
+    ProductionPlan plan = new ProductionPlan(List.of(item), new BigDecimal("12500.00"));
+    plan.setMarginalValues(
+        List.of(new MaterialMarginalValue(2L, "MAD-002", "Oak Wood Board", new BigDecimal("0"))));
+
+    when(productionCapacityUseCase.generate("price-desc", true)).thenReturn(plan);
+
+    given()
+        .queryParam("marginalValues", true)
+        .when()
+        .get("/production-capacity")
+        .then()
+        .statusCode(200)
+        .body("items[0].limitingRawMaterialId", is(2))
+        .body("items[0].limitingRawMaterialCode", is("MAD-002"))
+        .body("marginalValues", hasSize(1))
+        .body("marginalValues[0].rawMaterialCode", is("MAD-002"))
+        .body("marginalValues[0].marginalValue", is(0));
+  }
+
+  @Test
+  void generate_shouldReturnSolverMetadata_whenStrategyIsOptimal() {
+    ProductionPlan plan = new ProductionPlan(List.of(), BigDecimal.ZERO);
+    plan.setStrategy("optimal");
+    plan.setOptimalityGap(new BigDecimal("0.0000"));
+    plan.setSolveTimeMillis(12L);
+
+    when(productionCapacityUseCase.generate("optimal")).thenReturn(plan);
+
+    given()
+        .queryParam("strategy", "optimal")
+        .when()
+        .get("/production-capacity")
+        .then()
+        .statusCode(200)
+        .body("strategy", is("optimal"))
+        .body("optimalityGap", is(0))
+        .body("solveTimeMillis", is(12));
+
+    verify(productionCapacityUseCase).generate("optimal");
+  }
+
+  @Test
+  void generate_shouldReturn422_whenStrategyIsUnknown() {
+    when(productionCapacityUseCase.generate("fastest"))
+        .thenThrow(new InvalidDataException("Invalid strategy: fastest"));
+
+    given()
+        .queryParam("strategy", "fastest")
+        .when()
+        .get("/production-capacity")
+        .then()
+        .statusCode(422);
   }
 
   @Test
@@ -79,7 +188,7 @@ public class ProductionCapacityResourceTest {
       user = "common-user",
       roles = {"USER"})
   void generate_shouldAllowUserRole_whenAuthenticatedAsUser() {
-    when(productionCapacityUseCase.generate())
+    when(productionCapacityUseCase.generate("price-desc"))
         .thenReturn(new ProductionPlan(List.of(), BigDecimal.ZERO));
 
     given().when().get("/production-capacity").then().statusCode(200);
@@ -101,8 +210,496 @@ public class ProductionCapacityResourceTest {
 
   @Test
   void generate_shouldReturn500_whenUnexpectedErrorOccurs() {
-    when(productionCapacityUseCase.generate()).thenThrow(new RuntimeException("unexpected error"));
+    when(productionCapacityUseCase.generate("price-desc"))
+        .thenThrow(new RuntimeException("unexpected error"));
 
     given().when().get("/production-capacity").then().statusCode(500);
   }
+
+  @Test
+  void captureSnapshot_shouldReturn201_whenPlanIsStored() {
+    PlanSnapshot snapshot =
+        new PlanSnapshot(
+            "price-desc",
+            4L,
+            Instant.parse("2026-01-01T08:00:00Z"),
+            new BigDecimal("20.00"),
+            new long[] {1L},
+            new long[] {2L},
+            new BigDecimal[] {new BigDecimal("20.00")});
+    snapshot.setId(10L);
+    when(planSnapshotUseCase.capture("price-desc")).thenReturn(snapshot);
+
+    given()
+        .when()
+        .post("/production-capacity/snapshots")
+        .then()
+        .statusCode(201)
+        .body("id", is(10))
+        .body("dataVersion", is(4))
+        .body("itemCount", is(1));
+  }
+
+  @Test
+  void diff_shouldReturnChangedRowsAndDelta() {
+    PlanDiffItem item =
+        new PlanDiffItem(
+            1L,
+            new BigDecimal("2"),
+            new BigDecimal("3"),
+            new BigDecimal("20.00"),
+            new BigDecimal("30.00"));
+    item.setProductCode("PROD-001");
+    PlanDiff diff = new PlanDiff(List.of(item), new BigDecimal("10.00"));
+    diff.setFromSnapshotId(10L);
+    when(planSnapshotUseCase.diff(10L, null)).thenReturn(diff);
+
+    given()
+        .when()
+        .get("/production-capacity/snapshots/10/diff")
+        .then()
+        .statusCode(200)
+        .body("fromSnapshotId", is(10))
+        .body("grandTotalValueDelta", is(10.00f))
+        .body("items", hasSize(1))
+        .body("items[0].productCode", is("PROD-001"))
+        .body("items[0].previousQuantity", is(2))
+        .body("items[0].currentQuantity", is(3));
+  }
+
+  @Test
+  void diff_shouldReturn404_whenSnapshotDoesNotExist() {
+    when(planSnapshotUseCase.diff(99L, 11L))
+        .thenThrow(new ResourceNotFoundException("Plan snapshot with id 99 not found"));
+
+    given()
+        .queryParam("to", 11)
+        .when()
+        .get("/production-capacity/snapshots/99/diff")
+        .then()
+        .statusCode(404);
+  }
+
+  @Test
+  void simulate_shouldReturnPercentileBands() {
+    SimulationResult result =
+        new SimulationResult(
+            "price-desc",
+            3L,
+            1000,
+            42L,
+            List.of(5.0, 95.0),
+            List.of(new BigDecimal("900.00"), new BigDecimal("1100.00")),
+            new BigDecimal("1000.00"),
+            List.of(new ProductSimulation(1L, "PROD-001", "Dining Table", List.of(9L, 11L))));
+    when(productionCapacityUseCase.simulate(eq("price-desc"), any())).thenReturn(result);
+
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"samples\": 1000, \"seed\": 42, \"defaultDeviation\": 0.05}")
+        .when()
+        .post("/production-capacity/simulations")
+        .then()
+        .statusCode(200)
+        .body("seed", is(42))
+        .body("totalValue[1]", is(1100.00f))
+        .body("items[0].units[0]", is(9));
+  }
+
+  @Test
+  void simulate_shouldReturn422_whenPercentileIsOutOfRange() {
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"percentiles\": [50, 120]}")
+        .when()
+        .post("/production-capacity/simulations")
+        .then()
+        .statusCode(422);
+  }
+
+  @Test
+  void horizon_shouldReturnPlanPerPeriod() {
+    LocalDate from = LocalDate.of(2026, 3, 2);
+    HorizonCommand cmd = new HorizonCommand(from, 2, "week");
+    ProductionPlan plan = new ProductionPlan(List.of(), new BigDecimal("30.00"));
+    TimePhasedPlan result =
+        new TimePhasedPlan(
+            "price-desc",
+            4L,
+            "week",
+            List.of(
+                new PlanPeriod(from, from.plusDays(6), plan),
+                new PlanPeriod(from.plusWeeks(1), from.plusDays(13), new ProductionPlan())),
+            new BigDecimal("30.00"));
+    when(productionCapacityUseCase.horizon("price-desc", cmd)).thenReturn(result);
+
+    given()
+        .queryParam("from", "2026-03-02")
+        .queryParam("periods", 2)
+        .queryParam("granularity", "week")
+        .when()
+        .get("/production-capacity/horizon")
+        .then()
+        .statusCode(200)
+        .body("granularity", is("week"))
+        .body("periods", hasSize(2))
+        .body("periods[0].endDate", is("2026-03-08"))
+        .body("periods[0].plan.grandTotalValue", is(30.00f))
+        .body("grandTotalValue", is(30.00f));
+  }
+
+  @Test
+  void horizon_shouldReturn422_whenGranularityIsUnknown() {
+    given()
+        .queryParam("granularity", "month")
+        .when()
+        .get("/production-capacity/horizon")
+        .then()
+        .statusCode(422);
+  }
+
+  @Test
+  void submitJob_shouldReturn202WithJobId() {
+    when(planJobUseCase.submit("optimal")).thenReturn(jobStatus(PlanJobState.QUEUED, null));
+
+    given()
+        .when()
+        .post("/production-capacity/jobs")
+        .then()
+        .statusCode(202)
+        .body("id", is("job-1"))
+        .body("state", is("QUEUED"));
+  }
+
+  @Test
+  void jobStatus_shouldReturnPlan_whenJobSucceeded() {
+    ProductionPlan plan = new ProductionPlan(List.of(), new BigDecimal("30.00"));
+    when(planJobUseCase.status("job-1")).thenReturn(jobStatus(PlanJobState.SUCCEEDED, plan));
+
+    given()
+        .when()
+        .get("/production-capacity/jobs/job-1")
+        .then()
+        .statusCode(200)
+        .body("state", is("SUCCEEDED"))
+        .body("progress", is(1.0f))
+        .body("plan.grandTotalValue", is(30.00f));
+  }
+
+  @Test
+  void jobStatus_shouldReturn404_whenJobDoesNotExist() {
+    when(planJobUseCase.status("missing"))
+        .thenThrow(new ResourceNotFoundException("Plan job with id missing not found"));
+
+    given().when().get("/production-capacity/jobs/missing").then().statusCode(404);
+  }
+
+  @Test
+  void cancelJob_shouldReturnCancelledJob() {
+    when(planJobUseCase.cancel("job-1")).thenReturn(jobStatus(PlanJobState.CANCELLED, null));
+
+    given()
+        .when()
+        .delete("/production-capacity/jobs/job-1")
+        .then()
+        .statusCode(200)
+        .body("state", is("CANCELLED"));
+  }
+
+  @Test
+  void generate_shouldReturnEtagAndServeCachedPlan_whenDataVersionIsUnchanged() {
+    ProductionPlan plan = new ProductionPlan(List.of(), new BigDecimal("10.00"));
+    plan.setDataVersion(1001L);
+    when(productionCapacityUseCase.dataVersion()).thenReturn(1001L);
+    when(productionCapacityUseCase.generate("price-desc")).thenReturn(plan);
+
+    String etag =
+        given()
+            .when()
+            .get("/production-capacity")
+            .then()
+            .statusCode(200)
+            .header("Cache-Control", containsString("no-cache"))
+            .body("dataVersion", is(1001))
+            .extract()
+            .header("ETag");
+    Assertions.assertNotNull(etag);
+
+    given()
+        .when()
+        .get("/production-capacity")
+        .then()
+        .statusCode(200)
+        .header("ETag", is(etag));
+
+    verify(productionCapacityUseCase, times(1)).generate("price-desc");
+  }
+
+  @Test
+  void generate_shouldReturn304_whenIfNoneMatchHasCurrentEtag() {
+    ProductionPlan plan = new ProductionPlan(List.of(), new BigDecimal("20.00"));
+    plan.setDataVersion(1002L);
+    when(productionCapacityUseCase.dataVersion()).thenReturn(1002L);
+    when(productionCapacityUseCase.generate("optimal")).thenReturn(plan);
+
+    String etag =
+        given()
+            .queryParam("strategy", "optimal")
+            .when()
+            .get("/production-capacity")
+            .then()
+            .statusCode(200)
+            .extract()
+            .header("ETag");
+
+    given()
+        .queryParam("strategy", "optimal")
+        .header("If-None-Match", etag)
+        .when()
+        .get("/production-capacity")
+        .then()
+        .statusCode(304)
+        .header("ETag", is(etag));
+  }
+
+  @Test
+  void stream_shouldWriteItemsThenSummary_asNdjson() {
+    when(productionCapacityUseCase.openStream("price-desc")).thenReturn(twoItemStream());
+
+    String body =
+        given()
+            .accept("application/x-ndjson")
+            .when()
+            .get("/production-capacity/stream")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString();
+
+    String[] lines = body.strip().split("\n");
+    Assertions.assertEquals(3, lines.length);
+    Assertions.assertTrue(lines[0].contains("\"productCode\":\"PROD-001\""));
+    Assertions.assertTrue(lines[1].contains("\"productCode\":\"PROD-002\""));
+    Assertions.assertTrue(lines[2].contains("\"itemCount\":2"));
+    Assertions.assertTrue(lines[2].contains("\"grandTotalValue\":13000.00"));
+  }
+
+  @Test
+  void stream_shouldSendItemAndSummaryEvents_asServerSentEvents() {
+    when(productionCapacityUseCase.openStream("price-desc")).thenReturn(twoItemStream());
+
+    given()
+        .accept("text/event-stream")
+        .when()
+        .get("/production-capacity/stream")
+        .then()
+        .statusCode(200)
+        .body(containsString("event:item"))
+        .body(containsString("event:summary"))
+        .body(containsString("\"itemCount\":2"));
+  }
+
+  @Test
+  void stream_shouldReturn422_whenStrategyIsUnknown() {
+    when(productionCapacityUseCase.openStream("fastest"))
+        .thenThrow(new InvalidDataException("Invalid strategy: fastest"));
+
+    given()
+        .accept("application/x-ndjson")
+        .queryParam("strategy", "fastest")
+        .when()
+        .get("/production-capacity/stream")
+        .then()
+        .statusCode(422);
+  }
+
+  @Test
+  void coalescingStats_shouldReturnCounters_whenAuthenticatedAsAdmin() {
+    when(productionCapacityUseCase.coalescingStats())
+        .thenReturn(new CoalescingStats(3, 12, 480, 95));
+
+    given()
+        .when()
+        .get("/production-capacity/metrics")
+        .then()
+        .statusCode(200)
+        .body("computations", is(3))
+        .body("coalescedRequests", is(12))
+        .body("totalWaitMillis", is(480))
+        .body("maxWaitMillis", is(95));
+  }
+
+  @Test
+  @TestSecurity(
+      user = "common-user",
+      roles = {"USER"})
+  void coalescingStats_shouldReturn403_whenAuthenticatedAsUser() {
+    given().when().get("/production-capacity/metrics").then().statusCode(403);
+  }
+
+  @Test
+  void independentCapacity_shouldReturnPage_withRequestedSort() {
+    SearchQuery query = new SearchQuery(0, 5, "producibleQuantity", "desc");
+    when(productionCapacityUseCase.independentCapacity(query))
+        .thenReturn(
+            new PagedModel<>(
+                List.of(
+                    new ProductionCapacity(
+                        1L,
+                        "PROD-001",
+                        "Dining Table",
+                        new BigDecimal("1250.00"),
+                        new BigDecimal("10"),
+                        new BigDecimal("12500.00"))),
+                1,
+                1));
+
+    given()
+        .queryParam("page", 0)
+        .queryParam("size", 5)
+        .queryParam("sort", "producibleQuantity")
+        .queryParam("dir", "desc")
+        .when()
+        .get("/production-capacity/independent")
+        .then()
+        .statusCode(200)
+        .body("content", hasSize(1))
+        .body("content[0].productCode", is("PROD-001"))
+        .body("content[0].producibleQuantity", is(10))
+        .body("totalElements", is(1))
+        .body("size", is(5));
+  }
+
+  @Test
+  void evaluateScenarios_shouldReturnOnePlanPerScenario_inRequestOrder() {
+    ProductionPlan restocked = new ProductionPlan(List.of(), new BigDecimal("500.00"));
+    ProductionPlan baseline = new ProductionPlan(List.of(), new BigDecimal("250.00"));
+
+    when(productionCapacityUseCase.evaluateScenarios(eq("price-desc"), anyList()))
+        .thenReturn(
+            List.of(
+                new ScenarioResult("restock", restocked),
+                new ScenarioResult("baseline", baseline)));
+
+    ScenarioBatchRequestDTO dto =
+        new ScenarioBatchRequestDTO(
+            null,
+            List.of(
+                new ScenarioRequestDTO(
+                    "restock",
+                    List.of(new StockOverrideRequestDTO(1L, null, new BigDecimal("200.00"))),
+                    null,
+                    null),
+                new ScenarioRequestDTO("baseline", null, null, null)));
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(dto)
+        .when()
+        .post("/production-capacity/scenarios")
+        .then()
+        .statusCode(200)
+        .body("", hasSize(2))
+        .body("[0].name", is("restock"))
+        .body("[0].plan.grandTotalValue", is(500.00f))
+        .body("[1].name", is("baseline"));
+  }
+
+  @Test
+  void evaluateScenarios_shouldReturn422_whenScenarioNameIsBlank() {
+    ScenarioBatchRequestDTO dto =
+        new ScenarioBatchRequestDTO(
+            null, List.of(new ScenarioRequestDTO("", null, null, null)));
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(dto)
+        .when()
+        .post("/production-capacity/scenarios")
+        .then()
+        .statusCode(422);
+  }
+
+  @Test
+  void commit_shouldReturnConsumedStock_whenPlanIsCurrent() {
+    when(productionCapacityUseCase.commit(any(PlanCommitCommand.class)))
+        .thenReturn(
+            List.of(new StockConsumption(1L, new BigDecimal("8.00"), new BigDecimal("2.00"))));
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(new PlanCommitRequestDTO("a1", List.of(new PlanCommitItemRequestDTO(1L, 2L))))
+        .when()
+        .post("/production-capacity/commit")
+        .then()
+        .statusCode(200)
+        .body("[0].rawMaterialId", is(1))
+        .body("[0].stockQuantity", is(2.00f));
+
+    verify(productionCapacityUseCase)
+        .commit(new PlanCommitCommand("a1", List.of(new PlanCommitCommand.Item(1L, 2))));
+  }
+
+  @Test
+  void commit_shouldReturn409_whenStockChanged() {
+    when(productionCapacityUseCase.commit(any(PlanCommitCommand.class)))
+        .thenThrow(new ConflictException("Stock changed since the plan was computed"));
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(new PlanCommitRequestDTO("a1", List.of(new PlanCommitItemRequestDTO(1L, 2L))))
+        .when()
+        .post("/production-capacity/commit")
+        .then()
+        .statusCode(409);
+  }
+
+  @Test
+  void commit_shouldReturn422_whenItemsAreMissing() {
+    given()
+        .contentType(ContentType.JSON)
+        .body(new PlanCommitRequestDTO("a1", List.of()))
+        .when()
+        .post("/production-capacity/commit")
+        .then()
+        .statusCode(422);
+  }
+
+  private static PlanStream twoItemStream() {
+    return sink -> {
+      sink.accept(
+          new ProductionCapacity(
+              1L,
+              "PROD-001",
+              "Dining Table",
+              new BigDecimal("1250.00"),
+              new BigDecimal("10"),
+              new BigDecimal("12500.00")));
+      sink.accept(
+          new ProductionCapacity(
+              2L,
+              "PROD-002",
+              "Stool",
+              new BigDecimal("100.00"),
+              new BigDecimal("5"),
+              new BigDecimal("500.00")));
+      ProductionPlan totals = new ProductionPlan(List.of(), new BigDecimal("13000.00"));
+      totals.setStrategy("price-desc");
+      return totals;
+    };
+  }
+
+  private static PlanJobStatus jobStatus(PlanJobState state, ProductionPlan plan) {
+    Instant now = Instant.parse("2026-01-01T08:00:00Z");
+    return new PlanJobStatus(
+        "job-1",
+        "optimal",
+        state,
+        state == PlanJobState.SUCCEEDED ? 1.0 : 0.0,
+        now,
+        state == PlanJobState.QUEUED ? null : now,
+        state.isFinished() ? now : null,
+        null,
+        plan);
+  }
 }
@@ -0,0 +1,38 @@
+package org.autoflex.adapters.outbound.notifications;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import org.autoflex.application.events.CatalogChangedEvent;
+import org.junit.jupiter.api.Test;
+
+class CatalogChangeChannelTest {
+
+  private final CatalogChangeChannel sender = new CatalogChangeChannel();
+  private final CatalogChangeChannel receiver = new CatalogChangeChannel();
+
+  @Test
+  void decodeRemote_shouldRestoreEvent_whenSentByAnotherNode() {
+    CatalogChangedEvent event = CatalogChangedEvent.component(10L, 20L);
+
+    assertEquals(Optional.of(event), receiver.decodeRemote(sender.encode(event)));
+    assertEquals(
+        Optional.of(CatalogChangedEvent.rawMaterial(3L)),
+        receiver.decodeRemote(sender.encode(CatalogChangedEvent.rawMaterial(3L))));
+  }
+
+  @Test
+  void decodeRemote_shouldSkipEvent_whenSentBySameNode() {
+    String payload = sender.encode(CatalogChangedEvent.product(10L));
+
+    assertTrue(sender.decodeRemote(payload).isEmpty());
+  }
+
+  @Test
+  void decodeRemote_shouldReturnUnknownChange_whenPayloadIsMalformed() {
+    assertEquals(Optional.of(CatalogChangedEvent.unknown()), receiver.decodeRemote("garbage"));
+    assertEquals(
+        Optional.of(CatalogChangedEvent.unknown()), receiver.decodeRemote("node:x:1:"));
+  }
+}
@@ -0,0 +1,65 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.autoflex.domain.InboundDelivery;
+import org.autoflex.fixtures.RawMaterialFixture;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class InboundDeliveryPersistenceAdapterIT {
+
+  @Inject InboundDeliveryPersistenceAdapter adapter;
+
+  @Test
+  @Transactional
+  void save_shouldPersistDelivery_whenValidDomain() {
+    InboundDelivery saved = adapter.save(delivery(LocalDate.of(2030, 1, 10), "12.50"));
+
+    InboundDelivery found = adapter.findById(saved.getId()).orElseThrow();
+
+    assertNotNull(saved.getId());
+    assertEquals(18L, found.getRawMaterial().getId());
+    assertEquals(LocalDate.of(2030, 1, 10), found.getExpectedDate());
+    assertEquals(0, new BigDecimal("12.50").compareTo(found.getQuantity()));
+  }
+
+  @Test
+  @Transactional
+  void listExpectedBetween_shouldExcludeEndDate() {
+    adapter.save(delivery(LocalDate.of(2031, 5, 1), "1.00"));
+    adapter.save(delivery(LocalDate.of(2031, 5, 7), "2.00"));
+    adapter.save(delivery(LocalDate.of(2031, 5, 8), "3.00"));
+
+    List<InboundDelivery> deliveries =
+        adapter.listExpectedBetween(LocalDate.of(2031, 5, 1), LocalDate.of(2031, 5, 8));
+
+    assertEquals(2, deliveries.size());
+    assertEquals(LocalDate.of(2031, 5, 7), deliveries.get(1).getExpectedDate());
+  }
+
+  @Test
+  @Transactional
+  void delete_shouldRemoveDelivery() {
+    InboundDelivery saved = adapter.save(delivery(LocalDate.of(2030, 2, 1), "5.00"));
+
+    adapter.delete(saved.getId());
+
+    assertTrue(adapter.findById(saved.getId()).isEmpty());
+    assertTrue(
+        adapter.listByRawMaterial(18L).stream().noneMatch(d -> d.getId().equals(saved.getId())));
+  }
+
+  private static InboundDelivery delivery(LocalDate expectedDate, String quantity) {
+    return new InboundDelivery(
+        RawMaterialFixture.createRawMaterial(18L), expectedDate, new BigDecimal(quantity));
+  }
+}
@@ -0,0 +1,134 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.autoflex.adapters.outbound.persistence.jpa.KeysetPager.Cursor;
+import org.autoflex.adapters.outbound.persistence.jpa.KeysetPager.SortKey;
+import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaProductEntity;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KeysetPagerTest {
+
+  private final KeysetPager<JpaProductEntity> pager =
+      new KeysetPager<>(
+          "products",
+          JpaProductEntity::getId,
+          Map.of(
+              "name", SortKey.text(JpaProductEntity::getName),
+              "price", SortKey.decimal(JpaProductEntity::getPrice)));
+
+  @SuppressWarnings("unchecked")
+  private final PanacheRepository<JpaProductEntity> repository = mock(PanacheRepository.class);
+
+  @SuppressWarnings("unchecked")
+  private final PanacheQuery<JpaProductEntity> panacheQuery = mock(PanacheQuery.class);
+
+  private final PageCounter counter = new PageCounter();
+
+  @BeforeEach
+  void setUp() {
+    counter.ttl = Duration.ZERO;
+    when(repository.findAll(any())).thenReturn(panacheQuery);
+    when(repository.find(any(String.class), any(), any(Object[].class))).thenReturn(panacheQuery);
+    when(panacheQuery.range(anyInt(), anyInt())).thenReturn(panacheQuery);
+  }
+
+  @Test
+  void cursor_shouldRoundTrip_whenEncodedAndDecoded() {
+    Cursor cursor = new Cursor("name", true, 42L, "Oak\nTable");
+
+    assertEquals(cursor, Cursor.decode(cursor.encode()));
+  }
+
+  @Test
+  void cursor_shouldThrowInvalidData_whenTokenIsMalformed() {
+    assertThrows(InvalidDataException.class, () -> Cursor.decode("not a cursor!"));
+    assertThrows(InvalidDataException.class, () -> Cursor.decode("bmFtZQ"));
+  }
+
+  @Test
+  void page_shouldReturnNextCursor_whenMoreRowsFollow() {
+    when(panacheQuery.list())
+        .thenReturn(
+            List.of(entity(1L, "A", "5.00"), entity(2L, "B", "7.50"), entity(3L, "C", "9")));
+    when(repository.count()).thenReturn(10L);
+
+    SearchQuery query = new SearchQuery(0, 2, "price", "asc", "");
+
+    PagedModel<Long> result = pager.page(repository, counter, null, query, e -> e.getId());
+
+    assertEquals(List.of(1L, 2L), result.items());
+    assertEquals(10L, result.totalElements());
+    assertEquals(5, result.totalPages());
+    assertEquals(new Cursor("price", false, 2L, "7.50"), Cursor.decode(result.nextCursor()));
+    assertTrue(result.hasNext());
+    verify(panacheQuery).range(0, 2);
+  }
+
+  @Test
+  void page_shouldSeekPastCursor_whenCursorGiven() {
+    when(panacheQuery.list()).thenReturn(List.of(entity(5L, "Chair", "3.00")));
+    when(repository.count(eq("(name like ?1)"), any(Object[].class))).thenReturn(1L);
+    String cursor = new Cursor("name", true, 9L, "Desk").encode();
+
+    PagedModel<Long> result =
+        pager.page(
+            repository,
+            counter,
+            "name like ?1",
+            new SearchQuery(0, 2, "name", "desc", cursor),
+            e -> e.getId(),
+            "%a%");
+
+    assertEquals(List.of(5L), result.items());
+    assertNull(result.nextCursor());
+    verify(repository)
+        .find(eq("(name like ?1) and (name, id) < (?2, ?3)"), any(), eq("%a%"), eq("Desk"), eq(9L));
+  }
+
+  @Test
+  void page_shouldThrowInvalidData_whenCursorWasIssuedForAnotherSort() {
+    String cursor = new Cursor("name", false, 9L, "Desk").encode();
+    SearchQuery query = new SearchQuery(0, 2, "price", "asc", cursor);
+
+    assertThrows(
+        InvalidDataException.class,
+        () -> pager.page(repository, counter, null, query, e -> e.getId()));
+  }
+
+  @Test
+  void page_shouldThrowInvalidData_whenSortFieldHasNoKey() {
+    SearchQuery query = new SearchQuery(0, 2, "code", "asc", "");
+
+    assertThrows(
+        InvalidDataException.class,
+        () -> pager.page(repository, counter, null, query, e -> e.getId()));
+  }
+
+  private static JpaProductEntity entity(Long id, String name, String price) {
+    JpaProductEntity entity = new JpaProductEntity();
+    entity.setId(id);
+    entity.setName(name);
+    entity.setPrice(new BigDecimal(price));
+    return entity;
+  }
+}
@@ -0,0 +1,220 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import org.autoflex.application.dto.CountMode;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.application.events.CatalogChangedEvent;
+import org.autoflex.application.events.RemoteCatalogChangedEvent;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PageCounterTest {
+
+  private static final Object[] NO_PARAMS = new Object[0];
+
+  private final Instant start = Instant.parse("2026-01-05T08:00:00Z");
+  private final PageCounter counter = new PageCounter();
+  private final AtomicInteger counted = new AtomicInteger();
+  private final LongSupplier exactCount =
+      () -> {
+        counted.incrementAndGet();
+        return 42L;
+      };
+
+  @BeforeEach
+  void setUp() {
+    counter.entityManager = mock(EntityManager.class);
+    counter.ttl = Duration.ofSeconds(5);
+    counter.clock = Clock.fixed(start, ZoneOffset.UTC);
+  }
+
+  @Test
+  void total_shouldNotCount_whenCountModeIsNone() {
+    long total = counter.total(query(CountMode.NONE), "products", null, NO_PARAMS, exactCount);
+
+    assertEquals(PagedModel.UNCOUNTED, total);
+    assertEquals(0, counted.get());
+  }
+
+  @Test
+  void total_shouldReuseCount_whenSameFilterIsCountedWithinTtl() {
+    SearchQuery query = query(CountMode.EXACT);
+
+    counter.total(query, "products", "name like ?1", new Object[] {"a"}, exactCount);
+    long total = counter.total(query, "products", "name like ?1", new Object[] {"a"}, exactCount);
+
+    assertEquals(42L, total);
+    assertEquals(1, counted.get());
+  }
+
+  @Test
+  void total_shouldCountAgain_whenArgumentsDiffer() {
+    SearchQuery query = query(CountMode.EXACT);
+
+    counter.total(query, "products", "name like ?1", new Object[] {"a"}, exactCount);
+    counter.total(query, "products", "name like ?1", new Object[] {"b"}, exactCount);
+
+    assertEquals(2, counted.get());
+  }
+
+  @Test
+  void total_shouldCountAgain_whenTtlExpired() {
+    SearchQuery query = query(CountMode.EXACT);
+
+    counter.total(query, "products", null, NO_PARAMS, exactCount);
+    counter.clock = Clock.fixed(start.plusSeconds(5), ZoneOffset.UTC);
+    counter.total(query, "products", null, NO_PARAMS, exactCount);
+
+    assertEquals(2, counted.get());
+  }
+
+  @Test
+  void total_shouldCountAgain_whenTableWasInvalidated() {
+    SearchQuery query = query(CountMode.EXACT);
+
+    counter.total(query, "products", null, NO_PARAMS, exactCount);
+    counter.invalidate("raw_materials");
+    counter.total(query, "products", null, NO_PARAMS, exactCount);
+    counter.invalidate("products");
+    counter.total(query, "products", null, NO_PARAMS, exactCount);
+
+    assertEquals(2, counted.get());
+  }
+
+  @Test
+  void total_shouldCountAgain_whenAnotherNodeChangedTheTable() {
+    SearchQuery query = query(CountMode.EXACT);
+
+    counter.total(query, "raw_materials", null, NO_PARAMS, exactCount);
+    counter.onRemoteCatalogChanged(
+        new RemoteCatalogChangedEvent(CatalogChangedEvent.recipe(1L, 2L)));
+    counter.total(query, "raw_materials", null, NO_PARAMS, exactCount);
+    counter.onRemoteCatalogChanged(
+        new RemoteCatalogChangedEvent(CatalogChangedEvent.rawMaterial(2L)));
+    counter.total(query, "raw_materials", null, NO_PARAMS, exactCount);
+
+    assertEquals(2, counted.get());
+  }
+
+  @Test
+  void total_shouldCountAgain_whenAnotherNodeReportsUnknownChange() {
+    SearchQuery query = query(CountMode.EXACT);
+
+    counter.total(query, "products", null, NO_PARAMS, exactCount);
+    counter.total(query, "raw_materials", null, NO_PARAMS, exactCount);
+    counter.onRemoteCatalogChanged(new RemoteCatalogChangedEvent(CatalogChangedEvent.unknown()));
+    counter.total(query, "products", null, NO_PARAMS, exactCount);
+    counter.total(query, "raw_materials", null, NO_PARAMS, exactCount);
+
+    assertEquals(4, counted.get());
+  }
+
+  @Test
+  void total_shouldUsePlannerEstimate_whenUnfilteredListingIsEstimated() {
+    stubEstimate(List.of(1234.0f));
+
+    long total =
+        counter.total(query(CountMode.ESTIMATED), "products", null, NO_PARAMS, exactCount);
+
+    assertEquals(1234L, total);
+    assertEquals(0, counted.get());
+  }
+
+  @Test
+  void total_shouldCountExactly_whenTableWasNeverAnalyzed() {
+    stubEstimate(List.of(-1.0f));
+
+    long total =
+        counter.total(query(CountMode.ESTIMATED), "products", null, NO_PARAMS, exactCount);
+
+    assertEquals(42L, total);
+  }
+
+  @Test
+  void total_shouldCountExactly_whenFilteredListingIsEstimated() {
+    long total =
+        counter.total(
+            query(CountMode.ESTIMATED), "products", "name like ?1", new Object[] {"a"}, exactCount);
+
+    assertEquals(42L, total);
+    verify(counter.entityManager, never()).createNativeQuery(anyString());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void offsetPage_shouldTrimExtraRowAndReportNextPage_whenMoreRowsFollow() {
+    PanacheQuery<String> panacheQuery = mock(PanacheQuery.class);
+    when(panacheQuery.range(anyInt(), anyInt())).thenReturn(panacheQuery);
+    when(panacheQuery.list()).thenReturn(List.of("c", "d", "e"));
+    SearchQuery query = new SearchQuery(1, 2, "name", "asc", null, CountMode.NONE);
+
+    PagedModel<String> result =
+        counter.offsetPage(panacheQuery, query, "products", null, String::toUpperCase);
+
+    assertEquals(List.of("C", "D"), result.items());
+    assertTrue(result.hasNext());
+    assertEquals(PagedModel.UNCOUNTED, result.totalElements());
+    assertEquals(PagedModel.UNCOUNTED, result.totalPages());
+    verify(panacheQuery).range(2, 4);
+    verify(panacheQuery, never()).count();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void offsetPage_shouldCountPages_whenLastPageIsExact() {
+    PanacheQuery<String> panacheQuery = mock(PanacheQuery.class);
+    when(panacheQuery.range(anyInt(), anyInt())).thenReturn(panacheQuery);
+    when(panacheQuery.list()).thenReturn(List.of("e"));
+    when(panacheQuery.count()).thenReturn(5L);
+
+    PagedModel<String> result =
+        counter.offsetPage(
+            panacheQuery, new SearchQuery(2, 2, "name", "asc"), "products", null, s -> s);
+
+    assertFalse(result.hasNext());
+    assertEquals(5L, result.totalElements());
+    assertEquals(3, result.totalPages());
+  }
+
+  @Test
+  void offsetPage_shouldThrowInvalidData_whenSizeIsNotPositive() {
+    SearchQuery query = new SearchQuery(0, 0, "name", "asc");
+
+    assertThrows(
+        InvalidDataException.class,
+        () -> counter.offsetPage(null, query, "products", null, s -> s));
+  }
+
+  private void stubEstimate(List<?> rows) {
+    Query nativeQuery = mock(Query.class);
+    when(counter.entityManager.createNativeQuery(anyString())).thenReturn(nativeQuery);
+    when(nativeQuery.setParameter(anyInt(), anyString())).thenReturn(nativeQuery);
+    when(nativeQuery.getResultList()).thenReturn(rows);
+  }
+
+  private static SearchQuery query(CountMode countMode) {
+    return new SearchQuery(0, 10, "name", "asc", null, countMode);
+  }
+}
@@ -0,0 +1,50 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.autoflex.domain.PlanSnapshot;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class PlanSnapshotPersistenceAdapterIT {
+
+  @Inject PlanSnapshotPersistenceAdapter adapter;
+
+  @Test
+  @Transactional
+  void save_shouldRoundTripColumns_whenValidSnapshot() {
+    PlanSnapshot snapshot =
+        new PlanSnapshot(
+            "price-desc",
+            3L,
+            Instant.now().truncatedTo(ChronoUnit.MILLIS),
+            new BigDecimal("70.00"),
+            new long[] {1L, 5L},
+            new long[] {2L, 1L},
+            new BigDecimal[] {new BigDecimal("20.00"), new BigDecimal("50.00")});
+
+    PlanSnapshot saved = adapter.save(snapshot);
+    PlanSnapshot found = adapter.findById(saved.getId()).orElseThrow();
+
+    assertNotNull(saved.getId());
+    assertEquals("price-desc", found.getStrategy());
+    assertEquals(3L, found.getDataVersion());
+    assertArrayEquals(new long[] {1L, 5L}, found.getProductIds());
+    assertArrayEquals(new long[] {2L, 1L}, found.getQuantities());
+    assertEquals(0, new BigDecimal("50.00").compareTo(found.getTotalValues()[1]));
+  }
+
+  @Test
+  void findById_shouldReturnEmpty_whenSnapshotDoesNotExist() {
+    assertTrue(adapter.findById(-1L).isEmpty());
+  }
+}
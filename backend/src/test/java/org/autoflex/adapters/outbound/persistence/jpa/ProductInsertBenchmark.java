@@ -0,0 +1,124 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.RawMaterial;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Creates products with large recipes two ways and records the latency of each: one save that
+ * cascades every recipe line, which the pooled sequences let Hibernate send as JDBC batches, and
+ * a flush per line, the round trip per row that identity columns used to force. Skipped unless
+ * requested: {@code mvn test -Dtest=ProductInsertBenchmark -Dbenchmark=true}. Results go to
+ * {@code target/benchmarks/product-inserts.csv}. Every run is rolled back.
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductInsertBenchmark {
+
+  private static final int[] RECIPE_SIZES = {1, 10, 30, 100};
+  private static final int WARMUP_RUNS = 3;
+  private static final int MEASURED_RUNS = 15;
+
+  @Inject ProductPersistenceAdapter productAdapter;
+  @Inject ProductRawMaterialPersistenceAdapter productRawMaterialAdapter;
+  @Inject RawMaterialPersistenceAdapter rawMaterialAdapter;
+
+  @Test
+  void compareInsertModes() throws IOException {
+    int maxLines = Arrays.stream(RECIPE_SIZES).max().orElseThrow();
+    List<RawMaterial> materials =
+        QuarkusTransaction.requiringNew().call(() -> createRawMaterials(maxLines));
+
+    List<String> rows = new ArrayList<>();
+    rows.add("mode,recipe_lines,p50_us,p95_us");
+    System.out.printf("%-12s %12s %12s %12s%n", "mode", "lines", "p50 us", "p95 us");
+    try {
+      for (int lines : RECIPE_SIZES) {
+        List<RawMaterial> recipe = materials.subList(0, lines);
+        rows.add(measure("batched", lines, () -> productAdapter.save(product(recipe))));
+        rows.add(measure("row-by-row", lines, () -> saveLineByLine(product(recipe))));
+      }
+    } finally {
+      QuarkusTransaction.requiringNew()
+          .run(() -> materials.forEach(m -> rawMaterialAdapter.delete(m.getId())));
+    }
+
+    Path output = Path.of("target", "benchmarks", "product-inserts.csv");
+    Files.createDirectories(output.getParent());
+    Files.write(output, rows);
+    System.out.println("Wrote " + output.toAbsolutePath());
+  }
+
+  private String measure(String mode, int lines, Runnable insert) {
+    for (int i = 0; i < WARMUP_RUNS; i++) {
+      runAndRollBack(insert);
+    }
+
+    long[] runs = new long[MEASURED_RUNS];
+    for (int i = 0; i < MEASURED_RUNS; i++) {
+      runs[i] = runAndRollBack(insert);
+    }
+    Arrays.sort(runs);
+    long p50 = runs[MEASURED_RUNS / 2];
+    long p95 = runs[(int) Math.ceil(MEASURED_RUNS * 0.95) - 1];
+
+    System.out.printf("%-12s %12d %12d %12d%n", mode, lines, p50, p95);
+    return String.join(",", mode, String.valueOf(lines), String.valueOf(p50), String.valueOf(p95));
+  }
+
+  private static long runAndRollBack(Runnable insert) {
+    QuarkusTransaction.begin();
+    try {
+      long start = System.nanoTime();
+      insert.run();
+      return (System.nanoTime() - start) / 1_000;
+    } finally {
+      QuarkusTransaction.rollback();
+    }
+  }
+
+  private void saveLineByLine(Product product) {
+    List<ProductRawMaterial> lines = product.getRawMaterials();
+    product.setRawMaterials(new ArrayList<>());
+    Product saved = productAdapter.save(product);
+    for (ProductRawMaterial line : lines) {
+      line.setProduct(saved);
+      productRawMaterialAdapter.save(line);
+    }
+  }
+
+  private List<RawMaterial> createRawMaterials(int count) {
+    List<RawMaterial> materials = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      materials.add(
+          rawMaterialAdapter.save(
+              new RawMaterial(uniqueCode(), "Benchmark material " + i, new BigDecimal("100.00"))));
+    }
+    return materials;
+  }
+
+  private static Product product(List<RawMaterial> recipe) {
+    Product product = new Product(uniqueCode(), "Benchmark product", new BigDecimal("10.00"));
+    for (RawMaterial material : recipe) {
+      product.addRawMaterial(material, BigDecimal.ONE);
+    }
+    return product;
+  }
+
+  private static String uniqueCode() {
+    return "BENCH-" + UUID.randomUUID().toString().substring(0, 8);
+  }
+}
@@ -9,12 +9,14 @@ import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.autoflex.application.dto.PagedModel;
 import org.autoflex.application.dto.SearchQuery;
 import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
 import org.autoflex.domain.RawMaterial;
 import org.autoflex.fixtures.ProductFixture;
 import org.autoflex.fixtures.RawMaterialFixture;
@@ -97,6 +99,29 @@ public class ProductPersistenceAdapterIT {
             .compareTo(updated.getRawMaterials().getFirst().getRequiredQuantity()));
   }
 
+  @Test
+  @Transactional
+  void save_shouldMergeRecipeByRawMaterial_whenUpdatingExistingProduct() {
+    Product created = createNewProduct("Recipe Merge", "300.00");
+    created.addRawMaterial(RawMaterialFixture.createRawMaterial(1L), new BigDecimal("2.00"));
+    created.addRawMaterial(RawMaterialFixture.createRawMaterial(2L), new BigDecimal("4.00"));
+    Product persisted = adapter.save(created);
+    Long keptLinkId = linkFor(persisted, 1L).getId();
+
+    persisted.getRawMaterials().removeIf(link -> link.getRawMaterial().getId().equals(2L));
+    linkFor(persisted, 1L).setRequiredQuantity(new BigDecimal("3.00"));
+    persisted.addRawMaterial(RawMaterialFixture.createRawMaterial(3L), new BigDecimal("5.00"));
+
+    Product updated = adapter.save(persisted);
+
+    assertEquals(2, updated.getRawMaterials().size());
+    assertEquals(keptLinkId, linkFor(updated, 1L).getId());
+    assertEquals(0, new BigDecimal("3.00").compareTo(linkFor(updated, 1L).getRequiredQuantity()));
+    assertEquals(0, new BigDecimal("5.00").compareTo(linkFor(updated, 3L).getRequiredQuantity()));
+    assertTrue(
+        updated.getRawMaterials().stream().noneMatch(i -> i.getRawMaterial().getId().equals(2L)));
+  }
+
   @Test
   void findByCode_shouldReturnProduct_whenCodeExists() {
     Optional<Product> result = adapter.findByCode("PROD-001");
@@ -166,6 +191,39 @@ public class ProductPersistenceAdapterIT {
     assertTrue(result.items().isEmpty());
   }
 
+  @Test
+  void findAll_shouldVisitEveryProductOnce_whenPagingByCursor() {
+    long total = adapter.findAll(new SearchQuery(0, 1, "price", "desc")).totalElements();
+    List<Long> seen = new ArrayList<>();
+
+    String cursor = "";
+    BigDecimal previous = null;
+    while (cursor != null) {
+      PagedModel<Product> page = adapter.findAll(new SearchQuery(0, 4, "price", "desc", cursor));
+      for (Product product : page.items()) {
+        assertTrue(previous == null || previous.compareTo(product.getPrice()) >= 0);
+        previous = product.getPrice();
+        seen.add(product.getId());
+      }
+      cursor = page.nextCursor();
+    }
+
+    assertEquals(total, seen.size());
+    assertEquals(total, seen.stream().distinct().count());
+  }
+
+  @Test
+  void findByName_shouldPageByCursor_whenNameMatches() {
+    PagedModel<Product> first = adapter.findByName("a", new SearchQuery(0, 2, "name", "asc", ""));
+    PagedModel<Product> second =
+        adapter.findByName("a", new SearchQuery(0, 2, "name", "asc", first.nextCursor()));
+
+    List<Long> firstIds = first.items().stream().map(Product::getId).toList();
+    assertEquals(2, firstIds.size());
+    assertFalse(second.items().isEmpty());
+    assertTrue(second.items().stream().noneMatch(p -> firstIds.contains(p.getId())));
+  }
+
   @Test
   void findByName_shouldReturnProducts_whenNameMatches() {
     SearchQuery query = new SearchQuery(0, 10, "name", "asc");
@@ -178,6 +236,41 @@ public class ProductPersistenceAdapterIT {
     assertTrue(result.items().stream().anyMatch(p -> p.getName().contains("Dining")));
   }
 
+  @Test
+  void findByName_shouldMatchCode_whenTermIsPartOfCode() {
+    SearchQuery query = new SearchQuery(0, 10, "id", "asc");
+
+    PagedModel<Product> result = adapter.findByName("prod-003", query);
+
+    assertTrue(result.items().stream().anyMatch(p -> p.getCode().equals("PROD-003")));
+  }
+
+  @Test
+  void findByName_shouldTreatWildcardsLiterally_whenTermContainsThem() {
+    PagedModel<Product> result = adapter.findByName("%", new SearchQuery(0, 10, "name", "asc"));
+
+    assertTrue(result.items().isEmpty());
+  }
+
+  @Test
+  void findByName_shouldMatchMisspelledTerm_whenFuzzy() {
+    SearchQuery query = new SearchQuery(0, 10, "relevance", "asc", null, null, true);
+
+    PagedModel<Product> result = adapter.findByName("Dinning", query);
+
+    assertFalse(result.items().isEmpty());
+    assertTrue(result.items().stream().allMatch(p -> p.getName().contains("Dining")));
+  }
+
+  @Test
+  void findByName_shouldRankCloserNamesFirst_whenSortedByRelevance() {
+    SearchQuery query = new SearchQuery(0, 10, "relevance", "asc");
+
+    PagedModel<Product> result = adapter.findByName("Coffee Table", query);
+
+    assertEquals("Coffee Table Pine", result.items().getFirst().getName());
+  }
+
   @Test
   void findByName_shouldReturnEmptyPage_whenNoMatch() {
     SearchQuery query = new SearchQuery(0, 10, "name", "asc");
@@ -199,6 +292,29 @@ public class ProductPersistenceAdapterIT {
     }
   }
 
+  @Test
+  @Transactional
+  void findAllOrderedByPriceDesc_shouldLeaveRecipesOut() {
+    Product product = createNewProduct("Shallow Product", "12.00");
+    product.addRawMaterial(RawMaterialFixture.createRawMaterial(1L), new BigDecimal("2.00"));
+    Long id = adapter.save(product).getId();
+
+    Product listed =
+        adapter.findAllOrderedByPriceDesc().stream()
+            .filter(p -> p.getId().equals(id))
+            .findFirst()
+            .orElseThrow();
+
+    assertTrue(listed.getRawMaterials().isEmpty());
+  }
+
+  private static ProductRawMaterial linkFor(Product product, Long rawMaterialId) {
+    return product.getRawMaterials().stream()
+        .filter(link -> link.getRawMaterial().getId().equals(rawMaterialId))
+        .findFirst()
+        .orElseThrow();
+  }
+
   private static String uniqueCode() {
     return "IT-PERSIST-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
   }
@@ -6,14 +6,27 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.quarkus.test.TestTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.autoflex.domain.Product;
 import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.ProductionCapacity;
+import org.autoflex.fixtures.ProductComponentFixture;
+import org.autoflex.fixtures.ProductFixture;
 import org.autoflex.fixtures.ProductRawMaterialFixture;
 import org.junit.jupiter.api.Test;
 
@@ -21,6 +34,8 @@ import org.junit.jupiter.api.Test;
 public class ProductRawMaterialPersistenceAdapterIT {
 
   @Inject ProductRawMaterialPersistenceAdapter adapter;
+  @Inject ProductPersistenceAdapter productAdapter;
+  @Inject ProductComponentPersistenceAdapter componentAdapter;
 
   @Test
   @Transactional
@@ -104,6 +119,98 @@ public class ProductRawMaterialPersistenceAdapterIT {
     assertTrue(result.isEmpty());
   }
 
+  @Test
+  void listAllGroupedByProduct_shouldReturnRecipesKeyedByProductId() {
+    Map<Long, List<ProductRawMaterial>> result = adapter.listAllGroupedByProduct();
+
+    assertFalse(result.isEmpty());
+    assertTrue(result.containsKey(1L));
+    assertTrue(
+        result.entrySet().stream()
+            .allMatch(
+                entry ->
+                    entry.getValue().stream()
+                        .allMatch(item -> item.getProduct().getId().equals(entry.getKey()))));
+    assertTrue(result.get(1L).stream().anyMatch(item -> item.getRawMaterial().getId().equals(2L)));
+    assertNotNull(result.get(1L).getFirst().getRawMaterial().getStockQuantity());
+  }
+
+  @Test
+  void findIndependentCapacity_shouldMatchMinimumOverRecipe_forEachProduct() {
+    PagedModel<ProductionCapacity> result =
+        adapter.findIndependentCapacity(new SearchQuery(0, 100, "id", "asc"));
+
+    assertFalse(result.items().isEmpty());
+    assertEquals(result.items().size(), result.totalElements());
+    for (ProductionCapacity item : result.items()) {
+      BigDecimal expected =
+          adapter.listByProduct(item.getProductId()).stream()
+              .map(
+                  link ->
+                      link.getRawMaterial()
+                          .getStockQuantity()
+                          .divide(link.getRequiredQuantity(), 0, RoundingMode.FLOOR))
+              .min(BigDecimal::compareTo)
+              .orElseThrow();
+
+      assertEquals(0, expected.compareTo(item.getProducibleQuantity()));
+      assertEquals(0, item.getUnitPrice().multiply(expected).compareTo(item.getTotalValue()));
+    }
+  }
+
+  @Test
+  void findIndependentCapacity_shouldSortAndPage_inDatabase() {
+    PagedModel<ProductionCapacity> all =
+        adapter.findIndependentCapacity(new SearchQuery(0, 100, "producibleQuantity", "desc"));
+    PagedModel<ProductionCapacity> second =
+        adapter.findIndependentCapacity(new SearchQuery(1, 2, "producibleQuantity", "desc"));
+
+    for (int i = 1; i < all.items().size(); i++) {
+      BigDecimal previous = all.items().get(i - 1).getProducibleQuantity();
+      assertTrue(previous.compareTo(all.items().get(i).getProducibleQuantity()) >= 0);
+    }
+    assertEquals(all.items().get(2).getProductId(), second.items().getFirst().getProductId());
+    assertEquals((all.totalElements() + 1) / 2, second.totalPages());
+  }
+
+  @Test
+  @TestTransaction
+  void findIndependentCapacity_shouldExplodeComponents_whenProductIsBuiltFromSubAssemblies() {
+    Long assembly = newProduct("Assembly of two");
+    componentAdapter.save(
+        ProductComponentFixture.createLine(null, assembly, 1L, new BigDecimal("2.00")));
+
+    Map<Long, ProductionCapacity> capacity = capacityById();
+
+    BigDecimal expected =
+        capacity.get(1L).getProducibleQuantity().divide(BigDecimal.TWO, 0, RoundingMode.FLOOR);
+    assertEquals(0, expected.compareTo(capacity.get(assembly).getProducibleQuantity()));
+  }
+
+  @Test
+  @TestTransaction
+  void findIndependentCapacity_shouldLeaveOutProducts_whenComponentsFormACycle() {
+    Long first = newProduct("Cycle first");
+    Long second = newProduct("Cycle second");
+    adapter.save(ProductRawMaterialFixture.createLink(null, first, 1L, new BigDecimal("1.00")));
+    componentAdapter.save(
+        ProductComponentFixture.createLine(null, first, second, new BigDecimal("1.00")));
+    componentAdapter.save(
+        ProductComponentFixture.createLine(null, second, first, new BigDecimal("1.00")));
+
+    Map<Long, ProductionCapacity> capacity = capacityById();
+
+    assertFalse(capacity.containsKey(first));
+    assertFalse(capacity.containsKey(second));
+  }
+
+  @Test
+  void findIndependentCapacity_shouldThrowInvalidDataException_whenSortFieldIsUnknown() {
+    assertThrows(
+        InvalidDataException.class,
+        () -> adapter.findIndependentCapacity(new SearchQuery(0, 10, "price; drop", "asc")));
+  }
+
   @Test
   @Transactional
   void delete_shouldDeleteAssociation_whenIdExists() {
@@ -148,4 +255,16 @@ public class ProductRawMaterialPersistenceAdapterIT {
 
     assertThrows(PersistenceException.class, () -> adapter.save(duplicate));
   }
+
+  private Map<Long, ProductionCapacity> capacityById() {
+    return adapter.findIndependentCapacity(new SearchQuery(0, 1000, "id", "asc")).items().stream()
+        .collect(Collectors.toMap(ProductionCapacity::getProductId, Function.identity()));
+  }
+
+  private Long newProduct(String name) {
+    Product product = ProductFixture.createProduct();
+    product.setCode("IT-BOM-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+    product.setName(name);
+    return productAdapter.save(product).getId();
+  }
 }
@@ -6,14 +6,19 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.quarkus.test.TestTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import org.autoflex.application.dto.CountMode;
 import org.autoflex.application.dto.PagedModel;
 import org.autoflex.application.dto.SearchQuery;
 import org.autoflex.domain.RawMaterial;
@@ -24,6 +29,7 @@ import org.junit.jupiter.api.Test;
 public class RawMaterialPersistenceAdapterIT {
 
   @Inject RawMaterialPersistenceAdapter adapter;
+  @Inject EntityManager entityManager;
 
   @Test
   @Transactional
@@ -123,6 +129,27 @@ public class RawMaterialPersistenceAdapterIT {
     assertTrue(result.items().size() <= 5);
   }
 
+  @Test
+  void findAll_shouldReportNextPageWithoutCounting_whenCountIsNone() {
+    SearchQuery query = new SearchQuery(0, 1, "name", "asc", null, CountMode.NONE);
+
+    PagedModel<RawMaterial> result = adapter.findAll(query);
+
+    assertEquals(1, result.items().size());
+    assertTrue(result.hasNext());
+    assertEquals(PagedModel.UNCOUNTED, result.totalElements());
+  }
+
+  @Test
+  void findAll_shouldReturnTotal_whenCountIsEstimated() {
+    SearchQuery query = new SearchQuery(0, 5, "name", "asc", null, CountMode.ESTIMATED);
+
+    PagedModel<RawMaterial> result = adapter.findAll(query);
+
+    assertTrue(result.totalElements() > 0);
+    assertEquals(PagedModel.pageCount(result.totalElements(), 5), result.totalPages());
+  }
+
   @Test
   void findAll_shouldReturnEmptyItems_whenPageIsOutOfRange() {
     SearchQuery query = new SearchQuery(999, 10, "name", "asc");
@@ -156,6 +183,55 @@ public class RawMaterialPersistenceAdapterIT {
     assertTrue(result.items().isEmpty());
   }
 
+  @Test
+  @Transactional
+  void consumeStock_shouldDecrementEveryRowInOneStatement_whenStockIsUnchanged() {
+    RawMaterial first = adapter.save(createNewRawMaterial("Consumed First", "10.00"));
+    RawMaterial second = adapter.save(createNewRawMaterial("Consumed Second", "5.50"));
+
+    int updated =
+        adapter.consumeStock(
+            Map.of(first.getId(), new BigDecimal("4.00"), second.getId(), new BigDecimal("5.50")),
+            Map.of(
+                first.getId(), new BigDecimal("10.00"), second.getId(), new BigDecimal("5.50")));
+    entityManager.clear();
+
+    assertEquals(2, updated);
+    assertEquals(0, new BigDecimal("6.00").compareTo(stockOf(first)));
+    assertEquals(0, BigDecimal.ZERO.compareTo(stockOf(second)));
+  }
+
+  @Test
+  @TestTransaction
+  void consumeStock_shouldUpdateEveryRow_whenMaterialsSpanSeveralBatches() {
+    Map<Long, BigDecimal> quantities = new HashMap<>();
+    Map<Long, BigDecimal> expectedStock = new HashMap<>();
+    for (int i = 0; i <= RawMaterialPersistenceAdapter.CONSUME_BATCH_SIZE; i++) {
+      RawMaterial material = adapter.save(createNewRawMaterial("Batch " + i, "3.00"));
+      quantities.put(material.getId(), BigDecimal.ONE);
+      expectedStock.put(material.getId(), new BigDecimal("3.00"));
+    }
+
+    int updated = adapter.consumeStock(quantities, expectedStock);
+
+    assertEquals(quantities.size(), updated);
+  }
+
+  @Test
+  @Transactional
+  void consumeStock_shouldSkipRow_whenStockNoLongerMatchesExpected() {
+    RawMaterial changed = adapter.save(createNewRawMaterial("Changed Meanwhile", "7.00"));
+
+    int updated =
+        adapter.consumeStock(
+            Map.of(changed.getId(), new BigDecimal("1.00")),
+            Map.of(changed.getId(), new BigDecimal("10.00")));
+    entityManager.clear();
+
+    assertEquals(0, updated);
+    assertEquals(0, new BigDecimal("7.00").compareTo(stockOf(changed)));
+  }
+
   @Test
   void listAllRawMaterials_shouldReturnAllItems_whenDatabaseHasRecords() {
     List<RawMaterial> result = adapter.listAllRawMaterials();
@@ -214,4 +290,8 @@ public class RawMaterialPersistenceAdapterIT {
     rawMaterial.setStockQuantity(new BigDecimal(stockQuantity));
     return rawMaterial;
   }
+
+  private BigDecimal stockOf(RawMaterial rawMaterial) {
+    return adapter.findById(rawMaterial.getId()).orElseThrow().getStockQuantity();
+  }
 }
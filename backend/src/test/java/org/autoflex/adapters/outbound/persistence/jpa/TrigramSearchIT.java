@@ -0,0 +1,75 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks with EXPLAIN that the search conditions are answered by the trigram indexes. The seed
+ * tables are small enough that the planner would pick a sequential scan anyway, so that is turned
+ * off for the transaction; what matters is that an index can serve the condition at all.
+ */
+@QuarkusTest
+public class TrigramSearchIT {
+
+  @Inject EntityManager entityManager;
+
+  @Test
+  @Transactional
+  void contains_shouldUseTrigramIndexes_whenSearchingProducts() {
+    String plan = explain("products", TrigramSearch.CONTAINS);
+
+    assertTrue(plan.contains("idx_products_name_trgm"), plan);
+    assertTrue(plan.contains("idx_products_code_trgm"), plan);
+  }
+
+  @Test
+  @Transactional
+  void fuzzy_shouldUseTrigramIndexes_whenSearchingProducts() {
+    String plan = explain("products", TrigramSearch.FUZZY);
+
+    assertTrue(plan.contains("idx_products_name_trgm"), plan);
+    assertTrue(plan.contains("idx_products_code_trgm"), plan);
+  }
+
+  @Test
+  @Transactional
+  void contains_shouldUseTrigramIndexes_whenSearchingRawMaterials() {
+    String plan = explain("raw_materials", TrigramSearch.CONTAINS);
+
+    assertTrue(plan.contains("idx_raw_materials_name_trgm"), plan);
+    assertTrue(plan.contains("idx_raw_materials_code_trgm"), plan);
+  }
+
+  @Test
+  @Transactional
+  void fuzzy_shouldUseTrigramIndexes_whenSearchingRawMaterials() {
+    String plan = explain("raw_materials", TrigramSearch.FUZZY);
+
+    assertTrue(plan.contains("idx_raw_materials_name_trgm"), plan);
+    assertTrue(plan.contains("idx_raw_materials_code_trgm"), plan);
+  }
+
+  private String explain(String table, String condition) {
+    entityManager
+        .createNativeQuery("select set_config('enable_seqscan', 'off', true)")
+        .getSingleResult();
+    Query explain =
+        entityManager.createNativeQuery("explain select * from " + table + " where " + condition);
+    if (condition.contains(":pattern")) {
+      explain.setParameter("pattern", TrigramSearch.containsPattern("oak"));
+    }
+    if (condition.contains(":term")) {
+      explain.setParameter("term", "oak");
+    }
+    List<?> lines = explain.getResultList();
+    return lines.stream().map(Object::toString).collect(Collectors.joining("\n"));
+  }
+}
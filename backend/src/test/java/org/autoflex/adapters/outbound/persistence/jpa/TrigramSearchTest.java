@@ -0,0 +1,145 @@
+package org.autoflex.adapters.outbound.persistence.jpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.autoflex.adapters.outbound.persistence.jpa.entities.JpaProductEntity;
+import org.autoflex.application.dto.CountMode;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TrigramSearchTest {
+
+  private final TrigramSearch<JpaProductEntity> search =
+      new TrigramSearch<>(JpaProductEntity.class, "products", Map.of("name", "name"));
+
+  private final EntityManager entityManager = mock(EntityManager.class);
+  private final Query select = mock(Query.class);
+  private final PageCounter counter = new PageCounter();
+
+  @BeforeEach
+  void setUp() {
+    counter.ttl = Duration.ZERO;
+    when(entityManager.createNativeQuery(anyString(), eq(JpaProductEntity.class)))
+        .thenReturn(select);
+    when(select.setParameter(anyString(), any())).thenReturn(select);
+    when(select.setFirstResult(anyInt())).thenReturn(select);
+    when(select.setMaxResults(anyInt())).thenReturn(select);
+  }
+
+  @Test
+  void containsPattern_shouldEscapeWildcards_whenTermContainsThem() {
+    assertEquals("%50\\% off\\_a\\\\b%", TrigramSearch.containsPattern("50% off_a\\b"));
+    assertNull(TrigramSearch.containsPattern(null));
+  }
+
+  @Test
+  void handles_shouldBeTrue_onlyForFuzzyOrRelevanceSearches() {
+    assertTrue(TrigramSearch.handles(new SearchQuery(0, 10, "name", "asc", null, null, true)));
+    assertTrue(TrigramSearch.handles(new SearchQuery(0, 10, "relevance", "asc")));
+    assertFalse(TrigramSearch.handles(new SearchQuery(0, 10, "name", "asc")));
+  }
+
+  @Test
+  void page_shouldRankByWordSimilarity_whenFuzzySearchSortsByRelevance() {
+    when(select.getResultList()).thenReturn(List.of(entity(3L), entity(1L), entity(2L)));
+    SearchQuery query = new SearchQuery(0, 2, "relevance", "asc", null, CountMode.NONE, true);
+
+    PagedModel<Long> result =
+        search.page(entityManager, counter, "dinning", query, JpaProductEntity::getId);
+
+    assertEquals(List.of(3L, 1L), result.items());
+    assertTrue(result.hasNext());
+    verify(entityManager)
+        .createNativeQuery(
+            "select * from products where " + TrigramSearch.FUZZY + " order by greatest("
+                + "word_similarity(:term, name), word_similarity(:term, code)) desc, id",
+            JpaProductEntity.class);
+    verify(select).setParameter("term", "dinning");
+    verify(select, never()).setParameter(eq("pattern"), any());
+  }
+
+  @Test
+  void page_shouldSortByColumn_whenFuzzySearchSortsByName() {
+    when(select.getResultList()).thenReturn(List.of());
+    SearchQuery query = new SearchQuery(0, 10, "name", "desc", null, CountMode.NONE, true);
+
+    search.page(entityManager, counter, "oak", query, JpaProductEntity::getId);
+
+    verify(entityManager)
+        .createNativeQuery(
+            "select * from products where " + TrigramSearch.FUZZY + " order by name desc, id desc",
+            JpaProductEntity.class);
+  }
+
+  @Test
+  void page_shouldMatchSubstringAndRankBySimilarity_whenExactSearchSortsByRelevance() {
+    when(select.getResultList()).thenReturn(List.of());
+    SearchQuery query = new SearchQuery(0, 10, "relevance", "asc", null, CountMode.NONE);
+
+    search.page(entityManager, counter, "oak", query, JpaProductEntity::getId);
+
+    verify(entityManager)
+        .createNativeQuery(
+            "select * from products where " + TrigramSearch.CONTAINS + " order by greatest("
+                + "similarity(name, :term), similarity(code, :term)) desc, id",
+            JpaProductEntity.class);
+    verify(select).setParameter("pattern", "%oak%");
+    verify(select).setParameter("term", "oak");
+  }
+
+  @Test
+  void page_shouldThrowInvalidData_whenSortFieldIsNotAllowed() {
+    SearchQuery query = new SearchQuery(0, 10, "price; drop", "asc", null, null, true);
+
+    assertThrows(
+        InvalidDataException.class,
+        () -> search.page(entityManager, counter, "oak", query, JpaProductEntity::getId));
+  }
+
+  @Test
+  void page_shouldThrowInvalidData_whenCursorIsRequested() {
+    SearchQuery query = new SearchQuery(0, 10, "relevance", "asc", "", null);
+
+    assertThrows(
+        InvalidDataException.class,
+        () -> search.page(entityManager, counter, "oak", query, JpaProductEntity::getId));
+  }
+
+  @Test
+  void page_shouldReturnEmptyPage_whenTermIsNull() {
+    SearchQuery query = new SearchQuery(0, 10, "relevance", "asc");
+
+    PagedModel<Long> result =
+        search.page(entityManager, counter, null, query, JpaProductEntity::getId);
+
+    assertTrue(result.items().isEmpty());
+    assertEquals(0L, result.totalElements());
+    verify(entityManager, never()).createNativeQuery(anyString(), eq(JpaProductEntity.class));
+  }
+
+  private static JpaProductEntity entity(Long id) {
+    JpaProductEntity entity = new JpaProductEntity();
+    entity.setId(id);
+    return entity;
+  }
+}
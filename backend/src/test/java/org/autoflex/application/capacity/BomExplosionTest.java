@@ -0,0 +1,155 @@
+package org.autoflex.application.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductComponent;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.RawMaterial;
+import org.junit.jupiter.api.Test;
+
+class BomExplosionTest {
+
+  private final RawMaterial wood = rawMaterial(1L);
+  private final RawMaterial foam = rawMaterial(2L);
+  private final Product drawer = product(10L);
+  private final Product cushion = product(11L);
+  private final Product dresser = product(20L);
+  private final Product sofa = product(21L);
+  private final Product stool = product(22L);
+
+  @Test
+  void explode_shouldMultiplyAndMergeRequirementsThroughEveryLevel() {
+    BomExplosion explosion = BomExplosion.explode(rawLines(), componentLines());
+
+    // Dresser: 4.00 wood directly plus 3 drawers of 1.50 wood each.
+    assertRecipe(explosion.recipe(20L), Map.of(1L, "8.50"));
+    // Sofa: 2 cushions of 0.50 foam and a dresser.
+    assertRecipe(explosion.recipe(21L), Map.of(1L, "8.50", 2L, "1.00"));
+    assertRecipe(explosion.recipe(10L), Map.of(1L, "1.50"));
+  }
+
+  @Test
+  void explode_shouldRoundFractionalProductsUpToFixedPointScale() {
+    Map<Long, List<ProductRawMaterial>> raw = Map.of(11L, List.of(raw(cushion, foam, "0.25")));
+    Map<Long, List<ProductComponent>> components =
+        Map.of(22L, List.of(component(stool, cushion, "1.50")));
+
+    BomExplosion explosion = BomExplosion.explode(raw, components);
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(cushion, stool),
+            List.of(foam),
+            Map.of(11L, explosion.recipe(11L), 22L, explosion.recipe(22L)));
+
+    // 1.50 cushions of 0.25 foam each is 0.375, rounded up rather than under-consumed.
+    assertEquals(new BigDecimal("0.38"), explosion.recipe(22L).getFirst().getRequiredQuantity());
+    assertTrue(snapshot.isFixedPoint());
+  }
+
+  @Test
+  void explode_shouldLeaveRecipeEmpty_whenProductSitsOnOrDependsOnCycle() {
+    Map<Long, List<ProductComponent>> components = new HashMap<>(componentLines());
+    components.put(10L, List.of(component(drawer, sofa, "1.00")));
+
+    BomExplosion explosion = BomExplosion.explode(rawLines(), components);
+
+    assertTrue(explosion.recipe(10L).isEmpty());
+    assertTrue(explosion.recipe(20L).isEmpty());
+    assertTrue(explosion.recipe(21L).isEmpty());
+    assertRecipe(explosion.recipe(11L), Map.of(2L, "0.50"));
+  }
+
+  @Test
+  void explode_shouldLeaveRecipeEmpty_whenComponentHasNoRecipe() {
+    BomExplosion explosion =
+        BomExplosion.explode(
+            Map.of(), Map.of(22L, List.of(component(stool, cushion, "1.00"))));
+
+    assertTrue(explosion.recipe(22L).isEmpty());
+  }
+
+  @Test
+  void withProduct_shouldReExplodeOnlyProductAndAncestors() {
+    BomExplosion before = BomExplosion.explode(rawLines(), componentLines());
+
+    BomExplosion after =
+        before.withProduct(10L, List.of(raw(drawer, wood, "2.00")), List.of());
+
+    assertEquals(Set.of(10L, 20L, 21L), after.withAncestors(10L));
+    assertRecipe(after.recipe(20L), Map.of(1L, "10.00"));
+    assertRecipe(after.recipe(21L), Map.of(1L, "10.00", 2L, "1.00"));
+    assertSame(before.recipe(11L), after.recipe(11L));
+    assertRecipe(before.recipe(20L), Map.of(1L, "8.50"));
+  }
+
+  @Test
+  void withProduct_shouldMatchFullExplosion_whenCycleIsBroken() {
+    Map<Long, List<ProductComponent>> cyclic = new HashMap<>(componentLines());
+    cyclic.put(10L, List.of(component(drawer, sofa, "1.00")));
+    BomExplosion broken =
+        BomExplosion.explode(rawLines(), cyclic).withProduct(10L, rawLines().get(10L), List.of());
+
+    BomExplosion full = BomExplosion.explode(rawLines(), componentLines());
+    for (long productId : List.of(10L, 11L, 20L, 21L)) {
+      assertRecipe(broken.recipe(productId), quantities(full.recipe(productId)));
+    }
+  }
+
+  private Map<Long, List<ProductRawMaterial>> rawLines() {
+    return Map.of(
+        10L, List.of(raw(drawer, wood, "1.50")),
+        11L, List.of(raw(cushion, foam, "0.50")),
+        20L, List.of(raw(dresser, wood, "4.00")));
+  }
+
+  private Map<Long, List<ProductComponent>> componentLines() {
+    return Map.of(
+        20L, List.of(component(dresser, drawer, "3.00")),
+        21L, List.of(component(sofa, cushion, "2.00"), component(sofa, dresser, "1.00")));
+  }
+
+  private static void assertRecipe(List<ProductRawMaterial> recipe, Map<Long, String> expected) {
+    assertEquals(expected.size(), recipe.size());
+    Map<Long, String> actual = quantities(recipe);
+    expected.forEach(
+        (id, quantity) ->
+            assertEquals(0, new BigDecimal(quantity).compareTo(new BigDecimal(actual.get(id)))));
+  }
+
+  private static Map<Long, String> quantities(List<ProductRawMaterial> recipe) {
+    Map<Long, String> quantities = new HashMap<>();
+    for (ProductRawMaterial line : recipe) {
+      quantities.put(line.getRawMaterial().getId(), line.getRequiredQuantity().toPlainString());
+    }
+    return quantities;
+  }
+
+  private static Product product(Long id) {
+    Product product = new Product("PROD-" + id, "Product " + id, new BigDecimal("10.00"));
+    product.setId(id);
+    return product;
+  }
+
+  private static RawMaterial rawMaterial(Long id) {
+    RawMaterial rm = new RawMaterial("RAW-" + id, "Raw " + id, new BigDecimal("100.00"));
+    rm.setId(id);
+    return rm;
+  }
+
+  private static ProductRawMaterial raw(Product product, RawMaterial rm, String quantity) {
+    return new ProductRawMaterial(product, rm, new BigDecimal(quantity));
+  }
+
+  private static ProductComponent component(Product product, Product component, String quantity) {
+    return new ProductComponent(product, component, new BigDecimal(quantity));
+  }
+}
@@ -0,0 +1,376 @@
+package org.autoflex.application.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import org.autoflex.domain.MaterialMarginalValue;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.ProductionCapacity;
+import org.autoflex.domain.ProductionPlan;
+import org.autoflex.domain.RawMaterial;
+import org.autoflex.fixtures.CapacitySnapshotFixture;
+import org.junit.jupiter.api.Test;
+
+class CapacityEngineTest {
+
+  @Test
+  void allocateFixedPoint_shouldMatchDecimalEngineBitForBit_forRandomCatalogs() {
+    for (long seed = 0; seed < 300; seed++) {
+      CapacitySnapshot snapshot = CapacitySnapshotFixture.randomSnapshot(new Random(seed));
+      assertTrue(snapshot.isFixedPoint());
+
+      long[] decimalUnits = CapacityEngine.allocateDecimal(snapshot);
+      long[] fixedPointUnits = CapacityEngine.allocateFixedPoint(snapshot);
+      assertArrayEquals(decimalUnits, fixedPointUnits, "seed " + seed);
+
+      assertSamePlan(
+          CapacityEngine.toPlan(snapshot, decimalUnits),
+          CapacityEngine.toPlan(snapshot, fixedPointUnits));
+    }
+  }
+
+  @Test
+  void allocate_shouldStop_whenThreadIsInterrupted() {
+    CapacitySnapshot snapshot = CapacitySnapshotFixture.randomSnapshot(new Random(1));
+
+    Thread.currentThread().interrupt();
+    try {
+      assertThrows(
+          CancellationException.class,
+          () -> CapacityEngine.allocate(snapshot, ArithmeticMode.FIXED_POINT));
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  @Test
+  void trackAndReallocate_shouldStop_whenThreadIsInterrupted() {
+    CapacitySnapshot snapshot = CapacitySnapshotFixture.randomSnapshot(new Random(1));
+    CapacityEngine.Allocation allocation = CapacityEngine.track(snapshot);
+
+    Thread.currentThread().interrupt();
+    try {
+      assertThrows(CancellationException.class, () -> CapacityEngine.track(snapshot));
+      assertThrows(
+          CancellationException.class,
+          () -> CapacityEngine.reallocate(allocation, snapshot, 0));
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  @Test
+  void allocate_shouldFallBackToDecimal_whenQuantityHasMoreThanTwoDecimals() {
+    Product product = product(1L, "10.00");
+    RawMaterial rm = rawMaterial(1L, "10.005");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L, List.of(product), List.of(rm), Map.of(1L, List.of(link(product, rm, "2.50"))));
+
+    assertFalse(snapshot.isFixedPoint());
+    assertArrayEquals(
+        new long[] {4}, CapacityEngine.allocate(snapshot, ArithmeticMode.FIXED_POINT));
+  }
+
+  @Test
+  void allocate_shouldUseDecimal_whenModeIsDecimal() {
+    Product product = product(1L, "10.00");
+    RawMaterial rm = rawMaterial(1L, "10.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L, List.of(product), List.of(rm), Map.of(1L, List.of(link(product, rm, "3.00"))));
+
+    assertArrayEquals(new long[] {3}, CapacityEngine.allocate(snapshot, ArithmeticMode.DECIMAL));
+  }
+
+  @Test
+  void allocate_shouldVisitProductsInGivenOrder() {
+    Product expensive = product(1L, "100.00");
+    Product cheaper = product(2L, "60.00");
+    RawMaterial shared = rawMaterial(1L, "10.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(expensive, cheaper),
+            List.of(shared),
+            Map.of(
+                1L, List.of(link(expensive, shared, "4.00")),
+                2L, List.of(link(cheaper, shared, "2.00"))));
+
+    int[] order = {1, 0};
+    assertArrayEquals(
+        new long[] {0, 5}, CapacityEngine.allocate(snapshot, ArithmeticMode.FIXED_POINT, order));
+    assertArrayEquals(
+        new long[] {0, 5}, CapacityEngine.allocate(snapshot, ArithmeticMode.DECIMAL, order));
+  }
+
+  @Test
+  void orderByScore_shouldSortDescendingAndKeepSnapshotOrderOnTies() {
+    assertArrayEquals(
+        new int[] {2, 0, 3, 1}, CapacityEngine.orderByScore(new double[] {5, 1, 9, 5}));
+  }
+
+  @Test
+  void reallocate_shouldMatchFullAllocation_afterRandomStockAndRecipeChanges() {
+    for (long seed = 0; seed < 300; seed++) {
+      Random random = new Random(seed);
+      CapacitySnapshot snapshot = CapacitySnapshotFixture.randomSnapshot(random);
+      CapacityEngine.Allocation allocation = CapacityEngine.track(snapshot);
+
+      for (long version = 1; version <= 5; version++) {
+        CapacitySnapshot changed = randomChange(random, allocation.snapshot(), version);
+        int from = changed.firstChangedSince(allocation.snapshot().getVersion());
+
+        allocation = CapacityEngine.reallocate(allocation, changed, from);
+
+        CapacityEngine.Allocation full = CapacityEngine.track(changed);
+        assertArrayEquals(full.units(), allocation.units(), "seed " + seed);
+        assertArrayEquals(full.remainingStock(), allocation.remainingStock(), "seed " + seed);
+        assertSamePlan(
+            CapacityEngine.toPlan(changed, full.units()), CapacityEngine.toPlan(allocation));
+      }
+    }
+  }
+
+  @Test
+  void stream_shouldEmitSameItemsAndTotalAsToPlan_inBothModes() {
+    for (long seed = 0; seed < 50; seed++) {
+      CapacitySnapshot snapshot = CapacitySnapshotFixture.randomSnapshot(new Random(seed));
+
+      for (ArithmeticMode mode : ArithmeticMode.values()) {
+        List<ProductionCapacity> emitted = new ArrayList<>();
+        ProductionPlan totals = CapacityEngine.stream(snapshot, mode, emitted::add);
+
+        ProductionPlan expected =
+            CapacityEngine.toPlan(snapshot, CapacityEngine.allocate(snapshot, mode));
+        assertTrue(totals.getItems().isEmpty());
+        assertSamePlan(expected, new ProductionPlan(emitted, totals.getGrandTotalValue()));
+      }
+    }
+  }
+
+  @Test
+  void toPlan_shouldRecordMaterialThatCappedEachProduct() {
+    Product product = product(1L, "10.00");
+    RawMaterial scarce = rawMaterial(1L, "10.00");
+    RawMaterial plentiful = rawMaterial(2L, "100.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(product),
+            List.of(scarce, plentiful),
+            Map.of(1L, List.of(link(product, plentiful, "1.00"), link(product, scarce, "4.00"))));
+
+    for (ArithmeticMode mode : ArithmeticMode.values()) {
+      ProductionPlan plan =
+          CapacityEngine.toPlan(snapshot, CapacityEngine.allocate(snapshot, mode));
+
+      RawMaterial limiting = plan.getItems().getFirst().getLimitingRawMaterial();
+      assertEquals(1L, limiting.getId());
+      assertEquals("RAW-1", limiting.getCode());
+    }
+  }
+
+  @Test
+  void allocate_shouldStopAtDemandAndLeaveStockForNextProducts_inBothModes() {
+    Product capped = product(1L, "100.00");
+    capped.setMaxDemand(2L);
+    Product next = product(2L, "60.00");
+    RawMaterial shared = rawMaterial(1L, "10.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(capped, next),
+            List.of(shared),
+            Map.of(
+                1L, List.of(link(capped, shared, "2.00")),
+                2L, List.of(link(next, shared, "3.00"))));
+
+    for (ArithmeticMode mode : ArithmeticMode.values()) {
+      long[] units = CapacityEngine.allocate(snapshot, mode);
+      assertArrayEquals(new long[] {2, 2}, units);
+
+      ProductionPlan plan = CapacityEngine.toPlan(snapshot, units);
+      ProductionCapacity first = plan.getItems().getFirst();
+      assertEquals(2L, first.getMaxDemand());
+      assertNull(first.getLimitingRawMaterial());
+      assertEquals(1L, plan.getItems().get(1).getLimitingRawMaterial().getId());
+    }
+  }
+
+  @Test
+  void allocate_shouldSkipProduct_whenDemandIsZero() {
+    Product unwanted = product(1L, "100.00");
+    unwanted.setMaxDemand(0L);
+    Product next = product(2L, "60.00");
+    RawMaterial shared = rawMaterial(1L, "10.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(unwanted, next),
+            List.of(shared),
+            Map.of(
+                1L, List.of(link(unwanted, shared, "1.00")),
+                2L, List.of(link(next, shared, "2.00"))));
+
+    for (ArithmeticMode mode : ArithmeticMode.values()) {
+      assertArrayEquals(new long[] {0, 5}, CapacityEngine.allocate(snapshot, mode));
+    }
+  }
+
+  @Test
+  void marginalValues_shouldBeZero_whenProductIsCappedByDemand() {
+    Product capped = product(1L, "100.00");
+    capped.setMaxDemand(2L);
+    RawMaterial rm = rawMaterial(1L, "10.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L, List.of(capped), List.of(rm), Map.of(1L, List.of(link(capped, rm, "2.00"))));
+
+    List<MaterialMarginalValue> values =
+        CapacityEngine.marginalValues(snapshot, CapacityEngine.snapshotOrder(snapshot));
+    assertEquals(0, BigDecimal.ZERO.compareTo(values.getFirst().getMarginalValue()));
+  }
+
+  @Test
+  void marginalValues_shouldMatchFullReplanWithOneMoreUnit_forRandomCatalogs() {
+    for (long seed = 0; seed < 100; seed++) {
+      CapacitySnapshot snapshot = CapacitySnapshotFixture.randomSnapshot(new Random(seed));
+
+      for (int[] order :
+          List.of(CapacityEngine.snapshotOrder(snapshot), reversed(snapshot.productCount()))) {
+        BigDecimal baseline = value(snapshot, order);
+        List<MaterialMarginalValue> values = CapacityEngine.marginalValues(snapshot, order);
+
+        assertEquals(snapshot.materialCount(), values.size());
+        for (int m = 0; m < snapshot.materialCount(); m++) {
+          long materialId = snapshot.materialId(m);
+          CapacitySnapshot restocked =
+              snapshot.withStock(1L, materialId, snapshot.stockOf(materialId).add(BigDecimal.ONE));
+
+          assertEquals(materialId, values.get(m).getRawMaterialId());
+          assertEquals(
+              0,
+              value(restocked, order)
+                  .subtract(baseline)
+                  .compareTo(values.get(m).getMarginalValue()),
+              "seed " + seed + " material " + m);
+        }
+      }
+    }
+  }
+
+  @Test
+  void marginalValues_shouldBeEmpty_whenSnapshotIsNotFixedPoint() {
+    Product product = product(1L, "10.00");
+    RawMaterial rm = rawMaterial(1L, "10.005");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L, List.of(product), List.of(rm), Map.of(1L, List.of(link(product, rm, "2.50"))));
+
+    assertTrue(
+        CapacityEngine.marginalValues(snapshot, CapacityEngine.snapshotOrder(snapshot)).isEmpty());
+  }
+
+  @Test
+  void toPlan_shouldSkipProductsWithoutUnits() {
+    Product p1 = product(1L, "10.00");
+    Product p2 = product(2L, "20.00");
+
+    CapacitySnapshot snapshot = CapacitySnapshot.compile(0L, List.of(p1, p2), List.of(), Map.of());
+
+    ProductionPlan plan = CapacityEngine.toPlan(snapshot, new long[] {0, 3});
+
+    assertEquals(1, plan.getItems().size());
+    assertEquals(2L, plan.getItems().getFirst().getProductId());
+    assertEquals(new BigDecimal("60.00"), plan.getGrandTotalValue());
+  }
+
+  private static CapacitySnapshot randomChange(
+      Random random, CapacitySnapshot snapshot, long version) {
+    int materialCount = snapshot.materialCount();
+    if (snapshot.productCount() == 0 || random.nextBoolean()) {
+      long materialId = snapshot.materialId(random.nextInt(materialCount));
+      BigDecimal stock = BigDecimal.valueOf(random.nextInt(100_000), 2);
+      return snapshot.withStock(version, materialId, stock);
+    }
+
+    int target = random.nextInt(snapshot.productCount());
+    Product product = product(snapshot.productId(target), "1.00");
+    List<ProductRawMaterial> recipe = new ArrayList<>();
+    for (int m = 0; m < materialCount; m++) {
+      if (random.nextInt(3) == 0) {
+        RawMaterial rm = rawMaterial(snapshot.materialId(m), "0.00");
+        recipe.add(link(product, rm, BigDecimal.valueOf(1 + random.nextInt(5_000), 2).toString()));
+      }
+    }
+    return snapshot.withRecipe(version, snapshot.productId(target), recipe);
+  }
+
+  private static BigDecimal value(CapacitySnapshot snapshot, int[] order) {
+    return CapacityEngine.toPlan(
+            snapshot, CapacityEngine.allocate(snapshot, ArithmeticMode.FIXED_POINT, order))
+        .getGrandTotalValue();
+  }
+
+  private static int[] reversed(int count) {
+    int[] order = new int[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = count - 1 - i;
+    }
+    return order;
+  }
+
+  private static void assertSamePlan(ProductionPlan expected, ProductionPlan actual) {
+    assertEquals(expected.getItems().size(), actual.getItems().size());
+    for (int i = 0; i < expected.getItems().size(); i++) {
+      ProductionCapacity e = expected.getItems().get(i);
+      ProductionCapacity a = actual.getItems().get(i);
+      assertEquals(e.getProductId(), a.getProductId());
+      assertEquals(e.getUnitPrice(), a.getUnitPrice());
+      assertEquals(e.getProducibleQuantity(), a.getProducibleQuantity());
+      assertEquals(e.getTotalValue(), a.getTotalValue());
+      assertEquals(limitingId(e), limitingId(a));
+    }
+    assertEquals(expected.getGrandTotalValue(), actual.getGrandTotalValue());
+  }
+
+  private static Long limitingId(ProductionCapacity item) {
+    return item.getLimitingRawMaterial() == null ? null : item.getLimitingRawMaterial().getId();
+  }
+
+  private static Product product(Long id, String price) {
+    Product product = new Product("PROD-" + id, "Product " + id, new BigDecimal(price));
+    product.setId(id);
+    return product;
+  }
+
+  private static RawMaterial rawMaterial(Long id, String stockQuantity) {
+    RawMaterial rm = new RawMaterial("RAW-" + id, "Raw " + id, new BigDecimal(stockQuantity));
+    rm.setId(id);
+    return rm;
+  }
+
+  private static ProductRawMaterial link(Product product, RawMaterial rm, String quantity) {
+    return new ProductRawMaterial(product, rm, new BigDecimal(quantity));
+  }
+}
@@ -0,0 +1,205 @@
+package org.autoflex.application.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.autoflex.application.events.CatalogChangedEvent;
+import org.autoflex.application.events.RemoteCatalogChangedEvent;
+import org.autoflex.application.gateways.ProductComponentRepository;
+import org.autoflex.application.gateways.ProductRawMaterialRepository;
+import org.autoflex.application.gateways.ProductRepository;
+import org.autoflex.application.gateways.RawMaterialRepository;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductComponent;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.RawMaterial;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CapacitySnapshotCacheTest {
+
+  @Mock ProductRepository productRepository;
+  @Mock RawMaterialRepository rawMaterialRepository;
+  @Mock ProductRawMaterialRepository productRawMaterialRepository;
+  @Mock ProductComponentRepository productComponentRepository;
+
+  @InjectMocks CapacitySnapshotCache cache;
+
+  private final Product product = product(10L);
+  private final RawMaterial rawMaterial = rawMaterial(1L, "10.00");
+
+  @BeforeEach
+  void setUp() {
+    when(productRepository.findAllOrderedByPriceDesc()).thenReturn(List.of(product));
+    when(rawMaterialRepository.listAllRawMaterials()).thenReturn(List.of(rawMaterial));
+    when(productRawMaterialRepository.listAllGroupedByProduct())
+        .thenReturn(Map.of(10L, List.of(link(product, rawMaterial, "2.00"))));
+  }
+
+  @Test
+  void current_shouldLoadOnce_whenCatalogDoesNotChange() {
+    CapacitySnapshot first = cache.current();
+    CapacitySnapshot second = cache.current();
+
+    assertSame(first, second);
+    verify(productRawMaterialRepository).listAllGroupedByProduct();
+    verify(productRawMaterialRepository, never()).listByProduct(anyLong());
+  }
+
+  @Test
+  void current_shouldRebuild_whenCatalogChanged() {
+    CapacitySnapshot first = cache.current();
+
+    cache.onCatalogChanged(CatalogChangedEvent.product(10L));
+    CapacitySnapshot second = cache.current();
+
+    assertNotSame(first, second);
+    assertEquals(1L, second.getVersion());
+    assertEquals(1L, cache.version());
+    verify(productRawMaterialRepository, times(2)).listAllGroupedByProduct();
+  }
+
+  @Test
+  void current_shouldPatchStock_whenOnlyRawMaterialChanged() {
+    CapacitySnapshot first = cache.current();
+
+    when(rawMaterialRepository.findById(1L)).thenReturn(Optional.of(rawMaterial(1L, "4.00")));
+    cache.onCatalogChanged(CatalogChangedEvent.rawMaterial(1L));
+    CapacitySnapshot second = cache.current();
+
+    assertEquals(1L, second.getVersion());
+    assertEquals(0, new BigDecimal("4.00").compareTo(second.copyStock()[0]));
+    assertEquals(0, second.firstChangedSince(first.getVersion()));
+    verify(productRawMaterialRepository).listAllGroupedByProduct();
+  }
+
+  @Test
+  void current_shouldPatchCodeAndName_whenRawMaterialIsRenamed() {
+    CapacitySnapshot first = cache.current();
+
+    RawMaterial renamed = rawMaterial(1L, "10.00");
+    renamed.setCode("RAW-OAK");
+    renamed.setName("Oak");
+    when(rawMaterialRepository.findById(1L)).thenReturn(Optional.of(renamed));
+    cache.onCatalogChanged(CatalogChangedEvent.rawMaterial(1L));
+    CapacitySnapshot second = cache.current();
+
+    assertEquals("RAW-OAK", second.materialCode(0));
+    assertEquals("Oak", second.materialName(0));
+    assertEquals("RAW-1", first.materialCode(0));
+    assertEquals(0, second.firstChangedSince(first.getVersion()));
+    verify(productRawMaterialRepository).listAllGroupedByProduct();
+  }
+
+  @Test
+  void current_shouldPatchStock_whenRemoteNodeChangedRawMaterial() {
+    cache.current();
+
+    when(rawMaterialRepository.findById(1L)).thenReturn(Optional.of(rawMaterial(1L, "6.00")));
+    cache.onRemoteCatalogChanged(
+        new RemoteCatalogChangedEvent(CatalogChangedEvent.rawMaterial(1L)));
+    CapacitySnapshot second = cache.current();
+
+    assertEquals(1L, second.getVersion());
+    assertEquals(0, new BigDecimal("6.00").compareTo(second.copyStock()[0]));
+    verify(productRawMaterialRepository).listAllGroupedByProduct();
+  }
+
+  @Test
+  void current_shouldReload_whenRemoteChangeIsUnknown() {
+    cache.current();
+
+    cache.onRemoteCatalogChanged(new RemoteCatalogChangedEvent(CatalogChangedEvent.unknown()));
+    cache.current();
+
+    verify(productRawMaterialRepository, times(2)).listAllGroupedByProduct();
+  }
+
+  @Test
+  void current_shouldPatchRecipe_whenRecipeChanged() {
+    CapacitySnapshot first = cache.current();
+
+    when(productRawMaterialRepository.listByProduct(10L))
+        .thenReturn(List.of(link(product, rawMaterial, "5.00")));
+    cache.onCatalogChanged(CatalogChangedEvent.recipe(10L, 1L));
+    CapacitySnapshot second = cache.current();
+
+    assertEquals(500L, second.recipeUnits(0));
+    assertEquals(0, second.firstChangedSince(first.getVersion()));
+    verify(productRawMaterialRepository).listAllGroupedByProduct();
+  }
+
+  @Test
+  void current_shouldPatchProductAndAncestors_whenComponentRecipeChanged() {
+    Product assembly = product(20L);
+    when(productRepository.findAllOrderedByPriceDesc()).thenReturn(List.of(assembly, product));
+    when(productComponentRepository.listAllGroupedByProduct())
+        .thenReturn(
+            Map.of(20L, List.of(new ProductComponent(assembly, product, new BigDecimal("3.00")))));
+    CapacitySnapshot first = cache.current();
+    assertEquals(600L, first.recipeUnits(first.recipeStart(0)));
+
+    when(productRawMaterialRepository.listByProduct(10L))
+        .thenReturn(List.of(link(product, rawMaterial, "1.00")));
+    cache.onCatalogChanged(CatalogChangedEvent.recipe(10L, 1L));
+    CapacitySnapshot second = cache.current();
+
+    assertEquals(300L, second.recipeUnits(second.recipeStart(0)));
+    assertEquals(100L, second.recipeUnits(second.recipeStart(1)));
+    assertEquals(0, second.firstChangedSince(first.getVersion()));
+    verify(productRawMaterialRepository).listAllGroupedByProduct();
+    verify(productComponentRepository).listByProduct(10L);
+  }
+
+  @Test
+  void onCatalogChanged_shouldKeepChangeLogBounded_whenNoPlanIsRead() {
+    for (int i = 0; i < 1_000; i++) {
+      cache.onCatalogChanged(CatalogChangedEvent.rawMaterial(1L));
+    }
+
+    assertEquals(CapacitySnapshotCache.MAX_PATCHED_CHANGES, cache.pendingChanges());
+    assertEquals(1_000L, cache.current().getVersion());
+  }
+
+  @Test
+  void current_shouldReload_whenPatchedRawMaterialIsNotTracked() {
+    cache.current();
+
+    when(rawMaterialRepository.findById(2L)).thenReturn(Optional.of(rawMaterial(2L, "1.00")));
+    cache.onCatalogChanged(CatalogChangedEvent.rawMaterial(2L));
+    cache.current();
+
+    verify(productRawMaterialRepository, times(2)).listAllGroupedByProduct();
+  }
+
+  private static Product product(Long id) {
+    Product product = new Product("PROD-" + id, "Product " + id, new BigDecimal("10.00"));
+    product.setId(id);
+    return product;
+  }
+
+  private static RawMaterial rawMaterial(Long id, String stockQuantity) {
+    RawMaterial rm = new RawMaterial("RAW-" + id, "Raw " + id, new BigDecimal(stockQuantity));
+    rm.setId(id);
+    return rm;
+  }
+
+  private static ProductRawMaterial link(Product product, RawMaterial rm, String quantity) {
+    return new ProductRawMaterial(product, rm, new BigDecimal(quantity));
+  }
+}
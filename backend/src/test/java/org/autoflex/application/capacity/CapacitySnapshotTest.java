@@ -0,0 +1,274 @@
+package org.autoflex.application.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.RawMaterial;
+import org.autoflex.fixtures.ProductRawMaterialFixture;
+import org.autoflex.fixtures.RawMaterialFixture;
+import org.junit.jupiter.api.Test;
+
+class CapacitySnapshotTest {
+
+  @Test
+  void compile_shouldBuildCsrRows_inProductOrder() {
+    Product p1 = ProductRawMaterialFixture.createProduct(10L);
+    Product p2 = ProductRawMaterialFixture.createProduct(20L);
+    RawMaterial rm1 = createRawMaterial(1L, "10.00");
+    RawMaterial rm2 = createRawMaterial(2L, "5.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            7L,
+            List.of(p1, p2),
+            List.of(rm1, rm2),
+            Map.of(
+                10L, List.of(createLink(p1, rm1, "2.00"), createLink(p1, rm2, "1.00")),
+                20L, List.of(createLink(p2, rm2, "3.00"))));
+
+    assertEquals(7L, snapshot.getVersion());
+    assertEquals(2, snapshot.productCount());
+    assertEquals(2, snapshot.materialCount());
+    assertEquals(10L, snapshot.productId(0));
+    assertEquals(20L, snapshot.productId(1));
+    assertEquals(0, snapshot.recipeStart(0));
+    assertEquals(2, snapshot.recipeEnd(0));
+    assertEquals(2, snapshot.recipeStart(1));
+    assertEquals(3, snapshot.recipeEnd(1));
+    assertEquals(2L, snapshot.materialId(snapshot.recipeMaterial(2)));
+    assertEquals(0, new BigDecimal("3.00").compareTo(snapshot.recipeQuantity(2)));
+  }
+
+  @Test
+  void compile_shouldMarkProductNotProducible_whenRecipeIsEmptyOrInvalid() {
+    Product empty = ProductRawMaterialFixture.createProduct(1L);
+    Product invalid = ProductRawMaterialFixture.createProduct(2L);
+    RawMaterial rm = createRawMaterial(1L, "10.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(empty, invalid),
+            List.of(rm),
+            Map.of(2L, List.of(createLink(invalid, rm, "0.00"))));
+
+    assertFalse(snapshot.isProducible(0));
+    assertFalse(snapshot.isProducible(1));
+  }
+
+  @Test
+  void compile_shouldTrackZeroStock_whenLinkedMaterialIsNotListed() {
+    Product product = ProductRawMaterialFixture.createProduct(1L);
+    RawMaterial listed = createRawMaterial(1L, "10.00");
+    RawMaterial unlisted = createRawMaterial(2L, "99.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(product),
+            List.of(listed),
+            Map.of(1L, List.of(createLink(product, unlisted, "1.00"))));
+
+    assertEquals(2, snapshot.materialCount());
+    assertTrue(snapshot.isProducible(0));
+    assertEquals(0, BigDecimal.ZERO.compareTo(snapshot.copyStock()[snapshot.recipeMaterial(0)]));
+  }
+
+  @Test
+  void copyStock_shouldReturnIndependentVector() {
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(0L, List.of(), List.of(createRawMaterial(1L, "10.00")), Map.of());
+
+    BigDecimal[] stock = snapshot.copyStock();
+    stock[0] = BigDecimal.ZERO;
+
+    assertEquals(0, new BigDecimal("10.00").compareTo(snapshot.copyStock()[0]));
+  }
+
+  @Test
+  void stockVersion_shouldDependOnlyOnStock_notOnVersionOrMaterialOrder() {
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(),
+            List.of(createRawMaterial(1L, "10.00"), createRawMaterial(2L, "4.50")),
+            Map.of());
+    CapacitySnapshot sameStock =
+        CapacitySnapshot.compile(
+            9L,
+            List.of(),
+            List.of(createRawMaterial(2L, "4.5"), createRawMaterial(1L, "10")),
+            Map.of());
+
+    assertEquals(snapshot.stockVersion(), sameStock.stockVersion());
+    assertNotEquals(
+        snapshot.stockVersion(),
+        snapshot.withStock(1L, 2L, new BigDecimal("4.00")).stockVersion());
+  }
+
+  @Test
+  void withStock_shouldReportFirstProductUsingChangedMaterial() {
+    Product p1 = ProductRawMaterialFixture.createProduct(10L);
+    Product p2 = ProductRawMaterialFixture.createProduct(20L);
+    Product p3 = ProductRawMaterialFixture.createProduct(30L);
+    RawMaterial rm1 = createRawMaterial(1L, "10.00");
+    RawMaterial rm2 = createRawMaterial(2L, "5.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(p1, p2, p3),
+            List.of(rm1, rm2),
+            Map.of(
+                10L, List.of(createLink(p1, rm1, "2.00")),
+                20L, List.of(createLink(p2, rm2, "1.00")),
+                30L, List.of(createLink(p3, rm1, "1.00"))));
+
+    CapacitySnapshot restocked = snapshot.withStock(1L, 2L, new BigDecimal("8.00"));
+    CapacitySnapshot unchanged = restocked.withStock(2L, 1L, new BigDecimal("10.00"));
+    CapacitySnapshot both = unchanged.withStock(3L, 1L, new BigDecimal("4.00"));
+
+    assertEquals(0, new BigDecimal("8.00").compareTo(restocked.copyStock()[1]));
+    assertEquals(0, new BigDecimal("5.00").compareTo(snapshot.copyStock()[1]));
+    assertEquals(1, restocked.firstChangedSince(0L));
+    assertEquals(3, unchanged.firstChangedSince(1L));
+    assertEquals(1, unchanged.firstChangedSince(0L));
+    assertEquals(0, both.firstChangedSince(0L));
+    assertEquals(0, both.firstChangedSince(2L));
+    assertEquals(3, both.firstChangedSince(3L));
+    assertEquals(-1, both.firstChangedSince(99L));
+  }
+
+  @Test
+  void withRecipe_shouldReplaceCsrRowOfOneProduct() {
+    Product p1 = ProductRawMaterialFixture.createProduct(10L);
+    Product p2 = ProductRawMaterialFixture.createProduct(20L);
+    RawMaterial rm1 = createRawMaterial(1L, "10.00");
+    RawMaterial rm2 = createRawMaterial(2L, "5.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(p1, p2),
+            List.of(rm1, rm2),
+            Map.of(
+                10L, List.of(createLink(p1, rm1, "2.00")),
+                20L, List.of(createLink(p2, rm2, "3.00"))));
+
+    CapacitySnapshot patched =
+        snapshot.withRecipe(
+            1L, 10L, List.of(createLink(p1, rm1, "1.50"), createLink(p1, rm2, "0.50")));
+
+    assertEquals(0, patched.recipeStart(0));
+    assertEquals(2, patched.recipeEnd(0));
+    assertEquals(2, patched.recipeStart(1));
+    assertEquals(3, patched.recipeEnd(1));
+    assertEquals(150L, patched.recipeUnits(0));
+    assertEquals(50L, patched.recipeUnits(1));
+    assertEquals(300L, patched.recipeUnits(2));
+    assertEquals(2L, patched.materialId(patched.recipeMaterial(2)));
+    assertEquals(0, patched.firstChangedSince(0L));
+    assertTrue(patched.isFixedPoint());
+
+    CapacitySnapshot emptied = patched.withRecipe(2L, 20L, List.of());
+    assertFalse(emptied.isProducible(1));
+    assertEquals(1, emptied.firstChangedSince(1L));
+    assertEquals(2, emptied.recipeEnd(1));
+  }
+
+  @Test
+  void withStockAndWithRecipe_shouldReturnNull_whenIdIsNotTracked() {
+    Product product = ProductRawMaterialFixture.createProduct(10L);
+    RawMaterial tracked = createRawMaterial(1L, "10.00");
+    RawMaterial untracked = createRawMaterial(9L, "10.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(product),
+            List.of(tracked),
+            Map.of(10L, List.of(createLink(product, tracked, "1.00"))));
+
+    assertNull(snapshot.withStock(1L, 9L, BigDecimal.ONE));
+    assertNull(snapshot.withRecipe(1L, 99L, List.of()));
+    assertNull(snapshot.withRecipe(1L, 10L, List.of(createLink(product, untracked, "1.00"))));
+  }
+
+  @Test
+  void withScenario_shouldOverrideColumnsAndReorderByPrice_withoutTouchingBase() {
+    Product expensive = createProduct(1L, "100.00");
+    Product cheaper = createProduct(2L, "50.00");
+    RawMaterial rm = createRawMaterial(1L, "10.00");
+
+    CapacitySnapshot base =
+        CapacitySnapshot.compile(
+            3L,
+            List.of(expensive, cheaper),
+            List.of(rm),
+            Map.of(
+                1L, List.of(createLink(expensive, rm, "1.00")),
+                2L, List.of(createLink(cheaper, rm, "1.00"))));
+
+    CapacitySnapshot scenario =
+        base.withScenario(
+            Map.of(1L, new BigDecimal("25.50")), Map.of(2L, new BigDecimal("150.00")), Set.of(1L));
+
+    assertTrue(scenario.isScenario());
+    assertEquals(-1, scenario.firstChangedSince(3L));
+    assertArrayEquals(new int[] {1, 0}, scenario.productOrder());
+    assertEquals(new BigDecimal("150.00"), scenario.productPrice(1));
+    assertEquals(new BigDecimal("25.50"), scenario.stockOf(1L));
+    assertFalse(scenario.isProducible(0));
+    assertEquals(base.recipeStart(1), scenario.recipeStart(1));
+
+    assertFalse(base.isScenario());
+    assertArrayEquals(new int[] {0, 1}, base.productOrder());
+    assertEquals(new BigDecimal("50.00"), base.productPrice(1));
+    assertEquals(new BigDecimal("10.00"), base.stockOf(1L));
+    assertTrue(base.isProducible(0));
+  }
+
+  @Test
+  void withScenario_shouldRejectUnknownIds() {
+    CapacitySnapshot base = CapacitySnapshot.compile(0L, List.of(), List.of(), Map.of());
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> base.withScenario(Map.of(9L, BigDecimal.ONE), Map.of(), Set.of()));
+    assertThrows(
+        IllegalArgumentException.class, () -> base.withScenario(Map.of(), Map.of(), Set.of(9L)));
+  }
+
+  private static Product createProduct(Long id, String price) {
+    Product product = ProductRawMaterialFixture.createProduct(id);
+    product.setPrice(new BigDecimal(price));
+    return product;
+  }
+
+  private static RawMaterial createRawMaterial(Long id, String stockQuantity) {
+    RawMaterial rm = RawMaterialFixture.createRawMaterial(id);
+    rm.setStockQuantity(new BigDecimal(stockQuantity));
+    return rm;
+  }
+
+  private static ProductRawMaterial createLink(
+      Product product, RawMaterial rawMaterial, String requiredQuantity) {
+    ProductRawMaterial link =
+        ProductRawMaterialFixture.createLink(
+            null, product.getId(), rawMaterial.getId(), new BigDecimal(requiredQuantity));
+    link.setProduct(product);
+    link.setRawMaterial(rawMaterial);
+    return link;
+  }
+}
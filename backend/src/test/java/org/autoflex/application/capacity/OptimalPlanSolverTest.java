@@ -0,0 +1,217 @@
+package org.autoflex.application.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.RawMaterial;
+import org.autoflex.fixtures.CapacitySnapshotFixture;
+import org.junit.jupiter.api.Test;
+
+class OptimalPlanSolverTest {
+
+  private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+  @Test
+  void solve_shouldBeatGreedy_whenCheaperProductUsesSharedMaterialBetter() {
+    Product expensive = product(1L, "100.00");
+    Product cheaper = product(2L, "60.00");
+    RawMaterial shared = rawMaterial(1L, "10.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(expensive, cheaper),
+            List.of(shared),
+            Map.of(
+                1L, List.of(link(expensive, shared, "4.00")),
+                2L, List.of(link(cheaper, shared, "2.00"))));
+
+    long[] greedy = CapacityEngine.allocate(snapshot, ArithmeticMode.FIXED_POINT);
+    OptimalPlanSolver.Result result = OptimalPlanSolver.solve(snapshot, greedy, NO_DEADLINE);
+
+    assertArrayEquals(new long[] {2, 1}, greedy);
+    assertArrayEquals(new long[] {0, 5}, result.units());
+    assertTrue(result.optimal());
+    assertEquals(0, BigDecimal.ZERO.compareTo(result.optimalityGap()));
+  }
+
+  @Test
+  void solve_shouldRespectDemand_whenBetterPlanWouldExceedIt() {
+    Product expensive = product(1L, "100.00");
+    Product cheaper = product(2L, "60.00");
+    cheaper.setMaxDemand(3L);
+    RawMaterial shared = rawMaterial(1L, "10.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(expensive, cheaper),
+            List.of(shared),
+            Map.of(
+                1L, List.of(link(expensive, shared, "4.00")),
+                2L, List.of(link(cheaper, shared, "2.00"))));
+
+    long[] greedy = CapacityEngine.allocate(snapshot, ArithmeticMode.FIXED_POINT);
+    OptimalPlanSolver.Result result = OptimalPlanSolver.solve(snapshot, greedy, NO_DEADLINE);
+
+    assertArrayEquals(new long[] {1, 3}, result.units());
+    assertTrue(result.optimal());
+  }
+
+  @Test
+  void solve_shouldMatchExhaustiveSearch_forSmallRandomCatalogs() {
+    for (long seed = 0; seed < 200; seed++) {
+      Random random = new Random(seed);
+      CapacitySnapshot snapshot = smallCatalog(random);
+
+      long[] greedy = CapacityEngine.allocate(snapshot, ArithmeticMode.FIXED_POINT);
+      OptimalPlanSolver.Result result = OptimalPlanSolver.solve(snapshot, greedy, NO_DEADLINE);
+
+      assertTrue(result.optimal(), "seed " + seed);
+      assertFeasible(snapshot, result.units());
+      assertEquals(
+          exhaustiveBest(snapshot, 0, snapshot.copyStockUnits()),
+          value(snapshot, result.units()),
+          "seed " + seed);
+    }
+  }
+
+  @Test
+  void solve_shouldNeverBeWorseThanGreedy_whenDeadlineIsShort() {
+    for (long seed = 0; seed < 20; seed++) {
+      CapacitySnapshot snapshot = CapacitySnapshotFixture.randomSnapshot(new Random(seed));
+
+      long[] greedy = CapacityEngine.allocate(snapshot, ArithmeticMode.FIXED_POINT);
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20);
+      OptimalPlanSolver.Result result = OptimalPlanSolver.solve(snapshot, greedy, deadline);
+
+      assertFeasible(snapshot, result.units());
+      assertTrue(value(snapshot, result.units()) >= value(snapshot, greedy), "seed " + seed);
+      assertNotNull(result.optimalityGap());
+      assertTrue(result.optimalityGap().signum() >= 0);
+      assertTrue(result.optimalityGap().compareTo(BigDecimal.ONE) <= 0);
+    }
+  }
+
+  @Test
+  void deadlineCheckInterval_shouldShrinkAsNodesGetMoreExpensive() {
+    assertEquals(1024, OptimalPlanSolver.deadlineCheckInterval(10));
+    assertEquals(64, OptimalPlanSolver.deadlineCheckInterval(1024));
+    assertEquals(1, OptimalPlanSolver.deadlineCheckInterval(250_000));
+  }
+
+  @Test
+  void solve_shouldReturnIncumbentWithoutGap_whenSnapshotIsNotFixedPoint() {
+    Product product = product(1L, "10.00");
+    RawMaterial rm = rawMaterial(1L, "10.005");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L, List.of(product), List.of(rm), Map.of(1L, List.of(link(product, rm, "2.50"))));
+
+    long[] greedy = CapacityEngine.allocate(snapshot, ArithmeticMode.FIXED_POINT);
+    OptimalPlanSolver.Result result = OptimalPlanSolver.solve(snapshot, greedy, NO_DEADLINE);
+
+    assertArrayEquals(greedy, result.units());
+    assertFalse(result.optimal());
+    assertNull(result.optimalityGap());
+  }
+
+  private static CapacitySnapshot smallCatalog(Random random) {
+    int materialCount = 1 + random.nextInt(3);
+    int productCount = 1 + random.nextInt(5);
+
+    List<RawMaterial> materials = new ArrayList<>();
+    for (long m = 1; m <= materialCount; m++) {
+      materials.add(rawMaterial(m, (1 + random.nextInt(20)) + ".00"));
+    }
+
+    List<Product> products = new ArrayList<>();
+    Map<Long, List<ProductRawMaterial>> recipes = new HashMap<>();
+    for (long p = 1; p <= productCount; p++) {
+      Product product = product(p, (1 + random.nextInt(100)) + ".00");
+      products.add(product);
+
+      List<ProductRawMaterial> recipe = new ArrayList<>();
+      for (RawMaterial rm : materials) {
+        if (random.nextInt(3) > 0) {
+          recipe.add(link(product, rm, (1 + random.nextInt(6)) + ".00"));
+        }
+      }
+      recipes.put(p, recipe);
+    }
+
+    products.sort((a, b) -> b.getPrice().compareTo(a.getPrice()));
+    return CapacitySnapshot.compile(0L, products, materials, recipes);
+  }
+
+  private static long exhaustiveBest(CapacitySnapshot snapshot, int product, long[] stock) {
+    if (product == snapshot.productCount()) return 0;
+
+    long best = exhaustiveBest(snapshot, product + 1, stock);
+    if (!snapshot.isProducible(product)) return best;
+
+    long price = snapshot.productPrice(product).movePointRight(2).longValueExact();
+    long[] remaining = stock.clone();
+    for (long units = 1; ; units++) {
+      for (int line = snapshot.recipeStart(product); line < snapshot.recipeEnd(product); line++) {
+        remaining[snapshot.recipeMaterial(line)] -= snapshot.recipeUnits(line);
+      }
+      for (long left : remaining) {
+        if (left < 0) return best;
+      }
+      best = Math.max(best, price * units + exhaustiveBest(snapshot, product + 1, remaining));
+    }
+  }
+
+  private static void assertFeasible(CapacitySnapshot snapshot, long[] units) {
+    long[] stock = snapshot.copyStockUnits();
+    for (int p = 0; p < units.length; p++) {
+      if (units[p] == 0) continue;
+      assertTrue(snapshot.isProducible(p));
+      for (int line = snapshot.recipeStart(p); line < snapshot.recipeEnd(p); line++) {
+        stock[snapshot.recipeMaterial(line)] -= snapshot.recipeUnits(line) * units[p];
+      }
+    }
+    for (long left : stock) {
+      assertTrue(left >= 0);
+    }
+  }
+
+  private static long value(CapacitySnapshot snapshot, long[] units) {
+    long total = 0;
+    for (int p = 0; p < units.length; p++) {
+      total += snapshot.productPrice(p).movePointRight(2).longValueExact() * units[p];
+    }
+    return total;
+  }
+
+  private static Product product(Long id, String price) {
+    Product product = new Product("PROD-" + id, "Product " + id, new BigDecimal(price));
+    product.setId(id);
+    return product;
+  }
+
+  private static RawMaterial rawMaterial(Long id, String stockQuantity) {
+    RawMaterial rm = new RawMaterial("RAW-" + id, "Raw " + id, new BigDecimal(stockQuantity));
+    rm.setId(id);
+    return rm;
+  }
+
+  private static ProductRawMaterial link(Product product, RawMaterial rm, String quantity) {
+    return new ProductRawMaterial(product, rm, new BigDecimal(quantity));
+  }
+}
@@ -0,0 +1,104 @@
+package org.autoflex.application.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.autoflex.domain.PlanDiff;
+import org.autoflex.domain.PlanDiffItem;
+import org.autoflex.domain.PlanSnapshot;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductionCapacity;
+import org.autoflex.domain.ProductionPlan;
+import org.junit.jupiter.api.Test;
+
+class PlanDifferTest {
+
+  private final CapacitySnapshot catalog =
+      CapacitySnapshot.compile(
+          0L, List.of(product(1L), product(2L), product(3L)), List.of(), Map.of());
+
+  @Test
+  void diff_shouldReturnOnlyChangedRows_whenPlansOverlap() {
+    PlanSnapshot from = snapshot(row(1L, 5, "50.00"), row(2L, 3, "30.00"), row(4L, 1, "10.00"));
+    PlanSnapshot to = snapshot(row(3L, 2, "40.00"), row(2L, 3, "30.00"), row(1L, 4, "40.00"));
+
+    PlanDiff diff = PlanDiffer.diff(from, to, catalog);
+
+    assertEquals(3, diff.getItems().size());
+    assertItem(diff.getItems().get(0), 1L, 5, 4);
+    assertItem(diff.getItems().get(1), 3L, 0, 2);
+    assertItem(diff.getItems().get(2), 4L, 1, 0);
+    assertEquals(new BigDecimal("20.00"), diff.getGrandTotalValueDelta());
+  }
+
+  @Test
+  void diff_shouldNameRowsFromCatalog_whenProductStillExists() {
+    PlanSnapshot from = snapshot(row(1L, 1, "10.00"), row(4L, 1, "10.00"));
+    PlanSnapshot to = snapshot();
+
+    PlanDiff diff = PlanDiffer.diff(from, to, catalog);
+
+    assertEquals("PROD-1", diff.getItems().get(0).getProductCode());
+    assertEquals("Product 1", diff.getItems().get(0).getProductName());
+    assertNull(diff.getItems().get(1).getProductCode());
+  }
+
+  @Test
+  void diff_shouldReportValueChange_whenQuantityIsUnchanged() {
+    PlanSnapshot from = snapshot(row(1L, 2, "20.00"));
+    PlanSnapshot to = snapshot(row(1L, 2, "24.00"));
+
+    PlanDiff diff = PlanDiffer.diff(from, to, catalog);
+
+    assertEquals(1, diff.getItems().size());
+    assertEquals(new BigDecimal("24.00"), diff.getItems().getFirst().getCurrentTotalValue());
+  }
+
+  @Test
+  void diff_shouldBeEmpty_whenPlansAreEqual() {
+    PlanSnapshot from = snapshot(row(1L, 2, "20.00"), row(2L, 1, "10.00"));
+    PlanSnapshot to = snapshot(row(2L, 1, "10.00"), row(1L, 2, "20.00"));
+
+    PlanDiff diff = PlanDiffer.diff(from, to, catalog);
+
+    assertTrue(diff.getItems().isEmpty());
+    assertEquals(0, BigDecimal.ZERO.compareTo(diff.getGrandTotalValueDelta()));
+  }
+
+  private static void assertItem(PlanDiffItem item, long productId, long previous, long current) {
+    assertEquals(productId, item.getProductId());
+    assertEquals(BigDecimal.valueOf(previous), item.getPreviousQuantity());
+    assertEquals(BigDecimal.valueOf(current), item.getCurrentQuantity());
+  }
+
+  private static PlanSnapshot snapshot(ProductionCapacity... rows) {
+    BigDecimal total =
+        List.of(rows).stream()
+            .map(ProductionCapacity::getTotalValue)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    ProductionPlan plan = new ProductionPlan(List.of(rows), total);
+    plan.setStrategy("price-desc");
+    return PlanSnapshot.of(plan, Instant.now());
+  }
+
+  private static ProductionCapacity row(Long productId, long quantity, String totalValue) {
+    return new ProductionCapacity(
+        productId,
+        "PROD-" + productId,
+        "Product " + productId,
+        BigDecimal.TEN,
+        BigDecimal.valueOf(quantity),
+        new BigDecimal(totalValue));
+  }
+
+  private static Product product(Long id) {
+    Product product = new Product("PROD-" + id, "Product " + id, BigDecimal.TEN);
+    product.setId(id);
+    return product;
+  }
+}
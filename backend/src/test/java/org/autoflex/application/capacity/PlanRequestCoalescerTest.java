@@ -0,0 +1,122 @@
+package org.autoflex.application.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.autoflex.application.dto.CoalescingStats;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.autoflex.domain.ProductionPlan;
+import org.junit.jupiter.api.Test;
+
+class PlanRequestCoalescerTest {
+
+  private final PlanRequestCoalescer coalescer = new PlanRequestCoalescer();
+
+  @Test
+  void execute_shouldShareOneComputation_whenRequestsOverlapForSameVersion() throws Exception {
+    int waiters = 8;
+    CountDownLatch leaderStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger computations = new AtomicInteger();
+    ProductionPlan plan = new ProductionPlan(List.of(), BigDecimal.TEN);
+
+    ExecutorService executor = Executors.newFixedThreadPool(waiters + 1);
+    try {
+      Future<ProductionPlan> leader =
+          executor.submit(
+              () ->
+                  coalescer.execute(
+                      "price-desc",
+                      1L,
+                      () -> {
+                        computations.incrementAndGet();
+                        leaderStarted.countDown();
+                        await(release);
+                        return plan;
+                      }));
+      assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+      List<Future<ProductionPlan>> followers = new ArrayList<>();
+      for (int i = 0; i < waiters; i++) {
+        followers.add(
+            executor.submit(
+                () ->
+                    coalescer.execute(
+                        "price-desc",
+                        1L,
+                        () -> {
+                          computations.incrementAndGet();
+                          return new ProductionPlan();
+                        })));
+      }
+
+      while (coalescer.stats().coalescedRequests() < waiters) {
+        Thread.onSpinWait();
+      }
+      release.countDown();
+
+      assertSame(plan, leader.get(5, TimeUnit.SECONDS));
+      for (Future<ProductionPlan> follower : followers) {
+        assertSame(plan, follower.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    CoalescingStats stats = coalescer.stats();
+    assertEquals(1, computations.get());
+    assertEquals(1, stats.computations());
+    assertEquals(waiters, stats.coalescedRequests());
+    assertTrue(stats.maxWaitMillis() <= stats.totalWaitMillis());
+  }
+
+  @Test
+  void execute_shouldComputeAgain_whenVersionOrStrategyDiffers() {
+    ProductionPlan first = coalescer.execute("price-desc", 1L, ProductionPlan::new);
+    ProductionPlan second = coalescer.execute("price-desc", 2L, ProductionPlan::new);
+    ProductionPlan third = coalescer.execute("optimal", 2L, ProductionPlan::new);
+
+    assertNotSame(first, second);
+    assertNotSame(second, third);
+    assertEquals(3, coalescer.stats().computations());
+    assertEquals(0, coalescer.stats().coalescedRequests());
+  }
+
+  @Test
+  void execute_shouldPropagateFailureAndRelease_whenComputationThrows() {
+    assertThrows(
+        InvalidDataException.class,
+        () ->
+            coalescer.execute(
+                "price-desc",
+                1L,
+                () -> {
+                  throw new InvalidDataException("boom");
+                }));
+
+    ProductionPlan plan = coalescer.execute("price-desc", 1L, ProductionPlan::new);
+
+    assertEquals(BigDecimal.ZERO, plan.getGrandTotalValue());
+    assertEquals(2, coalescer.stats().computations());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package org.autoflex.application.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.autoflex.application.capacity.strategies.OptimalStrategy;
+import org.autoflex.application.capacity.strategies.PriceDescStrategy;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.junit.jupiter.api.Test;
+
+class PlanStrategiesTest {
+
+  @Test
+  void get_shouldReturnStrategyByName() {
+    PriceDescStrategy priceDesc = new PriceDescStrategy();
+    OptimalStrategy optimal = new OptimalStrategy(2000);
+
+    PlanStrategies strategies = PlanStrategies.of(priceDesc, optimal);
+
+    assertSame(priceDesc, strategies.get("price-desc"));
+    assertSame(optimal, strategies.get("optimal"));
+    assertEquals(2, strategies.all().size());
+  }
+
+  @Test
+  void get_shouldThrowInvalidDataException_whenNameIsUnknown() {
+    PlanStrategies strategies = PlanStrategies.of(new PriceDescStrategy());
+
+    assertThrows(InvalidDataException.class, () -> strategies.get("fastest"));
+  }
+
+  @Test
+  void of_shouldRejectDuplicateNames() {
+    assertThrows(
+        IllegalStateException.class,
+        () -> PlanStrategies.of(new PriceDescStrategy(), new PriceDescStrategy()));
+  }
+}
@@ -0,0 +1,116 @@
+package org.autoflex.application.capacity;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.autoflex.application.capacity.strategies.BottleneckValueStrategy;
+import org.autoflex.application.capacity.strategies.OptimalStrategy;
+import org.autoflex.application.capacity.strategies.PriceDescStrategy;
+import org.autoflex.application.capacity.strategies.ValueDensityStrategy;
+import org.autoflex.fixtures.CapacitySnapshotFixture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Runs every plan strategy over generated catalogs and records plan value and latency. Skipped
+ * unless requested: {@code mvn test -Dtest=PlanStrategyBenchmark -Dbenchmark=true}. Results go to
+ * {@code target/benchmarks/plan-strategies.csv}; a per-strategy summary is printed.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PlanStrategyBenchmark {
+
+  private static final int[][] CATALOG_SIZES = {{10, 5}, {50, 15}, {200, 40}, {1000, 100}};
+  private static final int SEEDS = 10;
+  private static final int WARMUP_RUNS = 1;
+  private static final int MEASURED_RUNS = 3;
+
+  @Test
+  void compareStrategies() throws IOException {
+    List<PlanStrategy> strategies =
+        PlanStrategies.of(
+                new PriceDescStrategy(),
+                new BottleneckValueStrategy(),
+                new ValueDensityStrategy(),
+                new OptimalStrategy(2000))
+            .all();
+
+    List<String> rows = new ArrayList<>();
+    rows.add("strategy,products,materials,seed,plan_value,value_vs_best,median_latency_us");
+    Map<String, List<Double>> ratios = new LinkedHashMap<>();
+    Map<String, List<Long>> latencies = new LinkedHashMap<>();
+
+    for (int[] size : CATALOG_SIZES) {
+      for (int seed = 0; seed < SEEDS; seed++) {
+        CapacitySnapshot snapshot =
+            CapacitySnapshotFixture.randomSnapshot(new Random(seed), size[0], size[1]);
+
+        Map<String, BigDecimal> values = new LinkedHashMap<>();
+        Map<String, Long> medians = new LinkedHashMap<>();
+        for (PlanStrategy strategy : strategies) {
+          for (int i = 0; i < WARMUP_RUNS; i++) {
+            strategy.plan(snapshot, ArithmeticMode.FIXED_POINT);
+          }
+
+          long[] runs = new long[MEASURED_RUNS];
+          BigDecimal value = null;
+          for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            value = strategy.plan(snapshot, ArithmeticMode.FIXED_POINT).getGrandTotalValue();
+            runs[i] = (System.nanoTime() - start) / 1_000;
+          }
+          Arrays.sort(runs);
+          values.put(strategy.name(), value);
+          medians.put(strategy.name(), runs[MEASURED_RUNS / 2]);
+        }
+
+        BigDecimal best = values.values().stream().max(BigDecimal::compareTo).orElseThrow();
+        for (PlanStrategy strategy : strategies) {
+          String name = strategy.name();
+          double ratio =
+              best.signum() == 0
+                  ? 1.0
+                  : values.get(name).divide(best, 6, RoundingMode.HALF_UP).doubleValue();
+
+          ratios.computeIfAbsent(name, k -> new ArrayList<>()).add(ratio);
+          latencies.computeIfAbsent(name, k -> new ArrayList<>()).add(medians.get(name));
+          rows.add(
+              String.join(
+                  ",",
+                  name,
+                  String.valueOf(size[0]),
+                  String.valueOf(size[1]),
+                  String.valueOf(seed),
+                  values.get(name).toPlainString(),
+                  String.valueOf(ratio),
+                  String.valueOf(medians.get(name))));
+        }
+      }
+    }
+
+    Path output = Path.of("target", "benchmarks", "plan-strategies.csv");
+    Files.createDirectories(output.getParent());
+    Files.write(output, rows);
+
+    System.out.printf("%-18s %14s %14s %14s%n", "strategy", "mean vs best", "p50 us", "p95 us");
+    for (String name : ratios.keySet()) {
+      double meanRatio =
+          ratios.get(name).stream().mapToDouble(Double::doubleValue).average().orElse(0);
+      long[] sorted = latencies.get(name).stream().mapToLong(Long::longValue).sorted().toArray();
+      System.out.printf(
+          "%-18s %14.4f %14d %14d%n",
+          name,
+          meanRatio,
+          sorted[sorted.length / 2],
+          sorted[(int) Math.ceil(sorted.length * 0.95) - 1]);
+    }
+    System.out.println("Wrote " + output.toAbsolutePath());
+  }
+}
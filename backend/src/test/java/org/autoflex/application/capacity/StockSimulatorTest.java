@@ -0,0 +1,84 @@
+package org.autoflex.application.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.RawMaterial;
+import org.autoflex.fixtures.CapacitySnapshotFixture;
+import org.junit.jupiter.api.Test;
+
+class StockSimulatorTest {
+
+  @Test
+  void run_shouldMatchGreedyPlan_whenStockIsCertain() {
+    CapacitySnapshot snapshot = CapacitySnapshotFixture.randomSnapshot(new Random(3));
+    int[] order = CapacityEngine.snapshotOrder(snapshot);
+    long[] greedy = CapacityEngine.allocateFixedPoint(snapshot, order);
+
+    StockSimulator.Result result =
+        StockSimulator.run(snapshot, order, new double[snapshot.materialCount()], 20, 1L);
+
+    for (int p = 0; p < snapshot.productCount(); p++) {
+      assertEquals(greedy[p], result.unitsAt(p, 5));
+      assertEquals(greedy[p], result.unitsAt(p, 95));
+    }
+    BigDecimal value = CapacityEngine.toPlan(snapshot, greedy).getGrandTotalValue();
+    assertEquals(0, value.compareTo(result.valueAt(50)));
+    assertEquals(0, value.compareTo(result.meanValue()));
+  }
+
+  @Test
+  void run_shouldBeReproducible_forSameSeed() {
+    CapacitySnapshot snapshot = CapacitySnapshotFixture.randomSnapshot(new Random(4));
+    int[] order = CapacityEngine.snapshotOrder(snapshot);
+    double[] deviation = uniform(snapshot.materialCount(), 0.1);
+
+    StockSimulator.Result first = StockSimulator.run(snapshot, order, deviation, 200, 42L);
+    StockSimulator.Result second = StockSimulator.run(snapshot, order, deviation, 200, 42L);
+
+    assertArrayEquals(first.values(), second.values());
+    for (int p = 0; p < snapshot.productCount(); p++) {
+      assertArrayEquals(first.units()[p], second.units()[p]);
+    }
+  }
+
+  @Test
+  void run_shouldSpreadUnitsAroundRecordedStock_whenStockIsUncertain() {
+    Product product = new Product("PROD-1", "Table", new BigDecimal("10.00"));
+    product.setId(1L);
+    RawMaterial wood = new RawMaterial("MAT-1", "Wood", new BigDecimal("100.00"));
+    wood.setId(1L);
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(product),
+            List.of(wood),
+            Map.of(1L, List.of(new ProductRawMaterial(product, wood, BigDecimal.ONE))));
+
+    StockSimulator.Result result =
+        StockSimulator.run(
+            snapshot, CapacityEngine.snapshotOrder(snapshot), new double[] {0.1}, 2000, 7L);
+
+    long low = result.unitsAt(0, 5);
+    long median = result.unitsAt(0, 50);
+    long high = result.unitsAt(0, 95);
+    assertTrue(low < median && median < high);
+    assertTrue(Math.abs(median - 100) <= 2);
+    assertTrue(low >= 80 && high <= 120);
+    assertEquals(0, new BigDecimal(median * 10).compareTo(result.valueAt(50)));
+  }
+
+  private static double[] uniform(int length, double value) {
+    double[] result = new double[length];
+    Arrays.fill(result, value);
+    return result;
+  }
+}
@@ -0,0 +1,77 @@
+package org.autoflex.application.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.ProductionPlan;
+import org.autoflex.domain.RawMaterial;
+import org.autoflex.fixtures.CapacitySnapshotFixture;
+import org.junit.jupiter.api.Test;
+
+class TimePhasedPlannerTest {
+
+  @Test
+  void run_shouldProduceFromArrivals_afterStockRunsOut() {
+    Product product = new Product("PROD-1", "Table", new BigDecimal("10.00"));
+    product.setId(1L);
+    RawMaterial wood = new RawMaterial("MAT-1", "Wood", new BigDecimal("5.00"));
+    wood.setId(1L);
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(product),
+            List.of(wood),
+            Map.of(1L, List.of(new ProductRawMaterial(product, wood, new BigDecimal("2.00")))));
+
+    long[][] arrivals = new long[4][];
+    arrivals[2] = new long[] {300};
+    List<ProductionPlan> plans =
+        TimePhasedPlanner.run(snapshot, CapacityEngine.snapshotOrder(snapshot), arrivals);
+
+    assertEquals(4, plans.size());
+    assertEquals(0, new BigDecimal("2").compareTo(units(plans.get(0))));
+    assertTrue(plans.get(1).getItems().isEmpty());
+    // One unit of wood was left over from the first day and adds to the delivery.
+    assertEquals(0, new BigDecimal("2").compareTo(units(plans.get(2))));
+    RawMaterial limiting = plans.get(2).getItems().getFirst().getLimitingRawMaterial();
+    assertEquals(0, new BigDecimal("4.00").compareTo(limiting.getStockQuantity()));
+    assertTrue(plans.get(3).getItems().isEmpty());
+  }
+
+  @Test
+  void run_shouldMatchIndependentGreedyPasses_overCarriedStock() {
+    Random random = new Random(21);
+    for (int round = 0; round < 50; round++) {
+      CapacitySnapshot snapshot = CapacitySnapshotFixture.randomSnapshot(random);
+      int[] order = CapacityEngine.snapshotOrder(snapshot);
+      long[][] arrivals = new long[10][];
+      for (int period = 1; period < arrivals.length; period++) {
+        if (random.nextInt(3) != 0) continue;
+        arrivals[period] = new long[snapshot.materialCount()];
+        arrivals[period][random.nextInt(snapshot.materialCount())] = random.nextInt(50_000);
+      }
+
+      List<ProductionPlan> plans = TimePhasedPlanner.run(snapshot, order, arrivals);
+
+      long[] stock = snapshot.copyStockUnits();
+      for (int period = 0; period < arrivals.length; period++) {
+        for (int m = 0; arrivals[period] != null && m < stock.length; m++) {
+          stock[m] += arrivals[period][m];
+        }
+        long[] expected = CapacityEngine.allocateFixedPoint(snapshot, order, stock);
+        BigDecimal expectedValue = CapacityEngine.toPlan(snapshot, expected).getGrandTotalValue();
+        assertEquals(0, expectedValue.compareTo(plans.get(period).getGrandTotalValue()));
+      }
+    }
+  }
+
+  private static BigDecimal units(ProductionPlan plan) {
+    return plan.getItems().getFirst().getProducibleQuantity();
+  }
+}
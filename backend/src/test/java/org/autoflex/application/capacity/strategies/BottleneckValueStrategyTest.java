@@ -0,0 +1,77 @@
+package org.autoflex.application.capacity.strategies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.autoflex.application.capacity.ArithmeticMode;
+import org.autoflex.application.capacity.CapacitySnapshot;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.ProductionPlan;
+import org.autoflex.domain.RawMaterial;
+import org.junit.jupiter.api.Test;
+
+class BottleneckValueStrategyTest {
+
+  private final BottleneckValueStrategy strategy = new BottleneckValueStrategy();
+
+  @Test
+  void plan_shouldPreferHigherValuePerBottleneckUnit_overHigherPrice() {
+    Product bulky = product(1L, "100.00");
+    Product compact = product(2L, "30.00");
+    RawMaterial scarce = rawMaterial(1L, "10.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(bulky, compact),
+            List.of(scarce),
+            Map.of(
+                1L, List.of(link(bulky, scarce, "5.00")),
+                2L, List.of(link(compact, scarce, "1.00"))));
+
+    ProductionPlan plan = strategy.plan(snapshot, ArithmeticMode.FIXED_POINT);
+
+    assertEquals(1, plan.getItems().size());
+    assertEquals("PROD-2", plan.getItems().getFirst().getProductCode());
+    assertEquals(0, new BigDecimal("300.00").compareTo(plan.getGrandTotalValue()));
+  }
+
+  @Test
+  void plan_shouldMatchBetweenArithmeticModes() {
+    Product bulky = product(1L, "100.00");
+    Product compact = product(2L, "30.00");
+    RawMaterial scarce = rawMaterial(1L, "10.50");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(bulky, compact),
+            List.of(scarce),
+            Map.of(
+                1L, List.of(link(bulky, scarce, "5.00")),
+                2L, List.of(link(compact, scarce, "1.25"))));
+
+    assertEquals(
+        strategy.plan(snapshot, ArithmeticMode.DECIMAL).getGrandTotalValue(),
+        strategy.plan(snapshot, ArithmeticMode.FIXED_POINT).getGrandTotalValue());
+  }
+
+  private static Product product(Long id, String price) {
+    Product product = new Product("PROD-" + id, "Product " + id, new BigDecimal(price));
+    product.setId(id);
+    return product;
+  }
+
+  private static RawMaterial rawMaterial(Long id, String stockQuantity) {
+    RawMaterial rm = new RawMaterial("RAW-" + id, "Raw " + id, new BigDecimal(stockQuantity));
+    rm.setId(id);
+    return rm;
+  }
+
+  private static ProductRawMaterial link(Product product, RawMaterial rm, String quantity) {
+    return new ProductRawMaterial(product, rm, new BigDecimal(quantity));
+  }
+}
@@ -0,0 +1,79 @@
+package org.autoflex.application.capacity.strategies;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.autoflex.application.capacity.ArithmeticMode;
+import org.autoflex.application.capacity.CapacityEngine;
+import org.autoflex.application.capacity.CapacitySnapshot;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.ProductionPlan;
+import org.autoflex.domain.RawMaterial;
+import org.junit.jupiter.api.Test;
+
+class PriceDescStrategyTest {
+
+  private final PriceDescStrategy strategy = new PriceDescStrategy();
+
+  @Test
+  void allocate_shouldReuseAllocation_whenSnapshotIsUnchanged() {
+    CapacitySnapshot snapshot = catalog();
+
+    CapacityEngine.Allocation first = strategy.allocate(snapshot);
+
+    assertSame(first, strategy.allocate(snapshot));
+  }
+
+  @Test
+  void plan_shouldKeepPrefixAndRecomputeSuffix_whenStockChanges() {
+    CapacitySnapshot snapshot = catalog();
+    strategy.plan(snapshot, ArithmeticMode.FIXED_POINT);
+
+    CapacitySnapshot restocked = snapshot.withStock(1L, 2L, new BigDecimal("9.00"));
+    ProductionPlan plan = strategy.plan(restocked, ArithmeticMode.FIXED_POINT);
+
+    assertArrayEquals(new long[] {5, 3, 0}, strategy.allocate(restocked).units());
+    assertArrayEquals(
+        CapacityEngine.allocate(restocked, ArithmeticMode.DECIMAL),
+        strategy.allocate(restocked).units());
+    assertEquals(0, new BigDecimal("1300.00").compareTo(plan.getGrandTotalValue()));
+  }
+
+  private static CapacitySnapshot catalog() {
+    Product first = product(1L, "200.00");
+    Product second = product(2L, "100.00");
+    Product third = product(3L, "50.00");
+    RawMaterial a = rawMaterial(1L, "10.00");
+    RawMaterial b = rawMaterial(2L, "6.00");
+
+    return CapacitySnapshot.compile(
+        0L,
+        List.of(first, second, third),
+        List.of(a, b),
+        Map.of(
+            1L, List.of(link(first, a, "2.00")),
+            2L, List.of(link(second, b, "3.00")),
+            3L, List.of(link(third, a, "1.00"), link(third, b, "1.00"))));
+  }
+
+  private static Product product(Long id, String price) {
+    Product product = new Product("PROD-" + id, "Product " + id, new BigDecimal(price));
+    product.setId(id);
+    return product;
+  }
+
+  private static RawMaterial rawMaterial(Long id, String stockQuantity) {
+    RawMaterial rm = new RawMaterial("RAW-" + id, "Raw " + id, new BigDecimal(stockQuantity));
+    rm.setId(id);
+    return rm;
+  }
+
+  private static ProductRawMaterial link(Product product, RawMaterial rm, String quantity) {
+    return new ProductRawMaterial(product, rm, new BigDecimal(quantity));
+  }
+}
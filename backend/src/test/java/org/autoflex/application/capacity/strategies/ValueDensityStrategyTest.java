@@ -0,0 +1,82 @@
+package org.autoflex.application.capacity.strategies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.autoflex.application.capacity.ArithmeticMode;
+import org.autoflex.application.capacity.CapacitySnapshot;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.ProductionPlan;
+import org.autoflex.domain.RawMaterial;
+import org.junit.jupiter.api.Test;
+
+class ValueDensityStrategyTest {
+
+  private final ValueDensityStrategy strategy = new ValueDensityStrategy();
+
+  @Test
+  void plan_shouldWeighEveryConsumedMaterial_whenRankingProducts() {
+    Product heavy = product(1L, "100.00");
+    Product light = product(2L, "60.00");
+    RawMaterial a = rawMaterial(1L, "10.00");
+    RawMaterial b = rawMaterial(2L, "100.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(heavy, light),
+            List.of(a, b),
+            Map.of(
+                1L, List.of(link(heavy, a, "1.00"), link(heavy, b, "10.00")),
+                2L, List.of(link(light, b, "1.00"))));
+
+    ProductionPlan density = strategy.plan(snapshot, ArithmeticMode.FIXED_POINT);
+    ProductionPlan bottleneck =
+        new BottleneckValueStrategy().plan(snapshot, ArithmeticMode.FIXED_POINT);
+
+    assertEquals(0, new BigDecimal("6000.00").compareTo(density.getGrandTotalValue()));
+    assertEquals(0, new BigDecimal("1000.00").compareTo(bottleneck.getGrandTotalValue()));
+  }
+
+  @Test
+  void plan_shouldSkipProduct_whenRecipeUsesMaterialWithoutStock() {
+    Product blocked = product(1L, "100.00");
+    Product open = product(2L, "10.00");
+    RawMaterial empty = rawMaterial(1L, "0.00");
+    RawMaterial shared = rawMaterial(2L, "5.00");
+
+    CapacitySnapshot snapshot =
+        CapacitySnapshot.compile(
+            0L,
+            List.of(blocked, open),
+            List.of(empty, shared),
+            Map.of(
+                1L, List.of(link(blocked, empty, "1.00"), link(blocked, shared, "1.00")),
+                2L, List.of(link(open, shared, "1.00"))));
+
+    ProductionPlan plan = strategy.plan(snapshot, ArithmeticMode.FIXED_POINT);
+
+    assertEquals(1, plan.getItems().size());
+    assertTrue(plan.getItems().stream().allMatch(item -> item.getProductId() == 2L));
+  }
+
+  private static Product product(Long id, String price) {
+    Product product = new Product("PROD-" + id, "Product " + id, new BigDecimal(price));
+    product.setId(id);
+    return product;
+  }
+
+  private static RawMaterial rawMaterial(Long id, String stockQuantity) {
+    RawMaterial rm = new RawMaterial("RAW-" + id, "Raw " + id, new BigDecimal(stockQuantity));
+    rm.setId(id);
+    return rm;
+  }
+
+  private static ProductRawMaterial link(Product product, RawMaterial rm, String quantity) {
+    return new ProductRawMaterial(product, rm, new BigDecimal(quantity));
+  }
+}
@@ -0,0 +1,49 @@
+package org.autoflex.application.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import org.autoflex.application.commands.HorizonCommand;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.junit.jupiter.api.Test;
+
+public class HorizonCommandTest {
+
+  @Test
+  void shouldApplyDefaults_whenOptionalFieldsAreMissing() {
+    HorizonCommand cmd = new HorizonCommand(null, null, null);
+
+    assertEquals(LocalDate.now(), cmd.from());
+    assertEquals(HorizonCommand.DEFAULT_PERIODS, cmd.periods());
+    assertEquals(HorizonCommand.DAY, cmd.granularity());
+  }
+
+  @Test
+  void shouldBucketDatesIntoWeeks_whenGranularityIsWeek() {
+    HorizonCommand cmd = new HorizonCommand(LocalDate.of(2026, 1, 5), 4, "WEEK");
+
+    assertEquals(HorizonCommand.WEEK, cmd.granularity());
+    assertEquals(LocalDate.of(2026, 1, 12), cmd.periodStart(1));
+    assertEquals(LocalDate.of(2026, 2, 2), cmd.end());
+    assertEquals(0, cmd.periodOf(LocalDate.of(2026, 1, 11)));
+    assertEquals(1, cmd.periodOf(LocalDate.of(2026, 1, 12)));
+    assertEquals(3, cmd.periodOf(LocalDate.of(2026, 2, 1)));
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenPeriodsAreNotPositive() {
+    assertInvalid("Periods must be greater than zero", () -> new HorizonCommand(null, 0, null));
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenGranularityIsUnknown() {
+    assertInvalid(
+        "Granularity must be day or week", () -> new HorizonCommand(null, 7, "month"));
+  }
+
+  private static void assertInvalid(String message, Runnable action) {
+    InvalidDataException ex = assertThrows(InvalidDataException.class, action::run);
+    assertEquals(message, ex.getMessage());
+  }
+}
@@ -0,0 +1,48 @@
+package org.autoflex.application.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.autoflex.application.commands.PlanCommitCommand;
+import org.autoflex.application.commands.PlanCommitCommand.Item;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.junit.jupiter.api.Test;
+
+public class PlanCommitCommandTest {
+
+  @Test
+  void shouldThrowInvalidDataException_whenStockVersionIsMissing() {
+    assertInvalid("Plan stock version is required", () -> new PlanCommitCommand(null, items()));
+    assertInvalid("Plan stock version is required", () -> new PlanCommitCommand(" ", items()));
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenItemsAreEmpty() {
+    assertInvalid("At least one plan item is required", () -> new PlanCommitCommand("a1", null));
+    assertInvalid(
+        "At least one plan item is required", () -> new PlanCommitCommand("a1", List.of()));
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenProductRepeats() {
+    assertInvalid(
+        "Product 1 appears more than once",
+        () -> new PlanCommitCommand("a1", List.of(new Item(1L, 1), new Item(1L, 2))));
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenQuantityIsNotPositive() {
+    assertInvalid("Quantity must be greater than zero", () -> new Item(1L, 0));
+    assertInvalid("Product id is required", () -> new Item(null, 1));
+  }
+
+  private static List<Item> items() {
+    return List.of(new Item(1L, 1));
+  }
+
+  private static void assertInvalid(String expectedMessage, Runnable action) {
+    InvalidDataException ex = assertThrows(InvalidDataException.class, action::run);
+    assertEquals(expectedMessage, ex.getMessage());
+  }
+}
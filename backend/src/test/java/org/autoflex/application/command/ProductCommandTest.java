@@ -68,6 +68,23 @@ public class ProductCommandTest {
         "Price must be greater than zero");
   }
 
+  @Test
+  void shouldThrowInvalidDataException_whenMaxDemandIsNegative() {
+    InvalidDataException ex =
+        assertThrows(
+            InvalidDataException.class,
+            () ->
+                new ProductCommand(VALID_CODE, VALID_NAME, VALID_PRICE, validRawMaterials(), -1L));
+
+    assertEquals("Max demand cannot be negative", ex.getMessage());
+  }
+
+  @Test
+  void shouldCreateCommand_whenMaxDemandIsZero() {
+    assertDoesNotThrow(
+        () -> new ProductCommand(VALID_CODE, VALID_NAME, VALID_PRICE, validRawMaterials(), 0L));
+  }
+
   @Test
   void shouldCreateCommand_whenRawMaterialsIsNull() {
     assertDoesNotThrow(() -> createCommand(VALID_CODE, VALID_NAME, VALID_PRICE, null));
@@ -128,6 +145,18 @@ public class ProductCommandTest {
         "Raw material item is required");
   }
 
+  @Test
+  void shouldThrowInvalidDataException_whenRawMaterialIdIsRepeated() {
+    assertInvalidCommand(
+        VALID_CODE,
+        VALID_NAME,
+        VALID_PRICE,
+        List.of(
+            new ProductCommand.RawMaterialItem(1L, new BigDecimal("2.00")),
+            new ProductCommand.RawMaterialItem(1L, new BigDecimal("3.00"))),
+        "Raw material 1 appears more than once");
+  }
+
   private static void assertInvalidCommand(
       String code,
       String name,
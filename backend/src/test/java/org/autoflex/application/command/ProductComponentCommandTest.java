@@ -0,0 +1,48 @@
+package org.autoflex.application.command;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import org.autoflex.application.commands.ProductComponentCommand;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.junit.jupiter.api.Test;
+
+public class ProductComponentCommandTest {
+
+  private static final Long VALID_COMPONENT_ID = 1L;
+  private static final BigDecimal VALID_REQUIRED_QUANTITY = new BigDecimal("2.00");
+
+  @Test
+  void shouldThrowInvalidDataException_whenComponentIdIsNull() {
+    assertInvalidCommand(null, VALID_REQUIRED_QUANTITY, "Component id is required");
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenRequiredQuantityIsNull() {
+    assertInvalidCommand(VALID_COMPONENT_ID, null, "Required quantity is required");
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenRequiredQuantityIsZero() {
+    assertInvalidCommand(
+        VALID_COMPONENT_ID, BigDecimal.ZERO, "Required quantity must be greater than zero");
+  }
+
+  @Test
+  void shouldCreateCommand_whenRequiredQuantityIsPositive() {
+    assertDoesNotThrow(
+        () -> new ProductComponentCommand(VALID_COMPONENT_ID, VALID_REQUIRED_QUANTITY));
+  }
+
+  private static void assertInvalidCommand(
+      Long componentId, BigDecimal requiredQuantity, String expectedMessage) {
+    InvalidDataException ex =
+        assertThrows(
+            InvalidDataException.class,
+            () -> new ProductComponentCommand(componentId, requiredQuantity));
+
+    assertEquals(expectedMessage, ex.getMessage());
+  }
+}
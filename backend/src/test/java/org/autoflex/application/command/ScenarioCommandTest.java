@@ -0,0 +1,77 @@
+package org.autoflex.application.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.autoflex.application.commands.ScenarioCommand;
+import org.autoflex.application.commands.ScenarioCommand.PriceOverride;
+import org.autoflex.application.commands.ScenarioCommand.StockOverride;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.junit.jupiter.api.Test;
+
+public class ScenarioCommandTest {
+
+  @Test
+  void shouldDefaultMissingListsToEmpty() {
+    ScenarioCommand command = new ScenarioCommand("baseline", null, null, null);
+
+    assertTrue(command.stockOverrides().isEmpty());
+    assertTrue(command.priceOverrides().isEmpty());
+    assertTrue(command.excludedProductIds().isEmpty());
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenNameIsBlank() {
+    assertInvalidCommand(
+        "Scenario name is required", () -> new ScenarioCommand(" ", null, null, null));
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenStockOverrideHasBothOrNeitherValue() {
+    assertInvalidCommand(
+        "Either stock quantity or stock delta is required",
+        () -> stockScenario(new StockOverride(1L, BigDecimal.ONE, BigDecimal.ONE)));
+    assertInvalidCommand(
+        "Either stock quantity or stock delta is required",
+        () -> stockScenario(new StockOverride(1L, null, null)));
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenStockQuantityIsNegative() {
+    assertInvalidCommand(
+        "Stock quantity cannot be negative",
+        () -> stockScenario(new StockOverride(1L, new BigDecimal("-1.00"), null)));
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenRawMaterialIsOverriddenTwice() {
+    assertInvalidCommand(
+        "Raw material 1 is overridden more than once",
+        () ->
+            stockScenario(
+                new StockOverride(1L, BigDecimal.ONE, null),
+                new StockOverride(1L, null, BigDecimal.ONE)));
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenPriceIsNotPositive() {
+    assertInvalidCommand(
+        "Price must be greater than zero",
+        () ->
+            new ScenarioCommand(
+                "x", null, List.of(new PriceOverride(1L, BigDecimal.ZERO)), null));
+  }
+
+  private static ScenarioCommand stockScenario(StockOverride... overrides) {
+    return new ScenarioCommand("x", List.of(overrides), null, null);
+  }
+
+  private static void assertInvalidCommand(String expectedMessage, Runnable create) {
+    InvalidDataException ex = assertThrows(InvalidDataException.class, create::run);
+
+    assertEquals(expectedMessage, ex.getMessage());
+  }
+}
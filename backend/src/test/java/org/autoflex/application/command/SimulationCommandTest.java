@@ -0,0 +1,61 @@
+package org.autoflex.application.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.autoflex.application.commands.SimulationCommand;
+import org.autoflex.application.commands.SimulationCommand.MaterialDeviation;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.junit.jupiter.api.Test;
+
+public class SimulationCommandTest {
+
+  @Test
+  void shouldApplyDefaults_whenOptionalFieldsAreMissing() {
+    SimulationCommand cmd = new SimulationCommand(null, 7L, null, null, null);
+
+    assertEquals(SimulationCommand.DEFAULT_SAMPLES, cmd.samples());
+    assertEquals(0, BigDecimal.ZERO.compareTo(cmd.defaultDeviation()));
+    assertEquals(List.of(), cmd.materialDeviations());
+    assertEquals(SimulationCommand.DEFAULT_PERCENTILES, cmd.percentiles());
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenSamplesAreNotPositive() {
+    assertInvalid(
+        "Samples must be greater than zero", () -> new SimulationCommand(0, 1L, null, null, null));
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenDeviationIsNegative() {
+    assertInvalid(
+        "Deviation cannot be negative",
+        () -> new SimulationCommand(10, 1L, new BigDecimal("-0.01"), null, null));
+    assertInvalid(
+        "Deviation is required",
+        () -> new SimulationCommand(10, 1L, null, List.of(new MaterialDeviation(1L, null)), null));
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenMaterialRepeats() {
+    MaterialDeviation deviation = new MaterialDeviation(1L, new BigDecimal("0.05"));
+
+    assertInvalid(
+        "Raw material 1 has more than one deviation",
+        () -> new SimulationCommand(10, 1L, null, List.of(deviation, deviation), null));
+  }
+
+  @Test
+  void shouldThrowInvalidDataException_whenPercentileIsOutOfRange() {
+    assertInvalid(
+        "Percentiles must be between 0 and 100",
+        () -> new SimulationCommand(10, 1L, null, null, List.of(50.0, 101.0)));
+  }
+
+  private static void assertInvalid(String message, Runnable action) {
+    InvalidDataException ex = assertThrows(InvalidDataException.class, action::run);
+    assertEquals(message, ex.getMessage());
+  }
+}
@@ -0,0 +1,27 @@
+package org.autoflex.application.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.junit.jupiter.api.Test;
+
+class CountModeTest {
+
+  @Test
+  void from_shouldParseIgnoringCase_whenValueIsKnown() {
+    assertEquals(CountMode.ESTIMATED, CountMode.from("Estimated"));
+    assertEquals(CountMode.NONE, CountMode.from(" none "));
+  }
+
+  @Test
+  void from_shouldDefaultToExact_whenValueIsBlank() {
+    assertEquals(CountMode.EXACT, CountMode.from(null));
+    assertEquals(CountMode.EXACT, CountMode.from(""));
+  }
+
+  @Test
+  void from_shouldThrowInvalidData_whenValueIsUnknown() {
+    assertThrows(InvalidDataException.class, () -> CountMode.from("approximate"));
+  }
+}
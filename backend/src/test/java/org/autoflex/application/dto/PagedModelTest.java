@@ -1,6 +1,8 @@
 package org.autoflex.application.dto;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -14,5 +16,25 @@ class PagedModelTest {
     assertEquals(2, dto.items().size());
     assertEquals(2L, dto.totalElements());
     assertEquals(1, dto.totalPages());
+    assertNull(dto.nextCursor());
+    assertFalse(dto.hasNext());
+  }
+
+  @Test
+  void constructor_shouldKeepNextCursor_whenGiven() {
+    PagedModel<String> dto = new PagedModel<>(List.of("A"), 3L, 3, "abc", true);
+
+    assertEquals("abc", dto.nextCursor());
+  }
+
+  @Test
+  void pageCount_shouldRoundUp_whenTotalIsCounted() {
+    assertEquals(3, PagedModel.pageCount(21L, 10));
+    assertEquals(0, PagedModel.pageCount(0L, 10));
+  }
+
+  @Test
+  void pageCount_shouldStayUncounted_whenTotalIsUncounted() {
+    assertEquals(PagedModel.UNCOUNTED, PagedModel.pageCount(PagedModel.UNCOUNTED, 10));
   }
 }
@@ -1,6 +1,9 @@
 package org.autoflex.application.dto;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -15,4 +18,25 @@ class SearchQueryTest {
     assertEquals("name", dto.sortBy());
     assertEquals("desc", dto.direction());
   }
+
+  @Test
+  void isKeyset_shouldBeFalse_whenNoCursorGiven() {
+    SearchQuery dto = new SearchQuery(0, 10, "name", "asc");
+
+    assertNull(dto.cursor());
+    assertFalse(dto.isKeyset());
+  }
+
+  @Test
+  void isKeyset_shouldBeTrue_whenCursorIsEmpty() {
+    assertTrue(new SearchQuery(0, 10, "name", "asc", "").isKeyset());
+  }
+
+  @Test
+  void constructor_shouldDefaultToExactCount_whenCountModeIsNull() {
+    SearchQuery dto = new SearchQuery(0, 10, "name", "asc", null, null);
+
+    assertEquals(CountMode.EXACT, dto.countMode());
+    assertFalse(dto.fuzzy());
+  }
 }
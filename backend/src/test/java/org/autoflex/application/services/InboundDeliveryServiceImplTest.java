@@ -0,0 +1,107 @@
+package org.autoflex.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.autoflex.application.commands.InboundDeliveryCommand;
+import org.autoflex.application.gateways.InboundDeliveryRepository;
+import org.autoflex.application.gateways.RawMaterialRepository;
+import org.autoflex.common.exceptions.ResourceNotFoundException;
+import org.autoflex.domain.InboundDelivery;
+import org.autoflex.domain.RawMaterial;
+import org.autoflex.fixtures.RawMaterialFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class InboundDeliveryServiceImplTest {
+
+  @Mock InboundDeliveryRepository repository;
+  @Mock RawMaterialRepository rawMaterialRepository;
+
+  @InjectMocks InboundDeliveryServiceImpl service;
+
+  private RawMaterial rawMaterial;
+  private InboundDeliveryCommand cmd;
+
+  @BeforeEach
+  void setUp() {
+    rawMaterial = RawMaterialFixture.createRawMaterial(2L);
+    cmd = new InboundDeliveryCommand(LocalDate.of(2026, 3, 2), new BigDecimal("25.00"));
+  }
+
+  @Test
+  void add_shouldSaveDeliveryForRawMaterial_whenRawMaterialExists() {
+    when(rawMaterialRepository.findById(2L)).thenReturn(Optional.of(rawMaterial));
+    when(repository.save(any(InboundDelivery.class))).thenAnswer(inv -> inv.getArgument(0));
+
+    service.add(2L, cmd);
+
+    ArgumentCaptor<InboundDelivery> captor = ArgumentCaptor.forClass(InboundDelivery.class);
+    verify(repository).save(captor.capture());
+    assertSame(rawMaterial, captor.getValue().getRawMaterial());
+    assertEquals(LocalDate.of(2026, 3, 2), captor.getValue().getExpectedDate());
+    assertEquals(new BigDecimal("25.00"), captor.getValue().getQuantity());
+  }
+
+  @Test
+  void add_shouldThrowResourceNotFound_whenRawMaterialDoesNotExist() {
+    when(rawMaterialRepository.findById(2L)).thenReturn(Optional.empty());
+
+    ResourceNotFoundException ex =
+        assertThrows(ResourceNotFoundException.class, () -> service.add(2L, cmd));
+
+    assertEquals("Raw material with id 2 not found", ex.getMessage());
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void listByRawMaterial_shouldReturnDeliveries_whenRawMaterialExists() {
+    InboundDelivery delivery = delivery(5L);
+    when(rawMaterialRepository.findById(2L)).thenReturn(Optional.of(rawMaterial));
+    when(repository.listByRawMaterial(2L)).thenReturn(List.of(delivery));
+
+    assertEquals(List.of(delivery), service.listByRawMaterial(2L));
+  }
+
+  @Test
+  void remove_shouldDelete_whenDeliveryBelongsToRawMaterial() {
+    when(repository.findById(5L)).thenReturn(Optional.of(delivery(5L)));
+
+    service.remove(2L, 5L);
+
+    verify(repository).delete(5L);
+  }
+
+  @Test
+  void remove_shouldThrowResourceNotFound_whenDeliveryBelongsToAnotherRawMaterial() {
+    when(repository.findById(5L)).thenReturn(Optional.of(delivery(5L)));
+
+    ResourceNotFoundException ex =
+        assertThrows(ResourceNotFoundException.class, () -> service.remove(3L, 5L));
+
+    assertEquals("Delivery 5 not found for Raw Material 3", ex.getMessage());
+    verify(repository, never()).delete(anyLong());
+  }
+
+  private InboundDelivery delivery(Long id) {
+    InboundDelivery delivery = new InboundDelivery(rawMaterial, cmd.expectedDate(), cmd.quantity());
+    delivery.setId(id);
+    return delivery;
+  }
+}
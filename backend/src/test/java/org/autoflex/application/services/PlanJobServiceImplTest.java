@@ -0,0 +1,194 @@
+package org.autoflex.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.autoflex.application.capacity.PlanProgress;
+import org.autoflex.application.capacity.PlanStrategies;
+import org.autoflex.application.capacity.PlanStrategy;
+import org.autoflex.application.dto.PlanJobState;
+import org.autoflex.application.dto.PlanJobStatus;
+import org.autoflex.application.usecases.ProductionCapacityUseCase;
+import org.autoflex.common.exceptions.ConflictException;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.autoflex.common.exceptions.ResourceNotFoundException;
+import org.autoflex.domain.ProductionPlan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PlanJobServiceImplTest {
+
+  private final ProductionCapacityUseCase productionCapacityUseCase =
+      mock(ProductionCapacityUseCase.class);
+  private final PlanStrategies planStrategies = mock(PlanStrategies.class);
+  private final PlanJobServiceImpl service = new PlanJobServiceImpl();
+  private final Instant start = Instant.parse("2026-01-01T08:00:00Z");
+
+  @BeforeEach
+  void setUp() {
+    PlanStrategy optimal = mock(PlanStrategy.class);
+    when(optimal.name()).thenReturn("optimal");
+    when(planStrategies.get("optimal")).thenReturn(optimal);
+
+    service.productionCapacityUseCase = productionCapacityUseCase;
+    service.planStrategies = planStrategies;
+    service.workers = 1;
+    service.queueCapacity = 1;
+    service.resultTtl = Duration.ofMinutes(10);
+    service.clock = Clock.fixed(start, ZoneOffset.UTC);
+    service.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.stop();
+  }
+
+  @Test
+  void submit_shouldRunJobToCompletion() throws InterruptedException {
+    ProductionPlan plan = new ProductionPlan(List.of(), BigDecimal.ZERO);
+    when(productionCapacityUseCase.generateIsolated("optimal")).thenReturn(plan);
+
+    PlanJobStatus submitted = service.submit("optimal");
+    PlanJobStatus finished = awaitFinished(submitted.id());
+
+    assertEquals("optimal", submitted.strategy());
+    assertEquals(PlanJobState.SUCCEEDED, finished.state());
+    assertEquals(1.0, finished.progress());
+    assertSame(plan, finished.plan());
+  }
+
+  @Test
+  void submit_shouldThrowInvalidData_whenStrategyIsUnknown() {
+    when(planStrategies.get("fastest")).thenThrow(new InvalidDataException("Invalid strategy"));
+
+    assertThrows(InvalidDataException.class, () -> service.submit("fastest"));
+  }
+
+  @Test
+  void status_shouldReportProgress_whileJobIsRunning() throws InterruptedException {
+    CountDownLatch reported = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(productionCapacityUseCase.generateIsolated("optimal"))
+        .thenAnswer(
+            i -> {
+              PlanProgress.checkpoint(0.4);
+              reported.countDown();
+              release.await();
+              return new ProductionPlan(List.of(), BigDecimal.ZERO);
+            });
+
+    String id = service.submit("optimal").id();
+    assertTrue(reported.await(5, TimeUnit.SECONDS));
+    PlanJobStatus running = service.status(id);
+    release.countDown();
+
+    assertEquals(PlanJobState.RUNNING, running.state());
+    assertEquals(0.4, running.progress());
+    assertNull(running.plan());
+  }
+
+  @Test
+  void cancel_shouldStopRunningJob_atNextCheckpoint() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    when(productionCapacityUseCase.generateIsolated("optimal"))
+        .thenAnswer(
+            i -> {
+              started.countDown();
+              while (true) {
+                PlanProgress.checkpoint();
+                Thread.onSpinWait();
+              }
+            });
+
+    String id = service.submit("optimal").id();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    PlanJobStatus cancelled = service.cancel(id);
+
+    assertEquals(PlanJobState.CANCELLED, cancelled.state());
+    assertEquals(PlanJobState.CANCELLED, awaitFinished(id).state());
+  }
+
+  @Test
+  void submit_shouldThrowConflict_whenQueueIsFull() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    when(productionCapacityUseCase.generateIsolated("optimal"))
+        .thenAnswer(
+            i -> {
+              release.await();
+              return new ProductionPlan(List.of(), BigDecimal.ZERO);
+            });
+
+    service.submit("optimal");
+    service.submit("optimal");
+
+    assertThrows(ConflictException.class, () -> service.submit("optimal"));
+    release.countDown();
+  }
+
+  @Test
+  void status_shouldReportFailure_whenComputationThrows() throws InterruptedException {
+    when(productionCapacityUseCase.generateIsolated("optimal"))
+        .thenThrow(new IllegalStateException("solver failed"));
+
+    PlanJobStatus finished = awaitFinished(service.submit("optimal").id());
+
+    assertEquals(PlanJobState.FAILED, finished.state());
+    assertEquals("solver failed", finished.error());
+  }
+
+  @Test
+  void status_shouldReportFailure_whenComputationThrowsError() throws InterruptedException {
+    when(productionCapacityUseCase.generateIsolated("optimal"))
+        .thenThrow(new StackOverflowError());
+
+    PlanJobStatus finished = awaitFinished(service.submit("optimal").id());
+
+    assertEquals(PlanJobState.FAILED, finished.state());
+    assertEquals("java.lang.StackOverflowError", finished.error());
+  }
+
+  @Test
+  void status_shouldThrowNotFound_whenResultExpired() throws InterruptedException {
+    when(productionCapacityUseCase.generateIsolated("optimal"))
+        .thenReturn(new ProductionPlan(List.of(), BigDecimal.ZERO));
+    String id = service.submit("optimal").id();
+    awaitFinished(id);
+
+    service.clock = Clock.fixed(start.plus(Duration.ofMinutes(11)), ZoneOffset.UTC);
+
+    assertThrows(ResourceNotFoundException.class, () -> service.status(id));
+  }
+
+  @Test
+  void status_shouldThrowNotFound_whenJobDoesNotExist() {
+    ResourceNotFoundException ex =
+        assertThrows(ResourceNotFoundException.class, () -> service.status("missing"));
+
+    assertEquals("Plan job with id missing not found", ex.getMessage());
+  }
+
+  private PlanJobStatus awaitFinished(String id) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    PlanJobStatus status = service.status(id);
+    while (!status.state().isFinished() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+      status = service.status(id);
+    }
+    return status;
+  }
+}
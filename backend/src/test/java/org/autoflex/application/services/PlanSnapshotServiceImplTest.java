@@ -0,0 +1,121 @@
+package org.autoflex.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.autoflex.application.capacity.CapacitySnapshot;
+import org.autoflex.application.capacity.CapacitySnapshotCache;
+import org.autoflex.application.gateways.PlanSnapshotRepository;
+import org.autoflex.application.usecases.ProductionCapacityUseCase;
+import org.autoflex.common.exceptions.ResourceNotFoundException;
+import org.autoflex.domain.PlanDiff;
+import org.autoflex.domain.PlanSnapshot;
+import org.autoflex.domain.ProductionCapacity;
+import org.autoflex.domain.ProductionPlan;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class PlanSnapshotServiceImplTest {
+
+  @Mock PlanSnapshotRepository repository;
+  @Mock ProductionCapacityUseCase productionCapacityUseCase;
+  @Mock CapacitySnapshotCache snapshotCache;
+
+  @InjectMocks PlanSnapshotServiceImpl service;
+
+  @Test
+  void capture_shouldStorePlanSortedByProductId() {
+    when(productionCapacityUseCase.generate("price-desc"))
+        .thenReturn(plan(7L, row(3L, 1, "30.00"), row(1L, 2, "20.00")));
+    when(repository.save(any(PlanSnapshot.class))).thenAnswer(i -> i.getArgument(0));
+
+    PlanSnapshot result = service.capture("price-desc");
+
+    assertEquals("price-desc", result.getStrategy());
+    assertEquals(7L, result.getDataVersion());
+    assertArrayEquals(new long[] {1L, 3L}, result.getProductIds());
+    assertArrayEquals(new long[] {2L, 1L}, result.getQuantities());
+  }
+
+  @Test
+  void diff_shouldCompareWithLivePlan_whenTargetIsMissing() {
+    PlanSnapshot from = PlanSnapshot.of(plan(1L, row(1L, 2, "20.00")), Instant.now());
+    from.setId(10L);
+    when(repository.findById(10L)).thenReturn(Optional.of(from));
+    when(productionCapacityUseCase.generate("price-desc"))
+        .thenReturn(plan(2L, row(1L, 3, "30.00")));
+    when(snapshotCache.current()).thenReturn(emptyCatalog());
+
+    PlanDiff diff = service.diff(10L, null);
+
+    assertEquals(10L, diff.getFromSnapshotId());
+    assertNull(diff.getToSnapshotId());
+    assertEquals(2L, diff.getToDataVersion());
+    assertEquals(1, diff.getItems().size());
+    assertEquals(new BigDecimal("10.00"), diff.getGrandTotalValueDelta());
+  }
+
+  @Test
+  void diff_shouldCompareStoredSnapshots_whenTargetIsGiven() {
+    PlanSnapshot from = PlanSnapshot.of(plan(1L, row(1L, 2, "20.00")), Instant.now());
+    PlanSnapshot to = PlanSnapshot.of(plan(2L, row(1L, 2, "20.00")), Instant.now());
+    when(repository.findById(10L)).thenReturn(Optional.of(from));
+    when(repository.findById(11L)).thenReturn(Optional.of(to));
+    when(snapshotCache.current()).thenReturn(emptyCatalog());
+
+    PlanDiff diff = service.diff(10L, 11L);
+
+    assertEquals(0, diff.getItems().size());
+    verify(productionCapacityUseCase, never()).generate(any());
+  }
+
+  @Test
+  void diff_shouldThrowNotFound_whenSnapshotDoesNotExist() {
+    when(repository.findById(99L)).thenReturn(Optional.empty());
+
+    ResourceNotFoundException ex =
+        assertThrows(ResourceNotFoundException.class, () -> service.diff(99L, null));
+
+    assertEquals("Plan snapshot with id 99 not found", ex.getMessage());
+  }
+
+  private static CapacitySnapshot emptyCatalog() {
+    return CapacitySnapshot.compile(0L, List.of(), List.of(), Map.of());
+  }
+
+  private static ProductionPlan plan(Long dataVersion, ProductionCapacity... rows) {
+    BigDecimal total =
+        List.of(rows).stream()
+            .map(ProductionCapacity::getTotalValue)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    ProductionPlan plan = new ProductionPlan(List.of(rows), total);
+    plan.setStrategy("price-desc");
+    plan.setDataVersion(dataVersion);
+    return plan;
+  }
+
+  private static ProductionCapacity row(Long productId, long quantity, String totalValue) {
+    return new ProductionCapacity(
+        productId,
+        "PROD-" + productId,
+        "Product " + productId,
+        BigDecimal.TEN,
+        BigDecimal.valueOf(quantity),
+        new BigDecimal(totalValue));
+  }
+}
@@ -0,0 +1,168 @@
+package org.autoflex.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.enterprise.event.Event;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.autoflex.application.commands.ProductComponentCommand;
+import org.autoflex.application.events.CatalogChangedEvent;
+import org.autoflex.application.gateways.ProductComponentRepository;
+import org.autoflex.application.gateways.ProductRepository;
+import org.autoflex.common.exceptions.ConflictException;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.autoflex.common.exceptions.ResourceNotFoundException;
+import org.autoflex.domain.ProductComponent;
+import org.autoflex.fixtures.ProductComponentFixture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductComponentServiceImplTest {
+
+  @Mock ProductComponentRepository repository;
+  @Mock ProductRepository productRepository;
+  @Mock Event<CatalogChangedEvent> catalogChanged;
+
+  @InjectMocks ProductComponentServiceImpl service;
+
+  private final Long productId = 1L;
+  private final Long componentId = 2L;
+  private final ProductComponentCommand cmd =
+      ProductComponentFixture.createCommand(componentId, new BigDecimal("2.00"));
+
+  @Test
+  void add_shouldCreateLine_whenValidRequest() {
+    givenProducts();
+    when(repository.findByProductAndComponent(productId, componentId))
+        .thenReturn(Optional.empty());
+    when(repository.listAllGroupedByProduct()).thenReturn(Map.of());
+    when(repository.save(any(ProductComponent.class))).thenAnswer(i -> i.getArgument(0));
+
+    ProductComponent result = service.add(productId, cmd);
+
+    assertEquals(productId, result.getProduct().getId());
+    assertEquals(componentId, result.getComponent().getId());
+    assertEquals(0, cmd.requiredQuantity().compareTo(result.getRequiredQuantity()));
+    verify(catalogChanged).fire(CatalogChangedEvent.component(productId, componentId));
+  }
+
+  @Test
+  void add_shouldThrowResourceNotFoundException_whenComponentNotExists() {
+    when(productRepository.findById(productId))
+        .thenReturn(Optional.of(ProductComponentFixture.createProduct(productId)));
+    when(productRepository.findById(componentId)).thenReturn(Optional.empty());
+
+    ResourceNotFoundException ex =
+        assertThrows(ResourceNotFoundException.class, () -> service.add(productId, cmd));
+
+    assertEquals("Product with id 2 not found", ex.getMessage());
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void add_shouldThrowConflictException_whenLineAlreadyExists() {
+    givenProducts();
+    when(repository.findByProductAndComponent(productId, componentId))
+        .thenReturn(
+            Optional.of(
+                ProductComponentFixture.createLine(
+                    10L, productId, componentId, new BigDecimal("1.00"))));
+
+    ConflictException ex = assertThrows(ConflictException.class, () -> service.add(productId, cmd));
+
+    assertEquals("Component already linked to product", ex.getMessage());
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void add_shouldThrowInvalidDataException_whenProductIsItsOwnComponent() {
+    when(productRepository.findById(productId))
+        .thenReturn(Optional.of(ProductComponentFixture.createProduct(productId)));
+    when(repository.findByProductAndComponent(productId, productId)).thenReturn(Optional.empty());
+
+    ProductComponentCommand self =
+        ProductComponentFixture.createCommand(productId, new BigDecimal("1.00"));
+    InvalidDataException ex =
+        assertThrows(InvalidDataException.class, () -> service.add(productId, self));
+
+    assertEquals("Component would create a cycle in the bill of materials", ex.getMessage());
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void add_shouldThrowInvalidDataException_whenComponentIsBuiltFromProduct() {
+    givenProducts();
+    when(repository.findByProductAndComponent(productId, componentId))
+        .thenReturn(Optional.empty());
+    // 2 uses 3, and 3 uses 1: adding 2 to 1 would close the loop.
+    when(repository.listAllGroupedByProduct())
+        .thenReturn(
+            Map.of(
+                2L,
+                List.of(ProductComponentFixture.createLine(10L, 2L, 3L, BigDecimal.ONE)),
+                3L,
+                List.of(ProductComponentFixture.createLine(11L, 3L, 1L, BigDecimal.ONE))));
+
+    assertThrows(InvalidDataException.class, () -> service.add(productId, cmd));
+    verify(repository, never()).save(any());
+    verify(catalogChanged, never()).fire(any());
+  }
+
+  @Test
+  void updateRequiredQuantity_shouldSaveAndNotify_whenLineExists() {
+    ProductComponent line =
+        ProductComponentFixture.createLine(10L, productId, componentId, new BigDecimal("1.00"));
+    when(repository.findByProductAndComponent(productId, componentId))
+        .thenReturn(Optional.of(line));
+    when(repository.save(line)).thenReturn(line);
+
+    ProductComponent result = service.updateRequiredQuantity(productId, componentId, cmd);
+
+    assertEquals(0, new BigDecimal("2.00").compareTo(result.getRequiredQuantity()));
+    verify(catalogChanged).fire(CatalogChangedEvent.component(productId, componentId));
+  }
+
+  @Test
+  void remove_shouldThrowResourceNotFoundException_whenLineNotExists() {
+    when(repository.findByProductAndComponent(productId, componentId))
+        .thenReturn(Optional.empty());
+
+    ResourceNotFoundException ex =
+        assertThrows(
+            ResourceNotFoundException.class, () -> service.remove(productId, componentId));
+
+    assertEquals("Association not found between Product 1 and Component 2", ex.getMessage());
+    verify(repository, never()).delete(any());
+  }
+
+  @Test
+  void remove_shouldDeleteAndNotify_whenLineExists() {
+    ProductComponent line =
+        ProductComponentFixture.createLine(10L, productId, componentId, new BigDecimal("1.00"));
+    when(repository.findByProductAndComponent(productId, componentId))
+        .thenReturn(Optional.of(line));
+
+    service.remove(productId, componentId);
+
+    verify(repository).delete(10L);
+    verify(catalogChanged).fire(CatalogChangedEvent.component(productId, componentId));
+  }
+
+  private void givenProducts() {
+    when(productRepository.findById(productId))
+        .thenReturn(Optional.of(ProductComponentFixture.createProduct(productId)));
+    when(productRepository.findById(componentId))
+        .thenReturn(Optional.of(ProductComponentFixture.createProduct(componentId)));
+  }
+}
@@ -9,10 +9,12 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import jakarta.enterprise.event.Event;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import org.autoflex.application.commands.ProductRawMaterialCommand;
+import org.autoflex.application.events.CatalogChangedEvent;
 import org.autoflex.application.gateways.ProductRawMaterialRepository;
 import org.autoflex.application.gateways.ProductRepository;
 import org.autoflex.application.gateways.RawMaterialRepository;
@@ -35,6 +37,7 @@ public class ProductRawMaterialServiceImplTest {
   @Mock ProductRawMaterialRepository repository;
   @Mock ProductRepository productRepository;
   @Mock RawMaterialRepository rawMaterialRepository;
+  @Mock Event<CatalogChangedEvent> catalogChanged;
 
   @InjectMocks ProductRawMaterialServiceImpl service;
 
@@ -68,6 +71,7 @@ public class ProductRawMaterialServiceImplTest {
     assertEquals(rawMaterialId, result.getRawMaterial().getId());
     assertEquals(0, cmd.requiredQuantity().compareTo(result.getRequiredQuantity()));
     verify(repository).save(any(ProductRawMaterial.class));
+    verify(catalogChanged).fire(CatalogChangedEvent.recipe(productId, rawMaterialId));
   }
 
   @Test
@@ -168,6 +172,7 @@ public class ProductRawMaterialServiceImplTest {
     assertNotNull(result);
     assertEquals(0, new BigDecimal("15.00").compareTo(result.getRequiredQuantity()));
     verify(repository).save(existing);
+    verify(catalogChanged).fire(CatalogChangedEvent.recipe(productId, rawMaterialId));
   }
 
   @Test
@@ -195,6 +200,7 @@ public class ProductRawMaterialServiceImplTest {
     service.remove(productId, rawMaterialId);
 
     verify(repository).delete(1L);
+    verify(catalogChanged).fire(CatalogChangedEvent.recipe(productId, rawMaterialId));
   }
 
   @Test
@@ -8,12 +8,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import jakarta.enterprise.event.Event;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import org.autoflex.application.commands.ProductCommand;
 import org.autoflex.application.dto.PagedModel;
 import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.application.events.CatalogChangedEvent;
 import org.autoflex.application.gateways.ProductRepository;
 import org.autoflex.application.gateways.RawMaterialRepository;
 import org.autoflex.common.exceptions.ConflictException;
@@ -36,6 +38,7 @@ public class ProductServiceImplTest {
 
   @Mock ProductRepository productRepository;
   @Mock RawMaterialRepository rawMaterialRepository;
+  @Mock Event<CatalogChangedEvent> catalogChanged;
 
   @InjectMocks ProductServiceImpl productService;
 
@@ -68,6 +71,7 @@ public class ProductServiceImplTest {
     assertEquals(0, item.getRequiredQuantity().compareTo(new BigDecimal("150.00")));
 
     verify(productRepository).save(any(Product.class));
+    verify(catalogChanged).fire(any(CatalogChangedEvent.class));
   }
 
   @Test
@@ -148,6 +152,7 @@ public class ProductServiceImplTest {
     assertEquals(0, item.getRequiredQuantity().compareTo(new BigDecimal("150.00")));
 
     verify(productRepository).save(existing);
+    verify(catalogChanged).fire(CatalogChangedEvent.product(existingId));
   }
 
   @Test
@@ -224,6 +229,26 @@ public class ProductServiceImplTest {
     verifyNoInteractions(rawMaterialRepository);
   }
 
+  @Test
+  void update_shouldKeepExistingLink_whenRawMaterialIsAlreadyInRecipe() {
+    Product existing = ProductFixture.createProduct();
+    existing.setId(existingId);
+    existing.addRawMaterial(rm, new BigDecimal("10.00"));
+    existing.addRawMaterial(RawMaterialFixture.createRawMaterial(2L), new BigDecimal("5.00"));
+    ProductRawMaterial link = existing.getRawMaterials().getFirst();
+
+    when(productRepository.findById(existingId)).thenReturn(Optional.of(existing));
+    when(productRepository.findByCode(cmd.code())).thenReturn(Optional.empty());
+    when(productRepository.save(any(Product.class))).thenAnswer(i -> i.getArgument(0));
+
+    Product result = productService.update(existingId, cmd);
+
+    assertEquals(1, result.getRawMaterials().size());
+    assertSame(link, result.getRawMaterials().getFirst());
+    assertEquals(0, link.getRequiredQuantity().compareTo(new BigDecimal("150.00")));
+    verifyNoInteractions(rawMaterialRepository);
+  }
+
   @Test
   void update_shouldUpdateProduct_whenRawMaterialNotExist() {
     Product existing = ProductFixture.createProduct();
@@ -252,6 +277,7 @@ public class ProductServiceImplTest {
 
     verify(productRepository).findById(existingId);
     verify(productRepository).delete(existingId);
+    verify(catalogChanged).fire(CatalogChangedEvent.product(existingId));
   }
 
   @Test
@@ -2,18 +2,54 @@ package org.autoflex.application.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.never;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Event;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import org.autoflex.application.capacity.CapacitySnapshot;
+import org.autoflex.application.capacity.CapacitySnapshotCache;
+import org.autoflex.application.capacity.PlanRequestCoalescer;
+import org.autoflex.application.capacity.PlanStrategies;
+import org.autoflex.application.capacity.strategies.BottleneckValueStrategy;
+import org.autoflex.application.capacity.strategies.OptimalStrategy;
+import org.autoflex.application.capacity.strategies.PriceDescStrategy;
+import org.autoflex.application.capacity.strategies.ValueDensityStrategy;
+import org.autoflex.application.commands.HorizonCommand;
+import org.autoflex.application.commands.PlanCommitCommand;
+import org.autoflex.application.commands.ScenarioCommand;
+import org.autoflex.application.commands.SimulationCommand;
+import org.autoflex.application.commands.SimulationCommand.MaterialDeviation;
+import org.autoflex.application.commands.ScenarioCommand.PriceOverride;
+import org.autoflex.application.commands.ScenarioCommand.StockOverride;
+import org.autoflex.application.dto.PagedModel;
+import org.autoflex.application.dto.ScenarioResult;
+import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.application.dto.SimulationResult;
+import org.autoflex.application.dto.StockConsumption;
+import org.autoflex.application.dto.TimePhasedPlan;
+import org.autoflex.application.events.CatalogChangedEvent;
+import org.autoflex.application.gateways.InboundDeliveryRepository;
 import org.autoflex.application.gateways.ProductRawMaterialRepository;
-import org.autoflex.application.gateways.ProductRepository;
 import org.autoflex.application.gateways.RawMaterialRepository;
+import org.autoflex.common.exceptions.ConflictException;
+import org.autoflex.common.exceptions.InvalidDataException;
+import org.autoflex.common.exceptions.ResourceNotFoundException;
+import org.autoflex.domain.InboundDelivery;
 import org.autoflex.domain.Product;
 import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.ProductionCapacity;
 import org.autoflex.domain.ProductionPlan;
 import org.autoflex.domain.RawMaterial;
 import org.autoflex.fixtures.ProductRawMaterialFixture;
@@ -22,39 +58,50 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 public class ProductionCapacityImplTest {
 
-  @Mock ProductRepository productRepository;
-  @Mock RawMaterialRepository rawMaterialRepository;
+  @Mock CapacitySnapshotCache snapshotCache;
+
   @Mock ProductRawMaterialRepository productRawMaterialRepository;
 
+  @Mock RawMaterialRepository rawMaterialRepository;
+
+  @Mock InboundDeliveryRepository inboundDeliveryRepository;
+
+  @Mock Event<CatalogChangedEvent> catalogChanged;
+
+  @Spy
+  PlanStrategies planStrategies =
+      PlanStrategies.of(
+          new PriceDescStrategy(),
+          new BottleneckValueStrategy(),
+          new ValueDensityStrategy(),
+          new OptimalStrategy(2000));
+
+  @Spy PlanRequestCoalescer coalescer = new PlanRequestCoalescer();
+
   @InjectMocks ProductionCapacityImpl productionCapacity;
 
   @Test
   void generate_shouldReturnEmptyPlan_whenNoProducts() {
-    when(rawMaterialRepository.listAllRawMaterials()).thenReturn(List.of());
-    when(productRepository.findAllOrderedByPriceDesc()).thenReturn(List.of());
+    givenCatalog(List.of(), List.of(), Map.of());
 
     ProductionPlan result = productionCapacity.generate();
 
     assertNotNull(result);
     assertTrue(result.getItems().isEmpty());
     assertEquals(0, BigDecimal.ZERO.compareTo(result.getGrandTotalValue()));
-    verify(productRawMaterialRepository, never())
-        .listByProduct(org.mockito.ArgumentMatchers.anyLong());
   }
 
   @Test
   void generate_shouldSkipProduct_whenRecipeIsEmpty() {
     Product product = createProduct(1L, "PROD-001", "Table", "100.00");
 
-    when(rawMaterialRepository.listAllRawMaterials())
-        .thenReturn(List.of(createRawMaterial(1L, "100.00")));
-    when(productRepository.findAllOrderedByPriceDesc()).thenReturn(List.of(product));
-    when(productRawMaterialRepository.listByProduct(1L)).thenReturn(List.of());
+    givenCatalog(List.of(product), List.of(createRawMaterial(1L, "100.00")), Map.of());
 
     ProductionPlan result = productionCapacity.generate();
 
@@ -73,9 +120,7 @@ public class ProductionCapacityImplTest {
     List<ProductRawMaterial> recipe =
         List.of(createLink(1L, product, rm1, "2.00"), createLink(2L, product, rm2, "4.00"));
 
-    when(rawMaterialRepository.listAllRawMaterials()).thenReturn(List.of(rm1, rm2));
-    when(productRepository.findAllOrderedByPriceDesc()).thenReturn(List.of(product));
-    when(productRawMaterialRepository.listByProduct(1L)).thenReturn(recipe);
+    givenCatalog(List.of(product), List.of(rm1, rm2), Map.of(1L, recipe));
 
     ProductionPlan result = productionCapacity.generate();
 
@@ -94,9 +139,7 @@ public class ProductionCapacityImplTest {
 
     List<ProductRawMaterial> recipe = List.of(createLink(1L, product, rm, "0.00"));
 
-    when(rawMaterialRepository.listAllRawMaterials()).thenReturn(List.of(rm));
-    when(productRepository.findAllOrderedByPriceDesc()).thenReturn(List.of(product));
-    when(productRawMaterialRepository.listByProduct(1L)).thenReturn(recipe);
+    givenCatalog(List.of(product), List.of(rm), Map.of(1L, recipe));
 
     ProductionPlan result = productionCapacity.generate();
 
@@ -114,10 +157,8 @@ public class ProductionCapacityImplTest {
     List<ProductRawMaterial> recipeA = List.of(createLink(1L, expensive, shared, "4.00"));
     List<ProductRawMaterial> recipeB = List.of(createLink(2L, cheaper, shared, "2.00"));
 
-    when(rawMaterialRepository.listAllRawMaterials()).thenReturn(List.of(shared));
-    when(productRepository.findAllOrderedByPriceDesc()).thenReturn(List.of(expensive, cheaper));
-    when(productRawMaterialRepository.listByProduct(1L)).thenReturn(recipeA);
-    when(productRawMaterialRepository.listByProduct(2L)).thenReturn(recipeB);
+    givenCatalog(
+        List.of(expensive, cheaper), List.of(shared), Map.of(1L, recipeA, 2L, recipeB));
 
     ProductionPlan result = productionCapacity.generate();
 
@@ -129,6 +170,344 @@ public class ProductionCapacityImplTest {
     assertEquals(0, new BigDecimal("250.00").compareTo(result.getGrandTotalValue()));
   }
 
+  @Test
+  void generate_shouldAddMarginalValues_onlyWhenRequested() {
+    givenSharedMaterialCatalog();
+
+    ProductionPlan plain = productionCapacity.generate("price-desc");
+    ProductionPlan analyzed = productionCapacity.generate("price-desc", true);
+
+    assertNull(plain.getMarginalValues());
+    assertEquals(1L, plain.getItems().getFirst().getLimitingRawMaterial().getId());
+    assertEquals(1, analyzed.getMarginalValues().size());
+    // Stock 10 -> 11: A still builds 2 (8 used), leaving 3 instead of 2, so B builds 1 either way.
+    assertEquals(
+        0, BigDecimal.ZERO.compareTo(analyzed.getMarginalValues().getFirst().getMarginalValue()));
+  }
+
+  @Test
+  void generate_shouldBeatGreedy_whenStrategyIsOptimal() {
+    Product expensive = createProduct(1L, "PROD-A", "Expensive", "100.00");
+    Product cheaper = createProduct(2L, "PROD-B", "Cheaper", "60.00");
+
+    RawMaterial shared = createRawMaterial(1L, "10.00");
+
+    List<ProductRawMaterial> recipeA = List.of(createLink(1L, expensive, shared, "4.00"));
+    List<ProductRawMaterial> recipeB = List.of(createLink(2L, cheaper, shared, "2.00"));
+
+    givenCatalog(
+        List.of(expensive, cheaper), List.of(shared), Map.of(1L, recipeA, 2L, recipeB));
+
+    ProductionPlan greedy = productionCapacity.generate("price-desc");
+    ProductionPlan optimal = productionCapacity.generate("optimal");
+
+    assertEquals(0, new BigDecimal("260.00").compareTo(greedy.getGrandTotalValue()));
+    assertEquals("price-desc", greedy.getStrategy());
+    assertNull(greedy.getOptimalityGap());
+
+    assertEquals(0, new BigDecimal("300.00").compareTo(optimal.getGrandTotalValue()));
+    assertEquals(1, optimal.getItems().size());
+    assertEquals("PROD-B", optimal.getItems().getFirst().getProductCode());
+    assertEquals("optimal", optimal.getStrategy());
+    assertEquals(0, BigDecimal.ZERO.compareTo(optimal.getOptimalityGap()));
+    assertNotNull(optimal.getSolveTimeMillis());
+  }
+
+  @Test
+  void openStream_shouldEmitPlanItemsAndReturnTotals() {
+    Product expensive = createProduct(1L, "PROD-A", "Expensive", "100.00");
+    Product cheaper = createProduct(2L, "PROD-B", "Cheaper", "50.00");
+
+    RawMaterial shared = createRawMaterial(1L, "10.00");
+
+    List<ProductRawMaterial> recipeA = List.of(createLink(1L, expensive, shared, "4.00"));
+    List<ProductRawMaterial> recipeB = List.of(createLink(2L, cheaper, shared, "2.00"));
+
+    givenCatalog(
+        List.of(expensive, cheaper), List.of(shared), Map.of(1L, recipeA, 2L, recipeB));
+
+    List<ProductionCapacity> emitted = new ArrayList<>();
+    ProductionPlan totals = productionCapacity.openStream("price-desc").writeTo(emitted::add);
+
+    assertEquals(2, emitted.size());
+    assertEquals("PROD-A", emitted.get(0).getProductCode());
+    assertEquals("PROD-B", emitted.get(1).getProductCode());
+    assertTrue(totals.getItems().isEmpty());
+    assertEquals("price-desc", totals.getStrategy());
+    assertEquals(0, new BigDecimal("250.00").compareTo(totals.getGrandTotalValue()));
+  }
+
+  @Test
+  void openStream_shouldThrowBeforeComputing_whenStrategyIsUnknown() {
+    assertThrows(InvalidDataException.class, () -> productionCapacity.openStream("fastest"));
+  }
+
+  @Test
+  void generate_shouldThrowInvalidDataException_whenStrategyIsUnknown() {
+    assertThrows(InvalidDataException.class, () -> productionCapacity.generate("fastest"));
+  }
+
+  @Test
+  void evaluateScenarios_shouldPlanEachScenarioAgainstSameSnapshot_inRequestOrder() {
+    givenSharedMaterialCatalog();
+    productionCapacity.maxScenarios = 10;
+
+    List<ScenarioResult> results =
+        productionCapacity.evaluateScenarios(
+            "price-desc",
+            List.of(
+                new ScenarioCommand("baseline", null, null, null),
+                new ScenarioCommand(
+                    "more-stock",
+                    List.of(new StockOverride(1L, null, new BigDecimal("10.00"))),
+                    null,
+                    null),
+                new ScenarioCommand(
+                    "reprice",
+                    null,
+                    List.of(new PriceOverride(2L, new BigDecimal("250.00"))),
+                    null),
+                new ScenarioCommand("drop-a", null, null, List.of(1L))));
+
+    assertEquals(
+        List.of("baseline", "more-stock", "reprice", "drop-a"),
+        results.stream().map(ScenarioResult::name).toList());
+    assertEquals(0, new BigDecimal("250.00").compareTo(total(results.get(0))));
+    assertEquals(0, new BigDecimal("500.00").compareTo(total(results.get(1))));
+    assertEquals(0, new BigDecimal("1250.00").compareTo(total(results.get(2))));
+    assertEquals("PROD-B", results.get(2).plan().getItems().getFirst().getProductCode());
+    assertEquals(0, new BigDecimal("250.00").compareTo(total(results.get(3))));
+    assertEquals(1, results.get(3).plan().getItems().size());
+
+    ProductionPlan real = productionCapacity.generate();
+    assertEquals(0, new BigDecimal("250.00").compareTo(real.getGrandTotalValue()));
+    assertEquals("PROD-A", real.getItems().getFirst().getProductCode());
+  }
+
+  @Test
+  void evaluateScenarios_shouldThrowResourceNotFoundException_whenIdIsUnknown() {
+    givenSharedMaterialCatalog();
+    productionCapacity.maxScenarios = 10;
+
+    List<ScenarioCommand> unknownMaterial =
+        List.of(
+            new ScenarioCommand(
+                "x", List.of(new StockOverride(9L, BigDecimal.ONE, null)), null, null));
+    List<ScenarioCommand> unknownProduct =
+        List.of(new ScenarioCommand("y", null, null, List.of(9L)));
+
+    assertThrows(
+        ResourceNotFoundException.class,
+        () -> productionCapacity.evaluateScenarios("price-desc", unknownMaterial));
+    assertThrows(
+        ResourceNotFoundException.class,
+        () -> productionCapacity.evaluateScenarios("price-desc", unknownProduct));
+  }
+
+  @Test
+  void evaluateScenarios_shouldThrowInvalidDataException_whenStockGoesNegativeOrTooMany() {
+    givenSharedMaterialCatalog();
+    productionCapacity.maxScenarios = 1;
+
+    List<ScenarioCommand> negative =
+        List.of(
+            new ScenarioCommand(
+                "x", List.of(new StockOverride(1L, null, new BigDecimal("-20.00"))), null, null));
+    List<ScenarioCommand> tooMany =
+        List.of(
+            new ScenarioCommand("a", null, null, null), new ScenarioCommand("b", null, null, null));
+
+    assertThrows(
+        InvalidDataException.class,
+        () -> productionCapacity.evaluateScenarios("price-desc", negative));
+    assertThrows(
+        InvalidDataException.class,
+        () -> productionCapacity.evaluateScenarios("price-desc", tooMany));
+  }
+
+  @Test
+  void simulate_shouldReturnPercentileBands_forUncertainMaterial() {
+    givenSharedMaterialCatalog();
+    productionCapacity.maxSimulationSamples = 1000;
+    productionCapacity.maxSimulationCells = 1000;
+
+    SimulationResult result =
+        productionCapacity.simulate(
+            "price-desc",
+            new SimulationCommand(
+                500,
+                11L,
+                null,
+                List.of(new MaterialDeviation(1L, new BigDecimal("0.20"))),
+                List.of(5.0, 50.0, 95.0)));
+
+    assertEquals("price-desc", result.strategy());
+    assertEquals(500, result.samples());
+    assertEquals(11L, result.seed());
+    assertEquals("PROD-A", result.items().getFirst().productCode());
+    List<BigDecimal> bands = result.totalValue();
+    assertTrue(bands.get(0).compareTo(bands.get(1)) <= 0);
+    assertTrue(bands.get(1).compareTo(bands.get(2)) <= 0);
+    assertTrue(bands.get(0).compareTo(bands.get(2)) < 0);
+  }
+
+  @Test
+  void simulate_shouldThrow_whenMaterialIsUnknownOrTooManySamples() {
+    givenSharedMaterialCatalog();
+    productionCapacity.maxSimulationSamples = 100;
+    productionCapacity.maxSimulationCells = 1000;
+
+    SimulationCommand unknownMaterial =
+        new SimulationCommand(
+            10, 1L, null, List.of(new MaterialDeviation(9L, new BigDecimal("0.05"))), null);
+    SimulationCommand tooMany = new SimulationCommand(101, 1L, null, null, null);
+
+    assertThrows(
+        ResourceNotFoundException.class,
+        () -> productionCapacity.simulate("price-desc", unknownMaterial));
+    assertThrows(
+        InvalidDataException.class, () -> productionCapacity.simulate("price-desc", tooMany));
+  }
+
+  @Test
+  void simulate_shouldThrow_whenProductsTimesSamplesExceedCellLimit() {
+    givenSharedMaterialCatalog();
+    productionCapacity.maxSimulationSamples = 1000;
+    productionCapacity.maxSimulationCells = 1000;
+
+    SimulationCommand tooLarge = new SimulationCommand(501, 1L, null, null, null);
+
+    InvalidDataException ex =
+        assertThrows(
+            InvalidDataException.class, () -> productionCapacity.simulate("price-desc", tooLarge));
+    assertEquals("At most 500 samples are allowed for 2 producible products", ex.getMessage());
+  }
+
+  @Test
+  void horizon_shouldPlanEachDayFromLeftoverStockAndDeliveries() {
+    givenSharedMaterialCatalog();
+    productionCapacity.maxHorizonPeriods = 30;
+    LocalDate from = LocalDate.of(2026, 3, 2);
+    RawMaterial shared = createRawMaterial(1L, "10.00");
+    RawMaterial unused = createRawMaterial(9L, "0.00");
+    when(inboundDeliveryRepository.listExpectedBetween(from, from.plusDays(3)))
+        .thenReturn(
+            List.of(
+                new InboundDelivery(shared, from.plusDays(2), new BigDecimal("8.00")),
+                new InboundDelivery(unused, from.plusDays(1), new BigDecimal("5.00"))));
+
+    TimePhasedPlan result =
+        productionCapacity.horizon("price-desc", new HorizonCommand(from, 3, "day"));
+
+    assertEquals("day", result.granularity());
+    assertEquals(3, result.periods().size());
+    assertEquals(from.plusDays(2), result.periods().get(2).startDate());
+    assertEquals(from.plusDays(2), result.periods().get(2).endDate());
+    assertEquals(
+        0, new BigDecimal("250.00").compareTo(result.periods().get(0).plan().getGrandTotalValue()));
+    assertTrue(result.periods().get(1).plan().getItems().isEmpty());
+    assertEquals(
+        0, new BigDecimal("200.00").compareTo(result.periods().get(2).plan().getGrandTotalValue()));
+    assertEquals(0, new BigDecimal("450.00").compareTo(result.grandTotalValue()));
+  }
+
+  @Test
+  void horizon_shouldThrow_whenTooManyPeriods() {
+    productionCapacity.maxHorizonPeriods = 7;
+
+    assertThrows(
+        InvalidDataException.class,
+        () -> productionCapacity.horizon("price-desc", new HorizonCommand(null, 8, "day")));
+    verifyNoInteractions(inboundDeliveryRepository);
+  }
+
+  @Test
+  void independentCapacity_shouldDelegateToRepository() {
+    SearchQuery query = new SearchQuery(0, 10, "producibleQuantity", "desc");
+    PagedModel<ProductionCapacity> page =
+        new PagedModel<>(
+            List.of(
+                new ProductionCapacity(
+                    1L,
+                    "PROD-A",
+                    "A",
+                    new BigDecimal("100.00"),
+                    new BigDecimal("5"),
+                    new BigDecimal("500.00"))),
+            1,
+            1);
+    when(productRawMaterialRepository.findIndependentCapacity(query)).thenReturn(page);
+
+    assertSame(page, productionCapacity.independentCapacity(query));
+  }
+
+  @Test
+  void commit_shouldConsumeStockOfEveryPlannedProductInOneCall() {
+    givenSharedMaterialCatalog();
+    when(rawMaterialRepository.consumeStock(
+            Map.of(1L, new BigDecimal("8.00")), Map.of(1L, new BigDecimal("10.00"))))
+        .thenReturn(1);
+
+    List<StockConsumption> result =
+        productionCapacity.commit(
+            new PlanCommitCommand(
+                stockVersion(),
+                List.of(new PlanCommitCommand.Item(1L, 1), new PlanCommitCommand.Item(2L, 2))));
+
+    assertEquals(1, result.size());
+    assertEquals(0, new BigDecimal("8.00").compareTo(result.getFirst().consumedQuantity()));
+    assertEquals(0, new BigDecimal("2.00").compareTo(result.getFirst().stockQuantity()));
+    verify(catalogChanged).fire(CatalogChangedEvent.rawMaterial(1L));
+  }
+
+  @Test
+  void commit_shouldThrowConflictException_whenStockChangedAfterPlanWasComputed() {
+    givenSharedMaterialCatalog();
+    String planned =
+        snapshotCache.current().withStock(1L, 1L, new BigDecimal("12.00")).stockVersion();
+
+    ConflictException ex =
+        assertThrows(
+            ConflictException.class,
+            () ->
+                productionCapacity.commit(
+                    new PlanCommitCommand(planned, List.of(new PlanCommitCommand.Item(1L, 1)))));
+
+    assertEquals("Stock changed since the plan was computed", ex.getMessage());
+    verifyNoInteractions(rawMaterialRepository);
+  }
+
+  @Test
+  void commit_shouldThrowConflictException_whenStockChangedBeforeUpdate() {
+    givenSharedMaterialCatalog();
+    when(rawMaterialRepository.consumeStock(any(), any())).thenReturn(0);
+
+    assertThrows(
+        ConflictException.class,
+        () ->
+            productionCapacity.commit(
+                new PlanCommitCommand(stockVersion(), List.of(new PlanCommitCommand.Item(1L, 2)))));
+    verifyNoInteractions(catalogChanged);
+  }
+
+  @Test
+  void commit_shouldRejectPlan_whenItExceedsStockOrNamesUnknownProduct() {
+    givenSharedMaterialCatalog();
+    String stockVersion = stockVersion();
+
+    assertThrows(
+        InvalidDataException.class,
+        () ->
+            productionCapacity.commit(
+                new PlanCommitCommand(stockVersion, List.of(new PlanCommitCommand.Item(1L, 3)))));
+    assertThrows(
+        ResourceNotFoundException.class,
+        () ->
+            productionCapacity.commit(
+                new PlanCommitCommand(stockVersion, List.of(new PlanCommitCommand.Item(99L, 1)))));
+    verifyNoInteractions(rawMaterialRepository);
+  }
+
   @Test
   void generate_shouldTreatNullStockAsZero_whenRawMaterialHasNullQuantity() {
     Product product = createProduct(1L, "PROD-001", "Table", "100.00");
@@ -136,9 +515,7 @@ public class ProductionCapacityImplTest {
 
     List<ProductRawMaterial> recipe = List.of(createLink(1L, product, rm, "1.00"));
 
-    when(rawMaterialRepository.listAllRawMaterials()).thenReturn(List.of(rm));
-    when(productRepository.findAllOrderedByPriceDesc()).thenReturn(List.of(product));
-    when(productRawMaterialRepository.listByProduct(1L)).thenReturn(recipe);
+    givenCatalog(List.of(product), List.of(rm), Map.of(1L, recipe));
 
     ProductionPlan result = productionCapacity.generate();
 
@@ -155,9 +532,7 @@ public class ProductionCapacityImplTest {
 
     List<ProductRawMaterial> recipe = List.of(createLink(1L, product, recipeRm, "1.00"));
 
-    when(rawMaterialRepository.listAllRawMaterials()).thenReturn(List.of(stockOnlyRm));
-    when(productRepository.findAllOrderedByPriceDesc()).thenReturn(List.of(product));
-    when(productRawMaterialRepository.listByProduct(1L)).thenReturn(recipe);
+    givenCatalog(List.of(product), List.of(stockOnlyRm), Map.of(1L, recipe));
 
     ProductionPlan result = productionCapacity.generate();
 
@@ -176,9 +551,7 @@ public class ProductionCapacityImplTest {
     link.setRawMaterial(rm);
     link.setRequiredQuantity(null);
 
-    when(rawMaterialRepository.listAllRawMaterials()).thenReturn(List.of(rm));
-    when(productRepository.findAllOrderedByPriceDesc()).thenReturn(List.of(product));
-    when(productRawMaterialRepository.listByProduct(1L)).thenReturn(List.of(link));
+    givenCatalog(List.of(product), List.of(rm), Map.of(1L, List.of(link)));
 
     ProductionPlan result = productionCapacity.generate();
 
@@ -199,12 +572,10 @@ public class ProductionCapacityImplTest {
     List<ProductRawMaterial> recipeB = List.of(createLink(2L, mediumPrice, rmB, "3.00"));
     List<ProductRawMaterial> recipeC = List.of(createLink(3L, lowPrice, rmA, "2.00"));
 
-    when(rawMaterialRepository.listAllRawMaterials()).thenReturn(List.of(rmA, rmB));
-    when(productRepository.findAllOrderedByPriceDesc())
-        .thenReturn(List.of(highPrice, mediumPrice, lowPrice));
-    when(productRawMaterialRepository.listByProduct(1L)).thenReturn(recipeA);
-    when(productRawMaterialRepository.listByProduct(2L)).thenReturn(recipeB);
-    when(productRawMaterialRepository.listByProduct(3L)).thenReturn(recipeC);
+    givenCatalog(
+        List.of(highPrice, mediumPrice, lowPrice),
+        List.of(rmA, rmB),
+        Map.of(1L, recipeA, 2L, recipeB, 3L, recipeC));
 
     ProductionPlan result = productionCapacity.generate();
 
@@ -223,14 +594,13 @@ public class ProductionCapacityImplTest {
     RawMaterial rm2 = createRawMaterial(2L, "3.00");
     RawMaterial rm3 = createRawMaterial(3L, "2.00");
 
-    when(rawMaterialRepository.listAllRawMaterials()).thenReturn(List.of(rm1, rm2, rm3));
-    when(productRepository.findAllOrderedByPriceDesc()).thenReturn(List.of(p1, p2, p3));
-    when(productRawMaterialRepository.listByProduct(1L))
-        .thenReturn(List.of(createLink(1L, p1, rm1, "7.00")));
-    when(productRawMaterialRepository.listByProduct(2L))
-        .thenReturn(List.of(createLink(2L, p2, rm2, "3.00")));
-    when(productRawMaterialRepository.listByProduct(3L))
-        .thenReturn(List.of(createLink(3L, p3, rm3, "2.00")));
+    givenCatalog(
+        List.of(p1, p2, p3),
+        List.of(rm1, rm2, rm3),
+        Map.of(
+            1L, List.of(createLink(1L, p1, rm1, "7.00")),
+            2L, List.of(createLink(2L, p2, rm2, "3.00")),
+            3L, List.of(createLink(3L, p3, rm3, "2.00"))));
 
     ProductionPlan result = productionCapacity.generate();
 
@@ -238,6 +608,60 @@ public class ProductionCapacityImplTest {
     assertEquals(0, new BigDecimal("340.00").compareTo(result.getGrandTotalValue()));
   }
 
+  @Test
+  void generate_shouldSkipProduct_whenProductHasNoRecipeInSnapshot() {
+    Product p1 = createProduct(1L, "PROD-A", "A", "100.00");
+    Product p2 = createProduct(2L, "PROD-B", "B", "80.00");
+
+    RawMaterial rm = createRawMaterial(1L, "10.00");
+
+    givenCatalog(
+        List.of(p1, p2), List.of(rm), Map.of(2L, List.of(createLink(1L, p2, rm, "5.00"))));
+
+    ProductionPlan result = productionCapacity.generate();
+
+    assertEquals(1, result.getItems().size());
+    assertEquals("PROD-B", result.getItems().getFirst().getProductCode());
+  }
+
+  private void givenSharedMaterialCatalog() {
+    Product expensive = createProduct(1L, "PROD-A", "Expensive", "100.00");
+    Product cheaper = createProduct(2L, "PROD-B", "Cheaper", "50.00");
+    RawMaterial shared = createRawMaterial(1L, "10.00");
+
+    givenCatalog(
+        List.of(expensive, cheaper),
+        List.of(shared),
+        Map.of(
+            1L, List.of(createLink(1L, expensive, shared, "4.00")),
+            2L, List.of(createLink(2L, cheaper, shared, "2.00"))));
+  }
+
+  private String stockVersion() {
+    return snapshotCache.current().stockVersion();
+  }
+
+  private static BigDecimal total(ScenarioResult result) {
+    return result.plan().getGrandTotalValue();
+  }
+
+  private void givenCatalog(
+      List<Product> products,
+      List<RawMaterial> materials,
+      Map<Long, List<ProductRawMaterial>> recipes) {
+    when(snapshotCache.current())
+        .thenReturn(CapacitySnapshot.compile(0L, products, materials, recipes));
+  }
+
+  @Test
+  void generateIsolated_shouldActivateRequestContext_whenCalledFromPlanJobWorker()
+      throws NoSuchMethodException {
+    assertTrue(
+        ProductionCapacityImpl.class
+            .getMethod("generateIsolated", String.class)
+            .isAnnotationPresent(ActivateRequestContext.class));
+  }
+
   private static Product createProduct(Long id, String code, String name, String price) {
     Product product = ProductRawMaterialFixture.createProduct(id);
     product.setCode(code);
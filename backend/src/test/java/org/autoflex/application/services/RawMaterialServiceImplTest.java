@@ -10,11 +10,13 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import jakarta.enterprise.event.Event;
 import java.util.List;
 import java.util.Optional;
 import org.autoflex.application.commands.RawMaterialCommand;
 import org.autoflex.application.dto.PagedModel;
 import org.autoflex.application.dto.SearchQuery;
+import org.autoflex.application.events.CatalogChangedEvent;
 import org.autoflex.application.gateways.RawMaterialRepository;
 import org.autoflex.common.exceptions.ConflictException;
 import org.autoflex.common.exceptions.DatabaseException;
@@ -32,6 +34,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 public class RawMaterialServiceImplTest {
 
   @Mock RawMaterialRepository rawMaterialRepository;
+  @Mock Event<CatalogChangedEvent> catalogChanged;
 
   @InjectMocks RawMaterialServiceImpl rawMaterialService;
 
@@ -56,6 +59,7 @@ public class RawMaterialServiceImplTest {
     assertEquals(cmd.name(), result.getName());
     assertEquals(0, result.getStockQuantity().compareTo(cmd.stockQuantity()));
     verify(rawMaterialRepository).save(any(RawMaterial.class));
+    verify(catalogChanged).fire(any(CatalogChangedEvent.class));
   }
 
   @Test
@@ -84,6 +88,7 @@ public class RawMaterialServiceImplTest {
     assertEquals(cmd.name(), result.getName());
     assertEquals(0, result.getStockQuantity().compareTo(cmd.stockQuantity()));
     verify(rawMaterialRepository).save(any(RawMaterial.class));
+    verify(catalogChanged).fire(CatalogChangedEvent.rawMaterial(existingId));
   }
 
   @Test
@@ -138,6 +143,7 @@ public class RawMaterialServiceImplTest {
 
     verify(rawMaterialRepository).findById(existingId);
     verify(rawMaterialRepository).delete(existingId);
+    verify(catalogChanged).fire(CatalogChangedEvent.rawMaterial(existingId));
   }
 
   @Test
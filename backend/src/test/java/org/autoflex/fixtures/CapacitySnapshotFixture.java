@@ -0,0 +1,65 @@
+package org.autoflex.fixtures;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.autoflex.application.capacity.CapacitySnapshot;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductRawMaterial;
+import org.autoflex.domain.RawMaterial;
+
+public class CapacitySnapshotFixture {
+
+  public static CapacitySnapshot randomSnapshot(Random random) {
+    return randomSnapshot(random, 1 + random.nextInt(40), 1 + random.nextInt(15));
+  }
+
+  public static CapacitySnapshot randomSnapshot(
+      Random random, int productCount, int materialCount) {
+    List<RawMaterial> materials = new ArrayList<>();
+    for (long m = 1; m <= materialCount; m++) {
+      materials.add(rawMaterial(m, cents(random.nextInt(100_000))));
+    }
+
+    List<Product> products = new ArrayList<>();
+    Map<Long, List<ProductRawMaterial>> recipes = new HashMap<>();
+    for (long p = 1; p <= productCount; p++) {
+      Product product = product(p, cents(1 + random.nextInt(500_000)));
+      products.add(product);
+
+      List<ProductRawMaterial> recipe = new ArrayList<>();
+      int lines = random.nextInt(Math.min(5, materialCount) + 1);
+      List<RawMaterial> shuffled = new ArrayList<>(materials);
+      Collections.shuffle(shuffled, random);
+      for (int l = 0; l < lines; l++) {
+        recipe.add(
+            new ProductRawMaterial(
+                product, shuffled.get(l), new BigDecimal(cents(1 + random.nextInt(5_000)))));
+      }
+      recipes.put(p, recipe);
+    }
+
+    products.sort((a, b) -> b.getPrice().compareTo(a.getPrice()));
+    return CapacitySnapshot.compile(0L, products, materials, recipes);
+  }
+
+  private static String cents(int value) {
+    return BigDecimal.valueOf(value, 2).toPlainString();
+  }
+
+  private static Product product(Long id, String price) {
+    Product product = new Product("PROD-" + id, "Product " + id, new BigDecimal(price));
+    product.setId(id);
+    return product;
+  }
+
+  private static RawMaterial rawMaterial(Long id, String stockQuantity) {
+    RawMaterial rm = new RawMaterial("RAW-" + id, "Raw " + id, new BigDecimal(stockQuantity));
+    rm.setId(id);
+    return rm;
+  }
+}
@@ -0,0 +1,29 @@
+package org.autoflex.fixtures;
+
+import java.math.BigDecimal;
+import org.autoflex.application.commands.ProductComponentCommand;
+import org.autoflex.domain.Product;
+import org.autoflex.domain.ProductComponent;
+
+public class ProductComponentFixture {
+
+  public static Product createProduct(Long id) {
+    Product product = ProductFixture.createProduct();
+    product.setId(id);
+    return product;
+  }
+
+  public static ProductComponentCommand createCommand(
+      Long componentId, BigDecimal requiredQuantity) {
+    return new ProductComponentCommand(componentId, requiredQuantity);
+  }
+
+  public static ProductComponent createLine(
+      Long id, Long productId, Long componentId, BigDecimal requiredQuantity) {
+    ProductComponent line =
+        new ProductComponent(
+            createProduct(productId), createProduct(componentId), requiredQuantity);
+    line.setId(id);
+    return line;
+  }
+}